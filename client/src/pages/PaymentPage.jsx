@@ -18,7 +18,7 @@ const stripePromise = loadStripe(
   "pk_test_51Rw2UhQcGakY3xP2bNoe6cwyMYCMihyNol4EJZLWWUd1D0jvQj627YPHlE01WzhFWJ12UU340FCcAkMFnnQQFmLp00EZMIL15R"
 );
 
-function StripePaymentForm({ billingInfo, orderSummary, onSuccess }) {
+function StripePaymentForm({ billingInfo, orderSummary, cartItems, onSuccess }) {
   const stripe = useStripe();
   const elements = useElements();
   const [isProcessing, setIsProcessing] = useState(false);
@@ -49,10 +49,24 @@ function StripePaymentForm({ billingInfo, orderSummary, onSuccess }) {
           body: JSON.stringify({
             amount: Math.round(orderSummary.total * 100),
             currency: "lkr",
+            // Held for this buyer until the order is placed, so nobody else can pay for them meanwhile
+            artworkIds: (cartItems || []).map((item) => item.id),
           }),
         }
       );
       const data = await response.json();
+      if (response.status === 409) {
+        // Sold or held by another buyer; the card is not charged
+        setError(
+          (data.message || "An artwork in your cart is no longer available.") +
+            " Please remove it from your cart and try again."
+        );
+        setIsProcessing(false);
+        return;
+      }
+      if (!response.ok || !data.clientSecret) {
+        throw new Error(data.message || "Failed to create payment intent");
+      }
       clientSecret = data.clientSecret;
     } catch (err) {
       setError("Failed to initiate payment. Please try again.");
@@ -239,6 +253,7 @@ const PaymentPage = () => {
                   <StripePaymentForm
                     billingInfo={billingInfo}
                     orderSummary={orderSummary}
+                    cartItems={locationCartItems}
                     onSuccess={handleStripeSuccess}
                   />
                 </Elements>
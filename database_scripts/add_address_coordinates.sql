@@ -0,0 +1,18 @@
+-- ========================================
+-- Address coordinates for delivery job matching
+-- GeocodingService fills latitude/longitude per city from the offline
+-- gazetteer (artaura.geo.gazetteer-path, default classpath:geo/gazetteer.csv).
+-- geocoded_at marks rows already tried, so unknown cities are not looked up
+-- on every run; editing an address clears all three so it is geocoded again.
+-- ========================================
+
+ALTER TABLE `addresses`
+  ADD COLUMN `latitude` DECIMAL(9,6) NULL,
+  ADD COLUMN `longitude` DECIMAL(9,6) NULL,
+  ADD COLUMN `geocoded_at` TIMESTAMP NULL;
+
+-- Geocoding pass: distinct cities not yet tried
+CREATE INDEX `idx_addresses_geocoded_city` ON `addresses` (`geocoded_at`, `city`);
+
+-- Pickup coordinates by artist
+CREATE INDEX `idx_addresses_artist_coordinates` ON `addresses` (`artist_id`, `latitude`, `longitude`);
@@ -0,0 +1,18 @@
+-- ========================================
+-- Keyset / deferred-join indexes for the admin artwork browser
+-- AdminArtworkDAOImpl.getAllArtworks pages ids with
+--   ORDER BY <sort column>, artwork_id LIMIT n
+-- and a (sort column, artwork_id) cursor, then joins the wide rows for
+-- that page only. Each sortable column needs an index ending in
+-- artwork_id so a page is a short range read rather than a filesort.
+-- ========================================
+
+CREATE INDEX `idx_artworks_created_at_id` ON `artworks` (`created_at`, `artwork_id`);
+CREATE INDEX `idx_artworks_price_id` ON `artworks` (`price`, `artwork_id`);
+CREATE INDEX `idx_artworks_year_id` ON `artworks` (`year`, `artwork_id`);
+CREATE INDEX `idx_artworks_title_id` ON `artworks` (`title`, `artwork_id`);
+CREATE INDEX `idx_artworks_views_id` ON `artworks` (`views_count`, `artwork_id`);
+CREATE INDEX `idx_artworks_likes_id` ON `artworks` (`likes_count`, `artwork_id`);
+
+-- The moderation queue is usually filtered by status and sorted by newest first
+CREATE INDEX `idx_artworks_status_created_at_id` ON `artworks` (`status`, `created_at`, `artwork_id`);
@@ -0,0 +1,17 @@
+-- ========================================
+-- Checkout holds on artworks
+-- ArtworkHoldService reserves every artwork in the cart when a Stripe
+-- PaymentIntent is created, with one conditional update:
+--   UPDATE artworks SET held_by = ?, held_until = NOW() + INTERVAL ? SECOND
+--   WHERE artwork_id IN (...) AND status = 'Available'
+--     AND (held_until IS NULL OR held_until <= NOW() OR held_by = ?)
+-- A hold lapses on its own once held_until passes; the columns are cleared
+-- by the expiry sweep or when the order is saved and the artwork marked Sold.
+-- ========================================
+
+ALTER TABLE `artworks`
+  ADD COLUMN `held_by` BIGINT NULL,
+  ADD COLUMN `held_until` DATETIME NULL;
+
+-- Expiry sweep
+CREATE INDEX `idx_artworks_held_until` ON `artworks` (`held_until`);
@@ -0,0 +1,12 @@
+-- ========================================
+-- Frozen final standings for completed challenges
+-- ChallengeStatusScheduler completes each challenge at its deadline and
+-- writes every submission's top-scores rank here, so the winners no longer
+-- move if reactions arrive after the deadline.
+-- ========================================
+
+ALTER TABLE `challenge_participants`
+  ADD COLUMN `final_rank` INT NULL DEFAULT NULL;
+
+-- Open challenges are loaded by status when the scheduler starts
+CREATE INDEX `idx_challenges_status_deadline` ON `challenges` (`status`, `deadline_date_time`);
@@ -0,0 +1,30 @@
+-- ========================================
+-- Per-submission reaction counters for challenge leaderboards
+-- handleLikeDislike adjusts these in the same transaction as the reaction
+-- row, so submission lists and ChallengeLeaderboardService read the counts
+-- straight from challenge_participants instead of grouping the whole
+-- challenge_submission_reactions / challenge_submission_votes tables.
+-- ========================================
+
+ALTER TABLE `challenge_participants`
+  ADD COLUMN `likes_count` INT NOT NULL DEFAULT 0,
+  ADD COLUMN `dislikes_count` INT NOT NULL DEFAULT 0,
+  ADD COLUMN `votes_count` INT NOT NULL DEFAULT 0;
+
+-- Backfill from the existing rows
+UPDATE `challenge_participants` cp
+  LEFT JOIN (SELECT `submission_id`,
+                    SUM(`reaction_type` = 'like') AS `likes`,
+                    SUM(`reaction_type` = 'dislike') AS `dislikes`
+             FROM `challenge_submission_reactions`
+             GROUP BY `submission_id`) r ON r.`submission_id` = cp.`id`
+  LEFT JOIN (SELECT `submission_id`, COUNT(*) AS `votes`
+             FROM `challenge_submission_votes`
+             GROUP BY `submission_id`) v ON v.`submission_id` = cp.`id`
+SET cp.`likes_count` = COALESCE(r.`likes`, 0),
+    cp.`dislikes_count` = COALESCE(r.`dislikes`, 0),
+    cp.`votes_count` = COALESCE(v.`votes`, 0);
+
+-- The viewer's own reaction / vote, looked up per listed submission
+CREATE INDEX `idx_submission_reactions_submission_buyer` ON `challenge_submission_reactions` (`submission_id`, `buyer_id`);
+CREATE INDEX `idx_submission_votes_submission_buyer` ON `challenge_submission_votes` (`submission_id`, `buyer_id`);
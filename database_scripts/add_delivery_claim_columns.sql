@@ -0,0 +1,20 @@
+-- ========================================
+-- Delivery claim ownership
+-- DeliveryStatusDAOImpl claims a job with a single conditional update
+--   UPDATE ... SET delivery_status = 'accepted', delivery_partner_id = ?
+--   WHERE id = ? AND delivery_status = 'pending'
+-- so exactly one concurrent partner wins. These columns record the winner
+-- and when the claim happened, and let losers be told who holds the job.
+-- ========================================
+
+ALTER TABLE `AW_orders`
+  ADD COLUMN `delivery_partner_id` BIGINT NULL,
+  ADD COLUMN `delivery_claimed_at` TIMESTAMP NULL;
+
+ALTER TABLE `commission_requests`
+  ADD COLUMN `delivery_partner_id` BIGINT NULL,
+  ADD COLUMN `delivery_claimed_at` TIMESTAMP NULL;
+
+-- A partner's active jobs
+CREATE INDEX `idx_aw_orders_partner_status` ON `AW_orders` (`delivery_partner_id`, `delivery_status`);
+CREATE INDEX `idx_commission_requests_partner_status` ON `commission_requests` (`delivery_partner_id`, `delivery_status`);
@@ -0,0 +1,17 @@
+-- ========================================
+-- Keyset indexes for the merged admin delivery board
+-- AdminDeliveryDAOImpl reads AW_orders and commission_requests newest first
+--   ORDER BY <date>, id DESC LIMIT n
+-- after a (date, id) cursor and merges the two streams. Each filter the
+-- board offers needs an index ending in (date, id) so a page is a short
+-- range read. Date filters are half-open ranges on the raw column.
+-- ========================================
+
+CREATE INDEX `idx_aw_orders_order_date_id` ON `AW_orders` (`order_date`, `id`);
+CREATE INDEX `idx_aw_orders_status_date_id` ON `AW_orders` (`delivery_status`, `order_date`, `id`);
+CREATE INDEX `idx_aw_orders_buyer_date_id` ON `AW_orders` (`buyer_id`, `order_date`, `id`);
+
+CREATE INDEX `idx_commission_requests_submitted_id` ON `commission_requests` (`submitted_at`, `id`);
+CREATE INDEX `idx_commission_requests_status_submitted_id` ON `commission_requests` (`delivery_status`, `submitted_at`, `id`);
+CREATE INDEX `idx_commission_requests_buyer_submitted_id` ON `commission_requests` (`buyer_id`, `submitted_at`, `id`);
+CREATE INDEX `idx_commission_requests_artist_submitted_id` ON `commission_requests` (`artist_id`, `submitted_at`, `id`);
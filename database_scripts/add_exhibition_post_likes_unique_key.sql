@@ -0,0 +1,21 @@
+-- ========================================
+-- Unique key for exhibition post likes
+-- Exhibition likes are now flushed by the write-behind like counter with
+-- INSERT IGNORE, which relies on this key to make replayed batches
+-- idempotent. Skip if it already exists.
+-- ========================================
+
+-- The old check-then-insert path could store the same like twice, which would
+-- make the key below fail; keep the earliest row of each (post, user) pair
+DELETE newer FROM `exhibition_post_likes` newer
+  JOIN `exhibition_post_likes` older
+    ON older.`post_id` = newer.`post_id`
+   AND older.`user_id` = newer.`user_id`
+   AND older.`id` < newer.`id`;
+
+ALTER TABLE `exhibition_post_likes`
+ADD UNIQUE KEY `uk_exhibition_post_likes_post_user` (`post_id`, `user_id`);
+
+-- Duplicates were counted in exhibitions.likes; recount from the remaining rows
+UPDATE `exhibitions` e
+SET e.`likes` = (SELECT COUNT(*) FROM `exhibition_post_likes` l WHERE l.`post_id` = e.`id`);
@@ -0,0 +1,13 @@
+-- ========================================
+-- Email indexes for the unified login lookup
+-- AuthService resolves an email across all role tables with one UNION ALL
+-- query; each branch must be an index point lookup. Skip any table that
+-- already has a UNIQUE key on email.
+-- ========================================
+
+CREATE INDEX `idx_artists_email` ON `artists` (`email`);
+CREATE INDEX `idx_buyers_email` ON `buyers` (`email`);
+CREATE INDEX `idx_shops_email` ON `shops` (`email`);
+CREATE INDEX `idx_moderators_email` ON `moderators` (`email`);
+CREATE INDEX `idx_delivery_partners_email` ON `delivery_partners` (`email`);
+CREATE INDEX `idx_admins_email` ON `admins` (`email`);
@@ -0,0 +1,12 @@
+-- ========================================
+-- Indexes for the notification inbox and unread counts
+-- Inbox pages are keyset reads (WHERE owner AND id < ? ORDER BY id DESC),
+-- and NotificationCounterService recounts a user's unread notifications
+-- when its cached count expires.
+-- ========================================
+
+CREATE INDEX `idx_user_notifications_inbox` ON `user_notifications` (`user_id`, `user_type`, `id`);
+CREATE INDEX `idx_user_notifications_unread` ON `user_notifications` (`user_id`, `user_type`, `is_read`);
+
+CREATE INDEX `idx_artist_notifications_inbox` ON `artist_notifications` (`artist_id`, `notification_id`);
+CREATE INDEX `idx_artist_notifications_unread` ON `artist_notifications` (`artist_id`, `is_read`);
@@ -0,0 +1,7 @@
+-- ========================================
+-- Keyset index for the buyer post feed
+-- Supports ORDER BY created_at DESC, post_id DESC with a
+-- (created_at, post_id) cursor so each feed page is a short range read
+-- ========================================
+
+CREATE INDEX `idx_post_created_at_post_id` ON `post` (`created_at`, `post_id`);
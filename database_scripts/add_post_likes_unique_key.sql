@@ -0,0 +1,21 @@
+-- ========================================
+-- Unique key for post likes
+-- The write-behind like counter flushes with INSERT IGNORE, which relies on
+-- this key to make replayed batches idempotent. Skip if it already exists.
+-- ========================================
+
+-- The old check-then-insert path could store the same like twice, which would
+-- make the key below fail; keep the earliest row of each (post, user) pair
+DELETE newer FROM `post_likes` newer
+  JOIN `post_likes` older
+    ON older.`post_id` = newer.`post_id`
+   AND older.`user_id` = newer.`user_id`
+   AND older.`user_type` = newer.`user_type`
+   AND older.`id` < newer.`id`;
+
+ALTER TABLE `post_likes`
+ADD UNIQUE KEY `uk_post_likes_post_user` (`post_id`, `user_id`, `user_type`);
+
+-- Post like counts are read with COUNT(*) over post_likes, so there is no
+-- stored count to refresh; restart the application so the in-memory like
+-- counter reloads them.
@@ -0,0 +1,13 @@
+-- ========================================
+-- One reaction per buyer per submission
+-- handleLikeDislike locks the submission's counter row and then writes the
+-- reaction row and the counters in one batch. This key backs that up at the
+-- schema level so a duplicate reaction can never inflate the counts.
+-- Skip if it already exists; remove duplicate rows first if the ALTER fails.
+-- ========================================
+
+ALTER TABLE `challenge_submission_reactions`
+ADD UNIQUE KEY `uk_submission_reactions_submission_buyer` (`submission_id`, `buyer_id`);
+
+-- Superseded by the unique key
+DROP INDEX `idx_submission_reactions_submission_buyer` ON `challenge_submission_reactions`;
@@ -0,0 +1,36 @@
+-- ========================================
+-- Precomputed per-artist artwork counters
+-- Read by the admin user directory instead of joining artworks twice on
+-- every request. Each artwork write recomputes the owning artist's row
+-- (see ArtistStatsService), and a daily reconciliation rebuilds all rows.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS `artist_stats` (
+  `artist_id` BIGINT NOT NULL,
+  `total_artworks` INT NOT NULL DEFAULT 0,
+  `total_sales` INT NOT NULL DEFAULT 0,
+  `updated_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`artist_id`)
+);
+
+-- Recomputing one artist's counters reads only that artist's artworks
+CREATE INDEX `idx_artworks_artist_status` ON `artworks` (`artist_id`, `status`);
+
+-- Backfill
+INSERT INTO `artist_stats` (`artist_id`, `total_artworks`, `total_sales`)
+SELECT `artist_id`, COUNT(*), SUM(`status` = 'Sold')
+FROM `artworks`
+GROUP BY `artist_id`
+ON DUPLICATE KEY UPDATE `total_artworks` = VALUES(`total_artworks`), `total_sales` = VALUES(`total_sales`);
+
+-- ========================================
+-- Admin user directory filters
+-- Joined-date ranges and status filters per role table; name/email
+-- prefix searches use these plus the existing email indexes
+-- ========================================
+
+CREATE INDEX `idx_artists_created_at` ON `artists` (`created_at`);
+CREATE INDEX `idx_artists_last_name` ON `artists` (`last_name`);
+CREATE INDEX `idx_buyers_created_at` ON `buyers` (`created_at`);
+CREATE INDEX `idx_buyers_last_name` ON `buyers` (`last_name`);
+CREATE INDEX `idx_shops_created_at` ON `shops` (`created_at`);
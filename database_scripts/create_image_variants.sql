@@ -0,0 +1,16 @@
+-- ========================================
+-- Responsive image derivatives
+-- One row per resized, re-encoded (metadata-stripped) copy of an uploaded
+-- image, keyed by the original's public URL
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS `image_variants` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `original_url` VARCHAR(512) NOT NULL,
+  `width` INT NOT NULL,
+  `url` VARCHAR(512) NOT NULL,
+  `content_type` VARCHAR(50) NOT NULL,
+  `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_image_variants_original_width` (`original_url`, `width`)
+);
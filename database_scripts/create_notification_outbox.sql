@@ -0,0 +1,28 @@
+-- ========================================
+-- Transactional outbox for notifications
+-- Delivery status changes append one compact event here in their own
+-- transaction; NotificationOutboxDispatcher leases due events, writes the
+-- user_notifications / artist_notifications rows in batches, pushes them
+-- over STOMP and retries failures with exponential backoff.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS `notification_outbox` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `event_type` VARCHAR(64) NOT NULL,
+  `payload` TEXT NOT NULL,
+  `status` ENUM('pending', 'sent', 'failed') NOT NULL DEFAULT 'pending',
+  `attempts` INT NOT NULL DEFAULT 0,
+  `next_attempt_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `claim_token` VARCHAR(36) NULL DEFAULT NULL,
+  `claimed_until` DATETIME NULL DEFAULT NULL,
+  `last_error` VARCHAR(500) NULL DEFAULT NULL,
+  `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `sent_at` DATETIME NULL DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  -- Due events, oldest first
+  KEY `idx_notification_outbox_due` (`status`, `next_attempt_at`, `id`),
+  -- Reading back a pass's lease
+  KEY `idx_notification_outbox_claim` (`claim_token`),
+  -- Purging delivered events
+  KEY `idx_notification_outbox_sent` (`status`, `sent_at`)
+);
@@ -0,0 +1,43 @@
+-- ========================================
+-- Shop analytics rollups
+-- Daily per-shop/per-product aggregates of approved shop_orders, maintained
+-- incrementally by ShopAnalyticsRollupService. Days touched by new orders
+-- (order_id above the watermark) or by status/order edits are queued in
+-- shop_sales_dirty_days and rebuilt from shop_orders.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS `shop_sales_daily` (
+  `shop_id` BIGINT NOT NULL,
+  `product_id` BIGINT NOT NULL DEFAULT 0,  -- 0 for orders without a product
+  `sales_date` DATE NOT NULL,
+  `orders` INT NOT NULL,
+  `units` INT NOT NULL,
+  `revenue` DECIMAL(14, 2) NOT NULL,
+  PRIMARY KEY (`shop_id`, `sales_date`, `product_id`),
+  KEY `idx_shop_sales_daily_product` (`shop_id`, `product_id`, `sales_date`)
+);
+
+-- Distinct customers cannot be summed across days, so keep one row per customer per day
+CREATE TABLE IF NOT EXISTS `shop_customer_daily` (
+  `shop_id` BIGINT NOT NULL,
+  `sales_date` DATE NOT NULL,
+  `artist_id` BIGINT NOT NULL,
+  PRIMARY KEY (`shop_id`, `sales_date`, `artist_id`)
+);
+
+CREATE TABLE IF NOT EXISTS `shop_sales_dirty_days` (
+  `shop_id` BIGINT NOT NULL,
+  `sales_date` DATE NOT NULL,
+  `marked_at` TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`shop_id`, `sales_date`)
+);
+
+CREATE TABLE IF NOT EXISTS `analytics_rollup_state` (
+  `name` VARCHAR(64) NOT NULL,
+  `watermark` BIGINT NOT NULL DEFAULT 0,
+  `last_run_at` TIMESTAMP NULL,
+  PRIMARY KEY (`name`)
+);
+
+-- Rebuilding a day reads shop_orders by shop and date range
+CREATE INDEX `idx_shop_orders_shop_date` ON `shop_orders` (`shop_id`, `date`);
@@ -0,0 +1,17 @@
+-- ========================================
+-- Content-addressed upload store
+-- One row per stored file, keyed by its public URL. Uploads with the same
+-- SHA-256 in the same namespace (/uploads, /nic) share one file and bump
+-- ref_count; the file is removed only when the count drops to zero.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS `upload_blobs` (
+  `url` VARCHAR(512) NOT NULL,
+  `namespace` VARCHAR(32) NOT NULL,
+  `sha256` CHAR(64) NOT NULL,
+  `size_bytes` BIGINT NOT NULL,
+  `ref_count` INT NOT NULL DEFAULT 1,
+  `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`url`),
+  KEY `idx_upload_blobs_namespace_sha` (`namespace`, `sha256`)
+);
@@ -0,0 +1,41 @@
+-- ========================================
+-- Shop order stock is reserved when the order is placed
+-- ArtistOrderDAOImpl.reserveAndCreateOrder now takes the stock with
+--   UPDATE products SET stock = stock - ? WHERE id = ? AND stock >= ?
+-- in the same transaction as the shop_orders INSERT, and
+-- cancelOrderAndRestoreStock gives it back. ShopOrderDAOImpl does the same
+-- for orders the shop creates, edits or deletes. The trigger on shop_orders
+-- that adjusted products.stock when an order was approved or cancelled
+-- would now count the order twice and must be dropped.
+--
+-- That trigger was created directly in the database and is not part of the
+-- tracked schema, so its name is read from information_schema: step 1
+-- prints the exact DROP TRIGGER statement for each trigger on shop_orders
+-- that touches products. Run those, then run this script again; step 2
+-- does nothing while such a trigger still exists.
+-- ========================================
+
+-- 1. Triggers to drop
+SELECT CONCAT('DROP TRIGGER IF EXISTS `', `TRIGGER_SCHEMA`, '`.`', `TRIGGER_NAME`, '`;') AS `drop_statement`
+FROM `information_schema`.`TRIGGERS`
+WHERE `EVENT_OBJECT_SCHEMA` = DATABASE()
+  AND `EVENT_OBJECT_TABLE` = 'shop_orders'
+  AND `ACTION_STATEMENT` LIKE '%products%';
+
+-- 2. Reserve stock for pending orders (applies once; do not run it again after it has)
+-- Orders approved before this change already had their stock taken by the
+-- trigger. Pending orders had not, so reserve their stock now (this can take
+-- stock below zero; the status still shows out-of-stock).
+UPDATE `products` p
+  JOIN (SELECT `product_id`, SUM(`quantity`) AS `qty`
+        FROM `shop_orders`
+        WHERE `status` = 'pending' AND `product_id` IS NOT NULL
+        GROUP BY `product_id`) pending ON pending.`product_id` = p.`id`
+-- Multi-table UPDATE does not guarantee left-to-right assignment, so the status uses the new value explicitly
+SET p.`status` = CASE WHEN p.`stock` - pending.`qty` <= 0 THEN 'out-of-stock'
+                      WHEN p.`stock` - pending.`qty` <= 10 THEN 'low-stock' ELSE 'in-stock' END,
+    p.`stock` = p.`stock` - pending.`qty`
+WHERE NOT EXISTS (SELECT 1 FROM `information_schema`.`TRIGGERS`
+                  WHERE `EVENT_OBJECT_SCHEMA` = DATABASE()
+                    AND `EVENT_OBJECT_TABLE` = 'shop_orders'
+                    AND `ACTION_STATEMENT` LIKE '%products%');
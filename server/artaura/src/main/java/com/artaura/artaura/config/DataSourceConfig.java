@@ -0,0 +1,36 @@
+package com.artaura.artaura.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connection settings that the code relies on, applied whatever URL the
+ * environment supplies in spring.datasource.url.
+ *
+ * rewriteBatchedStatements makes Connector/J send a JdbcTemplate.batchUpdate
+ * of INSERTs as multi-row INSERT statements; without it every batched row is
+ * its own round trip (checkout, like flushes and notification writes batch).
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor mysqlBatchRewritePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                // Before the pool opens its first connection; an explicit setting in the URL wins
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")
+                        && !dataSource.getJdbcUrl().contains("rewriteBatchedStatements")) {
+                    dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.artaura.artaura.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Threads for the @Scheduled jobs.
+ *
+ * Without this every job shares one scheduler thread, so a long pass delays
+ * the one-second ticks (challenge deadlines, hold expiry, like flushes, the
+ * notification outbox) until it finishes. Short jobs run on "taskScheduler";
+ * jobs that can run for seconds or minutes (analytics rollups, geocoding,
+ * artist stats reconciliation) name {@link #BACKGROUND_SCHEDULER} in their
+ * annotation and get a pool of their own. The search index's periodic rebuild
+ * already runs on a build thread of its own and only starts it from here.
+ */
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    public static final String BACKGROUND_SCHEDULER = "backgroundJobScheduler";
+
+    @Value("${artaura.scheduling.pool-size:4}")
+    private int poolSize;
+
+    // One thread per long job, so they never wait on each other either
+    @Value("${artaura.scheduling.background-pool-size:3}")
+    private int backgroundPoolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        return scheduler(poolSize, "scheduled-");
+    }
+
+    @Bean(BACKGROUND_SCHEDULER)
+    public ThreadPoolTaskScheduler backgroundJobScheduler() {
+        return scheduler(backgroundPoolSize, "background-job-");
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(taskScheduler());
+    }
+
+    private static ThreadPoolTaskScheduler scheduler(int poolSize, String threadNamePrefix) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setErrorHandler(e -> System.err.println("Scheduled job failed: " + e.getMessage()));
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+}
@@ -2,7 +2,6 @@ package com.artaura.artaura.config; // Update this to match your project structu
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -18,14 +17,5 @@ public class WebConfig implements WebMvcConfigurer {
                                 .maxAge(3600);
         }
 
-        @Override
-        public void addResourceHandlers(ResourceHandlerRegistry registry) {
-                // Serve uploaded product images from client/public/uploads - absolute path
-                registry.addResourceHandler("/uploads/products/**")
-                                .addResourceLocations("file:D:/Artaura/ArtAura/client/public/uploads/products/");
-
-                // Serve other uploads from client/public/uploads - absolute path
-                registry.addResourceHandler("/uploads/**")
-                                .addResourceLocations("file:D:/Artaura/ArtAura/client/public/uploads/");
-        }
+        // /uploads/** is served by UploadServingController from artaura.uploads.root
 }
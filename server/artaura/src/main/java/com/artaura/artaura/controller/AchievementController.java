@@ -55,7 +55,7 @@ public class AchievementController {
 
             Long artistId;
             try {
-                jwtUtil.validateToken(token);
+                jwtUtil.verify(token);
                 artistId = jwtUtil.extractUserId(token);
             } catch (Exception e) {
                 return ResponseEntity.status(401).body("Invalid token");
@@ -90,7 +90,7 @@ public class AchievementController {
             }
 
             try {
-                jwtUtil.validateToken(token);
+                jwtUtil.verify(token);
             } catch (Exception e) {
                 return ResponseEntity.status(401).body("Invalid token");
             }
@@ -118,7 +118,7 @@ public class AchievementController {
             }
 
             try {
-                jwtUtil.validateToken(token);
+                jwtUtil.verify(token);
             } catch (Exception e) {
                 return ResponseEntity.status(401).body("Invalid token");
             }
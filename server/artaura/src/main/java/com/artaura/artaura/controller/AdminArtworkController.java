@@ -3,6 +3,7 @@ package com.artaura.artaura.controller;
 import com.artaura.artaura.dto.admin.AdminArtworkDTO;
 import com.artaura.artaura.dto.admin.AdminArtworkFilterDTO;
 import com.artaura.artaura.dto.admin.AdminArtworkResponseDTO;
+import com.artaura.artaura.exception.CustomException;
 import com.artaura.artaura.service.AdminArtworkService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -25,6 +26,8 @@ public class AdminArtworkController {
     /**
      * Get all artworks with pagination and filtering
      * GET /api/admin/artworks?page=0&size=10&category=painting&status=active&sortBy=title&sortOrder=ASC
+     * Optional q= free-text search; text queries are answered from the artwork search index with facet counts
+     * Deep pages: paging=keyset (then cursor=nextCursor) instead of page; count=approximate|none skips the per-page COUNT(*)
      */
     @GetMapping
     public ResponseEntity<AdminArtworkResponseDTO> getAllArtworks(
@@ -40,16 +43,26 @@ public class AdminArtworkController {
             @RequestParam(value = "medium", required = false) String medium,
             @RequestParam(value = "isFeatured", required = false) Boolean isFeatured,
             @RequestParam(value = "sortBy", defaultValue = "created_at") String sortBy,
-            @RequestParam(value = "sortOrder", defaultValue = "DESC") String sortOrder) {
+            @RequestParam(value = "sortOrder", defaultValue = "DESC") String sortOrder,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "paging", required = false) String paging,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", required = false) String countMode) {
         
         try {
             AdminArtworkFilterDTO filter = new AdminArtworkFilterDTO(
                 category, status, artistName, minPrice, maxPrice, minYear, maxYear,
                 medium, isFeatured, sortBy, sortOrder, page, size
             );
+            filter.setQuery(query);
+            filter.setPaging(paging);
+            filter.setCursor(cursor);
+            filter.setCountMode(countMode);
             
             AdminArtworkResponseDTO response = adminArtworkService.getAllArtworks(filter);
             return ResponseEntity.ok(response);
+        } catch (CustomException e) {
+            throw e; // e.g. an invalid cursor; answered with its own status
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
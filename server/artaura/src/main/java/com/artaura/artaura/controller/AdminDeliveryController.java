@@ -3,6 +3,8 @@ package com.artaura.artaura.controller;
 import com.artaura.artaura.service.AdminDeliveryService;
 import com.artaura.artaura.dto.delivery.DeliveryRequestDTO;
 import com.artaura.artaura.dto.delivery.ArtistPickupAddressDTO;
+import com.artaura.artaura.dto.delivery.DeliveryRequestPageDTO;
+import com.artaura.artaura.exception.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -44,6 +46,53 @@ public class AdminDeliveryController {
         }
     }
 
+    /**
+     * Get delivery requests one page at a time, newest first
+     * GET /api/admin/delivery/requests?size=20&status=pending&requestType=artwork_order&cursor=...
+     */
+    @GetMapping("/requests")
+    public ResponseEntity<Map<String, Object>> getDeliveryRequestPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") Integer size,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "requestType", required = false) String requestType,
+            @RequestParam(value = "startDate", required = false) String startDate,
+            @RequestParam(value = "endDate", required = false) String endDate,
+            @RequestParam(value = "artistId", required = false) String artistId,
+            @RequestParam(value = "buyerId", required = false) String buyerId) {
+        Map<String, Object> response = new HashMap<>();
+        if (size < 1 || size > 100) {
+            response.put("success", false);
+            response.put("error", "size must be between 1 and 100");
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            Map<String, String> filters = new HashMap<>();
+            if (status != null) filters.put("status", status);
+            if (requestType != null) filters.put("requestType", requestType);
+            if (startDate != null) filters.put("startDate", startDate);
+            if (endDate != null) filters.put("endDate", endDate);
+            if (artistId != null) filters.put("artistId", artistId);
+            if (buyerId != null) filters.put("buyerId", buyerId);
+
+            DeliveryRequestPageDTO page = adminDeliveryService.getDeliveryRequestPage(filters, cursor, size);
+            response.put("success", true);
+            response.put("data", page.getContent());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+            response.put("pageSize", page.getPageSize());
+            response.put("message", "Successfully fetched delivery requests");
+            return ResponseEntity.ok(response);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("error", "Failed to fetch delivery requests: " + e.getMessage());
+            response.put("data", null);
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     /**
      * Get delivery requests filtered by status
      */
@@ -4,10 +4,16 @@ import com.artaura.artaura.dto.admin.AdminUserDTO;
 import com.artaura.artaura.dto.ResponseDTO;
 import com.artaura.artaura.service.AdminUserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @RestController
@@ -19,8 +25,8 @@ public class AdminUserController {
     private AdminUserService adminUserService;
 
     /**
-     * Get all users with pagination and filtering
-     * GET /api/admin/users?page=0&size=10&status=Active&userType=artist&search=abc
+     * Get users with pagination and filtering
+     * GET /api/admin/users?page=0&size=10&status=Active&userType=artist&search=abc&joinedFrom=2024-01-01&sortBy=email&sortOrder=asc
      */
     @GetMapping
     public ResponseEntity<ResponseDTO<AdminUserDTO>> getAllUsers(
@@ -29,17 +35,21 @@ public class AdminUserController {
             @RequestParam(value = "status", required = false) String status,
             @RequestParam(value = "userType", required = false) String userType,
             @RequestParam(value = "search", required = false) String search,
-            @RequestParam(value = "specialization", required = false) String specialization
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "joinedFrom", required = false) String joinedFrom,
+            @RequestParam(value = "joinedTo", required = false) String joinedTo,
+            @RequestParam(value = "sortBy", required = false) String sortBy,
+            @RequestParam(value = "sortOrder", required = false) String sortOrder
     ) {
         try {
-            Map<String, Object> filters = new HashMap<>();
-            if (status != null && !status.isEmpty()) filters.put("status", status);
-            if (userType != null && !userType.isEmpty()) filters.put("userType", userType);
-            if (search != null && !search.isEmpty()) filters.put("search", search);
-            if (specialization != null && !specialization.isEmpty()) filters.put("specialization", specialization);
+            if (page < 0 || size < 1 || size > 100) {
+                return ResponseEntity.badRequest().build();
+            }
+            Map<String, Object> filters = buildFilters(status, userType, search, specialization,
+                    joinedFrom, joinedTo, sortBy, sortOrder);
 
-            List<AdminUserDTO> users = adminUserService.getAllUsers();
-            int totalElements = adminUserService.getTotalUsersCount();
+            List<AdminUserDTO> users = adminUserService.getPaginatedFilteredUsers(filters, page, size);
+            int totalElements = adminUserService.getFilteredUsersCount(filters);
             int totalPages = (int) Math.ceil((double) totalElements / size);
 
             ResponseDTO<AdminUserDTO> response = new ResponseDTO<>();
@@ -50,11 +60,54 @@ public class AdminUserController {
             response.setPageSize(size);
 
             return ResponseEntity.ok(response);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
+            System.err.println("Error fetching users: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Export users matching the same filters as CSV
+     * GET /api/admin/users/export?status=Active&userType=artist
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "userType", required = false) String userType,
+            @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "joinedFrom", required = false) String joinedFrom,
+            @RequestParam(value = "joinedTo", required = false) String joinedTo
+    ) {
+        Map<String, Object> filters;
+        try {
+            filters = buildFilters(status, userType, search, specialization, joinedFrom, joinedTo, null, null);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> adminUserService.exportUsersCsv(filters, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users-" + LocalDate.now() + ".csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    private Map<String, Object> buildFilters(String status, String userType, String search, String specialization,
+                                             String joinedFrom, String joinedTo, String sortBy, String sortOrder) {
+        Map<String, Object> filters = new HashMap<>();
+        if (status != null && !status.isEmpty()) filters.put("status", status);
+        if (userType != null && !userType.isEmpty()) filters.put("userType", userType);
+        if (search != null && !search.isEmpty()) filters.put("search", search);
+        if (specialization != null && !specialization.isEmpty()) filters.put("specialization", specialization);
+        if (joinedFrom != null && !joinedFrom.isEmpty()) filters.put("joinedFrom", LocalDate.parse(joinedFrom));
+        if (joinedTo != null && !joinedTo.isEmpty()) filters.put("joinedTo", LocalDate.parse(joinedTo));
+        if (sortBy != null && !sortBy.isEmpty()) filters.put("sortBy", sortBy);
+        if (sortOrder != null && !sortOrder.isEmpty()) filters.put("sortOrder", sortOrder);
+        return filters;
+    }
+
     /**
      * Update user status
      * PUT /api/admin/users/{id}/status
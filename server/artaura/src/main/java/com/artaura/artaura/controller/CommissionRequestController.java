@@ -3,6 +3,8 @@ package com.artaura.artaura.controller;
 import com.artaura.artaura.dto.commission.CommissionRequestDTO;
 import com.artaura.artaura.dao.CommissionRequestDAO;
 import com.artaura.artaura.dao.CommissionRequestDAOImpl;
+import com.artaura.artaura.entity.UserNotification.UserType;
+import com.artaura.artaura.service.NotificationCounterService;
 import com.artaura.artaura.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -28,6 +30,9 @@ public class CommissionRequestController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
@@ -220,6 +225,7 @@ public class CommissionRequestController {
                             request.getTitle(), deadline);
 
                     jdbcTemplate.update(notificationSql, request.getBuyerId(), title, message, requestId, deadline);
+                    notificationCounterService.userNotificationsAdded(request.getBuyerId(), UserType.BUYER, 1);
 
                     // Also log to console
                     System.out.println("=== COMMISSION ACCEPTED NOTIFICATION ===");
@@ -308,6 +314,7 @@ public class CommissionRequestController {
                             request.getTitle(), rejectionReason);
 
                     jdbcTemplate.update(notificationSql, request.getBuyerId(), title, message, requestId, rejectionReason);
+                    notificationCounterService.userNotificationsAdded(request.getBuyerId(), UserType.BUYER, 1);
 
                     // Also log to console
                     System.out.println("=== COMMISSION REJECTED NOTIFICATION ===");
@@ -405,6 +412,7 @@ public class CommissionRequestController {
                             request.getTitle());
 
                     jdbcTemplate.update(notificationSql, request.getBuyerId(), title, message, requestId);
+                    notificationCounterService.userNotificationsAdded(request.getBuyerId(), UserType.BUYER, 1);
 
                     // Also log to console
                     System.out.println("=== DELIVERY REQUEST NOTIFICATION ===");
@@ -3,6 +3,8 @@ package com.artaura.artaura.controller;
 import com.artaura.artaura.service.DeliveryPartnerService;
 import com.artaura.artaura.service.DeliveryRequestService;
 import com.artaura.artaura.service.DeliveryStatusService;
+import com.artaura.artaura.service.DeliveryJobSpatialIndex;
+import com.artaura.artaura.service.DispatchBoardService;
 import com.artaura.artaura.dao.DeliveryPartnerDAO;
 import com.artaura.artaura.dto.auth.DeliveryPartnerDTO;
 import com.artaura.artaura.dto.auth.PasswordChangeDTO;
@@ -10,7 +12,10 @@ import com.artaura.artaura.dto.auth.PasswordChangeResponseDTO;
 import com.artaura.artaura.dto.delivery.DeliveryRequestDTO;
 import com.artaura.artaura.dto.delivery.DeliveryStatusUpdateDTO;
 import com.artaura.artaura.dto.delivery.ArtistPickupAddressDTO;
+import com.artaura.artaura.dto.delivery.NearbyDeliveryJobDTO;
+import com.artaura.artaura.dto.delivery.RouteStopDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
@@ -37,6 +42,12 @@ public class DeliveryPartnerController {
     @Autowired
     private DeliveryPartnerDAO deliveryPartnerDAO;
 
+    @Autowired
+    private DispatchBoardService dispatchBoardService;
+
+    @Autowired
+    private DeliveryJobSpatialIndex deliveryJobSpatialIndex;
+
     @GetMapping("/name/{partnerId}")
     public ResponseEntity<Map<String, String>> getPartnerName(@PathVariable Long partnerId) {
         try {
@@ -193,10 +204,13 @@ public class DeliveryPartnerController {
     @GetMapping("/requests/pending")
     public ResponseEntity<Map<String, Object>> getPendingDeliveryRequests() {
         try {
+            // Read before the list: replaying a delta the snapshot already contains is harmless
+            long boardVersion = dispatchBoardService.getVersion();
             List<DeliveryRequestDTO> pendingRequests = deliveryRequestService.getAllPendingDeliveryRequests();
             
             Map<String, Object> response = new HashMap<>();
             response.put("requests", pendingRequests);
+            response.put("boardVersion", boardVersion);
             response.put("success", true);
             response.put("count", pendingRequests.size());
             
@@ -209,6 +223,75 @@ public class DeliveryPartnerController {
         }
     }
     
+    @GetMapping("/jobs/nearby")
+    public ResponseEntity<Map<String, Object>> getNearbyJobs(@RequestParam double lat,
+                                                             @RequestParam double lng,
+                                                             @RequestParam(defaultValue = "10") int k,
+                                                             @RequestParam(required = false) Double radiusKm) {
+        Map<String, Object> response = new HashMap<>();
+        String invalid = validateLocation(lat, lng, radiusKm);
+        if (invalid == null && (k < 1 || k > 50)) {
+            invalid = "k must be between 1 and 50";
+        }
+        if (invalid != null) {
+            response.put("error", invalid);
+            response.put("success", false);
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            List<NearbyDeliveryJobDTO> jobs = deliveryJobSpatialIndex.findNearest(lat, lng, k, radiusKm);
+            response.put("jobs", jobs);
+            response.put("count", jobs.size());
+            response.put("unlocatedJobs", deliveryJobSpatialIndex.getUnlocatedJobCount());
+            response.put("boardVersion", deliveryJobSpatialIndex.getIndexedBoardVersion());
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("error", "Failed to find nearby jobs: " + e.getMessage());
+            response.put("success", false);
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    @GetMapping("/jobs/route")
+    public ResponseEntity<Map<String, Object>> getSuggestedRoute(@RequestParam double lat,
+                                                                 @RequestParam double lng,
+                                                                 @RequestParam(defaultValue = "5") int maxJobs,
+                                                                 @RequestParam(required = false) Double radiusKm) {
+        Map<String, Object> response = new HashMap<>();
+        String invalid = validateLocation(lat, lng, radiusKm);
+        if (invalid == null && (maxJobs < 1 || maxJobs > 10)) {
+            invalid = "maxJobs must be between 1 and 10";
+        }
+        if (invalid != null) {
+            response.put("error", invalid);
+            response.put("success", false);
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            List<RouteStopDTO> stops = deliveryJobSpatialIndex.suggestRoute(lat, lng, maxJobs, radiusKm);
+            response.put("stops", stops);
+            response.put("totalKm", stops.isEmpty() ? 0.0 : stops.get(stops.size() - 1).getCumulativeKm());
+            response.put("jobCount", stops.stream().filter(stop -> "pickup".equals(stop.getStopType())).count());
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("error", "Failed to suggest a route: " + e.getMessage());
+            response.put("success", false);
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    private static String validateLocation(double lat, double lng, Double radiusKm) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            return "lat must be between -90 and 90 and lng between -180 and 180";
+        }
+        if (radiusKm != null && radiusKm <= 0) {
+            return "radiusKm must be positive";
+        }
+        return null;
+    }
+
     @GetMapping("/requests/pending/artworks")
     public ResponseEntity<Map<String, Object>> getPendingArtworkDeliveryRequests() {
         try {
@@ -266,9 +349,9 @@ public class DeliveryPartnerController {
                 response.put("success", true);
                 return ResponseEntity.ok(response);
             } else {
-                response.put("error", "Failed to accept delivery request");
+                response.put("error", "Delivery request is no longer pending");
                 response.put("success", false);
-                return ResponseEntity.internalServerError().body(response);
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
             }
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
@@ -447,18 +530,27 @@ public class DeliveryPartnerController {
                 }
             }
             
-            boolean updated = deliveryStatusService.acceptDeliveryRequest(orderType, orderId, shippingFee, deliveryPartnerId);
+            Map<String, Object> claim = deliveryStatusService.claimDelivery(orderType, orderId, shippingFee, deliveryPartnerId);
+            Object outcome = claim.get("outcome");
             
-            Map<String, Object> response = new HashMap<>();
-            if (updated) {
+            Map<String, Object> response = new HashMap<>(claim);
+            if (DeliveryStatusService.CLAIMED.equals(outcome)) {
                 response.put("message", "Delivery request accepted successfully with shipping fee");
                 response.put("success", true);
+                response.put("shippingFee", shippingFee);
                 return ResponseEntity.ok(response);
-            } else {
-                response.put("error", "Failed to accept delivery request or update shipping fee");
-                response.put("success", false);
-                return ResponseEntity.internalServerError().body(response);
             }
+            response.put("success", false);
+            if (DeliveryStatusService.CONFLICT.equals(outcome)) {
+                // Final answer: the job belongs to someone else, so the client should not retry
+                response.put("error", "Delivery request has already been accepted");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            } else if (DeliveryStatusService.NOT_FOUND.equals(outcome)) {
+                response.put("error", "Delivery request not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            response.put("error", "Failed to accept delivery request");
+            return ResponseEntity.internalServerError().body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("error", "Internal server error: " + e.getMessage());
@@ -587,10 +679,13 @@ public class DeliveryPartnerController {
     @GetMapping("/requests/active")
     public ResponseEntity<Map<String, Object>> getActiveDeliveryRequests() {
         try {
+            // Read before the list: replaying a delta the snapshot already contains is harmless
+            long boardVersion = dispatchBoardService.getVersion();
             List<DeliveryRequestDTO> activeRequests = deliveryRequestService.getAllActiveDeliveryRequests();
             
             Map<String, Object> response = new HashMap<>();
             response.put("requests", activeRequests);
+            response.put("boardVersion", boardVersion);
             response.put("success", true);
             response.put("count", activeRequests.size());
             
@@ -4,6 +4,7 @@ import com.artaura.artaura.service.DeliveryStatusService;
 import com.artaura.artaura.service.DeliveryRequestService;
 import com.artaura.artaura.dto.delivery.DeliveryStatusUpdateDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -65,21 +66,27 @@ public class DeliveryStatusController {
                 }
             }
             
-            boolean updated = deliveryStatusService.acceptDeliveryRequest(orderType, orderId, shippingFee, deliveryPartnerId);
+            Map<String, Object> claim = deliveryStatusService.claimDelivery(orderType, orderId, shippingFee, deliveryPartnerId);
+            Object outcome = claim.get("outcome");
             
-            Map<String, Object> response = new HashMap<>();
-            if (updated) {
+            Map<String, Object> response = new HashMap<>(claim);
+            if (DeliveryStatusService.CLAIMED.equals(outcome)) {
                 response.put("message", "Delivery request accepted successfully");
                 response.put("success", true);
-                response.put("orderId", orderId);
-                response.put("orderType", orderType);
                 response.put("shippingFee", shippingFee);
                 return ResponseEntity.ok(response);
-            } else {
-                response.put("error", "Failed to accept delivery request. Order may not exist or may not be in pending status");
-                response.put("success", false);
-                return ResponseEntity.badRequest().body(response);
             }
+            response.put("success", false);
+            if (DeliveryStatusService.CONFLICT.equals(outcome)) {
+                // Final answer: the job belongs to someone else, so the client should not retry
+                response.put("error", "Delivery request has already been accepted");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            } else if (DeliveryStatusService.NOT_FOUND.equals(outcome)) {
+                response.put("error", "Delivery request not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            response.put("error", "Failed to accept delivery request");
+            return ResponseEntity.internalServerError().body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("error", "Internal server error: " + e.getMessage());
@@ -312,6 +319,8 @@ public class DeliveryStatusController {
             
             if ((Boolean) result.get("success")) {
                 return ResponseEntity.ok(result);
+            } else if (Boolean.TRUE.equals(result.get("conflict"))) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
             } else {
                 return ResponseEntity.badRequest().body(result);
             }
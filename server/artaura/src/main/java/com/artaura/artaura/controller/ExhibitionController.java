@@ -74,7 +74,7 @@ public class ExhibitionController {
 
             String token = authorizationHeader.substring(7);
             try {
-                jwtUtil.validateToken(token);
+                jwtUtil.verify(token);
             } catch (Exception e) {
                 logger.warn("Invalid JWT token: {}", e.getMessage());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
@@ -128,7 +128,7 @@ public class ExhibitionController {
 
             Long artistIdLong;
             try {
-                jwtUtil.validateToken(token);
+                jwtUtil.verify(token);
                 artistIdLong = jwtUtil.extractUserId(token);
             } catch (Exception e) {
                 logger.warn("Invalid JWT token: {}", e.getMessage());
@@ -220,7 +220,7 @@ public class ExhibitionController {
 
             String token = authorizationHeader.substring(7);
             try {
-                jwtUtil.validateToken(token);
+                jwtUtil.verify(token);
             } catch (Exception e) {
                 logger.warn("Invalid JWT token for update: {}", e.getMessage());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
@@ -265,7 +265,7 @@ public class ExhibitionController {
 
             String token = authorizationHeader.substring(7);
             try {
-                jwtUtil.validateToken(token);
+                jwtUtil.verify(token);
             } catch (Exception e) {
                 logger.warn("Invalid JWT token for delete: {}", e.getMessage());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
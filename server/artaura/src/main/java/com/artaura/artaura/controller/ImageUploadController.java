@@ -1,5 +1,9 @@
 package com.artaura.artaura.controller;
 
+import com.artaura.artaura.dto.image.ImageVariantDTO;
+import com.artaura.artaura.service.CentralizedUploadService;
+import com.artaura.artaura.service.ImageVariantService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +16,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -20,17 +25,21 @@ import java.util.UUID;
 @CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
 public class ImageUploadController {
 
-    // Directory to save uploaded images - absolute path to
-    // client/public/uploads/products
-    private static final String UPLOAD_DIR = "D:/Artaura/ArtAura/client/public/uploads/products/";
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private CentralizedUploadService centralizedUploadService;
 
     @PostMapping("/image")
     public ResponseEntity<Map<String, String>> uploadImage(@RequestParam("file") MultipartFile file) {
         Map<String, String> response = new HashMap<>();
 
         try {
+            // products/ under the configured upload root, served by UploadServingController
+            String uploadDirPath = centralizedUploadService.getUploadsRoot().resolve("products") + File.separator;
             System.out.println("📤 Image upload request received");
-            System.out.println("📁 Upload directory: " + UPLOAD_DIR);
+            System.out.println("📁 Upload directory: " + uploadDirPath);
 
             // Validate file
             if (file.isEmpty()) {
@@ -53,9 +62,9 @@ public class ImageUploadController {
             }
 
             // Create upload directory if it doesn't exist
-            File uploadDir = new File(UPLOAD_DIR);
+            File uploadDir = new File(uploadDirPath);
             if (!uploadDir.exists()) {
-                System.out.println("📂 Creating upload directory: " + UPLOAD_DIR);
+                System.out.println("📂 Creating upload directory: " + uploadDirPath);
                 boolean created = uploadDir.mkdirs();
                 System.out.println("✅ Directory created: " + created);
             }
@@ -70,7 +79,7 @@ public class ImageUploadController {
             System.out.println("🆔 Generated filename: " + uniqueFilename);
 
             // Save file
-            Path filePath = Paths.get(UPLOAD_DIR + uniqueFilename);
+            Path filePath = Paths.get(uploadDirPath + uniqueFilename);
             System.out.println("💾 Saving file to: " + filePath.toAbsolutePath());
             Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
             System.out.println("✅ File saved successfully");
@@ -100,7 +109,7 @@ public class ImageUploadController {
         try {
             // Extract filename from URL
             String filename = imageUrl.substring(imageUrl.lastIndexOf("/") + 1);
-            Path filePath = Paths.get(UPLOAD_DIR + filename);
+            Path filePath = centralizedUploadService.getUploadsRoot().resolve("products").resolve(filename);
 
             // Delete file if it exists
             if (Files.exists(filePath)) {
@@ -117,4 +126,12 @@ public class ImageUploadController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * Responsive image sets for gallery/feed clients: original URL -> available widths
+     */
+    @GetMapping("/variants")
+    public ResponseEntity<Map<String, List<ImageVariantDTO>>> getImageVariants(@RequestParam("urls") List<String> urls) {
+        return ResponseEntity.ok(imageVariantService.getVariants(urls));
+    }
 }
@@ -1,10 +1,14 @@
 package com.artaura.artaura.controller;
 
-import com.artaura.artaura.util.JwtUtil;
+import com.artaura.artaura.entity.UserNotification.UserType;
+import com.artaura.artaura.security.JwtPrincipal;
+import com.artaura.artaura.service.NotificationCounterService;
+import com.artaura.artaura.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -16,22 +20,30 @@ import java.util.Map;
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174"}, allowCredentials = "true")
 public class NotificationControllerEnhanced {
 
-    @Autowired
-    private JwtUtil jwtUtil;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
     /**
      * Get notifications for a specific buyer
      */
     @GetMapping("/buyer/{buyerId}")
     public ResponseEntity<Map<String, Object>> getBuyerNotifications(
             @PathVariable Long buyerId,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            Authentication authentication) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
+            // Principal was verified once by JwtAuthFilter; no need to re-parse the token here
+            Long userId = Long.valueOf(authentication.getName());
 
             // Verify user can access these notifications
             if (!userId.equals(buyerId)) {
@@ -41,12 +53,14 @@ public class NotificationControllerEnhanced {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
             }
 
-            String sql = "SELECT * FROM user_notifications WHERE user_id = ? AND user_type = 'BUYER' ORDER BY created_at DESC LIMIT 50";
-            List<Map<String, Object>> notifications = jdbcTemplate.queryForList(sql, buyerId);
+            List<Map<String, Object>> notifications =
+                    notificationService.getUserInbox(buyerId, UserType.BUYER, before, pageSize(limit));
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Notifications retrieved successfully");
             response.put("data", notifications);
+            response.put("nextCursor", nextCursor(notifications, "id", pageSize(limit)));
+            response.put("unreadCount", notificationService.getUserUnreadCount(buyerId, UserType.BUYER));
             response.put("success", true);
 
             return ResponseEntity.ok(response);
@@ -64,35 +78,20 @@ public class NotificationControllerEnhanced {
     @PostMapping("/{notificationId}/mark-read")
     public ResponseEntity<Map<String, Object>> markNotificationAsRead(
             @PathVariable Long notificationId,
-            @RequestHeader("Authorization") String authHeader) {
+            Authentication authentication) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-
-            // Verify notification belongs to user
-            String checkSql = "SELECT user_id FROM user_notifications WHERE id = ?";
-            List<Long> userIds = jdbcTemplate.queryForList(checkSql, Long.class, notificationId);
+            Long userId = Long.valueOf(authentication.getName());
 
-            if (userIds.isEmpty() || !userIds.get(0).equals(userId)) {
-                Map<String, Object> response = new HashMap<>();
+            // Verifies ownership; marking an already-read notification again is a no-op
+            Map<String, Object> response = new HashMap<>();
+            if (!notificationService.markUserNotificationRead(notificationId, userId)) {
                 response.put("message", "Notification not found or access denied");
                 response.put("success", false);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
-
-            String sql = "UPDATE user_notifications SET is_read = TRUE, updated_at = NOW() WHERE id = ?";
-            int updated = jdbcTemplate.update(sql, notificationId);
-
-            Map<String, Object> response = new HashMap<>();
-            if (updated > 0) {
-                response.put("message", "Notification marked as read");
-                response.put("success", true);
-                return ResponseEntity.ok(response);
-            } else {
-                response.put("message", "Failed to update notification");
-                response.put("success", false);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-            }
+            response.put("message", "Notification marked as read");
+            response.put("success", true);
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Error updating notification: " + e.getMessage());
@@ -107,43 +106,164 @@ public class NotificationControllerEnhanced {
     @DeleteMapping("/{notificationId}")
     public ResponseEntity<Map<String, Object>> deleteNotification(
             @PathVariable Long notificationId,
-            @RequestHeader("Authorization") String authHeader) {
+            Authentication authentication) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
+            Long userId = Long.valueOf(authentication.getName());
 
-            // Verify notification belongs to user
-            String checkSql = "SELECT user_id FROM user_notifications WHERE id = ?";
-            List<Long> userIds = jdbcTemplate.queryForList(checkSql, Long.class, notificationId);
-
-            if (userIds.isEmpty() || !userIds.get(0).equals(userId)) {
-                Map<String, Object> response = new HashMap<>();
+            // Verifies ownership before deleting
+            Map<String, Object> response = new HashMap<>();
+            if (!notificationService.deleteUserNotification(notificationId, userId)) {
                 response.put("message", "Notification not found or access denied");
                 response.put("success", false);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
+            response.put("message", "Notification deleted");
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Error deleting notification: " + e.getMessage());
+            response.put("success", false);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
 
-            String sql = "DELETE FROM user_notifications WHERE id = ?";
-            int deleted = jdbcTemplate.update(sql, notificationId);
+    /**
+     * Unread notification count for the signed-in user, for the notification badge.
+     * Served from memory; the database is only read when the cached count has expired.
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Object>> getUnreadCount(Authentication authentication) {
+        try {
+            Long userId = Long.valueOf(authentication.getName());
+            String role = role(authentication);
 
+            long unreadCount;
+            if ("artist".equalsIgnoreCase(role)) {
+                unreadCount = notificationService.getArtistUnreadCount(userId);
+            } else {
+                UserType userType = userType(role);
+                if (userType == null) {
+                    return unsupportedRole();
+                }
+                unreadCount = notificationService.getUserUnreadCount(userId, userType);
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("unreadCount", unreadCount);
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
-            if (deleted > 0) {
-                response.put("message", "Notification deleted");
-                response.put("success", true);
-                return ResponseEntity.ok(response);
+            response.put("message", "Error retrieving unread count: " + e.getMessage());
+            response.put("success", false);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * A page of the signed-in user's notifications, newest first. Pass the returned
+     * nextCursor as "before" to get the following page; it is null on the last page.
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<Map<String, Object>> getInbox(
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            Authentication authentication) {
+        try {
+            Long userId = Long.valueOf(authentication.getName());
+            String role = role(authentication);
+            int pageSize = pageSize(limit);
+
+            List<Map<String, Object>> notifications;
+            Object nextCursor;
+            long unreadCount;
+            if ("artist".equalsIgnoreCase(role)) {
+                notifications = notificationService.getArtistInbox(userId, before, pageSize);
+                nextCursor = nextCursor(notifications, "notification_id", pageSize);
+                unreadCount = notificationService.getArtistUnreadCount(userId);
             } else {
-                response.put("message", "Failed to delete notification");
-                response.put("success", false);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+                UserType userType = userType(role);
+                if (userType == null) {
+                    return unsupportedRole();
+                }
+                notifications = notificationService.getUserInbox(userId, userType, before, pageSize);
+                nextCursor = nextCursor(notifications, "id", pageSize);
+                unreadCount = notificationService.getUserUnreadCount(userId, userType);
             }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Notifications retrieved successfully");
+            response.put("data", notifications);
+            response.put("nextCursor", nextCursor);
+            response.put("unreadCount", unreadCount);
+            response.put("success", true);
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "Error deleting notification: " + e.getMessage());
+            response.put("message", "Error retrieving notifications: " + e.getMessage());
             response.put("success", false);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
 
+    /**
+     * Mark all of the signed-in user's notifications as read
+     */
+    @PostMapping("/mark-all-read")
+    public ResponseEntity<Map<String, Object>> markAllNotificationsAsRead(Authentication authentication) {
+        try {
+            Long userId = Long.valueOf(authentication.getName());
+            UserType userType = userType(role(authentication));
+            if (userType == null) {
+                // Artists use PUT /api/notifications/artist/mark-all-read
+                return unsupportedRole();
+            }
+            notificationService.markAllUserNotificationsRead(userId, userType);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "All notifications marked as read");
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Error updating notifications: " + e.getMessage());
+            response.put("success", false);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    private static String role(Authentication authentication) {
+        return authentication.getDetails() instanceof JwtPrincipal principal ? principal.getRole() : null;
+    }
+
+    // Roles whose notifications live in user_notifications; null for any other role
+    private static UserType userType(String role) {
+        if ("buyer".equalsIgnoreCase(role)) {
+            return UserType.BUYER;
+        }
+        if ("shop".equalsIgnoreCase(role)) {
+            return UserType.SHOP;
+        }
+        return null;
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // The last row's id when the page is full, i.e. there may be more
+    private static Object nextCursor(List<Map<String, Object>> page, String idColumn, int pageSize) {
+        return page.size() == pageSize ? page.get(page.size() - 1).get(idColumn) : null;
+    }
+
+    private static ResponseEntity<Map<String, Object>> unsupportedRole() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Notifications are not available for this account type");
+        response.put("success", false);
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
+
     /**
      * Create a notification (internal use)
      */
@@ -153,6 +273,7 @@ public class NotificationControllerEnhanced {
         try {
             String sql = "INSERT INTO user_notifications (user_id, user_type, type, title, message, commission_request_id, artist_deadline, rejection_reason) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
             jdbcTemplate.update(sql, userId, userType, type, title, message, commissionRequestId, artistDeadline, rejectionReason);
+            notificationCounterService.userNotificationsAdded(userId, UserType.valueOf(userType.toUpperCase()), 1);
         } catch (Exception e) {
             System.err.println("Error creating notification: " + e.getMessage());
         }
@@ -35,13 +35,13 @@ public class PostInteractionController {
             Long userId = jwtUtil.extractUserId(token);
             String userType = jwtUtil.extractUserType(token);
 
-            boolean success = postInteractionService.toggleLike(postId, userId, userType);
+            boolean liked = postInteractionService.toggleLike(postId, userId, userType);
 
             Map<String, Object> response = new HashMap<>();
-            response.put("success", success);
-            response.put("liked", postInteractionService.isPostLikedByUser(postId, userId, userType));
+            response.put("success", true);
+            response.put("liked", liked);
             response.put("likesCount", postInteractionService.getLikesCount(postId));
-            response.put("message", success ? "Like toggled successfully" : "Failed to toggle like");
+            response.put("message", "Like toggled successfully");
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -235,4 +235,15 @@ public class PostInteractionController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * Write-behind like counter health (pending updates, flush lag, dropped updates)
+     */
+    @GetMapping("/like-metrics")
+    public ResponseEntity<Map<String, Object>> getLikeCounterMetrics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("metrics", postInteractionService.getLikeCounterMetrics());
+        return ResponseEntity.ok(response);
+    }
 }
@@ -41,7 +41,7 @@ public class ShopOwnerController {
             @RequestParam("nicImage") MultipartFile nicImage
     ) throws IOException {
         // Save NIC image using saveImage
-        String nicImageUrl = imageUploadService.saveImage(nicImage, "nic", null);
+        String nicImageUrl = imageUploadService.saveImage(nicImage);
 
         ShopOwnerSignupRequest req = new ShopOwnerSignupRequest();
         req.setShopName(shopName);
@@ -1,9 +1,11 @@
 package com.artaura.artaura.controller.buyer;
 
 
+import com.artaura.artaura.dto.buyer.APostFeedPageDTO;
 import com.artaura.artaura.dto.buyer.APostResponseDTO;
 import com.artaura.artaura.service.buyer.APostService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
@@ -11,7 +13,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -28,6 +32,20 @@ public class APostController {
         return ResponseEntity.ok(posts);
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<APostFeedPageDTO> getFeed(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(postService.getFeedPage(cursor, size));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllPosts() {
+        StreamingResponseBody body = postService::streamAllPostsSortedByTime;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     @MessageMapping("/like")
     @SendTo("/topic/likes")
     public APostResponseDTO likePost(@RequestBody Long postId) {
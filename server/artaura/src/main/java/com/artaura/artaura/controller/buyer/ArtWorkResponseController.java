@@ -1,5 +1,6 @@
 package com.artaura.artaura.controller.buyer;
 
+import com.artaura.artaura.dto.artwork.ArtworkSearchQueryDTO;
 import com.artaura.artaura.dto.buyer.ArtworksResponse;
 import com.artaura.artaura.service.buyer.Artworkservice;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,9 +8,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/artworks")
@@ -23,4 +26,35 @@ public class ArtWorkResponseController {
         List<ArtworksResponse> artworks = artworkService.getAvailableArtworks();
         return ResponseEntity.ok(artworks);
     }
+
+    /**
+     * Ranked catalogue search with facet counts
+     * GET /api/artworks/search?q=blue+ocean&category=Painting&minPrice=100&sortBy=relevance&offset=0&limit=20
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<Map<String, Object>> searchArtworks(
+            @RequestParam(value = "q", required = false) String text,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "medium", required = false) String medium,
+            @RequestParam(value = "artistId", required = false) Long artistId,
+            @RequestParam(value = "minPrice", required = false) Double minPrice,
+            @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(value = "sortBy", required = false) String sortBy,
+            @RequestParam(value = "sortOrder", defaultValue = "DESC") String sortOrder,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        ArtworkSearchQueryDTO query = new ArtworkSearchQueryDTO();
+        query.setText(text);
+        query.setCategory(category);
+        query.setMedium(medium);
+        query.setArtistId(artistId);
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+        query.setSortBy(sortBy);
+        query.setSortOrder(sortOrder);
+        query.setOffset(offset);
+        query.setLimit(limit);
+        return ResponseEntity.ok(artworkService.searchAvailableArtworks(query));
+    }
 }
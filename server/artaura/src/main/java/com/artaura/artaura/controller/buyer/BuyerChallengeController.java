@@ -70,6 +70,54 @@ public class BuyerChallengeController {
         }
     }
 
+    // Leaderboards are readable by any signed-in user so artists can see where they stand
+    @GetMapping("/{challengeId}/leaderboard")
+    public ResponseEntity<?> getLeaderboard(
+            @PathVariable Integer challengeId,
+            @RequestParam(required = false, defaultValue = "topscores") String sortBy,
+            @RequestParam(required = false, defaultValue = "0") int offset,
+            @RequestParam(required = false, defaultValue = "10") int limit,
+            @RequestHeader("Authorization") String authHeader) {
+        Long userId;
+        try {
+            String token = authHeader.startsWith("Bearer ") ? authHeader.substring(7) : authHeader;
+            userId = jwtUtil.extractUserId(token);
+        } catch (Exception e) {
+            System.err.println("Error in getLeaderboard: " + e.getMessage());
+            return ResponseEntity.status(401).build();
+        }
+        if (offset < 0 || limit < 1 || limit > 100) {
+            return ResponseEntity.status(400).body(Map.of(
+                "success", false,
+                "message", "offset must be >= 0 and limit between 1 and 100"
+            ));
+        }
+        return ResponseEntity.ok(challengeService.getLeaderboardPage(challengeId, userId, sortBy, offset, limit));
+    }
+
+    @GetMapping("/{challengeId}/leaderboard/rank")
+    public ResponseEntity<?> getSubmissionRank(
+            @PathVariable Integer challengeId,
+            @RequestParam Long submissionId,
+            @RequestParam(required = false, defaultValue = "topscores") String sortBy,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            String token = authHeader.startsWith("Bearer ") ? authHeader.substring(7) : authHeader;
+            jwtUtil.extractUserId(token);
+        } catch (Exception e) {
+            System.err.println("Error in getSubmissionRank: " + e.getMessage());
+            return ResponseEntity.status(401).build();
+        }
+        Map<String, Object> rank = challengeService.getSubmissionRank(challengeId, submissionId, sortBy);
+        if (rank == null) {
+            return ResponseEntity.status(404).body(Map.of(
+                "success", false,
+                "message", "Submission is not on an active challenge leaderboard"
+            ));
+        }
+        return ResponseEntity.ok(rank);
+    }
+
     @GetMapping("/{challengeId}/submissions/count")
     public ResponseEntity<Integer> getSubmissionsCount(
             @PathVariable Integer challengeId,
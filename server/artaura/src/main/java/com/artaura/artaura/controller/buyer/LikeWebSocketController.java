@@ -2,16 +2,35 @@ package com.artaura.artaura.controller.buyer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Controller;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Controller
 public class LikeWebSocketController {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    // Latest like count per post waiting for the next broadcast tick
+    private final ConcurrentHashMap<Long, Integer> pendingLikeUpdates = new ConcurrentHashMap<>();
+
+    /**
+     * Queues a like count for broadcast. Repeated updates for the same post
+     * within one tick collapse into a single message carrying the latest count.
+     */
     public void broadcastLikeUpdate(Long postId, int newLikeCount) {
-        messagingTemplate.convertAndSend("/topic/likes", Map.of("postId", postId, "likes", newLikeCount));
+        pendingLikeUpdates.put(postId, newLikeCount);
+    }
+
+    @Scheduled(fixedDelayString = "${artaura.likes.broadcast-interval-ms:250}")
+    public void flushLikeUpdates() {
+        for (Long postId : pendingLikeUpdates.keySet()) {
+            Integer likes = pendingLikeUpdates.remove(postId);
+            if (likes != null) {
+                messagingTemplate.convertAndSend("/topic/likes", Map.of("postId", postId, "likes", likes));
+            }
+        }
     }
 }
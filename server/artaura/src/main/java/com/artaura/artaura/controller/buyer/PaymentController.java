@@ -4,6 +4,7 @@ import com.stripe.Stripe;
 import com.stripe.model.PaymentIntent;
 import com.stripe.param.PaymentIntentCreateParams;
 import com.artaura.artaura.dto.buyer.CommissionPaymentRequestDTO;
+import com.artaura.artaura.service.buyer.ArtworkHoldService;
 import com.artaura.artaura.service.buyer.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,7 +14,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -25,6 +29,9 @@ public class PaymentController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private ArtworkHoldService artworkHoldService;
+
     @PostConstruct
     public void init() {
         Stripe.apiKey = stripeSecretKey;
@@ -32,6 +39,10 @@ public class PaymentController {
 
     @PostMapping("/create-payment-intent")
     public Map<String, String> createPaymentIntent(@RequestBody Map<String, Object> data) {
+        // Reserve the cart before taking payment; a 409 here means another buyer got there first
+        List<Long> artworkIds = parseArtworkIds(data.get("artworkIds"));
+        Long buyerId = artworkIds.isEmpty() ? null : currentBuyerId();
+        Instant holdExpiresAt = artworkIds.isEmpty() ? null : artworkHoldService.holdArtworks(artworkIds, buyerId);
         try {
             // Stripe expects amount in the smallest currency unit (cents)
             long amount = 0;
@@ -50,12 +61,42 @@ public class PaymentController {
             PaymentIntent intent = PaymentIntent.create(params);
             Map<String, String> response = new HashMap<>();
             response.put("clientSecret", intent.getClientSecret());
+            if (holdExpiresAt != null) {
+                response.put("holdExpiresAt", holdExpiresAt.toString());
+            }
             return response;
         } catch (Exception e) {
+            artworkHoldService.releaseHolds(artworkIds, buyerId);
             throw new RuntimeException("Stripe error: " + e.getMessage());
         }
     }
 
+    private static List<Long> parseArtworkIds(Object value) {
+        List<Long> artworkIds = new ArrayList<>();
+        if (value instanceof List<?> list) {
+            for (Object id : list) {
+                if (id instanceof Number) {
+                    artworkIds.add(((Number) id).longValue());
+                } else if (id != null) {
+                    artworkIds.add(Long.parseLong(id.toString()));
+                }
+            }
+        }
+        return artworkIds;
+    }
+
+    private static Long currentBuyerId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(String.valueOf(authentication.getPrincipal()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     @PostMapping("/commissions/process")
     public ResponseEntity<?> processCommissionPayment(
             @RequestBody CommissionPaymentRequestDTO paymentRequest) {
@@ -0,0 +1,24 @@
+package com.artaura.artaura.dao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface AddressGeoDAO {
+
+    /**
+     * Distinct cities of addresses that have not been geocoded yet
+     */
+    List<String> findCitiesToGeocode(int limit);
+
+    /**
+     * Stores coordinates (null when the city is unknown) on every untried address
+     * in the city and marks them geocoded; returns the number of rows updated
+     */
+    int saveCityCoordinates(String city, Double latitude, Double longitude);
+
+    /**
+     * Pickup coordinates {latitude, longitude} by artist id, for artists whose address is geocoded
+     */
+    Map<Long, double[]> findArtistCoordinates(Collection<Long> artistIds);
+}
@@ -2,6 +2,7 @@ package com.artaura.artaura.dao;
 
 import com.artaura.artaura.dto.delivery.DeliveryRequestDTO;
 import com.artaura.artaura.dto.delivery.ArtistPickupAddressDTO;
+import com.artaura.artaura.dto.delivery.DeliveryRequestPageDTO;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
@@ -47,6 +48,15 @@ public interface AdminDeliveryDAO {
      * @return List of filtered delivery requests
      */
     List<DeliveryRequestDTO> getFilteredDeliveryRequests(Map<String, String> filters);
+
+    /**
+     * Get one page of delivery requests from both tables, newest first
+     * @param filters same criteria as getFilteredDeliveryRequests
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param pageSize number of requests per page
+     * @return the page and the cursor for the next one
+     */
+    DeliveryRequestPageDTO getDeliveryRequestPage(Map<String, String> filters, String cursor, int pageSize);
     
     /**
      * Get delivery statistics for admin dashboard
@@ -26,4 +26,23 @@ public interface AdminOverviewDAO {
      * @return Map with pending items count
      */
     Map<String, Integer> getModerationStatistics();
-}
\ No newline at end of file
+
+    /**
+     * All dashboard counters from the two combined aggregate queries. Unlike the
+     * methods above this does not swallow errors, so callers can keep their last good values
+     * @return Map with user, moderation (pendingArtists, pendingShops) and financial totals
+     */
+    Map<String, Object> loadOverviewTotals();
+
+    /**
+     * Current status of a single artist/buyer/moderator/shop row
+     * @return status, or null if the user does not exist
+     */
+    String findUserStatus(String userType, Long userId);
+
+    /**
+     * Current status and amount of a payment row
+     * @return Map with status and amount, or null if the payment does not exist
+     */
+    Map<String, Object> findPaymentStatus(Integer paymentId);
+}
@@ -3,7 +3,12 @@ package com.artaura.artaura.dao;
 import com.artaura.artaura.dto.admin.AdminUserDTO;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+/**
+ * Filters map keys for the directory methods: userType, status, search (name/email prefix),
+ * specialization, joinedFrom / joinedTo (LocalDate, inclusive), sortBy, sortOrder.
+ */
 public interface AdminUserDAO {
     List<AdminUserDTO> getAllUsers();
     List<AdminUserDTO> getFilteredUsers(Map<String, Object> filters);
@@ -16,4 +21,7 @@ public interface AdminUserDAO {
     List<AdminUserDTO> getPaginatedUsers(int page, int pageSize);
     List<AdminUserDTO> getPaginatedFilteredUsers(Map<String, Object> filters, int page, int pageSize);
     int getFilteredUsersCount(Map<String, Object> filters);
+    Map<String, Integer> getFilteredUserCountsByRole(Map<String, Object> filters);
+    // Streams every matching user, grouped by role, without buffering the result set
+    void streamFilteredUsers(Map<String, Object> filters, Consumer<AdminUserDTO> consumer);
 }
@@ -0,0 +1,37 @@
+package com.artaura.artaura.dao;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public interface AnalyticsRollupDAO {
+
+    /**
+     * Queue the day of an existing shop order for rebuilding (call before and after edits)
+     */
+    void markOrderDirty(Long orderId);
+
+    /**
+     * Queue the days of all orders with fromExclusive < order_id <= toInclusive
+     * @return number of days queued or refreshed
+     */
+    int markNewOrdersDirty(long fromExclusive, long toInclusive);
+
+    long getMaxOrderId();
+
+    long getWatermark(String name);
+
+    void saveWatermark(String name, long watermark);
+
+    /**
+     * Oldest queued days first; each map has shop_id, sales_date and marked_at
+     */
+    List<Map<String, Object>> findDirtyDays(int limit);
+
+    /**
+     * Recompute one shop-day of shop_sales_daily and shop_customer_daily from shop_orders,
+     * then dequeue it unless it was marked again in the meantime
+     */
+    void rebuildDay(Long shopId, LocalDate salesDate, Timestamp markedAt);
+}
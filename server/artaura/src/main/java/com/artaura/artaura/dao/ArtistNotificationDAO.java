@@ -2,6 +2,7 @@ package com.artaura.artaura.dao;
 
 import com.artaura.artaura.dto.notification.ArtistNotificationDTO;
 import java.util.List;
+import java.util.Map;
 
 public interface ArtistNotificationDAO {
     /**
@@ -10,6 +11,13 @@ public interface ArtistNotificationDAO {
      * @return true if creation was successful
      */
     boolean createNotification(ArtistNotificationDTO dto);
+
+    /**
+     * Create several artist notifications in one batch; failures are thrown, not logged,
+     * so a surrounding transaction rolls back
+     * @param dtos The notifications
+     */
+    void createNotifications(List<ArtistNotificationDTO> dtos);
     
     /**
      * Get all notifications for a specific artist
@@ -25,10 +33,26 @@ public interface ArtistNotificationDAO {
      */
     List<ArtistNotificationDTO> getUnreadNotificationsByArtist(Long artistId);
     
+    /**
+     * Get a page of an artist's notifications, newest first
+     * @param artistId The artist ID
+     * @param beforeId Only notifications with a smaller ID (the previous page's last ID), or null for the first page
+     * @param limit Page size
+     * @return Notification rows keyed by column name
+     */
+    List<Map<String, Object>> getNotificationPage(Long artistId, Long beforeId, int limit);
+
+    /**
+     * Count unread notifications for an artist
+     * @param artistId The artist ID
+     * @return Number of unread notifications
+     */
+    long countUnread(Long artistId);
+
     /**
      * Mark a notification as read
      * @param notificationId The notification ID
-     * @return true if update was successful
+     * @return true if the notification was unread and is now read
      */
     boolean markAsRead(Long notificationId);
     
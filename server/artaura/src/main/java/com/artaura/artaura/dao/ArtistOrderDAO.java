@@ -11,6 +11,29 @@ public interface ArtistOrderDAO {
      */
     Long createOrder(Long artistId, Long productId, Integer quantity, Double total);
 
+    /**
+     * Atomically take quantity off the product's stock and create a pending order
+     * priced from the product. Returns null, changing nothing, when the product
+     * does not exist or has less than quantity in stock.
+     */
+    Long reserveAndCreateOrder(Long artistId, Long productId, Integer quantity);
+
+    /**
+     * Move an order from one status to another; false if it was not in the expected status
+     */
+    boolean transitionOrderStatus(Long orderId, String fromStatus, String toStatus);
+
+    /**
+     * Cancel a pending or approved order and return its quantity to stock;
+     * false if the order was not found or already cancelled
+     */
+    boolean cancelOrderAndRestoreStock(Long orderId);
+
+    /**
+     * Current stock of a product, or null if it does not exist
+     */
+    Integer getProductStock(Long productId);
+
     /**
      * Get all orders for a specific artist
      */
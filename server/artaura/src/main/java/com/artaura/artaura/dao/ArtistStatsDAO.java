@@ -0,0 +1,26 @@
+package com.artaura.artaura.dao;
+
+import java.util.Map;
+
+public interface ArtistStatsDAO {
+
+    /**
+     * Recompute total_artworks and total_sales for one artist from artworks
+     */
+    void refreshArtist(Long artistId);
+
+    /**
+     * Recompute the counters of the artist owning an existing artwork
+     */
+    void refreshArtistOfArtwork(Long artworkId);
+
+    /**
+     * Add sold artworks to total_sales per artist, in the map's iteration order
+     */
+    void addSales(Map<Long, Integer> soldByArtist);
+
+    /**
+     * Recompute every artist's counters; returns the number of rows written
+     */
+    int rebuildAll();
+}
@@ -0,0 +1,28 @@
+package com.artaura.artaura.dao;
+
+import com.artaura.artaura.dto.artwork.ArtworkIndexRowDTO;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface ArtworkIndexDAO {
+
+    /**
+     * Stream every artwork in artwork_id order without buffering the result set
+     */
+    void streamAll(Consumer<ArtworkIndexRowDTO> consumer);
+
+    Optional<ArtworkIndexRowDTO> findById(Long artworkId);
+
+    /**
+     * Artworks with updated_at >= since, oldest first
+     */
+    List<ArtworkIndexRowDTO> findUpdatedSince(Timestamp since, int limit);
+
+    /**
+     * Latest updated_at in artworks, or null when the table is empty
+     */
+    Timestamp findMaxUpdatedAt();
+}
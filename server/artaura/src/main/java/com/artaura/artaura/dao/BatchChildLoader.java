@@ -0,0 +1,97 @@
+package com.artaura.artaura.dao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Loads child rows for many parents at once instead of one query per parent.
+ *
+ * Parent ids are de-duplicated and split into chunks; each chunk is fetched with
+ * a single {@code IN (...)} query and the children are grouped by parent key in
+ * memory. The SQL must contain exactly one {@value #IDS_PLACEHOLDER} marker where
+ * the placeholder list goes, e.g.
+ * {@code SELECT ... FROM AW_order_items oi WHERE oi.order_id IN (:ids)}.
+ */
+@Component
+public class BatchChildLoader {
+
+    public static final String IDS_PLACEHOLDER = ":ids";
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Fetches children for the given parent ids.
+     *
+     * @param sql             query with an {@value #IDS_PLACEHOLDER} marker
+     * @param parentIds       parent keys (nulls and duplicates are ignored)
+     * @param parentKeyMapper reads the owning parent key from a child row
+     * @param childMapper     maps the child row
+     * @param extraArgs       further bind values, bound after the id placeholders
+     * @return children grouped by parent key, in result-set order; parents with no children are absent
+     */
+    public <K, C> Map<K, List<C>> loadChildren(String sql, Collection<K> parentIds,
+                                               RowMapper<K> parentKeyMapper, RowMapper<C> childMapper,
+                                               Object... extraArgs) {
+        if (!sql.contains(IDS_PLACEHOLDER)) {
+            throw new IllegalArgumentException("Batch child query must contain " + IDS_PLACEHOLDER);
+        }
+        if (parentIds == null || parentIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<K> ids = new ArrayList<>(new LinkedHashSet<>(parentIds));
+        ids.removeIf(id -> id == null);
+
+        Map<K, List<C>> childrenByParent = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += DEFAULT_CHUNK_SIZE) {
+            List<K> chunk = ids.subList(from, Math.min(from + DEFAULT_CHUNK_SIZE, ids.size()));
+            String chunkSql = sql.replace(IDS_PLACEHOLDER, String.join(", ", Collections.nCopies(chunk.size(), "?")));
+
+            List<Object> args = new ArrayList<>(chunk);
+            Collections.addAll(args, extraArgs);
+
+            jdbcTemplate.query(chunkSql, (RowCallbackHandler) rs -> {
+                K parentKey = parentKeyMapper.mapRow(rs, 0);
+                C child = childMapper.mapRow(rs, 0);
+                childrenByParent.computeIfAbsent(parentKey, k -> new ArrayList<>()).add(child);
+            }, args.toArray());
+        }
+        return childrenByParent;
+    }
+
+    /**
+     * Loads children for a list of parents and hands each parent its own list
+     * (empty when it has none), so callers never see null child collections.
+     */
+    public <P, K, C> void attachChildren(List<P> parents, Function<P, K> parentIdOf, String sql,
+                                         RowMapper<K> parentKeyMapper, RowMapper<C> childMapper,
+                                         BiConsumer<P, List<C>> setter, Object... extraArgs) {
+        if (parents == null || parents.isEmpty()) {
+            return;
+        }
+        List<K> ids = new ArrayList<>(parents.size());
+        for (P parent : parents) {
+            ids.add(parentIdOf.apply(parent));
+        }
+        Map<K, List<C>> childrenByParent = loadChildren(sql, ids, parentKeyMapper, childMapper, extraArgs);
+        for (P parent : parents) {
+            List<C> children = childrenByParent.get(parentIdOf.apply(parent));
+            setter.accept(parent, children != null ? children : new ArrayList<>());
+        }
+    }
+}
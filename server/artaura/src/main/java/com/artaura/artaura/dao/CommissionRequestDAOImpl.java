@@ -16,6 +16,9 @@ public class CommissionRequestDAOImpl implements CommissionRequestDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private BatchChildLoader batchChildLoader;
+
     private final RowMapper<CommissionRequestDTO> commissionRequestRowMapper = new RowMapper<CommissionRequestDTO>() {
         @Override
         public CommissionRequestDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
@@ -40,26 +43,33 @@ public class CommissionRequestDAOImpl implements CommissionRequestDAO {
             dto.setRejectionReason(rs.getString("rejection_reason"));
             dto.setResponseDate(rs.getString("response_date"));
             dto.setDeliveryStatus(rs.getString("delivery_status"));
-
-            // Fetch reference images for this commission request
-            String imgSql = "SELECT image_url FROM commission_reference_images WHERE commission_request_id = ?";
-            List<String> images = jdbcTemplate.query(imgSql, (imgRs, imgRow) -> imgRs.getString("image_url"), dto.getId());
-            dto.setReferenceImages(images);
-
             return dto;
         }
     };
 
+    // Reference images for a set of commission requests, fetched in batches instead of per row
+    private static final String REFERENCE_IMAGES_SQL =
+            "SELECT commission_request_id, image_url FROM commission_reference_images " +
+            "WHERE commission_request_id IN (" + BatchChildLoader.IDS_PLACEHOLDER + ") ORDER BY id";
+
+    private List<CommissionRequestDTO> withReferenceImages(List<CommissionRequestDTO> requests) {
+        batchChildLoader.attachChildren(requests, CommissionRequestDTO::getId, REFERENCE_IMAGES_SQL,
+                (rs, rowNum) -> rs.getLong("commission_request_id"),
+                (rs, rowNum) -> rs.getString("image_url"),
+                CommissionRequestDTO::setReferenceImages);
+        return requests;
+    }
+
     @Override
     public List<CommissionRequestDTO> getCommissionRequestsByArtistId(Long artistId) {
         String sql = "SELECT * FROM commission_requests WHERE artist_id = ? ORDER BY submitted_at DESC";
-        return jdbcTemplate.query(sql, commissionRequestRowMapper, artistId);
+        return withReferenceImages(jdbcTemplate.query(sql, commissionRequestRowMapper, artistId));
     }
 
     @Override
     public List<CommissionRequestDTO> getCommissionRequestsByBuyerId(Long buyerId) {
         String sql = "SELECT * FROM commission_requests WHERE buyer_id = ? ORDER BY submitted_at DESC";
-        return jdbcTemplate.query(sql, commissionRequestRowMapper, buyerId);
+        return withReferenceImages(jdbcTemplate.query(sql, commissionRequestRowMapper, buyerId));
     }
 
     @Override
@@ -79,7 +89,7 @@ public class CommissionRequestDAOImpl implements CommissionRequestDAO {
     @Override
     public CommissionRequestDTO getCommissionRequestById(Long requestId) {
         String sql = "SELECT * FROM commission_requests WHERE id = ?";
-        List<CommissionRequestDTO> results = jdbcTemplate.query(sql, commissionRequestRowMapper, requestId);
+        List<CommissionRequestDTO> results = withReferenceImages(jdbcTemplate.query(sql, commissionRequestRowMapper, requestId));
         return results.isEmpty() ? null : results.get(0);
     }
 
@@ -130,4 +130,18 @@ public interface DeliveryRequestDAO {
      * @return true if insertion was successful
      */
     boolean insertPlatformFee(String orderType, Long orderId, java.math.BigDecimal platformCommissionFee);
-}
\ No newline at end of file
+
+    /**
+     * Get every request on the dispatch board (pending, accepted or outForDelivery) from both tables
+     * @return List of dispatch board requests, one row per order item
+     */
+    List<DeliveryRequestDTO> getDispatchBoardRequests();
+
+    /**
+     * Get the dispatch board rows of one request
+     * @param id the request ID
+     * @param requestType either "artwork_order" or "commission_request"
+     * @return the request's rows, or an empty list if it is no longer pending or active
+     */
+    List<DeliveryRequestDTO> getDispatchBoardRequest(Long id, String requestType);
+}
@@ -67,4 +67,28 @@ public interface DeliveryStatusDAO {
      * @return true if update was successful, false otherwise
      */
     boolean acceptCommissionRequestDelivery(Long requestId, BigDecimal shippingFee, Long deliveryPartnerId);
-}
\ No newline at end of file
+
+    /**
+     * Move an artwork order between delivery statuses only if it is still in the expected one
+     * @param orderId The order ID
+     * @param fromStatus The status the caller last saw
+     * @param toStatus The new status
+     * @param shippingFee The shipping fee to set, or null to keep the current one
+     * @param deliveryPartnerId The partner taking the job, or null to keep the current one
+     * @return true if this call made the change, false if the order is missing or its status has moved on
+     */
+    boolean transitionArtworkOrderDeliveryStatus(Long orderId, String fromStatus, String toStatus,
+                                                 BigDecimal shippingFee, Long deliveryPartnerId);
+
+    /**
+     * Move a commission request between delivery statuses only if it is still in the expected one
+     * @param requestId The commission request ID
+     * @param fromStatus The status the caller last saw
+     * @param toStatus The new status
+     * @param shippingFee The shipping fee to set, or null to keep the current one
+     * @param deliveryPartnerId The partner taking the job, or null to keep the current one
+     * @return true if this call made the change, false if the request is missing or its status has moved on
+     */
+    boolean transitionCommissionRequestDeliveryStatus(Long requestId, String fromStatus, String toStatus,
+                                                      BigDecimal shippingFee, Long deliveryPartnerId);
+}
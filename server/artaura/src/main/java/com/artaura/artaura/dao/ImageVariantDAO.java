@@ -0,0 +1,16 @@
+package com.artaura.artaura.dao;
+
+import com.artaura.artaura.dto.image.ImageVariantDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ImageVariantDAO {
+    void saveVariants(String originalUrl, List<ImageVariantDTO> variants);
+
+    // Variants for many originals in batched queries, keyed by original URL, smallest width first
+    Map<String, List<ImageVariantDTO>> findVariantsByOriginalUrls(Collection<String> originalUrls);
+
+    void deleteVariants(String originalUrl);
+}
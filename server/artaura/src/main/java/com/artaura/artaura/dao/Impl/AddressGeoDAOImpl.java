@@ -0,0 +1,53 @@
+package com.artaura.artaura.dao.Impl;
+
+import com.artaura.artaura.dao.AddressGeoDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class AddressGeoDAOImpl implements AddressGeoDAO {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<String> findCitiesToGeocode(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT city FROM addresses " +
+                "WHERE geocoded_at IS NULL AND city IS NOT NULL AND city <> '' LIMIT ?",
+                String.class, limit);
+    }
+
+    @Override
+    public int saveCityCoordinates(String city, Double latitude, Double longitude) {
+        return jdbcTemplate.update(
+                "UPDATE addresses SET latitude = ?, longitude = ?, geocoded_at = NOW() " +
+                "WHERE city = ? AND geocoded_at IS NULL",
+                latitude, longitude, city);
+    }
+
+    @Override
+    public Map<Long, double[]> findArtistCoordinates(Collection<Long> artistIds) {
+        Map<Long, double[]> coordinates = new HashMap<>();
+        if (artistIds.isEmpty()) {
+            return coordinates;
+        }
+        String placeholders = String.join(",", Collections.nCopies(artistIds.size(), "?"));
+        jdbcTemplate.query(
+                "SELECT artist_id, latitude, longitude FROM addresses " +
+                "WHERE artist_id IN (" + placeholders + ") AND latitude IS NOT NULL AND longitude IS NOT NULL",
+                rs -> {
+                    coordinates.putIfAbsent(rs.getLong("artist_id"),
+                            new double[]{rs.getDouble("latitude"), rs.getDouble("longitude")});
+                },
+                artistIds.toArray());
+        return coordinates;
+    }
+}
@@ -4,13 +4,30 @@ import com.artaura.artaura.dao.AdminArtworkDAO;
 import com.artaura.artaura.dto.admin.AdminArtworkDTO;
 import com.artaura.artaura.dto.admin.AdminArtworkFilterDTO;
 import com.artaura.artaura.dto.admin.AdminArtworkResponseDTO;
+import com.artaura.artaura.dto.artwork.ArtworkSearchQueryDTO;
+import com.artaura.artaura.dto.artwork.ArtworkSearchResultDTO;
+import com.artaura.artaura.exception.CustomException;
+import com.artaura.artaura.service.ArtistStatsService;
+import com.artaura.artaura.service.ArtworkSearchIndex;
+import com.artaura.artaura.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Repository("adminArtworkDAOImpl")
 public class AdminArtworkDAOImpl implements AdminArtworkDAO {
@@ -18,148 +35,391 @@ public class AdminArtworkDAOImpl implements AdminArtworkDAO {
     @Autowired
     private JdbcTemplate jdbc;
 
+    @Autowired
+    private ArtworkSearchIndex artworkSearchIndex;
+
+    @Autowired
+    private ArtistStatsService artistStatsService;
+
+    // searchArtworks returns the best matches only
+    private static final int SEARCH_RESULT_LIMIT = 200;
+
+    private static final long APPROXIMATE_COUNT_TTL_MS = 60000;
+    private static final int APPROXIMATE_COUNT_CACHE_SIZE = 500;
+
+    private static final String ARTWORK_COLUMNS =
+            "SELECT a.artwork_id, a.artist_id, CONCAT(ar.first_name, ' ', ar.last_name) as artist_name, " +
+            "a.title, a.medium, a.size, a.year, a.price, a.description, a.category, a.tags, " +
+            "a.status, a.image_url, a.likes_count, a.views_count, a.is_featured, " +
+            "a.created_at, a.updated_at";
+
+    // Sortable columns; each needs a (column, artwork_id) index for keyset pages
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "title", "a.title",
+            "price", "a.price",
+            "year", "a.year",
+            "created_at", "a.created_at",
+            "views_count", "a.views_count",
+            "likes_count", "a.likes_count");
+
+    // How each sort column is read into and restored from a cursor: t = timestamp, d = decimal, s = string
+    private static final Map<String, Character> SORT_KINDS = Map.of(
+            "title", 's',
+            "price", 'd',
+            "year", 's',
+            "created_at", 't',
+            "views_count", 'd',
+            "likes_count", 'd');
+
+    private static final RowMapper<AdminArtworkDTO> ARTWORK_ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return new AdminArtworkDTO(
+            rs.getLong("artwork_id"),
+            rs.getLong("artist_id"),
+            rs.getString("artist_name"),
+            rs.getString("title"),
+            rs.getString("medium"),
+            rs.getString("size"),
+            rs.getInt("year"),
+            rs.getDouble("price"),
+            rs.getString("description"),
+            rs.getString("category"),
+            rs.getString("tags"),
+            rs.getString("status"),
+            rs.getString("image_url"),
+            rs.getInt("likes_count"),
+            rs.getInt("views_count"),
+            rs.getBoolean("is_featured"),
+            createdAt != null ? createdAt.toLocalDateTime() : null,
+            updatedAt != null ? updatedAt.toLocalDateTime() : null
+        );
+    };
+
+    private final Map<String, CachedCount> approximateCounts = new ConcurrentHashMap<>();
+
+    private static final class CachedCount {
+        final long count;
+        final long computedAt;
+
+        CachedCount(long count, long computedAt) {
+            this.count = count;
+            this.computedAt = computedAt;
+        }
+    }
+
     @Override
     public AdminArtworkResponseDTO getAllArtworks(AdminArtworkFilterDTO filter) {
-        StringBuilder sql = new StringBuilder();
-        sql.append("SELECT a.artwork_id, a.artist_id, CONCAT(ar.first_name, ' ', ar.last_name) as artist_name, ");
-        sql.append("a.title, a.medium, a.size, a.year, a.price, a.description, a.category, a.tags, ");
-        sql.append("a.status, a.image_url, a.likes_count, a.views_count, a.is_featured, ");
-        sql.append("a.created_at, a.updated_at ");
-        sql.append("FROM artworks a ");
-        sql.append("LEFT JOIN artists ar ON a.artist_id = ar.artist_id ");
-        sql.append("WHERE 1=1 ");
+        boolean textFilter = (filter.getQuery() != null && !filter.getQuery().isBlank())
+                || (filter.getArtistName() != null && !filter.getArtistName().isBlank());
+        boolean keysetRequested = "keyset".equalsIgnoreCase(filter.getPaging())
+                || (filter.getCursor() != null && !filter.getCursor().isBlank());
+        if (textFilter && !keysetRequested && artworkSearchIndex.isReady()
+                && ArtworkSearchIndex.supportsSort(filter.getSortBy())) {
+            return getAllArtworksFromIndex(filter);
+        }
 
+        int page = filter.getPage() != null ? filter.getPage() : 0;
+        int size = filter.getSize() != null ? filter.getSize() : 10;
+        String sortBy = filter.getSortBy() != null && SORT_COLUMNS.containsKey(filter.getSortBy().toLowerCase())
+                ? filter.getSortBy().toLowerCase() : "created_at";
+        String column = SORT_COLUMNS.get(sortBy);
+        boolean ascending = filter.getSortOrder() != null && filter.getSortOrder().equalsIgnoreCase("ASC");
+        String direction = ascending ? "ASC" : "DESC";
+
+        // Artist names are only needed in the page query when filtering on them
+        String from = "FROM artworks a ";
+        if (filter.getArtistName() != null && !filter.getArtistName().isEmpty()) {
+            from += "LEFT JOIN artists ar ON a.artist_id = ar.artist_id ";
+        }
+        StringBuilder where = new StringBuilder("WHERE 1=1 ");
         List<Object> params = new ArrayList<>();
+        appendFilters(filter, where, params);
+
+        Long totalElements = countArtworks(filter.getCountMode(), from, where.toString(), params);
+
+        List<Object> pageParams = new ArrayList<>(params);
+        StringBuilder pageWhere = new StringBuilder(where);
+        if (keysetRequested) {
+            String[] cursor = CursorUtil.decode(filter.getCursor(), 4);
+            if (cursor != null) {
+                if (!cursor[0].equals(sortBy) || !cursor[1].equals(direction)) {
+                    throw new CustomException("Cursor does not match the requested sort");
+                }
+                appendKeysetPredicate(pageWhere, pageParams, column, ascending,
+                        decodeSortValue(cursor[2]), parseCursorId(cursor[3]));
+            }
+        }
+
+        // Deferred join: page over the narrow (sort column, artwork_id) index first, then
+        // fetch the wide rows for just that page. One extra id tells whether more follow.
+        String orderBy = "ORDER BY " + column + " " + direction + ", a.artwork_id " + direction + " ";
+        String idSql = "SELECT a.artwork_id " + from + pageWhere + orderBy + "LIMIT ?" + (keysetRequested ? "" : " OFFSET ?");
+        pageParams.add(size + 1);
+        if (!keysetRequested) {
+            pageParams.add(page * size);
+        }
+        String sql = ARTWORK_COLUMNS + ", " + column + " AS sort_value " +
+                "FROM (" + idSql + ") page_ids " +
+                "JOIN artworks a ON a.artwork_id = page_ids.artwork_id " +
+                "LEFT JOIN artists ar ON a.artist_id = ar.artist_id " +
+                orderBy;
+
+        char sortKind = SORT_KINDS.get(sortBy);
+        List<Object> sortValues = new ArrayList<>();
+        List<AdminArtworkDTO> artworks = jdbc.query(sql, (rs, rowNum) -> {
+            sortValues.add(readSortValue(rs, sortKind));
+            return ARTWORK_ROW_MAPPER.mapRow(rs, rowNum);
+        }, pageParams.toArray());
+
+        boolean hasMore = artworks.size() > size;
+        String nextCursor = null;
+        if (hasMore) {
+            artworks = new ArrayList<>(artworks.subList(0, size));
+            AdminArtworkDTO last = artworks.get(size - 1);
+            nextCursor = CursorUtil.encode(sortBy, direction, encodeSortValue(sortValues.get(size - 1)), last.getArtworkId());
+        }
 
-        // Apply filters
+        Integer totalPages = totalElements != null ? (int) Math.ceil((double) totalElements / size) : null;
+        AdminArtworkResponseDTO response = new AdminArtworkResponseDTO(artworks, page, totalPages, totalElements, size);
+        response.setNextCursor(nextCursor);
+        response.setHasMore(hasMore);
+        response.setTotalIsApproximate("approximate".equalsIgnoreCase(filter.getCountMode()));
+        return response;
+    }
+
+    private void appendFilters(AdminArtworkFilterDTO filter, StringBuilder where, List<Object> params) {
         if (filter.getCategory() != null && !filter.getCategory().isEmpty()) {
-            sql.append("AND a.category = ? ");
+            where.append("AND a.category = ? ");
             params.add(filter.getCategory());
         }
 
         if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
-            sql.append("AND a.status = ? ");
+            where.append("AND a.status = ? ");
             params.add(filter.getStatus());
         }
 
         if (filter.getArtistName() != null && !filter.getArtistName().isEmpty()) {
-            sql.append("AND (ar.first_name LIKE ? OR ar.last_name LIKE ? OR CONCAT(ar.first_name, ' ', ar.last_name) LIKE ?) ");
+            where.append("AND (ar.first_name LIKE ? OR ar.last_name LIKE ? OR CONCAT(ar.first_name, ' ', ar.last_name) LIKE ?) ");
             String searchPattern = "%" + filter.getArtistName() + "%";
             params.add(searchPattern);
             params.add(searchPattern);
             params.add(searchPattern);
         }
 
+        if (filter.getQuery() != null && !filter.getQuery().isEmpty()) {
+            where.append("AND (a.title LIKE ? OR a.description LIKE ? OR a.tags LIKE ?) ");
+            String searchPattern = "%" + filter.getQuery() + "%";
+            params.add(searchPattern);
+            params.add(searchPattern);
+            params.add(searchPattern);
+        }
+
         if (filter.getMinPrice() != null) {
-            sql.append("AND a.price >= ? ");
+            where.append("AND a.price >= ? ");
             params.add(filter.getMinPrice());
         }
 
         if (filter.getMaxPrice() != null) {
-            sql.append("AND a.price <= ? ");
+            where.append("AND a.price <= ? ");
             params.add(filter.getMaxPrice());
         }
 
         if (filter.getMinYear() != null) {
-            sql.append("AND a.year >= ? ");
+            where.append("AND a.year >= ? ");
             params.add(filter.getMinYear());
         }
 
         if (filter.getMaxYear() != null) {
-            sql.append("AND a.year <= ? ");
+            where.append("AND a.year <= ? ");
             params.add(filter.getMaxYear());
         }
 
         if (filter.getMedium() != null && !filter.getMedium().isEmpty()) {
-            sql.append("AND a.medium = ? ");
+            where.append("AND a.medium = ? ");
             params.add(filter.getMedium());
         }
 
         if (filter.getIsFeatured() != null) {
-            sql.append("AND a.is_featured = ? ");
+            where.append("AND a.is_featured = ? ");
             params.add(filter.getIsFeatured());
         }
+    }
 
-        // Get total count before pagination
-        String countSql = sql.toString().replace(
-            "SELECT a.artwork_id, a.artist_id, CONCAT(ar.first_name, ' ', ar.last_name) as artist_name, " +
-            "a.title, a.medium, a.size, a.year, a.price, a.description, a.category, a.tags, " +
-            "a.status, a.image_url, a.likes_count, a.views_count, a.is_featured, " +
-            "a.created_at, a.updated_at ",
-            "SELECT COUNT(*) "
-        );
+    /**
+     * Counts the filtered artworks. "exact" (default) runs COUNT(*) every time, "approximate"
+     * reuses a count for the same filters for up to a minute, and "none" skips counting.
+     */
+    private Long countArtworks(String countMode, String from, String where, List<Object> params) {
+        if ("none".equalsIgnoreCase(countMode)) {
+            return null;
+        }
+        String countSql = "SELECT COUNT(*) " + from + where;
+        if (!"approximate".equalsIgnoreCase(countMode)) {
+            return jdbc.queryForObject(countSql, Long.class, params.toArray());
+        }
 
-        Long totalElements = jdbc.queryForObject(countSql, Long.class, params.toArray());
-
-        // Apply sorting
-        if (filter.getSortBy() != null && !filter.getSortBy().isEmpty()) {
-            sql.append("ORDER BY ");
-            switch (filter.getSortBy().toLowerCase()) {
-                case "title":
-                    sql.append("a.title ");
-                    break;
-                case "price":
-                    sql.append("a.price ");
-                    break;
-                case "year":
-                    sql.append("a.year ");
-                    break;
-                case "created_at":
-                    sql.append("a.created_at ");
-                    break;
-                case "views_count":
-                    sql.append("a.views_count ");
-                    break;
-                case "likes_count":
-                    sql.append("a.likes_count ");
-                    break;
-                default:
-                    sql.append("a.created_at ");
-            }
-            
-            if (filter.getSortOrder() != null && filter.getSortOrder().equalsIgnoreCase("ASC")) {
-                sql.append("ASC ");
+        String key = countSql + params;
+        long now = System.currentTimeMillis();
+        CachedCount cached = approximateCounts.get(key);
+        if (cached != null && now - cached.computedAt < APPROXIMATE_COUNT_TTL_MS) {
+            return cached.count;
+        }
+        Long count = jdbc.queryForObject(countSql, Long.class, params.toArray());
+        if (approximateCounts.size() >= APPROXIMATE_COUNT_CACHE_SIZE) {
+            approximateCounts.clear();
+        }
+        approximateCounts.put(key, new CachedCount(count != null ? count : 0L, now));
+        return count;
+    }
+
+    /**
+     * Rows strictly after the cursor row in (sort column, artwork_id) order.
+     * MySQL sorts NULLs first ascending and last descending, so they are handled explicitly.
+     */
+    private void appendKeysetPredicate(StringBuilder where, List<Object> params, String column,
+                                       boolean ascending, Object value, long artworkId) {
+        String after = ascending ? ">" : "<";
+        if (value == null) {
+            if (ascending) {
+                where.append("AND ((").append(column).append(" IS NULL AND a.artwork_id > ?) OR ")
+                        .append(column).append(" IS NOT NULL) ");
             } else {
-                sql.append("DESC ");
+                where.append("AND (").append(column).append(" IS NULL AND a.artwork_id < ?) ");
             }
+            params.add(artworkId);
+            return;
+        }
+        where.append("AND (").append(column).append(" ").append(after).append(" ? OR (")
+                .append(column).append(" = ? AND a.artwork_id ").append(after).append(" ?)");
+        if (!ascending) {
+            where.append(" OR ").append(column).append(" IS NULL");
+        }
+        where.append(") ");
+        params.add(value);
+        params.add(value);
+        params.add(artworkId);
+    }
+
+    private static Object readSortValue(ResultSet rs, char kind) throws SQLException {
+        switch (kind) {
+            case 't':
+                return rs.getTimestamp("sort_value");
+            case 'd':
+                return rs.getBigDecimal("sort_value");
+            default:
+                return rs.getString("sort_value");
+        }
+    }
+
+    // A type tag keeps cursor values typed; null encodes as an empty part
+    private static String encodeSortValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String tagged;
+        if (value instanceof Timestamp) {
+            tagged = "t" + value;
+        } else if (value instanceof BigDecimal) {
+            tagged = "d" + ((BigDecimal) value).toPlainString();
         } else {
-            sql.append("ORDER BY a.created_at DESC ");
+            tagged = "s" + value;
         }
+        // Values such as titles may contain the cursor separator
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(tagged.getBytes(StandardCharsets.UTF_8));
+    }
 
-        // Apply pagination
+    private static Object decodeSortValue(String part) {
+        if (part.isEmpty()) {
+            return null;
+        }
+        try {
+            String tagged = new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+            String value = tagged.substring(1);
+            switch (tagged.charAt(0)) {
+                case 't':
+                    return Timestamp.valueOf(value);
+                case 'd':
+                    return new BigDecimal(value);
+                case 's':
+                    return value;
+                default:
+                    throw new CustomException("Invalid cursor");
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new CustomException("Invalid cursor");
+        }
+    }
+
+    private static long parseCursorId(String part) {
+        try {
+            return Long.parseLong(part);
+        } catch (NumberFormatException e) {
+            throw new CustomException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Text-filtered listing answered by the search index: matching, filtering, counting
+     * and ordering happen in memory, then only the page's rows are read by primary key
+     */
+    private AdminArtworkResponseDTO getAllArtworksFromIndex(AdminArtworkFilterDTO filter) {
         int page = filter.getPage() != null ? filter.getPage() : 0;
         int size = filter.getSize() != null ? filter.getSize() : 10;
-        
-        sql.append("LIMIT ? OFFSET ? ");
-        params.add(size);
-        params.add(page * size);
-
-        List<AdminArtworkDTO> artworks = jdbc.query(sql.toString(), params.toArray(), (rs, rowNum) -> {
-            return new AdminArtworkDTO(
-                rs.getLong("artwork_id"),
-                rs.getLong("artist_id"),
-                rs.getString("artist_name"),
-                rs.getString("title"),
-                rs.getString("medium"),
-                rs.getString("size"),
-                rs.getInt("year"),
-                rs.getDouble("price"),
-                rs.getString("description"),
-                rs.getString("category"),
-                rs.getString("tags"),
-                rs.getString("status"),
-                rs.getString("image_url"),
-                rs.getInt("likes_count"),
-                rs.getInt("views_count"),
-                rs.getBoolean("is_featured"),
-                rs.getTimestamp("created_at").toLocalDateTime(),
-                rs.getTimestamp("updated_at").toLocalDateTime()
-            );
-        });
-
-        int totalPages = (int) Math.ceil((double) totalElements / size);
-
-        return new AdminArtworkResponseDTO(artworks, page, totalPages, totalElements, size);
+
+        ArtworkSearchQueryDTO query = new ArtworkSearchQueryDTO();
+        query.setText(filter.getQuery());
+        query.setArtistName(filter.getArtistName());
+        query.setCategory(filter.getCategory());
+        query.setStatus(filter.getStatus());
+        query.setMedium(filter.getMedium());
+        query.setMinPrice(filter.getMinPrice());
+        query.setMaxPrice(filter.getMaxPrice());
+        query.setMinYear(filter.getMinYear());
+        query.setMaxYear(filter.getMaxYear());
+        query.setFeatured(filter.getIsFeatured());
+        query.setSortBy(filter.getSortBy());
+        query.setSortOrder(filter.getSortOrder());
+        query.setOffset(page * size);
+        query.setLimit(size);
+
+        ArtworkSearchResultDTO result = artworkSearchIndex.search(query);
+        List<AdminArtworkDTO> artworks = getArtworksByIdsInOrder(result.getArtworkIds());
+        int totalPages = (int) Math.ceil((double) result.getTotalHits() / size);
+
+        AdminArtworkResponseDTO response = new AdminArtworkResponseDTO(artworks, page, totalPages, result.getTotalHits(), size);
+        response.setFacets(result.getFacets());
+        response.setHasMore((long) (page + 1) * size < result.getTotalHits());
+        return response;
+    }
+
+    /**
+     * Loads artworks by id, keeping the order of the ids; ids deleted since they were looked up are skipped
+     */
+    private List<AdminArtworkDTO> getArtworksByIdsInOrder(List<Long> artworkIds) {
+        if (artworkIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String placeholders = String.join(",", Collections.nCopies(artworkIds.size(), "?"));
+        String sql = ARTWORK_COLUMNS + " " +
+                    "FROM artworks a " +
+                    "LEFT JOIN artists ar ON a.artist_id = ar.artist_id " +
+                    "WHERE a.artwork_id IN (" + placeholders + ")";
+
+        List<AdminArtworkDTO> rows = jdbc.query(sql, ARTWORK_ROW_MAPPER, artworkIds.toArray());
+
+        Map<Long, AdminArtworkDTO> byId = new HashMap<>();
+        for (AdminArtworkDTO row : rows) {
+            byId.put(row.getArtworkId(), row);
+        }
+        List<AdminArtworkDTO> ordered = new ArrayList<>(artworkIds.size());
+        for (Long artworkId : artworkIds) {
+            AdminArtworkDTO row = byId.get(artworkId);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
     }
 
     @Override
@@ -173,28 +433,7 @@ public class AdminArtworkDAOImpl implements AdminArtworkDAO {
                         "LEFT JOIN artists ar ON a.artist_id = ar.artist_id " +
                         "WHERE a.artwork_id = ?";
 
-            AdminArtworkDTO artwork = jdbc.queryForObject(sql, (rs, rowNum) -> {
-                return new AdminArtworkDTO(
-                    rs.getLong("artwork_id"),
-                    rs.getLong("artist_id"),
-                    rs.getString("artist_name"),
-                    rs.getString("title"),
-                    rs.getString("medium"),
-                    rs.getString("size"),
-                    rs.getInt("year"),
-                    rs.getDouble("price"),
-                    rs.getString("description"),
-                    rs.getString("category"),
-                    rs.getString("tags"),
-                    rs.getString("status"),
-                    rs.getString("image_url"),
-                    rs.getInt("likes_count"),
-                    rs.getInt("views_count"),
-                    rs.getBoolean("is_featured"),
-                    rs.getTimestamp("created_at").toLocalDateTime(),
-                    rs.getTimestamp("updated_at").toLocalDateTime()
-                );
-            }, artworkId);
+            AdminArtworkDTO artwork = jdbc.queryForObject(sql, ARTWORK_ROW_MAPPER, artworkId);
 
             return Optional.ofNullable(artwork);
         } catch (Exception e) {
@@ -213,28 +452,7 @@ public class AdminArtworkDAOImpl implements AdminArtworkDAO {
                     "WHERE a.artist_id = ? " +
                     "ORDER BY a.created_at DESC";
 
-        return jdbc.query(sql, (rs, rowNum) -> {
-            return new AdminArtworkDTO(
-                rs.getLong("artwork_id"),
-                rs.getLong("artist_id"),
-                rs.getString("artist_name"),
-                rs.getString("title"),
-                rs.getString("medium"),
-                rs.getString("size"),
-                rs.getInt("year"),
-                rs.getDouble("price"),
-                rs.getString("description"),
-                rs.getString("category"),
-                rs.getString("tags"),
-                rs.getString("status"),
-                rs.getString("image_url"),
-                rs.getInt("likes_count"),
-                rs.getInt("views_count"),
-                rs.getBoolean("is_featured"),
-                rs.getTimestamp("created_at").toLocalDateTime(),
-                rs.getTimestamp("updated_at").toLocalDateTime()
-            );
-        }, artistId);
+        return jdbc.query(sql, ARTWORK_ROW_MAPPER, artistId);
     }
 
     @Override
@@ -248,28 +466,7 @@ public class AdminArtworkDAOImpl implements AdminArtworkDAO {
                     "WHERE a.category = ? " +
                     "ORDER BY a.created_at DESC";
 
-        return jdbc.query(sql, (rs, rowNum) -> {
-            return new AdminArtworkDTO(
-                rs.getLong("artwork_id"),
-                rs.getLong("artist_id"),
-                rs.getString("artist_name"),
-                rs.getString("title"),
-                rs.getString("medium"),
-                rs.getString("size"),
-                rs.getInt("year"),
-                rs.getDouble("price"),
-                rs.getString("description"),
-                rs.getString("category"),
-                rs.getString("tags"),
-                rs.getString("status"),
-                rs.getString("image_url"),
-                rs.getInt("likes_count"),
-                rs.getInt("views_count"),
-                rs.getBoolean("is_featured"),
-                rs.getTimestamp("created_at").toLocalDateTime(),
-                rs.getTimestamp("updated_at").toLocalDateTime()
-            );
-        }, category);
+        return jdbc.query(sql, ARTWORK_ROW_MAPPER, category);
     }
 
     @Override
@@ -283,28 +480,7 @@ public class AdminArtworkDAOImpl implements AdminArtworkDAO {
                     "WHERE a.status = ? " +
                     "ORDER BY a.created_at DESC";
 
-        return jdbc.query(sql, (rs, rowNum) -> {
-            return new AdminArtworkDTO(
-                rs.getLong("artwork_id"),
-                rs.getLong("artist_id"),
-                rs.getString("artist_name"),
-                rs.getString("title"),
-                rs.getString("medium"),
-                rs.getString("size"),
-                rs.getInt("year"),
-                rs.getDouble("price"),
-                rs.getString("description"),
-                rs.getString("category"),
-                rs.getString("tags"),
-                rs.getString("status"),
-                rs.getString("image_url"),
-                rs.getInt("likes_count"),
-                rs.getInt("views_count"),
-                rs.getBoolean("is_featured"),
-                rs.getTimestamp("created_at").toLocalDateTime(),
-                rs.getTimestamp("updated_at").toLocalDateTime()
-            );
-        }, status);
+        return jdbc.query(sql, ARTWORK_ROW_MAPPER, status);
     }
 
     @Override
@@ -318,32 +494,19 @@ public class AdminArtworkDAOImpl implements AdminArtworkDAO {
                     "WHERE a.is_featured = true " +
                     "ORDER BY a.created_at DESC";
 
-        return jdbc.query(sql, (rs, rowNum) -> {
-            return new AdminArtworkDTO(
-                rs.getLong("artwork_id"),
-                rs.getLong("artist_id"),
-                rs.getString("artist_name"),
-                rs.getString("title"),
-                rs.getString("medium"),
-                rs.getString("size"),
-                rs.getInt("year"),
-                rs.getDouble("price"),
-                rs.getString("description"),
-                rs.getString("category"),
-                rs.getString("tags"),
-                rs.getString("status"),
-                rs.getString("image_url"),
-                rs.getInt("likes_count"),
-                rs.getInt("views_count"),
-                rs.getBoolean("is_featured"),
-                rs.getTimestamp("created_at").toLocalDateTime(),
-                rs.getTimestamp("updated_at").toLocalDateTime()
-            );
-        });
+        return jdbc.query(sql, ARTWORK_ROW_MAPPER);
     }
 
     @Override
     public List<AdminArtworkDTO> searchArtworks(String searchTerm) {
+        if (artworkSearchIndex.isReady()) {
+            ArtworkSearchQueryDTO query = new ArtworkSearchQueryDTO();
+            query.setText(searchTerm);
+            query.setSortBy("relevance");
+            query.setLimit(SEARCH_RESULT_LIMIT);
+            return getArtworksByIdsInOrder(artworkSearchIndex.search(query).getArtworkIds());
+        }
+
         String sql = "SELECT a.artwork_id, a.artist_id, CONCAT(ar.first_name, ' ', ar.last_name) as artist_name, " +
                     "a.title, a.medium, a.size, a.year, a.price, a.description, a.category, a.tags, " +
                     "a.status, a.image_url, a.likes_count, a.views_count, a.is_featured, " +
@@ -354,28 +517,7 @@ public class AdminArtworkDAOImpl implements AdminArtworkDAO {
                     "ORDER BY a.created_at DESC";
 
         String searchPattern = "%" + searchTerm + "%";
-        return jdbc.query(sql, (rs, rowNum) -> {
-            return new AdminArtworkDTO(
-                rs.getLong("artwork_id"),
-                rs.getLong("artist_id"),
-                rs.getString("artist_name"),
-                rs.getString("title"),
-                rs.getString("medium"),
-                rs.getString("size"),
-                rs.getInt("year"),
-                rs.getDouble("price"),
-                rs.getString("description"),
-                rs.getString("category"),
-                rs.getString("tags"),
-                rs.getString("status"),
-                rs.getString("image_url"),
-                rs.getInt("likes_count"),
-                rs.getInt("views_count"),
-                rs.getBoolean("is_featured"),
-                rs.getTimestamp("created_at").toLocalDateTime(),
-                rs.getTimestamp("updated_at").toLocalDateTime()
-            );
-        }, searchPattern, searchPattern, searchPattern);
+        return jdbc.query(sql, ARTWORK_ROW_MAPPER, searchPattern, searchPattern, searchPattern);
     }
 
     @Override
@@ -408,6 +550,10 @@ public class AdminArtworkDAOImpl implements AdminArtworkDAO {
             System.out.println("AdminArtworkDAOImpl: Rows affected: " + rowsAffected);
             
             boolean result = rowsAffected > 0;
+            if (result) {
+                artistStatsService.artworkChanged(artworkId);
+                artworkSearchIndex.artworkChanged(artworkId);
+            }
             System.out.println("AdminArtworkDAOImpl: Returning: " + result);
             return result;
         } catch (Exception e) {
@@ -422,6 +568,9 @@ public class AdminArtworkDAOImpl implements AdminArtworkDAO {
         try {
             String sql = "UPDATE artworks SET is_featured = ?, updated_at = CURRENT_TIMESTAMP WHERE artwork_id = ?";
             int rowsAffected = jdbc.update(sql, isFeatured, artworkId);
+            if (rowsAffected > 0) {
+                artworkSearchIndex.artworkChanged(artworkId);
+            }
             return rowsAffected > 0;
         } catch (Exception e) {
             return false;
@@ -3,13 +3,22 @@ package com.artaura.artaura.dao.Impl;
 import com.artaura.artaura.dao.AdminDeliveryDAO;
 import com.artaura.artaura.dto.delivery.DeliveryRequestDTO;
 import com.artaura.artaura.dto.delivery.ArtistPickupAddressDTO;
+import com.artaura.artaura.dto.delivery.DeliveryRequestPageDTO;
+import com.artaura.artaura.exception.CustomException;
+import com.artaura.artaura.util.CursorUtil;
+import com.artaura.artaura.util.KeysetMerger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -113,169 +122,60 @@ public class AdminDeliveryDAOImpl implements AdminDeliveryDAO {
 
     @Override
     public List<DeliveryRequestDTO> getAllDeliveryRequests() {
-        List<DeliveryRequestDTO> allRequests = new ArrayList<>();
-        allRequests.addAll(getAllArtworkOrderDeliveryRequests());
-        allRequests.addAll(getAllCommissionDeliveryRequests());
-        
-        // Sort by order date descending
-        allRequests.sort((a, b) -> {
-            if (a.getOrderDate() == null && b.getOrderDate() == null) return 0;
-            if (a.getOrderDate() == null) return 1;
-            if (b.getOrderDate() == null) return -1;
-            return b.getOrderDate().compareTo(a.getOrderDate());
-        });
-        
-        return allRequests;
+        return mergeAll(new DeliveryFilter());
     }
 
     @Override
     public List<DeliveryRequestDTO> getDeliveryRequestsByStatus(String status) {
-        List<DeliveryRequestDTO> requests = new ArrayList<>();
-        
-        // Get artwork orders with specific status
-        String artworkQuery = """
-            SELECT 
-                ao.id,
-                ao.buyer_id,
-                CONCAT(ao.first_name, ' ', ao.last_name) as buyer_name,
-                ao.email,
-                ao.contact_number,
-                ao.shipping_address,
-                ao.delivery_status,
-                ao.order_date,
-                ao.total_amount,
-                ai.title as artwork_title,
-                ai.artist_id,
-                CONCAT(a.first_name, ' ', a.last_name) as artist_name,
-                CONCAT(COALESCE(addr.street_address, ''), ', ', COALESCE(addr.city, ''), ', ', 
-                       COALESCE(addr.state, ''), ', ', COALESCE(addr.country, '')) as pickup_address,
-                COALESCE(addr.city, 'N/A') as pickup_city
-            FROM AW_orders ao
-            LEFT JOIN AW_order_items aoi ON ao.id = aoi.order_id
-            LEFT JOIN artworks ai ON aoi.artwork_id = ai.artwork_id
-            LEFT JOIN artists a ON ai.artist_id = a.artist_id
-            LEFT JOIN addresses addr ON a.artist_id = addr.artist_id
-            WHERE ao.delivery_status = ?
-            ORDER BY ao.order_date DESC
-            """;
-        
-        requests.addAll(jdbc.query(artworkQuery, artworkOrderRowMapper, status));
-        
-        // Get commission requests with specific status
-        String commissionQuery = """
-            SELECT 
-                cr.id,
-                cr.buyer_id,
-                cr.name,
-                cr.email,
-                cr.phone,
-                cr.shipping_address,
-                cr.delivery_status,
-                cr.submitted_at,
-                cr.title,
-                cr.artwork_type,
-                cr.dimensions,
-                cr.artist_id,
-                CONCAT(a.first_name, ' ', a.last_name) as artist_name,
-                cr.style,
-                cr.deadline,
-                cr.additional_notes,
-                cr.urgency,
-                cr.budget,
-                CONCAT(COALESCE(addr.street_address, ''), ', ', COALESCE(addr.city, ''), ', ', 
-                       COALESCE(addr.state, ''), ', ', COALESCE(addr.country, '')) as pickup_address,
-                COALESCE(addr.city, 'N/A') as pickup_city
-            FROM commission_requests cr
-            LEFT JOIN artists a ON cr.artist_id = a.artist_id
-            LEFT JOIN addresses addr ON a.artist_id = addr.artist_id
-            WHERE cr.delivery_status = ?
-            ORDER BY cr.submitted_at DESC
-            """;
-        
-        requests.addAll(jdbc.query(commissionQuery, commissionRowMapper, status));
-        
-        // Sort by order date descending
-        requests.sort((a, b) -> {
-            if (a.getOrderDate() == null && b.getOrderDate() == null) return 0;
-            if (a.getOrderDate() == null) return 1;
-            if (b.getOrderDate() == null) return -1;
-            return b.getOrderDate().compareTo(a.getOrderDate());
-        });
-        
-        return requests;
+        DeliveryFilter filter = new DeliveryFilter();
+        filter.status = status;
+        return mergeAll(filter);
     }
 
     @Override
     public List<DeliveryRequestDTO> getAllArtworkOrderDeliveryRequests() {
-        String query = """
-            SELECT 
-                ao.id,
-                ao.buyer_id,
-                CONCAT(ao.first_name, ' ', ao.last_name) as buyer_name,
-                ao.email,
-                ao.contact_number,
-                ao.shipping_address,
-                COALESCE(ao.delivery_status, 'N/A') as delivery_status,
-                ao.order_date,
-                ao.total_amount,
-                ai.title as artwork_title,
-                ai.artist_id,
-                CONCAT(a.first_name, ' ', a.last_name) as artist_name,
-                CONCAT(COALESCE(addr.street_address, ''), ', ', COALESCE(addr.city, ''), ', ', 
-                       COALESCE(addr.state, ''), ', ', COALESCE(addr.country, '')) as pickup_address,
-                COALESCE(addr.city, 'N/A') as pickup_city
-            FROM AW_orders ao
-            LEFT JOIN AW_order_items aoi ON ao.id = aoi.order_id
-            LEFT JOIN artworks ai ON aoi.artwork_id = ai.artwork_id
-            LEFT JOIN artists a ON ai.artist_id = a.artist_id
-            LEFT JOIN addresses addr ON a.artist_id = addr.artist_id
-            ORDER BY ao.order_date DESC
-            """;
-
-        return jdbc.query(query, artworkOrderRowMapper);
+        DeliveryFilter filter = new DeliveryFilter();
+        filter.includeCommissions = false;
+        return mergeAll(filter);
     }
 
     @Override
     public List<DeliveryRequestDTO> getAllCommissionDeliveryRequests() {
-        String query = """
-            SELECT 
-                cr.id,
-                cr.buyer_id,
-                cr.name,
-                cr.email,
-                cr.phone,
-                cr.shipping_address,
-                COALESCE(cr.delivery_status, 'N/A') as delivery_status,
-                cr.submitted_at,
-                cr.title,
-                cr.artwork_type,
-                cr.dimensions,
-                cr.artist_id,
-                CONCAT(a.first_name, ' ', a.last_name) as artist_name,
-                cr.style,
-                cr.deadline,
-                cr.additional_notes,
-                cr.urgency,
-                cr.budget,
-                CONCAT(COALESCE(addr.street_address, ''), ', ', COALESCE(addr.city, ''), ', ', 
-                       COALESCE(addr.state, ''), ', ', COALESCE(addr.country, '')) as pickup_address,
-                COALESCE(addr.city, 'N/A') as pickup_city
-            FROM commission_requests cr
-            LEFT JOIN artists a ON cr.artist_id = a.artist_id
-            LEFT JOIN addresses addr ON a.artist_id = addr.artist_id
-            ORDER BY cr.submitted_at DESC
-            """;
-
-        return jdbc.query(query, commissionRowMapper);
+        DeliveryFilter filter = new DeliveryFilter();
+        filter.includeArtworkOrders = false;
+        return mergeAll(filter);
     }
 
     @Override
     public List<DeliveryRequestDTO> getDeliveryRequestsByDateRange(String startDate, String endDate) {
-        List<DeliveryRequestDTO> requests = new ArrayList<>();
-        
-        // Get artwork orders within date range
-        String artworkQuery = """
-            SELECT 
+        Map<String, String> filters = new HashMap<>();
+        filters.put("startDate", startDate);
+        filters.put("endDate", endDate);
+        return mergeAll(DeliveryFilter.from(filters));
+    }
+
+    @Override
+    public List<DeliveryRequestDTO> getFilteredDeliveryRequests(Map<String, String> filters) {
+        return mergeAll(DeliveryFilter.from(filters));
+    }
+
+    @Override
+    public DeliveryRequestPageDTO getDeliveryRequestPage(Map<String, String> filters, String cursor, int pageSize) {
+        DeliveryFilter filter = DeliveryFilter.from(filters);
+        KeysetMerger.Page<DeliveryKey, DeliveryRequestDTO> page =
+                MERGER.page(sources(filter), DeliveryKey.decode(cursor), pageSize);
+        String nextCursor = page.hasMore() ? page.getLastKey().encode() : null;
+        return new DeliveryRequestPageDTO(page.getRows(), nextCursor, page.hasMore(), pageSize);
+    }
+
+    // ---- Merged keyset reads ----
+
+    // Both tables are read newest first and merged on (date, request type, id)
+    private static final KeysetMerger<DeliveryKey, DeliveryRequestDTO> MERGER =
+            new KeysetMerger<>(DeliveryKey.ORDER, DeliveryKey::of, 500);
+
+    private static final String ARTWORK_ORDER_COLUMNS = """
+            SELECT
                 ao.id,
                 ao.buyer_id,
                 CONCAT(ao.first_name, ' ', ao.last_name) as buyer_name,
@@ -288,23 +188,13 @@ public class AdminDeliveryDAOImpl implements AdminDeliveryDAO {
                 ai.title as artwork_title,
                 ai.artist_id,
                 CONCAT(a.first_name, ' ', a.last_name) as artist_name,
-                CONCAT(COALESCE(addr.street_address, ''), ', ', COALESCE(addr.city, ''), ', ', 
+                CONCAT(COALESCE(addr.street_address, ''), ', ', COALESCE(addr.city, ''), ', ',
                        COALESCE(addr.state, ''), ', ', COALESCE(addr.country, '')) as pickup_address,
                 COALESCE(addr.city, 'N/A') as pickup_city
-            FROM AW_orders ao
-            LEFT JOIN AW_order_items aoi ON ao.id = aoi.order_id
-            LEFT JOIN artworks ai ON aoi.artwork_id = ai.artwork_id
-            LEFT JOIN artists a ON ai.artist_id = a.artist_id
-            LEFT JOIN addresses addr ON a.artist_id = addr.artist_id
-            WHERE DATE(ao.order_date) BETWEEN ? AND ?
-            ORDER BY ao.order_date DESC
             """;
-        
-        requests.addAll(jdbc.query(artworkQuery, artworkOrderRowMapper, startDate, endDate));
-        
-        // Get commission requests within date range
-        String commissionQuery = """
-            SELECT 
+
+    private static final String COMMISSION_COLUMNS = """
+            SELECT
                 cr.id,
                 cr.buyer_id,
                 cr.name,
@@ -323,140 +213,217 @@ public class AdminDeliveryDAOImpl implements AdminDeliveryDAO {
                 cr.additional_notes,
                 cr.urgency,
                 cr.budget,
-                CONCAT(COALESCE(addr.street_address, ''), ', ', COALESCE(addr.city, ''), ', ', 
+                CONCAT(COALESCE(addr.street_address, ''), ', ', COALESCE(addr.city, ''), ', ',
                        COALESCE(addr.state, ''), ', ', COALESCE(addr.country, '')) as pickup_address,
                 COALESCE(addr.city, 'N/A') as pickup_city
-            FROM commission_requests cr
-            LEFT JOIN artists a ON cr.artist_id = a.artist_id
-            LEFT JOIN addresses addr ON a.artist_id = addr.artist_id
-            WHERE DATE(cr.submitted_at) BETWEEN ? AND ?
-            ORDER BY cr.submitted_at DESC
             """;
-        
-        requests.addAll(jdbc.query(commissionQuery, commissionRowMapper, startDate, endDate));
-        
-        // Sort by order date descending
-        requests.sort((a, b) -> {
-            if (a.getOrderDate() == null && b.getOrderDate() == null) return 0;
-            if (a.getOrderDate() == null) return 1;
-            if (b.getOrderDate() == null) return -1;
-            return b.getOrderDate().compareTo(a.getOrderDate());
-        });
-        
-        return requests;
+
+    private List<DeliveryRequestDTO> mergeAll(DeliveryFilter filter) {
+        return MERGER.page(sources(filter), null, Integer.MAX_VALUE).getRows();
     }
 
-    @Override
-    public List<DeliveryRequestDTO> getFilteredDeliveryRequests(Map<String, String> filters) {
-        List<DeliveryRequestDTO> requests = new ArrayList<>();
-        
-        StringBuilder artworkWhereClause = new StringBuilder(" WHERE 1=1 ");
-        StringBuilder commissionWhereClause = new StringBuilder(" WHERE 1=1 ");
-        List<Object> artworkParams = new ArrayList<>();
-        List<Object> commissionParams = new ArrayList<>();
-        
-        // Apply filters
-        if (filters.containsKey("status") && !"all".equals(filters.get("status"))) {
-            artworkWhereClause.append(" AND ao.delivery_status = ? ");
-            commissionWhereClause.append(" AND cr.delivery_status = ? ");
-            artworkParams.add(filters.get("status"));
-            commissionParams.add(filters.get("status"));
+    private List<KeysetMerger.Source<DeliveryKey, DeliveryRequestDTO>> sources(DeliveryFilter filter) {
+        List<KeysetMerger.Source<DeliveryKey, DeliveryRequestDTO>> sources = new ArrayList<>();
+        if (filter.includeArtworkOrders) {
+            sources.add((after, limit) -> fetchArtworkOrders(filter, after, limit));
         }
-        
-        if (filters.containsKey("startDate") && filters.containsKey("endDate")) {
-            artworkWhereClause.append(" AND DATE(ao.order_date) BETWEEN ? AND ? ");
-            commissionWhereClause.append(" AND DATE(cr.submitted_at) BETWEEN ? AND ? ");
-            artworkParams.add(filters.get("startDate"));
-            artworkParams.add(filters.get("endDate"));
-            commissionParams.add(filters.get("startDate"));
-            commissionParams.add(filters.get("endDate"));
+        if (filter.includeCommissions) {
+            sources.add((after, limit) -> fetchCommissions(filter, after, limit));
         }
-        
-        if (filters.containsKey("artistId")) {
-            artworkWhereClause.append(" AND ai.artist_id = ? ");
-            commissionWhereClause.append(" AND cr.artist_id = ? ");
-            artworkParams.add(Long.parseLong(filters.get("artistId")));
-            commissionParams.add(Long.parseLong(filters.get("artistId")));
+        return sources;
+    }
+
+    /**
+     * Up to {@code limit} orders after the key, one row per order item. The
+     * orders are picked from AW_orders alone (a short range read on
+     * order_date, id) and only that page is joined to items, artworks,
+     * artists and addresses.
+     */
+    private List<DeliveryRequestDTO> fetchArtworkOrders(DeliveryFilter filter, DeliveryKey after, int limit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder where = new StringBuilder(" WHERE 1=1 ");
+        filter.appendFilters(where, params, "ao.delivery_status", "ao.order_date", "ao.buyer_id");
+        if (filter.artistId != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM AW_order_items aoi JOIN artworks ai ON aoi.artwork_id = ai.artwork_id ")
+                    .append("WHERE aoi.order_id = ao.id AND ai.artist_id = ?) ");
+            params.add(filter.artistId);
         }
-        
-        if (filters.containsKey("buyerId")) {
-            artworkWhereClause.append(" AND ao.buyer_id = ? ");
-            commissionWhereClause.append(" AND cr.buyer_id = ? ");
-            artworkParams.add(Long.parseLong(filters.get("buyerId")));
-            commissionParams.add(Long.parseLong(filters.get("buyerId")));
+        appendKeyset(where, params, "ao.order_date", "ao.id", DeliveryKey.ARTWORK_ORDER, after);
+        params.add(limit);
+
+        StringBuilder sql = new StringBuilder(ARTWORK_ORDER_COLUMNS)
+                .append(" FROM (SELECT ao.id FROM AW_orders ao ").append(where)
+                .append(" ORDER BY ao.order_date DESC, ao.id DESC LIMIT ?) page_ids")
+                .append(" JOIN AW_orders ao ON ao.id = page_ids.id")
+                .append(" LEFT JOIN AW_order_items aoi ON ao.id = aoi.order_id")
+                .append(" LEFT JOIN artworks ai ON aoi.artwork_id = ai.artwork_id")
+                .append(" LEFT JOIN artists a ON ai.artist_id = a.artist_id")
+                .append(" LEFT JOIN addresses addr ON a.artist_id = addr.artist_id");
+        if (filter.artistId != null) {
+            // Only the items of this artist, as before
+            sql.append(" WHERE ai.artist_id = ?");
+            params.add(filter.artistId);
         }
-        
-        // Include artwork orders if requestType is not specified or is "artwork_order"
-        if (!filters.containsKey("requestType") || "artwork_order".equals(filters.get("requestType"))) {
-            String artworkQuery = """
-                SELECT 
-                    ao.id,
-                    ao.buyer_id,
-                    CONCAT(ao.first_name, ' ', ao.last_name) as buyer_name,
-                    ao.email,
-                    ao.contact_number,
-                    ao.shipping_address,
-                    COALESCE(ao.delivery_status, 'N/A') as delivery_status,
-                    ao.order_date,
-                    ao.total_amount,
-                    ai.title as artwork_title,
-                    ai.artist_id,
-                    CONCAT(a.first_name, ' ', a.last_name) as artist_name,
-                    CONCAT(COALESCE(addr.street_address, ''), ', ', COALESCE(addr.city, ''), ', ', 
-                           COALESCE(addr.state, ''), ', ', COALESCE(addr.country, '')) as pickup_address,
-                    COALESCE(addr.city, 'N/A') as pickup_city
-                FROM AW_orders ao
-                LEFT JOIN AW_order_items aoi ON ao.id = aoi.order_id
-                LEFT JOIN artworks ai ON aoi.artwork_id = ai.artwork_id
-                LEFT JOIN artists a ON ai.artist_id = a.artist_id
-                LEFT JOIN addresses addr ON a.artist_id = addr.artist_id
-                """ + artworkWhereClause.toString() + " ORDER BY ao.order_date DESC";
-            
-            requests.addAll(jdbc.query(artworkQuery, artworkOrderRowMapper, artworkParams.toArray()));
+        sql.append(" ORDER BY ao.order_date DESC, ao.id DESC");
+        return jdbc.query(sql.toString(), artworkOrderRowMapper, params.toArray());
+    }
+
+    private List<DeliveryRequestDTO> fetchCommissions(DeliveryFilter filter, DeliveryKey after, int limit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder where = new StringBuilder(" WHERE 1=1 ");
+        filter.appendFilters(where, params, "cr.delivery_status", "cr.submitted_at", "cr.buyer_id");
+        if (filter.artistId != null) {
+            where.append(" AND cr.artist_id = ? ");
+            params.add(filter.artistId);
         }
-        
-        // Include commission requests if requestType is not specified or is "commission_request"
-        if (!filters.containsKey("requestType") || "commission_request".equals(filters.get("requestType"))) {
-            String commissionQuery = """
-                SELECT 
-                    cr.id,
-                    cr.buyer_id,
-                    cr.name,
-                    cr.email,
-                    cr.phone,
-                    cr.shipping_address,
-                    COALESCE(cr.delivery_status, 'N/A') as delivery_status,
-                    cr.submitted_at,
-                    cr.title,
-                    cr.artwork_type,
-                    cr.dimensions,
-                    cr.artist_id,
-                    CONCAT(a.first_name, ' ', a.last_name) as artist_name,
-                    cr.style,
-                    cr.deadline,
-                    cr.additional_notes,
-                    cr.urgency,
-                    cr.budget,
-                    CONCAT(COALESCE(addr.street_address, ''), ', ', COALESCE(addr.city, ''), ', ', 
-                           COALESCE(addr.state, ''), ', ', COALESCE(addr.country, '')) as pickup_address,
-                    COALESCE(addr.city, 'N/A') as pickup_city
+        appendKeyset(where, params, "cr.submitted_at", "cr.id", DeliveryKey.COMMISSION_REQUEST, after);
+        params.add(limit);
+
+        String sql = COMMISSION_COLUMNS + """
                 FROM commission_requests cr
                 LEFT JOIN artists a ON cr.artist_id = a.artist_id
                 LEFT JOIN addresses addr ON a.artist_id = addr.artist_id
-                """ + commissionWhereClause.toString() + " ORDER BY cr.submitted_at DESC";
-            
-            requests.addAll(jdbc.query(commissionQuery, commissionRowMapper, commissionParams.toArray()));
+                """ + where + " ORDER BY cr.submitted_at DESC, cr.id DESC LIMIT ?";
+        return jdbc.query(sql, commissionRowMapper, params.toArray());
+    }
+
+    /**
+     * Restricts a source to rows after the key in merge order (date DESC with
+     * NULLs last, then request type, then id DESC). Rows sharing the key's
+     * date come after it only if they sort later on type or id, which for a
+     * single-type source reduces to an id bound.
+     */
+    private static void appendKeyset(StringBuilder where, List<Object> params, String dateColumn, String idColumn,
+                                     int requestType, DeliveryKey after) {
+        if (after == null) {
+            return;
+        }
+        long idBound;
+        if (requestType == after.requestType) {
+            idBound = after.id;
+        } else if (requestType > after.requestType) {
+            idBound = Long.MAX_VALUE;
+        } else {
+            idBound = Long.MIN_VALUE;
+        }
+        if (after.date == null) {
+            where.append(" AND ").append(dateColumn).append(" IS NULL AND ").append(idColumn).append(" < ? ");
+            params.add(idBound);
+        } else {
+            where.append(" AND (").append(dateColumn).append(" < ? OR (").append(dateColumn).append(" = ? AND ")
+                    .append(idColumn).append(" < ?) OR ").append(dateColumn).append(" IS NULL) ");
+            params.add(after.date);
+            params.add(after.date);
+            params.add(idBound);
+        }
+    }
+
+    /**
+     * Merge position: the date, request type and id of the last request on a page
+     */
+    private static final class DeliveryKey {
+        static final int ARTWORK_ORDER = 0;
+        static final int COMMISSION_REQUEST = 1;
+
+        static final Comparator<DeliveryKey> ORDER = Comparator
+                .comparing((DeliveryKey k) -> k.date, Comparator.nullsLast(Comparator.<Timestamp>reverseOrder()))
+                .thenComparingInt(k -> k.requestType)
+                .thenComparing(k -> k.id, Comparator.reverseOrder());
+
+        final Timestamp date;
+        final int requestType;
+        final long id;
+
+        DeliveryKey(Timestamp date, int requestType, long id) {
+            this.date = date;
+            this.requestType = requestType;
+            this.id = id;
+        }
+
+        static DeliveryKey of(DeliveryRequestDTO dto) {
+            return new DeliveryKey(
+                    dto.getOrderDate() != null ? Timestamp.valueOf(dto.getOrderDate()) : null,
+                    "commission_request".equals(dto.getRequestType()) ? COMMISSION_REQUEST : ARTWORK_ORDER,
+                    dto.getId());
+        }
+
+        String encode() {
+            return CursorUtil.encode(date != null ? date.toLocalDateTime() : "", requestType, id);
+        }
+
+        static DeliveryKey decode(String cursor) {
+            String[] parts = CursorUtil.decode(cursor, 3);
+            if (parts == null) {
+                return null;
+            }
+            try {
+                Timestamp date = parts[0].isEmpty() ? null : Timestamp.valueOf(LocalDateTime.parse(parts[0]));
+                int requestType = Integer.parseInt(parts[1]);
+                if (requestType != ARTWORK_ORDER && requestType != COMMISSION_REQUEST) {
+                    throw new CustomException("Invalid cursor");
+                }
+                return new DeliveryKey(date, requestType, Long.parseLong(parts[2]));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new CustomException("Invalid cursor");
+            }
+        }
+    }
+
+    private static final class DeliveryFilter {
+        String status;
+        Timestamp from;
+        Timestamp before;
+        Long artistId;
+        Long buyerId;
+        boolean includeArtworkOrders = true;
+        boolean includeCommissions = true;
+
+        static DeliveryFilter from(Map<String, String> filters) {
+            DeliveryFilter filter = new DeliveryFilter();
+            String status = filters.get("status");
+            if (status != null && !status.isEmpty() && !"all".equals(status)) {
+                filter.status = status;
+            }
+            // endDate is inclusive; compare against the start of the next day so the date column stays indexable
+            if (filters.get("startDate") != null && !filters.get("startDate").isEmpty()) {
+                filter.from = Timestamp.valueOf(LocalDate.parse(filters.get("startDate")).atStartOfDay());
+            }
+            if (filters.get("endDate") != null && !filters.get("endDate").isEmpty()) {
+                filter.before = Timestamp.valueOf(LocalDate.parse(filters.get("endDate")).plusDays(1).atStartOfDay());
+            }
+            if (filters.get("artistId") != null && !filters.get("artistId").isEmpty()) {
+                filter.artistId = Long.parseLong(filters.get("artistId"));
+            }
+            if (filters.get("buyerId") != null && !filters.get("buyerId").isEmpty()) {
+                filter.buyerId = Long.parseLong(filters.get("buyerId"));
+            }
+            String requestType = filters.get("requestType");
+            if (requestType != null && !requestType.isEmpty() && !"all".equals(requestType)) {
+                filter.includeArtworkOrders = "artwork_order".equals(requestType);
+                filter.includeCommissions = "commission_request".equals(requestType);
+            }
+            return filter;
+        }
+
+        void appendFilters(StringBuilder where, List<Object> params, String statusColumn, String dateColumn,
+                           String buyerColumn) {
+            if (status != null) {
+                where.append(" AND ").append(statusColumn).append(" = ? ");
+                params.add(status);
+            }
+            if (from != null) {
+                where.append(" AND ").append(dateColumn).append(" >= ? ");
+                params.add(from);
+            }
+            if (before != null) {
+                where.append(" AND ").append(dateColumn).append(" < ? ");
+                params.add(before);
+            }
+            if (buyerId != null) {
+                where.append(" AND ").append(buyerColumn).append(" = ? ");
+                params.add(buyerId);
+            }
         }
-        
-        // Sort by order date descending
-        requests.sort((a, b) -> {
-            if (a.getOrderDate() == null && b.getOrderDate() == null) return 0;
-            if (a.getOrderDate() == null) return 1;
-            if (b.getOrderDate() == null) return -1;
-            return b.getOrderDate().compareTo(a.getOrderDate());
-        });
-        
-        return requests;
     }
 
     @Override
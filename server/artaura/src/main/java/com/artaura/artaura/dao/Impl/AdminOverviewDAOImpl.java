@@ -3,10 +3,12 @@ package com.artaura.artaura.dao.Impl;
 import com.artaura.artaura.dao.AdminOverviewDAO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Repository
@@ -15,23 +17,39 @@ public class AdminOverviewDAOImpl implements AdminOverviewDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    // One pass over artists and shops, plus two index-only counts
+    private static final String USER_COUNTS_SQL = """
+        SELECT a.total AS total_artists, a.active AS active_artists, a.pending AS pending_artists,
+               (SELECT COUNT(*) FROM buyers) AS total_buyers,
+               (SELECT COUNT(*) FROM moderators) AS total_moderators,
+               s.total AS total_shops, s.pending AS pending_shops
+        FROM (SELECT COUNT(*) AS total,
+                     COALESCE(SUM(status = 'Active'), 0) AS active,
+                     COALESCE(SUM(status = 'Pending'), 0) AS pending
+              FROM artists) a
+        CROSS JOIN (SELECT COUNT(*) AS total,
+                           COALESCE(SUM(status = 'Pending'), 0) AS pending
+                    FROM shops) s
+        """;
+
+    // One pass over payment with conditional aggregates, plus the fee total
+    private static final String FINANCIAL_TOTALS_SQL = """
+        SELECT COUNT(*) AS total_transactions,
+               COALESCE(SUM(CASE WHEN status = 'paid' THEN amount END), 0) AS total_revenue,
+               COALESCE(SUM(status = 'escrow'), 0) AS pending_payments,
+               (SELECT COALESCE(SUM(fee_amount), 0) FROM platform_fees) AS platform_fees
+        FROM payment
+        """;
+
     @Override
     public Map<String, Object> getOverviewStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
         try {
-            // Get user statistics
-            Map<String, Integer> userStats = getUserStatistics();
-            stats.putAll(userStats);
-            
-            // Get financial statistics
-            Map<String, Object> financialStats = getFinancialStatistics();
-            stats.putAll(financialStats);
-            
-            // Get moderation statistics
-            Map<String, Integer> moderationStats = getModerationStatistics();
-            stats.putAll(moderationStats);
-            
+            Map<String, Integer> userCounts = queryUserCounts();
+            stats.putAll(toUserStatistics(userCounts));
+            stats.putAll(toModerationStatistics(userCounts));
+            stats.putAll(getFinancialStatistics());
         } catch (Exception e) {
             // Return default values if queries fail
             stats.put("totalUsers", 0);
@@ -39,8 +57,11 @@ public class AdminOverviewDAOImpl implements AdminOverviewDAO {
             stats.put("activeArtists", 0);
             stats.put("totalBuyers", 0);
             stats.put("totalModerators", 0);
+            stats.put("totalShops", 0);
             stats.put("totalRevenue", BigDecimal.ZERO);
             stats.put("platformFees", BigDecimal.ZERO);
+            stats.put("totalTransactions", 0);
+            stats.put("pendingPayments", 0);
             stats.put("pendingVerifications", 0);
             stats.put("pendingShops", 0);
         }
@@ -50,60 +71,19 @@ public class AdminOverviewDAOImpl implements AdminOverviewDAO {
 
     @Override
     public Map<String, Integer> getUserStatistics() {
-        Map<String, Integer> userStats = new HashMap<>();
-        
         try {
-            // Count all artists
-            String artistQuery = "SELECT COUNT(*) FROM artists";
-            Integer totalArtists = jdbcTemplate.queryForObject(artistQuery, Integer.class);
-            userStats.put("totalArtists", totalArtists != null ? totalArtists : 0);
-            
-            // Count active artists
-            String activeArtistsQuery = "SELECT COUNT(*) FROM artists WHERE status = 'Active'";
-            Integer activeArtists = jdbcTemplate.queryForObject(activeArtistsQuery, Integer.class);
-            userStats.put("activeArtists", activeArtists != null ? activeArtists : 0);
-            
-            // Count all buyers
-            String buyersQuery = "SELECT COUNT(*) FROM buyers";
-            Integer totalBuyers = jdbcTemplate.queryForObject(buyersQuery, Integer.class);
-            userStats.put("totalBuyers", totalBuyers != null ? totalBuyers : 0);
-            
-            // Count all moderators
-            String moderatorsQuery = "SELECT COUNT(*) FROM moderators";
-            Integer totalModerators = jdbcTemplate.queryForObject(moderatorsQuery, Integer.class);
-            userStats.put("totalModerators", totalModerators != null ? totalModerators : 0);
-
-            // Count all shops
-            Integer totalShops = 0;
-            try {
-                String shopsQuery = "SELECT COUNT(*) FROM shops";
-                totalShops = jdbcTemplate.queryForObject(shopsQuery, Integer.class);
-                userStats.put("totalShops", totalShops != null ? totalShops : 0);
-            } catch (Exception e) {
-                // Handle case where shops table might not exist or query fails
-                userStats.put("totalShops", 0);
-            }
-
-            // Calculate total users (all artists + all buyers + all moderators)
-            int totalUsers = userStats.get("totalArtists") + userStats.get("totalBuyers") + userStats.get("totalModerators") + userStats.get("totalShops");
-            userStats.put("totalUsers", totalUsers);
-            
-            // Debug logging
-            System.out.println("Artists: " + userStats.get("totalArtists"));
-            System.out.println("Buyers: " + userStats.get("totalBuyers")); 
-            System.out.println("Moderators: " + userStats.get("totalModerators"));
-            System.out.println("Total Users: " + totalUsers);
-            
+            return toUserStatistics(queryUserCounts());
         } catch (Exception e) {
+            System.out.println("Error in getUserStatistics: " + e.getMessage());
+            Map<String, Integer> userStats = new HashMap<>();
             userStats.put("totalUsers", 0);
             userStats.put("totalArtists", 0);
             userStats.put("activeArtists", 0);
             userStats.put("totalBuyers", 0);
             userStats.put("totalModerators", 0);
             userStats.put("totalShops", 0);
+            return userStats;
         }
-        
-        return userStats;
     }
 
     @Override
@@ -111,36 +91,12 @@ public class AdminOverviewDAOImpl implements AdminOverviewDAO {
         Map<String, Object> financialStats = new HashMap<>();
         
         try {
-            // Calculate total revenue from paid transactions
-            String revenueQuery = """
-                SELECT COALESCE(SUM(amount), 0) as total_revenue
-                FROM payment 
-                WHERE status = 'paid'
-                """;
-            BigDecimal totalRevenue = jdbcTemplate.queryForObject(revenueQuery, BigDecimal.class);
-            financialStats.put("totalRevenue", totalRevenue != null ? totalRevenue : BigDecimal.ZERO);
-            
-            // Calculate total platform fees - sum ALL fee_amount from platform_fees table
-            String platformFeesQuery = """
-                SELECT COALESCE(SUM(fee_amount), 0) as total_platform_fees
-                FROM platform_fees
-                """;
-            BigDecimal platformFees = jdbcTemplate.queryForObject(platformFeesQuery, BigDecimal.class);
-            financialStats.put("platformFees", platformFees != null ? platformFees : BigDecimal.ZERO);
-            
-            // Debug log to see what we're getting
-            System.out.println("Platform Fees Query Result: " + platformFees);
-            
-            // Count total transactions
-            String transactionsQuery = "SELECT COUNT(*) FROM payment";
-            Integer totalTransactions = jdbcTemplate.queryForObject(transactionsQuery, Integer.class);
-            financialStats.put("totalTransactions", totalTransactions != null ? totalTransactions : 0);
-            
-            // Count pending payments (escrow)
-            String pendingPaymentsQuery = "SELECT COUNT(*) FROM payment WHERE status = 'escrow'";
-            Integer pendingPayments = jdbcTemplate.queryForObject(pendingPaymentsQuery, Integer.class);
-            financialStats.put("pendingPayments", pendingPayments != null ? pendingPayments : 0);
-            
+            jdbcTemplate.query(FINANCIAL_TOTALS_SQL, (RowCallbackHandler) rs -> {
+                financialStats.put("totalRevenue", rs.getBigDecimal("total_revenue"));
+                financialStats.put("platformFees", rs.getBigDecimal("platform_fees"));
+                financialStats.put("totalTransactions", rs.getInt("total_transactions"));
+                financialStats.put("pendingPayments", rs.getInt("pending_payments"));
+            });
         } catch (Exception e) {
             System.out.println("Error in getFinancialStatistics: " + e.getMessage());
             financialStats.put("totalRevenue", BigDecimal.ZERO);
@@ -154,30 +110,84 @@ public class AdminOverviewDAOImpl implements AdminOverviewDAO {
 
     @Override
     public Map<String, Integer> getModerationStatistics() {
-        Map<String, Integer> moderationStats = new HashMap<>();
-        
         try {
-            // Count pending artist verifications
-            String pendingArtistsQuery = "SELECT COUNT(*) FROM artists WHERE status = 'Pending'";
-            Integer pendingArtists = jdbcTemplate.queryForObject(pendingArtistsQuery, Integer.class);
-            
-            // Count pending shop verifications (if shops table exists)
-            Integer pendingShops = 0;
-            try {
-                String pendingShopsQuery = "SELECT COUNT(*) FROM shops WHERE status = 'Pending'";
-                pendingShops = jdbcTemplate.queryForObject(pendingShopsQuery, Integer.class);
-            } catch (Exception e) {
-                // Table might not exist, ignore
-            }
-            
-            moderationStats.put("pendingVerifications", pendingArtists != null ? pendingArtists : 0);
-            moderationStats.put("pendingShops", pendingShops);
-            
+            return toModerationStatistics(queryUserCounts());
         } catch (Exception e) {
+            Map<String, Integer> moderationStats = new HashMap<>();
             moderationStats.put("pendingVerifications", 0);
             moderationStats.put("pendingShops", 0);
+            return moderationStats;
         }
-        
+    }
+
+    @Override
+    public Map<String, Object> loadOverviewTotals() {
+        Map<String, Object> totals = new HashMap<>(queryUserCounts());
+        jdbcTemplate.query(FINANCIAL_TOTALS_SQL, (RowCallbackHandler) rs -> {
+            totals.put("totalRevenue", rs.getBigDecimal("total_revenue"));
+            totals.put("platformFees", rs.getBigDecimal("platform_fees"));
+            totals.put("totalTransactions", rs.getInt("total_transactions"));
+            totals.put("pendingPayments", rs.getInt("pending_payments"));
+        });
+        return totals;
+    }
+
+    @Override
+    public String findUserStatus(String userType, Long userId) {
+        String sql;
+        if ("artist".equalsIgnoreCase(userType)) {
+            sql = "SELECT status FROM artists WHERE artist_id = ?";
+        } else if ("buyer".equalsIgnoreCase(userType)) {
+            sql = "SELECT status FROM buyers WHERE buyer_id = ?";
+        } else if ("moderator".equalsIgnoreCase(userType)) {
+            sql = "SELECT status FROM moderators WHERE moderator_id = ?";
+        } else if ("shop".equalsIgnoreCase(userType)) {
+            sql = "SELECT status FROM shops WHERE shop_id = ?";
+        } else {
+            return null;
+        }
+        List<String> statuses = jdbcTemplate.queryForList(sql, String.class, userId);
+        return statuses.isEmpty() ? null : statuses.get(0);
+    }
+
+    @Override
+    public Map<String, Object> findPaymentStatus(Integer paymentId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT status, amount FROM payment WHERE id = ?", paymentId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private Map<String, Integer> queryUserCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        jdbcTemplate.query(USER_COUNTS_SQL, (RowCallbackHandler) rs -> {
+            counts.put("totalArtists", rs.getInt("total_artists"));
+            counts.put("activeArtists", rs.getInt("active_artists"));
+            counts.put("pendingArtists", rs.getInt("pending_artists"));
+            counts.put("totalBuyers", rs.getInt("total_buyers"));
+            counts.put("totalModerators", rs.getInt("total_moderators"));
+            counts.put("totalShops", rs.getInt("total_shops"));
+            counts.put("pendingShops", rs.getInt("pending_shops"));
+        });
+        return counts;
+    }
+
+    private Map<String, Integer> toUserStatistics(Map<String, Integer> counts) {
+        Map<String, Integer> userStats = new HashMap<>();
+        userStats.put("totalArtists", counts.getOrDefault("totalArtists", 0));
+        userStats.put("activeArtists", counts.getOrDefault("activeArtists", 0));
+        userStats.put("totalBuyers", counts.getOrDefault("totalBuyers", 0));
+        userStats.put("totalModerators", counts.getOrDefault("totalModerators", 0));
+        userStats.put("totalShops", counts.getOrDefault("totalShops", 0));
+        // Calculate total users (all artists + all buyers + all moderators + all shops)
+        userStats.put("totalUsers", userStats.get("totalArtists") + userStats.get("totalBuyers")
+                + userStats.get("totalModerators") + userStats.get("totalShops"));
+        return userStats;
+    }
+
+    private Map<String, Integer> toModerationStatistics(Map<String, Integer> counts) {
+        Map<String, Integer> moderationStats = new HashMap<>();
+        moderationStats.put("pendingVerifications", counts.getOrDefault("pendingArtists", 0));
+        moderationStats.put("pendingShops", counts.getOrDefault("pendingShops", 0));
         return moderationStats;
     }
-}
\ No newline at end of file
+}
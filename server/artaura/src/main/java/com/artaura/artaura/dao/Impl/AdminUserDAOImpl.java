@@ -4,13 +4,19 @@ import com.artaura.artaura.dao.AdminUserDAO;
 import com.artaura.artaura.dto.admin.AdminUserDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Repository
 public class AdminUserDAOImpl implements AdminUserDAO {
@@ -25,7 +31,6 @@ public class AdminUserDAOImpl implements AdminUserDAO {
         dto.setEmail(rs.getString("email"));
         dto.setFirstName(rs.getString("first_name"));
         dto.setLastName(rs.getString("last_name"));
-        dto.setPassword(rs.getString("password"));
         dto.setStatus(rs.getString("status"));
         dto.setCreatedAt(rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toLocalDateTime() : null);
         dto.setAgreedTerms(rs.getBoolean("agreed_terms"));
@@ -56,7 +61,6 @@ public class AdminUserDAOImpl implements AdminUserDAO {
         dto.setEmail(rs.getString("email"));
         dto.setFirstName(rs.getString("first_name"));
         dto.setLastName(rs.getString("last_name"));
-        dto.setPassword(rs.getString("password"));
         dto.setStatus(rs.getString("status"));
         dto.setCreatedAt(rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toLocalDateTime() : null);
         dto.setAgreedTerms(rs.getBoolean("agreed_terms"));
@@ -69,7 +73,6 @@ public class AdminUserDAOImpl implements AdminUserDAO {
         dto.setUserId(rs.getLong("moderator_id"));
         dto.setUserType("moderator");
         dto.setEmail(rs.getString("email"));
-        dto.setPassword(rs.getString("password"));
         dto.setStatus(rs.getString("status"));
         return dto;
     };
@@ -81,7 +84,6 @@ public class AdminUserDAOImpl implements AdminUserDAO {
         dto.setEmail(rs.getString("email"));
         dto.setFirstName(rs.getString("shop_name"));
         dto.setLastName(rs.getString("owner_name"));
-        dto.setPassword(rs.getString("password"));
         dto.setStatus(rs.getString("status"));
         dto.setCreatedAt(rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toLocalDateTime() : null);
         dto.setAgreedTerms(rs.getBoolean("agreed_terms"));
@@ -92,7 +94,7 @@ public class AdminUserDAOImpl implements AdminUserDAO {
     @Override
     public List<AdminUserDTO> getAllUsers() {
         List<AdminUserDTO> users = new ArrayList<>();
-        users.addAll(jdbc.query("SELECT a.*, COUNT(aw_all.artwork_id) AS total_artworks, COUNT(aw_sold.artwork_id) AS total_sales FROM artists a LEFT JOIN artworks aw_all ON a.artist_id = aw_all.artist_id LEFT JOIN artworks aw_sold ON a.artist_id = aw_sold.artist_id AND aw_sold.status = 'Sold' GROUP BY a.artist_id", artistMapper));
+        users.addAll(jdbc.query(ARTIST_WITH_STATS_SQL, artistMapper));
         users.addAll(jdbc.query("SELECT * FROM buyers", buyerMapper));
         users.addAll(jdbc.query("SELECT * FROM moderators", moderatorMapper));
         users.addAll(jdbc.query("SELECT * FROM shops", shopMapper));
@@ -101,8 +103,7 @@ public class AdminUserDAOImpl implements AdminUserDAO {
 
     @Override
     public List<AdminUserDTO> getFilteredUsers(Map<String, Object> filters) {
-        // TODO: Implement filtering logic
-        return new ArrayList<>();
+        return queryDirectory(DirectoryFilter.from(filters), -1, -1);
     }
 
     @Override
@@ -110,7 +111,7 @@ public class AdminUserDAOImpl implements AdminUserDAO {
         try {
             AdminUserDTO user = null;
             if ("artist".equalsIgnoreCase(userType)) {
-                String sql = "SELECT a.*, COUNT(aw_all.artwork_id) AS total_artworks, COUNT(aw_sold.artwork_id) AS total_sales FROM artists a LEFT JOIN artworks aw_all ON a.artist_id = aw_all.artist_id LEFT JOIN artworks aw_sold ON a.artist_id = aw_sold.artist_id AND aw_sold.status = 'Sold' WHERE a.artist_id = ? GROUP BY a.artist_id";
+                String sql = ARTIST_WITH_STATS_SQL + " WHERE a.artist_id = ?";
                 user = jdbc.queryForObject(sql, artistMapper, userId);
             } else if ("buyer".equalsIgnoreCase(userType)) {
                 String sql = "SELECT * FROM buyers WHERE buyer_id = ?";
@@ -146,43 +147,322 @@ public class AdminUserDAOImpl implements AdminUserDAO {
 
     @Override
     public int getTotalUsersCount() {
-        // TODO: Implement total users count logic
-        return 0;
+        return getFilteredUsersCount(Map.of());
     }
 
     @Override
     public int getTotalArtistsCount() {
-        // TODO: Implement total artists count logic
-        return 0;
+        return getFilteredUserCountsByRole(Map.of()).get("artist");
     }
 
     @Override
     public int getTotalBuyersCount() {
-        // TODO: Implement total buyers count logic
-        return 0;
+        return getFilteredUserCountsByRole(Map.of()).get("buyer");
     }
 
     @Override
     public int getTotalModeratorsCount() {
-        // TODO: Implement total moderators count logic
-        return 0;
+        return getFilteredUserCountsByRole(Map.of()).get("moderator");
     }
 
     @Override
     public List<AdminUserDTO> getPaginatedUsers(int page, int pageSize) {
-        // TODO: Implement pagination logic
-        return new ArrayList<>();
+        return getPaginatedFilteredUsers(Map.of(), page, pageSize);
     }
 
     @Override
     public List<AdminUserDTO> getPaginatedFilteredUsers(Map<String, Object> filters, int page, int pageSize) {
-        // TODO: Implement paginated filtering logic
-        return new ArrayList<>();
+        return queryDirectory(DirectoryFilter.from(filters), Math.max(0, page) * pageSize, pageSize);
     }
 
     @Override
     public int getFilteredUsersCount(Map<String, Object> filters) {
-        // TODO: Implement filtered users count logic
-        return 0;
+        int total = 0;
+        for (int count : getFilteredUserCountsByRole(filters).values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Integer> getFilteredUserCountsByRole(Map<String, Object> filters) {
+        DirectoryFilter filter = DirectoryFilter.from(filters);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Role role : ROLES) {
+            counts.put(role.name, 0);
+            if (!filter.includes(role)) {
+                continue;
+            }
+            List<Object> params = new ArrayList<>();
+            String where = branchWhere(role, filter, params);
+            Integer count = jdbc.queryForObject("SELECT COUNT(*) FROM " + role.countFrom + " " + where,
+                    Integer.class, params.toArray());
+            counts.put(role.name, count != null ? count : 0);
+        }
+        return counts;
+    }
+
+    @Override
+    public void streamFilteredUsers(Map<String, Object> filters, Consumer<AdminUserDTO> consumer) {
+        DirectoryFilter filter = DirectoryFilter.from(filters);
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        for (Role role : ROLES) {
+            if (!filter.includes(role)) {
+                continue;
+            }
+            if (sql.length() > 0) {
+                sql.append(" UNION ALL ");
+            }
+            // No ORDER BY: each branch reads its table in primary key order without a sort buffer
+            sql.append(branchSelect(role)).append(" ").append(branchWhere(role, filter, params));
+        }
+        if (sql.length() == 0) {
+            return;
+        }
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the full result
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(directoryMapper.mapRow(rs, 0)));
+    }
+
+    // ---- Unified directory ----
+
+    /**
+     * One page of the directory across the four role tables. Each branch is filtered,
+     * sorted and cut to offset + limit rows on its own table's indexes, so the outer
+     * sort only merges at most four short lists. A negative limit returns every row.
+     */
+    private List<AdminUserDTO> queryDirectory(DirectoryFilter filter, int offset, int limit) {
+        List<Object> params = new ArrayList<>();
+        String branchOrder = filter.sortColumn + " " + filter.direction + ", user_id " + filter.direction;
+        StringBuilder sql = new StringBuilder("SELECT * FROM (");
+        boolean first = true;
+        for (Role role : ROLES) {
+            if (!filter.includes(role)) {
+                continue;
+            }
+            if (!first) {
+                sql.append(" UNION ALL ");
+            }
+            first = false;
+            sql.append("(").append(branchSelect(role)).append(" ").append(branchWhere(role, filter, params));
+            if (limit >= 0) {
+                sql.append(" ORDER BY ").append(branchOrder).append(" LIMIT ?");
+                params.add(offset + limit);
+            }
+            sql.append(")");
+        }
+        if (first) {
+            return new ArrayList<>();
+        }
+        sql.append(") directory ORDER BY ").append(filter.sortColumn).append(" ").append(filter.direction)
+                .append(", user_type, user_id ").append(filter.direction);
+        if (limit >= 0) {
+            sql.append(" LIMIT ? OFFSET ?");
+            params.add(limit);
+            params.add(offset);
+        }
+        return jdbc.query(sql.toString(), directoryMapper, params.toArray());
+    }
+
+    private String branchSelect(Role role) {
+        return "SELECT '" + role.name + "' AS user_type, " +
+                role.idColumn + " AS user_id, " +
+                role.emailColumn + " AS email, " +
+                orNull(role.firstNameColumn) + " AS first_name, " +
+                orNull(role.lastNameColumn) + " AS last_name, " +
+                role.statusColumn + " AS status, " +
+                orNull(role.createdAtColumn) + " AS created_at, " +
+                orNull(role.contactColumn) + " AS contact_no, " +
+                role.extraColumns + " " +
+                "FROM " + role.from;
+    }
+
+    private String branchWhere(Role role, DirectoryFilter filter, List<Object> params) {
+        StringBuilder where = new StringBuilder("WHERE 1=1");
+        if (filter.status != null) {
+            where.append(" AND ").append(role.statusColumn).append(" = ?");
+            params.add(filter.status);
+        }
+        if (filter.searchPrefix != null) {
+            // Prefix matches can use the email / name indexes; '%term%' could not
+            where.append(" AND (").append(role.emailColumn).append(" LIKE ?");
+            params.add(filter.searchPrefix);
+            if (role.firstNameColumn != null) {
+                where.append(" OR ").append(role.firstNameColumn).append(" LIKE ?");
+                params.add(filter.searchPrefix);
+            }
+            if (role.lastNameColumn != null) {
+                where.append(" OR ").append(role.lastNameColumn).append(" LIKE ?");
+                params.add(filter.searchPrefix);
+            }
+            where.append(")");
+        }
+        if (filter.specialization != null) {
+            where.append(" AND a.specialization = ?");
+            params.add(filter.specialization);
+        }
+        if (filter.joinedFrom != null) {
+            where.append(" AND ").append(role.createdAtColumn).append(" >= ?");
+            params.add(filter.joinedFrom);
+        }
+        if (filter.joinedBefore != null) {
+            where.append(" AND ").append(role.createdAtColumn).append(" < ?");
+            params.add(filter.joinedBefore);
+        }
+        return where.toString();
+    }
+
+    private static String orNull(String column) {
+        return column != null ? column : "NULL";
+    }
+
+    private final RowMapper<AdminUserDTO> directoryMapper = (rs, rowNum) -> {
+        AdminUserDTO dto = new AdminUserDTO();
+        dto.setUserId(rs.getLong("user_id"));
+        dto.setUserType(rs.getString("user_type"));
+        dto.setEmail(rs.getString("email"));
+        dto.setFirstName(rs.getString("first_name"));
+        dto.setLastName(rs.getString("last_name"));
+        dto.setStatus(rs.getString("status"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        dto.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        dto.setContactNo(rs.getString("contact_no"));
+        dto.setSpecialization(rs.getString("specialization"));
+        dto.setAvatarUrl(rs.getString("avatar_url"));
+        if ("artist".equals(dto.getUserType())) {
+            dto.settotal_artworks(rs.getInt("total_artworks"));
+            dto.setTotalSales(rs.getInt("total_sales"));
+        }
+        return dto;
+    };
+
+    private static final String ARTIST_WITH_STATS_SQL =
+            "SELECT a.*, COALESCE(st.total_artworks, 0) AS total_artworks, COALESCE(st.total_sales, 0) AS total_sales " +
+            "FROM artists a LEFT JOIN artist_stats st ON st.artist_id = a.artist_id";
+
+    private static final String NO_ARTIST_COLUMNS =
+            "NULL AS specialization, NULL AS avatar_url, NULL AS total_artworks, NULL AS total_sales";
+
+    private static final List<Role> ROLES = List.of(
+            new Role("artist", "artists a LEFT JOIN artist_stats st ON st.artist_id = a.artist_id", "artists a",
+                    "a.artist_id", "a.email", "a.first_name", "a.last_name", "a.status", "a.created_at", "a.contactNo",
+                    "a.specialization AS specialization, a.avatar_url AS avatar_url, " +
+                    "COALESCE(st.total_artworks, 0) AS total_artworks, COALESCE(st.total_sales, 0) AS total_sales"),
+            new Role("buyer", "buyers b", "buyers b",
+                    "b.buyer_id", "b.email", "b.first_name", "b.last_name", "b.status", "b.created_at", "b.contactNo",
+                    NO_ARTIST_COLUMNS),
+            new Role("moderator", "moderators m", "moderators m",
+                    "m.moderator_id", "m.email", null, null, "m.status", null, null,
+                    NO_ARTIST_COLUMNS),
+            new Role("shop", "shops s", "shops s",
+                    "s.shop_id", "s.email", "s.shop_name", "s.owner_name", "s.status", "s.created_at", "s.contact_no",
+                    NO_ARTIST_COLUMNS));
+
+    /**
+     * How one role table maps onto the directory columns; null columns do not exist for the role
+     */
+    private static final class Role {
+        final String name;
+        final String from;
+        final String countFrom;
+        final String idColumn;
+        final String emailColumn;
+        final String firstNameColumn;
+        final String lastNameColumn;
+        final String statusColumn;
+        final String createdAtColumn;
+        final String contactColumn;
+        final String extraColumns;
+
+        Role(String name, String from, String countFrom, String idColumn, String emailColumn,
+             String firstNameColumn, String lastNameColumn, String statusColumn, String createdAtColumn,
+             String contactColumn, String extraColumns) {
+            this.name = name;
+            this.from = from;
+            this.countFrom = countFrom;
+            this.idColumn = idColumn;
+            this.emailColumn = emailColumn;
+            this.firstNameColumn = firstNameColumn;
+            this.lastNameColumn = lastNameColumn;
+            this.statusColumn = statusColumn;
+            this.createdAtColumn = createdAtColumn;
+            this.contactColumn = contactColumn;
+            this.extraColumns = extraColumns;
+        }
+    }
+
+    private static final class DirectoryFilter {
+        private static final List<String> SORT_COLUMNS =
+                List.of("created_at", "email", "first_name", "last_name", "status", "user_type");
+
+        String userType;
+        String status;
+        String searchPrefix;
+        String specialization;
+        Timestamp joinedFrom;
+        Timestamp joinedBefore;
+        String sortColumn = "created_at";
+        String direction = "DESC";
+
+        static DirectoryFilter from(Map<String, Object> filters) {
+            DirectoryFilter filter = new DirectoryFilter();
+            filter.userType = text(filters.get("userType"));
+            filter.status = text(filters.get("status"));
+            filter.specialization = text(filters.get("specialization"));
+            String search = text(filters.get("search"));
+            if (search != null) {
+                filter.searchPrefix = search.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            }
+            LocalDate joinedFrom = date(filters.get("joinedFrom"));
+            if (joinedFrom != null) {
+                filter.joinedFrom = Timestamp.valueOf(joinedFrom.atStartOfDay());
+            }
+            LocalDate joinedTo = date(filters.get("joinedTo"));
+            if (joinedTo != null) {
+                // Inclusive end date as an exclusive bound keeps the predicate sargable
+                filter.joinedBefore = Timestamp.valueOf(joinedTo.plusDays(1).atStartOfDay());
+            }
+            String sortBy = text(filters.get("sortBy"));
+            if (sortBy != null && SORT_COLUMNS.contains(sortBy.toLowerCase())) {
+                filter.sortColumn = sortBy.toLowerCase();
+            }
+            if ("ASC".equalsIgnoreCase(text(filters.get("sortOrder")))) {
+                filter.direction = "ASC";
+            }
+            return filter;
+        }
+
+        boolean includes(Role role) {
+            if (userType != null && !userType.equalsIgnoreCase(role.name)) {
+                return false;
+            }
+            if (specialization != null && !"artist".equals(role.name)) {
+                return false;
+            }
+            // Roles without a join date cannot match a joined-date range
+            return role.createdAtColumn != null || (joinedFrom == null && joinedBefore == null);
+        }
+
+        private static String text(Object value) {
+            if (value == null || value.toString().isBlank()) {
+                return null;
+            }
+            return value.toString().trim();
+        }
+
+        private static LocalDate date(Object value) {
+            if (value instanceof LocalDate) {
+                return (LocalDate) value;
+            }
+            String text = text(value);
+            return text != null ? LocalDate.parse(text) : null;
+        }
     }
 }
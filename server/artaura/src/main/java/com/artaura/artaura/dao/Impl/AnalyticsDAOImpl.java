@@ -4,12 +4,21 @@ import com.artaura.artaura.dao.AnalyticsDAO;
 import com.artaura.artaura.dto.analytics.AnalyticsDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class AnalyticsDAOImpl implements AnalyticsDAO {
@@ -19,45 +28,53 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
 
     @Override
     public AnalyticsDTO.MetricsSummary getMetricsSummary(Long shopId, String period) {
-        String dateCondition = getDateCondition(period);
+        // Reads the daily rollups maintained by ShopAnalyticsRollupService; current and
+        // previous period come back from the same small range read
+        LocalDate today = LocalDate.now();
+        LocalDate currentStart = periodStart(period, today);
+        LocalDate previousStart = periodStart(period, currentStart.minusDays(1));
+        Date current = Date.valueOf(currentStart);
+
+        String salesSql = "SELECT " +
+                "COALESCE(SUM(CASE WHEN sales_date >= ? THEN revenue END), 0) as totalRevenue, " +
+                "COALESCE(SUM(CASE WHEN sales_date >= ? THEN orders END), 0) as totalOrders, " +
+                "COALESCE(SUM(CASE WHEN sales_date < ? THEN revenue END), 0) as prevRevenue, " +
+                "COALESCE(SUM(CASE WHEN sales_date < ? THEN orders END), 0) as prevOrders " +
+                "FROM shop_sales_daily " +
+                "WHERE shop_id = ? AND sales_date >= ? AND sales_date <= ?";
+
+        String customersSql = "SELECT " +
+                "COUNT(DISTINCT CASE WHEN sales_date >= ? THEN artist_id END) as totalCustomers, " +
+                "COUNT(DISTINCT CASE WHEN sales_date < ? THEN artist_id END) as prevCustomers " +
+                "FROM shop_customer_daily " +
+                "WHERE shop_id = ? AND sales_date >= ? AND sales_date <= ?";
 
-        String sql = "SELECT " +
-                "COALESCE(SUM(total), 0) as totalRevenue, " +
-                "COUNT(*) as totalOrders, " +
-                "COUNT(DISTINCT artist_id) as totalCustomers, " +
-                "COALESCE(AVG(total), 0) as avgOrderValue " +
-                "FROM shop_orders " +
-                "WHERE shop_id = ? AND status = 'approved' " + dateCondition;
+        try {
+            AnalyticsDTO.MetricsSummary summary = new AnalyticsDTO.MetricsSummary();
+            Date from = Date.valueOf(previousStart);
+            Date to = Date.valueOf(today);
 
-        System.out.println("===== ANALYTICS DEBUG =====");
-        System.out.println("SQL Query: " + sql);
-        System.out.println("Shop ID: " + shopId);
-        System.out.println("Period: " + period);
+            jdbcTemplate.query(salesSql, (RowCallbackHandler) rs -> {
+                BigDecimal revenue = rs.getBigDecimal("totalRevenue");
+                int orders = rs.getInt("totalOrders");
+                BigDecimal prevRevenue = rs.getBigDecimal("prevRevenue");
+                int prevOrders = rs.getInt("prevOrders");
 
-        try {
-            AnalyticsDTO.MetricsSummary summary = jdbcTemplate.queryForObject(sql,
-                    (rs, rowNum) -> {
-                        AnalyticsDTO.MetricsSummary s = new AnalyticsDTO.MetricsSummary();
-                        s.setTotalRevenue(rs.getBigDecimal("totalRevenue"));
-                        s.setTotalOrders(rs.getInt("totalOrders"));
-                        s.setTotalCustomers(rs.getInt("totalCustomers"));
-                        s.setAvgOrderValue(rs.getBigDecimal("avgOrderValue"));
-
-                        System.out.println("RESULTS FROM DATABASE:");
-                        System.out.println("  Total Revenue: " + s.getTotalRevenue());
-                        System.out.println("  Total Orders: " + s.getTotalOrders());
-                        System.out.println("  Total Customers: " + s.getTotalCustomers());
-                        System.out.println("  Avg Order Value: " + s.getAvgOrderValue());
-
-                        return s;
-                    }, shopId);
-
-            // Calculate percentage changes (comparing with previous period)
-            if (summary != null) {
-                calculateChanges(summary, shopId, period);
-            }
+                summary.setTotalRevenue(revenue);
+                summary.setTotalOrders(orders);
+                summary.setAvgOrderValue(average(revenue, orders));
+                summary.setRevenueChange(calculatePercentageChange(prevRevenue, revenue));
+                summary.setOrdersChange(calculatePercentageChange(prevOrders, orders));
+                summary.setAvgOrderValueChange(
+                        calculatePercentageChange(average(prevRevenue, prevOrders), summary.getAvgOrderValue()));
+            }, current, current, current, current, shopId, from, to);
+
+            jdbcTemplate.query(customersSql, (RowCallbackHandler) rs -> {
+                int customers = rs.getInt("totalCustomers");
+                summary.setTotalCustomers(customers);
+                summary.setCustomersChange(calculatePercentageChange(rs.getInt("prevCustomers"), customers));
+            }, current, current, shopId, from, to);
 
-            System.out.println("===== END ANALYTICS DEBUG =====");
             return summary;
         } catch (Exception e) {
             System.err.println("ERROR in getMetricsSummary: " + e.getMessage());
@@ -81,42 +98,45 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
 
     @Override
     public List<AnalyticsDTO.SalesDataPoint> getSalesData(Long shopId, String period) {
-        String sql;
-
-        if (period.equals("12months")) {
-            // Get monthly data for last 12 months
-            sql = "SELECT " +
-                    "DATE_FORMAT(date, '%b') as month, " +
-                    "COALESCE(SUM(total), 0) as revenue, " +
-                    "COUNT(*) as orders, " +
-                    "COUNT(DISTINCT artist_id) as customers " +
-                    "FROM shop_orders " +
-                    "WHERE shop_id = ? AND status = 'approved' " +
-                    "AND date >= DATE_SUB(NOW(), INTERVAL 12 MONTH) " +
-                    "GROUP BY MONTH(date), DATE_FORMAT(date, '%b') " +
-                    "ORDER BY MONTH(date)";
-        } else {
-            // Get data for last 6 months by default
-            sql = "SELECT " +
-                    "DATE_FORMAT(date, '%b') as month, " +
-                    "COALESCE(SUM(total), 0) as revenue, " +
-                    "COUNT(*) as orders, " +
-                    "COUNT(DISTINCT artist_id) as customers " +
-                    "FROM shop_orders " +
-                    "WHERE shop_id = ? AND status = 'approved' " +
-                    "AND date >= DATE_SUB(NOW(), INTERVAL 6 MONTH) " +
-                    "GROUP BY MONTH(date), DATE_FORMAT(date, '%b') " +
-                    "ORDER BY MONTH(date)";
-        }
-
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+        // Monthly data for the last 12 months, or 6 months by default
+        int months = period.equals("12months") ? 12 : 6;
+        Date start = Date.valueOf(LocalDate.now().minusMonths(months));
+
+        String salesSql = "SELECT " +
+                "YEAR(sales_date) as yr, MONTH(sales_date) as mon, " +
+                "DATE_FORMAT(MIN(sales_date), '%b') as month, " +
+                "COALESCE(SUM(revenue), 0) as revenue, " +
+                "COALESCE(SUM(orders), 0) as orders " +
+                "FROM shop_sales_daily " +
+                "WHERE shop_id = ? AND sales_date >= ? " +
+                "GROUP BY YEAR(sales_date), MONTH(sales_date) " +
+                "ORDER BY yr, mon";
+
+        String customersSql = "SELECT " +
+                "YEAR(sales_date) as yr, MONTH(sales_date) as mon, " +
+                "COUNT(DISTINCT artist_id) as customers " +
+                "FROM shop_customer_daily " +
+                "WHERE shop_id = ? AND sales_date >= ? " +
+                "GROUP BY YEAR(sales_date), MONTH(sales_date)";
+
+        Map<Integer, AnalyticsDTO.SalesDataPoint> byMonth = new LinkedHashMap<>();
+        jdbcTemplate.query(salesSql, (RowCallbackHandler) rs -> {
             AnalyticsDTO.SalesDataPoint dataPoint = new AnalyticsDTO.SalesDataPoint();
             dataPoint.setMonth(rs.getString("month"));
             dataPoint.setRevenue(rs.getBigDecimal("revenue"));
             dataPoint.setOrders(rs.getInt("orders"));
-            dataPoint.setCustomers(rs.getInt("customers"));
-            return dataPoint;
-        }, shopId);
+            dataPoint.setCustomers(0);
+            byMonth.put(rs.getInt("yr") * 100 + rs.getInt("mon"), dataPoint);
+        }, shopId, start);
+
+        jdbcTemplate.query(customersSql, (RowCallbackHandler) rs -> {
+            AnalyticsDTO.SalesDataPoint dataPoint = byMonth.get(rs.getInt("yr") * 100 + rs.getInt("mon"));
+            if (dataPoint != null) {
+                dataPoint.setCustomers(rs.getInt("customers"));
+            }
+        }, shopId, start);
+
+        return new ArrayList<>(byMonth.values());
     }
 
     @Override
@@ -140,14 +160,14 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
                     product.setCategory(rs.getString("category"));
                     product.setSales(rs.getInt("sales"));
                     product.setRevenue(rs.getBigDecimal("revenue"));
+                    product.setGrowth(0.0);
                     return product;
                 }, shopId, limit);
 
-        // Calculate growth for each product (comparing last 30 days with previous 30
-        // days)
+        // Growth for all listed products in one rollup query (last 30 days vs previous 30 days)
+        Map<Long, Double> growth = calculateProductGrowth(shopId, products);
         for (AnalyticsDTO.TopProduct product : products) {
-            Double growth = calculateProductGrowth(product.getId());
-            product.setGrowth(growth);
+            product.setGrowth(growth.getOrDefault(product.getId(), 0.0));
         }
 
         return products;
@@ -189,71 +209,23 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
 
     // Helper methods
 
-    private String getDateCondition(String period) {
+    // First day of the period ending on (and including) end
+    private LocalDate periodStart(String period, LocalDate end) {
         switch (period) {
             case "7days":
-                return "AND date >= DATE_SUB(NOW(), INTERVAL 7 DAY)";
-            case "30days":
-                return "AND date >= DATE_SUB(NOW(), INTERVAL 30 DAY)";
+                return end.minusDays(6);
             case "90days":
-                return "AND date >= DATE_SUB(NOW(), INTERVAL 90 DAY)";
+                return end.minusDays(89);
             case "12months":
-                return "AND date >= DATE_SUB(NOW(), INTERVAL 12 MONTH)";
+                return end.minusMonths(12).plusDays(1);
+            case "30days":
             default:
-                return "AND date >= DATE_SUB(NOW(), INTERVAL 30 DAY)";
-        }
-    }
-
-    private void calculateChanges(AnalyticsDTO.MetricsSummary summary, Long shopId, String period) {
-        try {
-            // Get previous period data for comparison
-            String previousDateCondition = getPreviousDateCondition(period);
-
-            String sql = "SELECT " +
-                    "COALESCE(SUM(total), 0) as prevRevenue, " +
-                    "COUNT(*) as prevOrders, " +
-                    "COUNT(DISTINCT artist_id) as prevCustomers, " +
-                    "COALESCE(AVG(total), 0) as prevAvgOrderValue " +
-                    "FROM shop_orders " +
-                    "WHERE shop_id = ? AND status = 'approved' " + previousDateCondition;
-
-            jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-                BigDecimal prevRevenue = rs.getBigDecimal("prevRevenue");
-                Integer prevOrders = rs.getInt("prevOrders");
-                Integer prevCustomers = rs.getInt("prevCustomers");
-                BigDecimal prevAvgOrderValue = rs.getBigDecimal("prevAvgOrderValue");
-
-                // Calculate percentage changes
-                summary.setRevenueChange(calculatePercentageChange(prevRevenue, summary.getTotalRevenue()));
-                summary.setOrdersChange(calculatePercentageChange(prevOrders, summary.getTotalOrders()));
-                summary.setCustomersChange(calculatePercentageChange(prevCustomers, summary.getTotalCustomers()));
-                summary.setAvgOrderValueChange(
-                        calculatePercentageChange(prevAvgOrderValue, summary.getAvgOrderValue()));
-
-                return null;
-            }, shopId);
-        } catch (Exception e) {
-            // If there's no previous period data, set changes to 0
-            summary.setRevenueChange("0.0%");
-            summary.setOrdersChange("0.0%");
-            summary.setCustomersChange("0.0%");
-            summary.setAvgOrderValueChange("0.0%");
+                return end.minusDays(29);
         }
     }
 
-    private String getPreviousDateCondition(String period) {
-        switch (period) {
-            case "7days":
-                return "AND date >= DATE_SUB(NOW(), INTERVAL 14 DAY) AND date < DATE_SUB(NOW(), INTERVAL 7 DAY)";
-            case "30days":
-                return "AND date >= DATE_SUB(NOW(), INTERVAL 60 DAY) AND date < DATE_SUB(NOW(), INTERVAL 30 DAY)";
-            case "90days":
-                return "AND date >= DATE_SUB(NOW(), INTERVAL 180 DAY) AND date < DATE_SUB(NOW(), INTERVAL 90 DAY)";
-            case "12months":
-                return "AND date >= DATE_SUB(NOW(), INTERVAL 24 MONTH) AND date < DATE_SUB(NOW(), INTERVAL 12 MONTH)";
-            default:
-                return "AND date >= DATE_SUB(NOW(), INTERVAL 60 DAY) AND date < DATE_SUB(NOW(), INTERVAL 30 DAY)";
-        }
+    private BigDecimal average(BigDecimal revenue, int orders) {
+        return orders > 0 ? revenue.divide(BigDecimal.valueOf(orders), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
     }
 
     private String calculatePercentageChange(Number oldValue, Number newValue) {
@@ -268,30 +240,49 @@ public class AnalyticsDAOImpl implements AnalyticsDAO {
         return String.format("%+.1f%%", change);
     }
 
-    private Double calculateProductGrowth(Long productId) {
+    private Map<Long, Double> calculateProductGrowth(Long shopId, List<AnalyticsDTO.TopProduct> products) {
+        Map<Long, Double> growth = new HashMap<>();
+        if (products.isEmpty()) {
+            return growth;
+        }
         try {
-            // Compare sales from last 30 days with previous 30 days
-            String sql = "SELECT " +
-                    "COALESCE(SUM(CASE WHEN date >= DATE_SUB(NOW(), INTERVAL 30 DAY) THEN 1 ELSE 0 END), 0) as currentSales, "
-                    +
-                    "COALESCE(SUM(CASE WHEN date >= DATE_SUB(NOW(), INTERVAL 60 DAY) AND date < DATE_SUB(NOW(), INTERVAL 30 DAY) THEN 1 ELSE 0 END), 0) as previousSales "
-                    +
-                    "FROM shop_orders " +
-                    "WHERE order_items LIKE CONCAT('%\"productId\":', ?, '%')";
-
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            LocalDate today = LocalDate.now();
+            Date currentStart = Date.valueOf(today.minusDays(29));
+            Date previousStart = Date.valueOf(today.minusDays(59));
+
+            List<Object> args = new ArrayList<>();
+            args.add(currentStart);
+            args.add(currentStart);
+            args.add(shopId);
+            args.add(previousStart);
+            for (AnalyticsDTO.TopProduct product : products) {
+                args.add(product.getId());
+            }
+
+            // Orders per product, last 30 days vs the 30 days before
+            String sql = "SELECT product_id, " +
+                    "COALESCE(SUM(CASE WHEN sales_date >= ? THEN orders END), 0) as currentSales, " +
+                    "COALESCE(SUM(CASE WHEN sales_date < ? THEN orders END), 0) as previousSales " +
+                    "FROM shop_sales_daily " +
+                    "WHERE shop_id = ? AND sales_date >= ? " +
+                    "AND product_id IN (" + String.join(",", Collections.nCopies(products.size(), "?")) + ") " +
+                    "GROUP BY product_id";
+
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
                 int currentSales = rs.getInt("currentSales");
                 int previousSales = rs.getInt("previousSales");
-
+                double value;
                 if (previousSales == 0) {
-                    return currentSales > 0 ? 100.0 : 0.0;
+                    value = currentSales > 0 ? 100.0 : 0.0;
+                } else {
+                    value = ((double) (currentSales - previousSales) / previousSales) * 100;
                 }
-
-                return ((double) (currentSales - previousSales) / previousSales) * 100;
-            }, productId);
+                growth.put(rs.getLong("product_id"), value);
+            }, args.toArray());
         } catch (Exception e) {
-            return 0.0; // Return 0% growth if there's an error
+            System.err.println("Error calculating product growth for shop " + shopId + ": " + e.getMessage());
         }
+        return growth;
     }
 
     private int countItemsInJson(String orderItems) {
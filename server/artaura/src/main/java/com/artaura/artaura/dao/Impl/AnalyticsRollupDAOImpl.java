@@ -0,0 +1,98 @@
+package com.artaura.artaura.dao.Impl;
+
+import com.artaura.artaura.dao.AnalyticsRollupDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class AnalyticsRollupDAOImpl implements AnalyticsRollupDAO {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String MARK_DIRTY_UPSERT =
+            "ON DUPLICATE KEY UPDATE marked_at = CURRENT_TIMESTAMP(3)";
+
+    @Override
+    public void markOrderDirty(Long orderId) {
+        jdbcTemplate.update(
+                "INSERT INTO shop_sales_dirty_days (shop_id, sales_date, marked_at) " +
+                "SELECT shop_id, DATE(date), CURRENT_TIMESTAMP(3) FROM shop_orders WHERE order_id = ? " +
+                MARK_DIRTY_UPSERT,
+                orderId);
+    }
+
+    @Override
+    public int markNewOrdersDirty(long fromExclusive, long toInclusive) {
+        return jdbcTemplate.update(
+                "INSERT INTO shop_sales_dirty_days (shop_id, sales_date, marked_at) " +
+                "SELECT DISTINCT shop_id, DATE(date), CURRENT_TIMESTAMP(3) FROM shop_orders " +
+                "WHERE order_id > ? AND order_id <= ? " +
+                MARK_DIRTY_UPSERT,
+                fromExclusive, toInclusive);
+    }
+
+    @Override
+    public long getMaxOrderId() {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(order_id), 0) FROM shop_orders", Long.class);
+        return max != null ? max : 0L;
+    }
+
+    @Override
+    public long getWatermark(String name) {
+        List<Long> watermarks = jdbcTemplate.queryForList(
+                "SELECT watermark FROM analytics_rollup_state WHERE name = ?", Long.class, name);
+        return watermarks.isEmpty() ? 0L : watermarks.get(0);
+    }
+
+    @Override
+    public void saveWatermark(String name, long watermark) {
+        jdbcTemplate.update(
+                "INSERT INTO analytics_rollup_state (name, watermark, last_run_at) VALUES (?, ?, CURRENT_TIMESTAMP) " +
+                "ON DUPLICATE KEY UPDATE watermark = VALUES(watermark), last_run_at = VALUES(last_run_at)",
+                name, watermark);
+    }
+
+    @Override
+    public List<Map<String, Object>> findDirtyDays(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT shop_id, sales_date, marked_at FROM shop_sales_dirty_days ORDER BY marked_at LIMIT ?",
+                limit);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildDay(Long shopId, LocalDate salesDate, Timestamp markedAt) {
+        Date day = Date.valueOf(salesDate);
+        Date nextDay = Date.valueOf(salesDate.plusDays(1));
+
+        jdbcTemplate.update("DELETE FROM shop_sales_daily WHERE shop_id = ? AND sales_date = ?", shopId, day);
+        jdbcTemplate.update(
+                "INSERT INTO shop_sales_daily (shop_id, product_id, sales_date, orders, units, revenue) " +
+                "SELECT shop_id, COALESCE(product_id, 0), ?, COUNT(*), SUM(COALESCE(quantity, 1)), COALESCE(SUM(total), 0) " +
+                "FROM shop_orders " +
+                "WHERE shop_id = ? AND status = 'approved' AND date >= ? AND date < ? " +
+                "GROUP BY shop_id, COALESCE(product_id, 0)",
+                day, shopId, day, nextDay);
+
+        jdbcTemplate.update("DELETE FROM shop_customer_daily WHERE shop_id = ? AND sales_date = ?", shopId, day);
+        jdbcTemplate.update(
+                "INSERT INTO shop_customer_daily (shop_id, sales_date, artist_id) " +
+                "SELECT DISTINCT shop_id, ?, artist_id FROM shop_orders " +
+                "WHERE shop_id = ? AND status = 'approved' AND date >= ? AND date < ? AND artist_id IS NOT NULL",
+                day, shopId, day, nextDay);
+
+        // A mark newer than the one we started from means the day changed again; leave it queued
+        jdbcTemplate.update(
+                "DELETE FROM shop_sales_dirty_days WHERE shop_id = ? AND sales_date = ? AND marked_at <= ?",
+                shopId, day, markedAt);
+    }
+}
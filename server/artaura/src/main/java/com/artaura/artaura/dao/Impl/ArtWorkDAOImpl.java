@@ -4,10 +4,16 @@ import com.artaura.artaura.dao.ArtWorkDAO;
 import com.artaura.artaura.dto.artwork.ArtWorkCreateDTO;
 import com.artaura.artaura.dto.artwork.ArtWorkResponseDTO;
 import com.artaura.artaura.dto.artwork.ArtWorkUpdateDTO;
+import com.artaura.artaura.service.ArtistStatsService;
+import com.artaura.artaura.service.ArtworkSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,10 +23,16 @@ public class ArtWorkDAOImpl implements ArtWorkDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private ArtworkSearchIndex artworkSearchIndex;
+
+    @Autowired
+    private ArtistStatsService artistStatsService;
+
     @Override
     public void saveArtWork(Long artistId, ArtWorkCreateDTO dto) {
         String sql = "INSERT INTO artworks (artist_id, title, medium, size, year, price, description, category, tags, status, image_url, likes_count, views_count, is_featured, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql,
+        Object[] params = {
                 artistId,
                 dto.getTitle(),
                 dto.getMedium(),
@@ -37,17 +49,30 @@ public class ArtWorkDAOImpl implements ArtWorkDAO {
                 dto.isFeatured(),
                 dto.getCreatedAt(),
                 dto.getUpdatedAt()
-        );
+        };
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            return ps;
+        }, keyHolder);
+        artistStatsService.artistArtworksChanged(artistId);
+
+        if (keyHolder.getKey() != null) {
+            artworkSearchIndex.artworkChanged(keyHolder.getKey().longValue());
+        }
     }
 
     @Override
     public void deleteArtWorkById(Long artworkId) {
         try {
             // Check if artwork exists before attempting deletion
-            String checkArtworkSQL = "SELECT COUNT(*) FROM artworks WHERE artwork_id = ?";
-            Integer artworkCount = jdbcTemplate.queryForObject(checkArtworkSQL, Integer.class, artworkId);
+            String checkArtworkSQL = "SELECT artist_id FROM artworks WHERE artwork_id = ?";
+            List<Long> owners = jdbcTemplate.queryForList(checkArtworkSQL, Long.class, artworkId);
 
-            if (artworkCount == null || artworkCount == 0) {
+            if (owners.isEmpty()) {
                 throw new RuntimeException("Artwork not found with id: " + artworkId);
             }
 
@@ -68,6 +93,8 @@ public class ArtWorkDAOImpl implements ArtWorkDAO {
             }
 
             System.out.println("Successfully deleted artwork " + artworkId + " and " + orderItemsDeleted + " related order items");
+            artworkSearchIndex.artworkRemoved(artworkId);
+            artistStatsService.artistArtworksChanged(owners.get(0));
 
         } catch (Exception e) {
             System.err.println("Error deleting artwork with id " + artworkId + ": " + e.getMessage());
@@ -191,6 +218,10 @@ public class ArtWorkDAOImpl implements ArtWorkDAO {
         sql.append(" WHERE artwork_id = ?");
         params.add(dto.getArtworkId());
         jdbcTemplate.update(sql.toString(), params.toArray());
+        if (dto.getStatus() != null) {
+            artistStatsService.artworkChanged(dto.getArtworkId());
+        }
+        artworkSearchIndex.artworkChanged(dto.getArtworkId());
     }
 
     @Override
@@ -11,6 +11,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class ArtistNotificationDAOImpl implements ArtistNotificationDAO {
@@ -63,6 +64,27 @@ public class ArtistNotificationDAOImpl implements ArtistNotificationDAO {
         }
     }
 
+    @Override
+    public void createNotifications(List<ArtistNotificationDTO> dtos) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        String sql = """
+            INSERT INTO artist_notifications 
+            (artist_id, notification_body, is_read, created_at, updated_at)
+            VALUES (?, ?, ?, NOW(), NOW())
+        """;
+        List<Object[]> params = new ArrayList<>(dtos.size());
+        for (ArtistNotificationDTO dto : dtos) {
+            params.add(new Object[]{
+                dto.getArtistId(),
+                dto.getNotificationBody(),
+                dto.getIsRead() != null ? dto.getIsRead() : false
+            });
+        }
+        jdbc.batchUpdate(sql, params);
+    }
+
     @Override
     public List<ArtistNotificationDTO> getNotificationsByArtist(Long artistId) {
         try {
@@ -95,10 +117,30 @@ public class ArtistNotificationDAOImpl implements ArtistNotificationDAO {
         }
     }
 
+    @Override
+    public List<Map<String, Object>> getNotificationPage(Long artistId, Long beforeId, int limit) {
+        // Keyset on notification_id (insertion order) so every page is one index range read, however deep
+        String sql = """
+            SELECT notification_id, artist_id, notification_body, is_read, created_at, updated_at
+            FROM artist_notifications
+            WHERE artist_id = ? AND notification_id < ?
+            ORDER BY notification_id DESC
+            LIMIT ?
+        """;
+        return jdbc.queryForList(sql, artistId, beforeId != null ? beforeId : Long.MAX_VALUE, limit);
+    }
+
+    @Override
+    public long countUnread(Long artistId) {
+        String sql = "SELECT COUNT(*) FROM artist_notifications WHERE artist_id = ? AND is_read = 0";
+        Long count = jdbc.queryForObject(sql, Long.class, artistId);
+        return count != null ? count : 0;
+    }
+
     @Override
     public boolean markAsRead(Long notificationId) {
         try {
-            String sql = "UPDATE artist_notifications SET is_read = 1, updated_at = NOW() WHERE notification_id = ?";
+            String sql = "UPDATE artist_notifications SET is_read = 1, updated_at = NOW() WHERE notification_id = ? AND is_read = 0";
             int rowsAffected = jdbc.update(sql, notificationId);
             return rowsAffected > 0;
         } catch (Exception e) {
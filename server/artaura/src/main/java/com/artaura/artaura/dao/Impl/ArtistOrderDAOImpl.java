@@ -8,6 +8,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -22,6 +23,12 @@ public class ArtistOrderDAOImpl implements ArtistOrderDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    // MySQL assigns SET columns left to right, so the CASE sees the adjusted stock;
+    // thresholds match ProductDAOImpl.getStatus
+    // Recomputes products.status after a stock change; ShopOrderDAOImpl uses it too
+    public static final String STOCK_STATUS =
+            "status = CASE WHEN stock <= 0 THEN 'out-of-stock' WHEN stock <= 10 THEN 'low-stock' ELSE 'in-stock' END";
+
     @Override
     public Long createOrder(Long artistId, Long productId, Integer quantity, Double total) {
         // Get product info for order
@@ -58,6 +65,76 @@ public class ArtistOrderDAOImpl implements ArtistOrderDAO {
         }
     }
 
+    @Override
+    @Transactional
+    public Long reserveAndCreateOrder(Long artistId, Long productId, Integer quantity) {
+        // The conditional decrement both checks and takes the stock, holding the row lock
+        // until commit, so concurrent orders for the last units cannot both succeed
+        int reserved = jdbcTemplate.update(
+                "UPDATE products SET stock = stock - ?, " + STOCK_STATUS + " WHERE id = ? AND stock >= ?",
+                quantity, productId, quantity);
+        if (reserved == 0) {
+            return null;
+        }
+
+        String sql = "INSERT INTO shop_orders (shop_id, artist_id, items, total, status, product_id, quantity, date) "
+                + "SELECT shop_id, ?, name, price * ?, 'pending', id, ?, NOW() FROM products WHERE id = ?";
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, artistId);
+            ps.setInt(2, quantity);
+            ps.setInt(3, quantity);
+            ps.setLong(4, productId);
+            return ps;
+        }, keyHolder);
+
+        Number key = keyHolder.getKey();
+        if (key == null) {
+            throw new RuntimeException("Failed to create order - no ID generated");
+        }
+        System.out.println("✅ Order " + key + " created for artist " + artistId + ", product " + productId
+                + " (" + quantity + " reserved)");
+        return key.longValue();
+    }
+
+    @Override
+    public boolean transitionOrderStatus(Long orderId, String fromStatus, String toStatus) {
+        return jdbcTemplate.update(
+                "UPDATE shop_orders SET status = ? WHERE order_id = ? AND status = ?",
+                toStatus, orderId, fromStatus) > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean cancelOrderAndRestoreStock(Long orderId) {
+        // Lock the order so a concurrent cancel cannot restore the stock twice
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT product_id, quantity FROM shop_orders "
+                        + "WHERE order_id = ? AND status IN ('pending', 'approved') FOR UPDATE",
+                (rs, rowNum) -> new Object[]{rs.getObject("product_id"), rs.getObject("quantity")},
+                orderId);
+        if (rows.isEmpty()) {
+            return false;
+        }
+        jdbcTemplate.update("UPDATE shop_orders SET status = 'cancelled' WHERE order_id = ?", orderId);
+
+        Object productId = rows.get(0)[0];
+        Object quantity = rows.get(0)[1];
+        if (productId != null && quantity != null) {
+            jdbcTemplate.update(
+                    "UPDATE products SET stock = stock + ?, " + STOCK_STATUS + " WHERE id = ?",
+                    quantity, productId);
+        }
+        return true;
+    }
+
+    @Override
+    public Integer getProductStock(Long productId) {
+        List<Integer> stock = jdbcTemplate.queryForList("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+        return stock.isEmpty() ? null : stock.get(0);
+    }
+
     @Override
     public List<ArtistOrderDTO> getOrdersByArtist(Long artistId) {
         String sql = "SELECT so.order_id, so.shop_id, s.shop_name, so.product_id, p.name as product_name, "
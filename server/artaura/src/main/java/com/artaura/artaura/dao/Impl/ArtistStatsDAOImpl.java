@@ -0,0 +1,63 @@
+package com.artaura.artaura.dao.Impl;
+
+import com.artaura.artaura.dao.ArtistStatsDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class ArtistStatsDAOImpl implements ArtistStatsDAO {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String UPSERT =
+            "ON DUPLICATE KEY UPDATE total_artworks = VALUES(total_artworks), total_sales = VALUES(total_sales)";
+
+    @Override
+    public void refreshArtist(Long artistId) {
+        // COUNT/SUM over no rows still yields one row, so an artist's last deleted artwork resets to 0
+        jdbcTemplate.update(
+                "INSERT INTO artist_stats (artist_id, total_artworks, total_sales) " +
+                "SELECT ?, COUNT(*), COALESCE(SUM(status = 'Sold'), 0) FROM artworks WHERE artist_id = ? " +
+                UPSERT,
+                artistId, artistId);
+    }
+
+    @Override
+    public void refreshArtistOfArtwork(Long artworkId) {
+        jdbcTemplate.update(
+                "INSERT INTO artist_stats (artist_id, total_artworks, total_sales) " +
+                "SELECT owner.artist_id, COUNT(aw.artwork_id), COALESCE(SUM(aw.status = 'Sold'), 0) " +
+                "FROM artworks owner JOIN artworks aw ON aw.artist_id = owner.artist_id " +
+                "WHERE owner.artwork_id = ? GROUP BY owner.artist_id " +
+                UPSERT,
+                artworkId);
+    }
+
+    @Override
+    public void addSales(Map<Long, Integer> soldByArtist) {
+        // A missing stats row is left to the reconciliation, which also fills in total_artworks
+        List<Object[]> rows = new ArrayList<>(soldByArtist.size());
+        soldByArtist.forEach((artistId, sold) -> rows.add(new Object[]{sold, artistId}));
+        jdbcTemplate.batchUpdate("UPDATE artist_stats SET total_sales = total_sales + ? WHERE artist_id = ?", rows);
+    }
+
+    @Override
+    public int rebuildAll() {
+        int written = jdbcTemplate.update(
+                "INSERT INTO artist_stats (artist_id, total_artworks, total_sales) " +
+                "SELECT artist_id, COUNT(*), COALESCE(SUM(status = 'Sold'), 0) FROM artworks GROUP BY artist_id " +
+                UPSERT);
+        // Artists whose artworks were all deleted outside the DAOs
+        written += jdbcTemplate.update(
+                "UPDATE artist_stats s SET s.total_artworks = 0, s.total_sales = 0 " +
+                "WHERE (s.total_artworks <> 0 OR s.total_sales <> 0) " +
+                "AND NOT EXISTS (SELECT 1 FROM artworks aw WHERE aw.artist_id = s.artist_id)");
+        return written;
+    }
+}
@@ -0,0 +1,89 @@
+package com.artaura.artaura.dao.Impl;
+
+import com.artaura.artaura.dao.ArtworkIndexDAO;
+import com.artaura.artaura.dto.artwork.ArtworkIndexRowDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Repository
+public class ArtworkIndexDAOImpl implements ArtworkIndexDAO {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String SELECT_INDEX_ROW =
+            "SELECT a.artwork_id, a.artist_id, CONCAT(ar.first_name, ' ', ar.last_name) AS artist_name, " +
+            "a.title, a.description, a.tags, a.medium, a.category, a.status, a.price, a.year, a.is_featured, " +
+            "a.created_at, a.updated_at " +
+            "FROM artworks a LEFT JOIN artists ar ON a.artist_id = ar.artist_id ";
+
+    @Override
+    public void streamAll(Consumer<ArtworkIndexRowDTO> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_INDEX_ROW + "ORDER BY a.artwork_id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL Connector/J streams rows one at a time instead of loading the whole table
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    @Override
+    public Optional<ArtworkIndexRowDTO> findById(Long artworkId) {
+        List<ArtworkIndexRowDTO> rows = jdbcTemplate.query(SELECT_INDEX_ROW + "WHERE a.artwork_id = ?",
+                (rs, rowNum) -> mapRow(rs), artworkId);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    @Override
+    public List<ArtworkIndexRowDTO> findUpdatedSince(Timestamp since, int limit) {
+        return jdbcTemplate.query(SELECT_INDEX_ROW + "WHERE a.updated_at >= ? ORDER BY a.updated_at, a.artwork_id LIMIT ?",
+                (rs, rowNum) -> mapRow(rs), since, limit);
+    }
+
+    @Override
+    public Timestamp findMaxUpdatedAt() {
+        return jdbcTemplate.queryForObject("SELECT MAX(updated_at) FROM artworks", Timestamp.class);
+    }
+
+    private ArtworkIndexRowDTO mapRow(ResultSet rs) throws SQLException {
+        ArtworkIndexRowDTO row = new ArtworkIndexRowDTO();
+        row.setArtworkId(rs.getLong("artwork_id"));
+        row.setArtistId(rs.getLong("artist_id"));
+        row.setArtistName(rs.getString("artist_name"));
+        row.setTitle(rs.getString("title"));
+        row.setDescription(rs.getString("description"));
+        row.setTags(rs.getString("tags"));
+        row.setMedium(rs.getString("medium"));
+        row.setCategory(rs.getString("category"));
+        row.setStatus(rs.getString("status"));
+        double price = rs.getDouble("price");
+        row.setPrice(rs.wasNull() ? null : price);
+        row.setYear(parseYear(rs.getString("year")));
+        row.setFeatured(rs.getBoolean("is_featured"));
+        row.setCreatedAt(rs.getTimestamp("created_at"));
+        row.setUpdatedAt(rs.getTimestamp("updated_at"));
+        return row;
+    }
+
+    private Integer parseYear(String year) {
+        if (year == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(year.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -54,6 +55,7 @@ public class DeliveryRequestDAOImpl implements DeliveryRequestDAO {
         } catch (Exception e) {
             dto.setPaymentAmount(null);
         }
+        dto.setDeliveryPartnerId(deliveryPartnerId(rs));
         return dto;
     };
 
@@ -92,6 +94,7 @@ public class DeliveryRequestDAOImpl implements DeliveryRequestDAO {
         } catch (Exception e) {
             dto.setPaymentAmount(null);
         }
+        dto.setDeliveryPartnerId(deliveryPartnerId(rs));
         
         // Parse budget string to BigDecimal
         String budget = rs.getString("budget");
@@ -108,6 +111,15 @@ public class DeliveryRequestDAOImpl implements DeliveryRequestDAO {
         return dto;
     };
 
+    // Only the dispatch board queries select delivery_partner_id
+    private static Long deliveryPartnerId(ResultSet rs) {
+        try {
+            return rs.getObject("delivery_partner_id", Long.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     // Row mapper for artist pickup addresses
     private RowMapper<ArtistPickupAddressDTO> pickupAddressRowMapper = (rs, rowNum) -> {
         ArtistPickupAddressDTO dto = new ArtistPickupAddressDTO();
@@ -660,4 +672,79 @@ public class DeliveryRequestDAOImpl implements DeliveryRequestDAO {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    // Same shape as the active queries, so one mapper covers both board sections
+    private static final String DISPATCH_ARTWORK_ORDER_SQL = """
+            SELECT
+                ao.id,
+                ao.buyer_id,
+                CONCAT(ao.first_name, ' ', ao.last_name) AS buyer_name,
+                ao.email,
+                ao.contact_number,
+                ao.shipping_address,
+                ao.delivery_status,
+                ao.order_date,
+                ao.total_amount,
+                ao.shipping_fee,
+                aoi.title AS artwork_title,
+                aoi.artist_id,
+                CONCAT(a.first_name, ' ', a.last_name) AS artist_name,
+                aw.size AS artwork_size,
+                p.amount AS payment_amount,
+                ao.delivery_partner_id
+            FROM AW_orders ao
+            LEFT JOIN AW_order_items aoi ON ao.id = aoi.order_id
+            LEFT JOIN artists a ON aoi.artist_id = a.artist_id
+            LEFT JOIN artworks aw ON aoi.artwork_id = aw.artwork_id
+            LEFT JOIN payment p ON ao.id = p.AW_order_id
+            WHERE ao.delivery_status IN ('pending', 'accepted', 'outForDelivery')
+            """;
+
+    private static final String DISPATCH_COMMISSION_SQL = """
+            SELECT
+                cr.id,
+                cr.buyer_id,
+                cr.name,
+                cr.email,
+                cr.phone,
+                cr.shipping_address,
+                cr.delivery_status,
+                cr.submitted_at,
+                cr.title,
+                cr.artwork_type,
+                cr.style,
+                cr.dimensions,
+                cr.budget,
+                cr.deadline,
+                cr.additional_notes,
+                cr.urgency,
+                cr.shipping_fee,
+                cr.artist_id,
+                CONCAT(a.first_name, ' ', a.last_name) AS artist_name,
+                p.amount AS payment_amount,
+                cr.delivery_partner_id
+            FROM commission_requests cr
+            LEFT JOIN artists a ON cr.artist_id = a.artist_id
+            LEFT JOIN payment p ON cr.id = p.commission_request_id
+            WHERE cr.delivery_status IN ('pending', 'accepted', 'outForDelivery')
+            """;
+
+    @Override
+    public List<DeliveryRequestDTO> getDispatchBoardRequests() {
+        // Unlike the list queries above, failures propagate so a reload never replaces the board with nothing
+        List<DeliveryRequestDTO> requests = new ArrayList<>();
+        requests.addAll(jdbc.query(DISPATCH_ARTWORK_ORDER_SQL + " ORDER BY ao.order_date DESC", artworkOrderRowMapper));
+        requests.addAll(jdbc.query(DISPATCH_COMMISSION_SQL + " ORDER BY cr.submitted_at DESC", commissionRowMapper));
+        return requests;
+    }
+
+    @Override
+    public List<DeliveryRequestDTO> getDispatchBoardRequest(Long id, String requestType) {
+        if ("artwork_order".equals(requestType)) {
+            return jdbc.query(DISPATCH_ARTWORK_ORDER_SQL + " AND ao.id = ?", artworkOrderRowMapper, id);
+        } else if ("commission_request".equals(requestType)) {
+            return jdbc.query(DISPATCH_COMMISSION_SQL + " AND cr.id = ?", commissionRowMapper, id);
+        }
+        return new ArrayList<>();
+    }
+}
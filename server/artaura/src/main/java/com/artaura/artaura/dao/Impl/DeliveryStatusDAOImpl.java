@@ -173,6 +173,7 @@ public class DeliveryStatusDAOImpl implements DeliveryStatusDAO {
                     id, 
                     delivery_status, 
                     shipping_fee, 
+                    delivery_partner_id,
                     shipping_address,
                     first_name,
                     last_name,
@@ -196,6 +197,7 @@ public class DeliveryStatusDAOImpl implements DeliveryStatusDAO {
                     id, 
                     delivery_status, 
                     shipping_fee, 
+                    delivery_partner_id,
                     shipping_address,
                     name,
                     phone,
@@ -213,35 +215,43 @@ public class DeliveryStatusDAOImpl implements DeliveryStatusDAO {
 
     @Override
     public boolean acceptArtworkOrderDelivery(Long orderId, BigDecimal shippingFee, Long deliveryPartnerId) {
-        try {
-            String sql = """
-                UPDATE AW_orders 
-                SET delivery_status = 'accepted', 
-                    shipping_fee = ? 
-                WHERE id = ? AND delivery_status = 'pending'
-                """;
-            int rowsAffected = jdbcTemplate.update(sql, shippingFee, orderId);
-            return rowsAffected > 0;
-        } catch (DataAccessException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return transitionArtworkOrderDeliveryStatus(orderId, "pending", "accepted", shippingFee, deliveryPartnerId);
     }
 
     @Override
     public boolean acceptCommissionRequestDelivery(Long requestId, BigDecimal shippingFee, Long deliveryPartnerId) {
+        return transitionCommissionRequestDeliveryStatus(requestId, "pending", "accepted", shippingFee, deliveryPartnerId);
+    }
+
+    @Override
+    public boolean transitionArtworkOrderDeliveryStatus(Long orderId, String fromStatus, String toStatus,
+                                                        BigDecimal shippingFee, Long deliveryPartnerId) {
+        return transition("AW_orders", orderId, fromStatus, toStatus, shippingFee, deliveryPartnerId);
+    }
+
+    @Override
+    public boolean transitionCommissionRequestDeliveryStatus(Long requestId, String fromStatus, String toStatus,
+                                                             BigDecimal shippingFee, Long deliveryPartnerId) {
+        return transition("commission_requests", requestId, fromStatus, toStatus, shippingFee, deliveryPartnerId);
+    }
+
+    /**
+     * Compare-and-set on delivery_status: of any number of concurrent callers
+     * expecting the same status, exactly one sees an affected row. Callers that
+     * lose get false straight away and should not retry the same transition.
+     */
+    private boolean transition(String table, Long id, String fromStatus, String toStatus,
+                               BigDecimal shippingFee, Long deliveryPartnerId) {
+        String sql = "UPDATE " + table + " SET delivery_status = ?, " +
+                "shipping_fee = COALESCE(?, shipping_fee), " +
+                "delivery_partner_id = COALESCE(?, delivery_partner_id), " +
+                "delivery_claimed_at = CASE WHEN ? = 'accepted' THEN NOW() ELSE delivery_claimed_at END " +
+                "WHERE id = ? AND delivery_status = ?";
         try {
-            String sql = """
-                UPDATE commission_requests 
-                SET delivery_status = 'accepted', 
-                    shipping_fee = ? 
-                WHERE id = ? AND delivery_status = 'pending'
-                """;
-            int rowsAffected = jdbcTemplate.update(sql, shippingFee, requestId);
-            return rowsAffected > 0;
+            return jdbcTemplate.update(sql, toStatus, shippingFee, deliveryPartnerId, toStatus, id, fromStatus) > 0;
         } catch (DataAccessException e) {
             e.printStackTrace();
             return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.artaura.artaura.dao.Impl;
+
+import com.artaura.artaura.dao.BatchChildLoader;
+import com.artaura.artaura.dao.ImageVariantDAO;
+import com.artaura.artaura.dto.image.ImageVariantDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class ImageVariantDAOImpl implements ImageVariantDAO {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BatchChildLoader batchChildLoader;
+
+    @Override
+    public void saveVariants(String originalUrl, List<ImageVariantDTO> variants) {
+        if (variants.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO image_variants (original_url, width, url, content_type, created_at) " +
+                     "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+                     "ON DUPLICATE KEY UPDATE url = VALUES(url), content_type = VALUES(content_type)";
+        List<Object[]> rows = new ArrayList<>();
+        for (ImageVariantDTO variant : variants) {
+            rows.add(new Object[]{originalUrl, variant.getWidth(), variant.getUrl(), variant.getContentType()});
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
+    @Override
+    public Map<String, List<ImageVariantDTO>> findVariantsByOriginalUrls(Collection<String> originalUrls) {
+        String sql = "SELECT original_url, width, url, content_type FROM image_variants " +
+                     "WHERE original_url IN (" + BatchChildLoader.IDS_PLACEHOLDER + ") " +
+                     "ORDER BY original_url, width";
+        return batchChildLoader.loadChildren(sql, originalUrls,
+                (rs, rowNum) -> rs.getString("original_url"),
+                (rs, rowNum) -> new ImageVariantDTO(rs.getInt("width"), rs.getString("url"), rs.getString("content_type")));
+    }
+
+    @Override
+    public void deleteVariants(String originalUrl) {
+        jdbcTemplate.update("DELETE FROM image_variants WHERE original_url = ?", originalUrl);
+    }
+}
@@ -0,0 +1,112 @@
+package com.artaura.artaura.dao.Impl;
+
+import com.artaura.artaura.dao.NotificationOutboxDAO;
+import com.artaura.artaura.dto.notification.NotificationOutboxEventDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class NotificationOutboxDAOImpl implements NotificationOutboxDAO {
+
+    // Longest stored error text, to fit the last_error column
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Override
+    public void append(String eventType, String payload) {
+        String sql = """
+            INSERT INTO notification_outbox (event_type, payload, status, attempts, next_attempt_at, created_at)
+            VALUES (?, ?, 'pending', 0, NOW(), NOW())
+        """;
+        jdbc.update(sql, eventType, payload);
+    }
+
+    @Override
+    public List<NotificationOutboxEventDTO> claimDue(String claimToken, int limit, int leaseSeconds) {
+        // A single statement leases the batch, so concurrent dispatchers never share an event
+        String claimSql = """
+            UPDATE notification_outbox
+            SET claim_token = ?, claimed_until = DATE_ADD(NOW(), INTERVAL ? SECOND)
+            WHERE status = 'pending' AND next_attempt_at <= NOW()
+              AND (claimed_until IS NULL OR claimed_until < NOW())
+            ORDER BY id
+            LIMIT ?
+        """;
+        int claimed = jdbc.update(claimSql, claimToken, leaseSeconds, limit);
+        if (claimed == 0) {
+            return new ArrayList<>();
+        }
+
+        String sql = """
+            SELECT id, event_type, payload, attempts
+            FROM notification_outbox
+            WHERE claim_token = ? AND status = 'pending'
+            ORDER BY id
+        """;
+        return jdbc.query(sql, (rs, rowNum) -> {
+            NotificationOutboxEventDTO event = new NotificationOutboxEventDTO();
+            event.setId(rs.getLong("id"));
+            event.setEventType(rs.getString("event_type"));
+            event.setPayload(rs.getString("payload"));
+            event.setAttempts(rs.getInt("attempts"));
+            return event;
+        }, claimToken);
+    }
+
+    @Override
+    public void markSent(List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        String sql = """
+            UPDATE notification_outbox
+            SET status = 'sent', attempts = attempts + 1, sent_at = NOW(), claim_token = NULL, claimed_until = NULL
+            WHERE id = ?
+        """;
+        List<Object[]> params = new ArrayList<>(eventIds.size());
+        for (Long eventId : eventIds) {
+            params.add(new Object[]{eventId});
+        }
+        jdbc.batchUpdate(sql, params);
+    }
+
+    @Override
+    public void markRetry(Long eventId, int attempts, int delaySeconds, String error) {
+        String sql = """
+            UPDATE notification_outbox
+            SET attempts = ?, next_attempt_at = DATE_ADD(NOW(), INTERVAL ? SECOND), last_error = ?,
+                claim_token = NULL, claimed_until = NULL
+            WHERE id = ?
+        """;
+        jdbc.update(sql, attempts, delaySeconds, truncate(error), eventId);
+    }
+
+    @Override
+    public void markFailed(Long eventId, int attempts, String error) {
+        String sql = """
+            UPDATE notification_outbox
+            SET status = 'failed', attempts = ?, last_error = ?, claim_token = NULL, claimed_until = NULL
+            WHERE id = ?
+        """;
+        jdbc.update(sql, attempts, truncate(error), eventId);
+    }
+
+    @Override
+    public int deleteSentOlderThan(int days) {
+        String sql = "DELETE FROM notification_outbox WHERE status = 'sent' AND sent_at < DATE_SUB(NOW(), INTERVAL ? DAY)";
+        return jdbc.update(sql, days);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
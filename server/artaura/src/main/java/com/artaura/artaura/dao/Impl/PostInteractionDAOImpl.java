@@ -105,6 +105,25 @@ public class PostInteractionDAOImpl implements PostInteractionDAO {
         }
     }
 
+    @Override
+    public void batchLikePosts(List<Object[]> likes) {
+        if (likes.isEmpty()) {
+            return;
+        }
+        // IGNORE makes replays after a partially failed flush harmless
+        String sql = "INSERT IGNORE INTO post_likes (post_id, user_id, user_type) VALUES (?, ?, ?)";
+        jdbcTemplate.batchUpdate(sql, likes);
+    }
+
+    @Override
+    public void batchUnlikePosts(List<Object[]> unlikes) {
+        if (unlikes.isEmpty()) {
+            return;
+        }
+        String sql = "DELETE FROM post_likes WHERE post_id = ? AND user_id = ? AND user_type = ?";
+        jdbcTemplate.batchUpdate(sql, unlikes);
+    }
+
     @Override
     public PostCommentDTO addComment(Long postId, Long userId, String userType, String commentText, Long parentCommentId) {
         try {
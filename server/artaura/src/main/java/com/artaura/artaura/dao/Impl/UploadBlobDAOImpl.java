@@ -0,0 +1,69 @@
+package com.artaura.artaura.dao.Impl;
+
+import com.artaura.artaura.dao.UploadBlobDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class UploadBlobDAOImpl implements UploadBlobDAO {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String findUrlBySha256(String namespace, String sha256) {
+        List<String> urls = jdbcTemplate.queryForList(
+                "SELECT url FROM upload_blobs WHERE namespace = ? AND sha256 = ? AND ref_count > 0 " +
+                "ORDER BY created_at LIMIT 1",
+                String.class, namespace, sha256);
+        return urls.isEmpty() ? null : urls.get(0);
+    }
+
+    @Override
+    public String findSha256ByUrl(String url) {
+        List<String> digests = jdbcTemplate.queryForList(
+                "SELECT sha256 FROM upload_blobs WHERE url = ?", String.class, url);
+        return digests.isEmpty() ? null : digests.get(0);
+    }
+
+    @Override
+    public boolean insertOrIncrement(String url, String namespace, String sha256, long sizeBytes) {
+        // MySQL reports 1 affected row for an insert and 2 for the duplicate-key update
+        int affected = jdbcTemplate.update(
+                "INSERT INTO upload_blobs (url, namespace, sha256, size_bytes, ref_count, created_at) " +
+                "VALUES (?, ?, ?, ?, 1, CURRENT_TIMESTAMP) " +
+                "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1",
+                url, namespace, sha256, sizeBytes);
+        return affected == 1;
+    }
+
+    @Override
+    public void increment(String url) {
+        jdbcTemplate.update("UPDATE upload_blobs SET ref_count = ref_count + 1 WHERE url = ?", url);
+    }
+
+    @Override
+    public int decrement(String url) {
+        jdbcTemplate.update("UPDATE upload_blobs SET ref_count = ref_count - 1 WHERE url = ? AND ref_count > 0", url);
+        List<Integer> counts = jdbcTemplate.queryForList(
+                "SELECT ref_count FROM upload_blobs WHERE url = ?", Integer.class, url);
+        return counts.isEmpty() ? -1 : counts.get(0);
+    }
+
+    @Override
+    public boolean deleteIfUnreferenced(String url) {
+        return jdbcTemplate.update("DELETE FROM upload_blobs WHERE url = ? AND ref_count <= 0", url) > 0;
+    }
+
+    @Override
+    public boolean registerExisting(String url, String namespace, String sha256, long sizeBytes) {
+        int affected = jdbcTemplate.update(
+                "INSERT IGNORE INTO upload_blobs (url, namespace, sha256, size_bytes, ref_count, created_at) " +
+                "VALUES (?, ?, ?, ?, 1, CURRENT_TIMESTAMP)",
+                url, namespace, sha256, sizeBytes);
+        return affected > 0;
+    }
+}
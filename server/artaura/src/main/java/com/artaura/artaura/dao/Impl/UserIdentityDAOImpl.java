@@ -0,0 +1,42 @@
+package com.artaura.artaura.dao.Impl;
+
+import com.artaura.artaura.dao.UserIdentityDAO;
+import com.artaura.artaura.dto.auth.UserIdentityDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class UserIdentityDAOImpl implements UserIdentityDAO {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    // One round trip instead of six: every branch is a point lookup on that table's email index.
+    // The priority column keeps the old probing order (artist, buyer, shop, moderator, delivery partner, admin).
+    private static final String FIND_BY_EMAIL_SQL =
+            "SELECT 1 AS priority, 'artist' AS role, artist_id AS user_id, password, status FROM artists WHERE email = ? " +
+            "UNION ALL " +
+            "SELECT 2, 'buyer', buyer_id, password, status FROM buyers WHERE email = ? " +
+            "UNION ALL " +
+            "SELECT 3, 'shop', shop_id, password, status FROM shops WHERE email = ? " +
+            "UNION ALL " +
+            "SELECT 4, 'moderator', moderator_id, password, status FROM moderators WHERE email = ? " +
+            "UNION ALL " +
+            "SELECT 5, 'delivery_partner', partner_id, password, NULL FROM delivery_partners WHERE email = ? " +
+            "UNION ALL " +
+            "SELECT 6, 'admin', admin_id, password, NULL FROM admins WHERE email = ? " +
+            "ORDER BY priority";
+
+    @Override
+    public List<UserIdentityDTO> findByEmail(String email) {
+        return jdbc.query(FIND_BY_EMAIL_SQL, (rs, rowNum) -> new UserIdentityDTO(
+                rs.getString("role"),
+                rs.getLong("user_id"),
+                rs.getString("password"),
+                rs.getString("status")
+        ), email, email, email, email, email, email);
+    }
+}
@@ -12,6 +12,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Repository
 public class UserNotificationDAOImpl implements UserNotificationDAO {
@@ -83,6 +85,34 @@ public class UserNotificationDAOImpl implements UserNotificationDAO {
         }
     }
 
+    @Override
+    public void createNotifications(List<UserNotificationDTO> dtos) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        String sql = """
+            INSERT INTO user_notifications 
+            (user_id, user_type, type, title, message, commission_request_id, 
+             artist_deadline, rejection_reason, is_read, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())
+        """;
+        List<Object[]> params = new ArrayList<>(dtos.size());
+        for (UserNotificationDTO dto : dtos) {
+            params.add(new Object[]{
+                dto.getUserId(),
+                dto.getUserType().name(),
+                dto.getType(),
+                dto.getTitle(),
+                dto.getMessage(),
+                dto.getCommissionRequestId(),
+                dto.getArtistDeadline(),
+                dto.getRejectionReason(),
+                dto.getIsRead() != null ? dto.getIsRead() : false
+            });
+        }
+        jdbc.batchUpdate(sql, params);
+    }
+
     @Override
     public List<UserNotificationDTO> getNotificationsByUser(Long userId, UserType userType) {
         try {
@@ -115,10 +145,37 @@ public class UserNotificationDAOImpl implements UserNotificationDAO {
         }
     }
 
+    @Override
+    public Optional<UserNotificationDTO> findById(Long notificationId) {
+        String sql = "SELECT * FROM user_notifications WHERE id = ?";
+        return jdbc.query(sql, userNotificationRowMapper, notificationId).stream().findFirst();
+    }
+
+    @Override
+    public List<Map<String, Object>> getNotificationPage(Long userId, UserType userType, Long beforeId, int limit) {
+        // Keyset on id (insertion order) so every page is one index range read, however deep
+        String sql = """
+            SELECT id, user_id, user_type, type, title, message, commission_request_id,
+                   artist_deadline, rejection_reason, is_read, created_at, updated_at
+            FROM user_notifications
+            WHERE user_id = ? AND user_type = ? AND id < ?
+            ORDER BY id DESC
+            LIMIT ?
+        """;
+        return jdbc.queryForList(sql, userId, userType.name(), beforeId != null ? beforeId : Long.MAX_VALUE, limit);
+    }
+
+    @Override
+    public long countUnread(Long userId, UserType userType) {
+        String sql = "SELECT COUNT(*) FROM user_notifications WHERE user_id = ? AND user_type = ? AND is_read = 0";
+        Long count = jdbc.queryForObject(sql, Long.class, userId, userType.name());
+        return count != null ? count : 0;
+    }
+
     @Override
     public boolean markAsRead(Long notificationId) {
         try {
-            String sql = "UPDATE user_notifications SET is_read = 1, updated_at = NOW() WHERE id = ?";
+            String sql = "UPDATE user_notifications SET is_read = 1, updated_at = NOW() WHERE id = ? AND is_read = 0";
             int rowsAffected = jdbc.update(sql, notificationId);
             return rowsAffected > 0;
         } catch (Exception e) {
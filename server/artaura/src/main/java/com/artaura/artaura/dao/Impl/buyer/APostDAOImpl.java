@@ -4,34 +4,70 @@ import com.artaura.artaura.dao.buyer.APostDAO;
 import com.artaura.artaura.dto.buyer.APostResponseDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
 public class APostDAOImpl implements APostDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    private static final String FEED_SELECT =
+            "SELECT p.post_id, p.user_id, p.image, p.caption, p.likes, p.location, p.created_at, " +
+            "CONCAT(a.first_name, ' ', a.last_name) AS artist_name, a.avatar_url AS artist_avatar " +
+            "FROM post p " +
+            "LEFT JOIN artists a ON p.user_id = a.artist_id ";
+
+    private static final RowMapper<APostResponseDTO> FEED_ROW_MAPPER = (rs, rowNum) -> {
+        APostResponseDTO post = new APostResponseDTO();
+        post.setPostId(rs.getLong("post_id"));
+        post.setUserId(rs.getLong("user_id"));
+        post.setImage(rs.getString("image"));
+        post.setCaption(rs.getString("caption"));
+        post.setLikes(rs.getInt("likes"));
+        post.setLocation(rs.getString("location"));
+        post.setCreatedAt(rs.getTimestamp("created_at"));
+        post.setArtistName(rs.getString("artist_name"));
+        post.setArtistAvatar(rs.getString("artist_avatar"));
+        return post;
+    };
+
     @Override
     public List<APostResponseDTO> getAllPostsSortedByTime() {
-        String sql = "SELECT p.*, CONCAT(a.first_name, ' ', a.last_name) AS artist_name, a.avatar_url AS artist_avatar " +
-                     "FROM post p " +
-                     "LEFT JOIN artists a ON p.user_id = a.artist_id " +
-                     "ORDER BY p.created_at DESC";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            APostResponseDTO post = new APostResponseDTO();
-            post.setPostId(rs.getLong("post_id"));
-            post.setUserId(rs.getLong("user_id"));
-            post.setImage(rs.getString("image"));
-            post.setCaption(rs.getString("caption"));
-            post.setLikes(rs.getInt("likes"));
-            post.setLocation(rs.getString("location"));
-            post.setCreatedAt(rs.getTimestamp("created_at"));
-            post.setArtistName(rs.getString("artist_name"));
-            post.setArtistAvatar(rs.getString("artist_avatar"));
-            return post;
-        });
+        String sql = FEED_SELECT + "ORDER BY p.created_at DESC, p.post_id DESC";
+        return jdbcTemplate.query(sql, FEED_ROW_MAPPER);
+    }
+
+    @Override
+    public List<APostResponseDTO> getPostsPageSortedByTime(Timestamp cursorCreatedAt, Long cursorPostId, int limit) {
+        if (cursorCreatedAt == null || cursorPostId == null) {
+            String sql = FEED_SELECT + "ORDER BY p.created_at DESC, p.post_id DESC LIMIT ?";
+            return jdbcTemplate.query(sql, FEED_ROW_MAPPER, limit);
+        }
+
+        // Row-value comparison written out so MySQL can range-scan idx_post_created_at_post_id
+        String sql = FEED_SELECT +
+                     "WHERE p.created_at < ? OR (p.created_at = ? AND p.post_id < ?) " +
+                     "ORDER BY p.created_at DESC, p.post_id DESC LIMIT ?";
+        return jdbcTemplate.query(sql, FEED_ROW_MAPPER, cursorCreatedAt, cursorCreatedAt, cursorPostId, limit);
+    }
+
+    @Override
+    public void streamAllPostsSortedByTime(Consumer<APostResponseDTO> consumer) {
+        String sql = FEED_SELECT + "ORDER BY p.created_at DESC, p.post_id DESC";
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the full result
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(FEED_ROW_MAPPER.mapRow(rs, 0)));
     }
 
     @Override
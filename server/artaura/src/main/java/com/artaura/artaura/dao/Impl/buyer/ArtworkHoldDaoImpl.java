@@ -0,0 +1,88 @@
+package com.artaura.artaura.dao.Impl.buyer;
+
+import com.artaura.artaura.dao.buyer.ArtworkHoldDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public class ArtworkHoldDaoImpl implements ArtworkHoldDao {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public boolean holdAll(Collection<Long> artworkIds, Long buyerId, int seconds) {
+        List<Object> args = new ArrayList<>();
+        args.add(buyerId);
+        args.add(seconds);
+        args.addAll(artworkIds);
+        args.add(buyerId);
+        int held = jdbcTemplate.update(
+                "UPDATE artworks SET held_by = ?, held_until = DATE_ADD(NOW(), INTERVAL ? SECOND) " +
+                "WHERE artwork_id IN (" + placeholders(artworkIds) + ") AND status = 'Available' " +
+                "AND (held_until IS NULL OR held_until <= NOW() OR held_by = ?)",
+                args.toArray());
+        if (held != artworkIds.size()) {
+            // Some artwork was sold or held by someone else; keep none of the holds
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public List<Long> findUnavailable(Collection<Long> artworkIds, Long buyerId) {
+        List<Object> args = new ArrayList<>(artworkIds);
+        args.add(buyerId);
+        Set<Long> available = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT artwork_id FROM artworks WHERE artwork_id IN (" + placeholders(artworkIds) + ") " +
+                "AND status = 'Available' AND (held_until IS NULL OR held_until <= NOW() OR held_by <=> ?)",
+                Long.class, args.toArray()));
+        List<Long> unavailable = new ArrayList<>();
+        for (Long artworkId : artworkIds) {
+            if (!available.contains(artworkId)) {
+                unavailable.add(artworkId);
+            }
+        }
+        return unavailable;
+    }
+
+    @Override
+    public int release(Collection<Long> artworkIds, Long buyerId) {
+        List<Object> args = new ArrayList<>(artworkIds);
+        args.add(buyerId);
+        return jdbcTemplate.update(
+                "UPDATE artworks SET held_by = NULL, held_until = NULL " +
+                "WHERE artwork_id IN (" + placeholders(artworkIds) + ") AND held_by = ?",
+                args.toArray());
+    }
+
+    @Override
+    public int clearExpired(Collection<Long> artworkIds) {
+        return jdbcTemplate.update(
+                "UPDATE artworks SET held_by = NULL, held_until = NULL " +
+                "WHERE artwork_id IN (" + placeholders(artworkIds) + ") AND held_until <= NOW()",
+                artworkIds.toArray());
+    }
+
+    @Override
+    public int clearAllExpired() {
+        return jdbcTemplate.update(
+                "UPDATE artworks SET held_by = NULL, held_until = NULL WHERE held_until <= NOW()");
+    }
+
+    private static String placeholders(Collection<?> values) {
+        return String.join(",", Collections.nCopies(values.size(), "?"));
+    }
+}
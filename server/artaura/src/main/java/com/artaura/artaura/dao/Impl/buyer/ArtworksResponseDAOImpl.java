@@ -7,38 +7,68 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class ArtworksResponseDAOImpl implements ArtworkResponse {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    private static final String SELECT_AVAILABLE_WITH_ARTIST =
+            "SELECT a.artwork_id, a.title, a.medium, a.size, a.year, a.price, a.description, a.category, a.tags, a.image_url, a.likes_count, " +
+            "ar.artist_id, CONCAT(ar.first_name, ' ', ar.last_name) AS artist_name, ar.avatar_url " +
+            "FROM artworks a JOIN artists ar ON a.artist_id = ar.artist_id " +
+            "WHERE a.status = 'Available'";
+
+    private static final RowMapper<ArtworksResponse> ROW_MAPPER = (rs, rowNum) -> {
+        ArtworksResponse resp = new ArtworksResponse();
+        resp.setArtworkId(rs.getLong("artwork_id"));
+        resp.setTitle(rs.getString("title"));
+        resp.setMedium(rs.getString("medium"));
+        resp.setSize(rs.getString("size"));
+        resp.setYear(rs.getInt("year"));
+        resp.setPrice(rs.getDouble("price"));
+        resp.setDescription(rs.getString("description"));
+        resp.setCategory(rs.getString("category"));
+        resp.setTags(rs.getString("tags"));
+        resp.setImageUrl(rs.getString("image_url"));
+        resp.setLikesCount(rs.getInt("likes_count"));
+        resp.setArtistId(rs.getLong("artist_id"));
+        resp.setArtistName(rs.getString("artist_name"));
+        resp.setArtistAvatarUrl(rs.getString("avatar_url"));
+        return resp;
+    };
+
     @Override
     public List<ArtworksResponse> findAvailableArtworksWithArtist() {
-        String sql = "SELECT a.artwork_id, a.title, a.medium, a.size, a.year, a.price, a.description, a.category, a.tags, a.image_url, a.likes_count, " +
-                "ar.artist_id, CONCAT(ar.first_name, ' ', ar.last_name) AS artist_name, ar.avatar_url " +
-                "FROM artworks a JOIN artists ar ON a.artist_id = ar.artist_id " +
-                "WHERE a.status = 'Available'";
-
-        RowMapper<ArtworksResponse> rowMapper = (rs, rowNum) -> {
-            ArtworksResponse resp = new ArtworksResponse();
-            resp.setArtworkId(rs.getLong("artwork_id"));
-            resp.setTitle(rs.getString("title"));
-            resp.setMedium(rs.getString("medium"));
-            resp.setSize(rs.getString("size"));
-            resp.setYear(rs.getInt("year"));
-            resp.setPrice(rs.getDouble("price"));
-            resp.setDescription(rs.getString("description"));
-            resp.setCategory(rs.getString("category"));
-            resp.setTags(rs.getString("tags"));
-            resp.setImageUrl(rs.getString("image_url"));
-            resp.setLikesCount(rs.getInt("likes_count"));
-            resp.setArtistId(rs.getLong("artist_id"));
-            resp.setArtistName(rs.getString("artist_name"));
-            resp.setArtistAvatarUrl(rs.getString("avatar_url"));
-            return resp;
-        };
-        return jdbcTemplate.query(sql, rowMapper);
+        return jdbcTemplate.query(SELECT_AVAILABLE_WITH_ARTIST, ROW_MAPPER);
+    }
+
+    @Override
+    public List<ArtworksResponse> findAvailableArtworksByIds(List<Long> artworkIds) {
+        if (artworkIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String placeholders = String.join(",", Collections.nCopies(artworkIds.size(), "?"));
+        List<ArtworksResponse> rows = jdbcTemplate.query(
+                SELECT_AVAILABLE_WITH_ARTIST + " AND a.artwork_id IN (" + placeholders + ")",
+                ROW_MAPPER, artworkIds.toArray());
+
+        Map<Long, ArtworksResponse> byId = new HashMap<>();
+        for (ArtworksResponse row : rows) {
+            byId.put(row.getArtworkId(), row);
+        }
+        List<ArtworksResponse> ordered = new ArrayList<>(rows.size());
+        for (Long artworkId : artworkIds) {
+            ArtworksResponse row = byId.get(artworkId);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
     }
 }
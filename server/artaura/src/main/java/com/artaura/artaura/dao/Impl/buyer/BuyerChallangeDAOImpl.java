@@ -1,9 +1,8 @@
 package com.artaura.artaura.dao.Impl.buyer;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -12,7 +11,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import com.artaura.artaura.dao.BatchChildLoader;
 import com.artaura.artaura.dao.buyer.BuyerChallengeDAO;
 import com.artaura.artaura.dto.buyer.ChallengeSubmissionDTO;
 
@@ -21,6 +23,9 @@ public class BuyerChallangeDAOImpl implements BuyerChallengeDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private BatchChildLoader batchChildLoader;
+
     @Override
     public List<Map<String, Object>> findActiveChallenges() {
         String sql = "SELECT * FROM challenges WHERE status = ? ORDER BY publish_date_time DESC";
@@ -57,39 +62,23 @@ public class BuyerChallangeDAOImpl implements BuyerChallengeDAO {
         return getSubmissionsByChallengeWithSort(challengeId, userId, userType, "newest");
     }
 
+    // Counters live on challenge_participants (likes_count, dislikes_count, votes_count, kept by
+    // handleLikeDislike), so only the current user's own reaction and vote are looked up per row
+    private static final String SUBMISSION_SELECT =
+            "SELECT cp.*, " +
+            "CONCAT(COALESCE(a.first_name, ''), ' ', COALESCE(a.last_name, '')) as artist_name, " +
+            "a.avatar_url as artist_avatar, " +
+            "COALESCE(a.total_followers, 0) as artist_followers, " +
+            "EXISTS (SELECT 1 FROM challenge_submission_votes v WHERE v.submission_id = cp.id AND v.buyer_id = ?) as user_has_voted, " +
+            "(SELECT r.reaction_type FROM challenge_submission_reactions r WHERE r.submission_id = cp.id AND r.buyer_id = ?) as user_reaction, " +
+            // Formula: MAX(0, (Likes × 10) - (Dislikes × 5))
+            "GREATEST(0, (cp.likes_count * 10) - (cp.dislikes_count * 5)) as marks " +
+            "FROM challenge_participants cp " +
+            "JOIN artists a ON cp.artist_id = a.artist_id ";
+
     @Override
     public List<ChallengeSubmissionDTO> getSubmissionsByChallengeWithSort(Integer challengeId, Long userId, String userType, String sortBy) {
-        StringBuilder sql = new StringBuilder();
-        sql.append("SELECT cp.*, ");
-        sql.append("CONCAT(COALESCE(a.first_name, ''), ' ', COALESCE(a.last_name, '')) as artist_name, ");
-        sql.append("a.avatar_url as artist_avatar, ");
-        sql.append("COALESCE(a.total_followers, 0) as artist_followers, ");
-        sql.append("COALESCE(csv.vote_count, 0) as votes_count, ");
-        sql.append("CASE WHEN csv.user_voted IS NOT NULL THEN TRUE ELSE FALSE END as user_has_voted, ");
-        // Add like/dislike counts and marks calculation
-        sql.append("COALESCE(reactions.likes_count, 0) as likes_count, ");
-        sql.append("COALESCE(reactions.dislikes_count, 0) as dislikes_count, ");
-        sql.append("reactions.user_reaction, ");
-        // Formula: MAX(0, (Likes × 10) - (Dislikes × 5))
-        sql.append("GREATEST(0, (COALESCE(reactions.likes_count, 0) * 10) - (COALESCE(reactions.dislikes_count, 0) * 5)) as marks ");
-        sql.append("FROM challenge_participants cp ");
-        sql.append("JOIN artists a ON cp.artist_id = a.artist_id ");
-        sql.append("LEFT JOIN (");
-        sql.append("    SELECT submission_id, ");
-        sql.append("           COUNT(*) as vote_count, ");
-        sql.append("           MAX(CASE WHEN buyer_id = ? THEN 1 END) as user_voted ");
-        sql.append("    FROM challenge_submission_votes ");
-        sql.append("    GROUP BY submission_id");
-        sql.append(") csv ON cp.id = csv.submission_id ");
-        // Join reactions table for likes/dislikes
-        sql.append("LEFT JOIN (");
-        sql.append("    SELECT submission_id, ");
-        sql.append("           SUM(CASE WHEN reaction_type = 'like' THEN 1 ELSE 0 END) as likes_count, ");
-        sql.append("           SUM(CASE WHEN reaction_type = 'dislike' THEN 1 ELSE 0 END) as dislikes_count, ");
-        sql.append("           MAX(CASE WHEN buyer_id = ? THEN reaction_type END) as user_reaction ");
-        sql.append("    FROM challenge_submission_reactions ");
-        sql.append("    GROUP BY submission_id");
-        sql.append(") reactions ON cp.id = reactions.submission_id ");
+        StringBuilder sql = new StringBuilder(SUBMISSION_SELECT);
         sql.append("WHERE cp.challenge_id = ? ");
 
         // Add sorting
@@ -113,11 +102,68 @@ public class BuyerChallangeDAOImpl implements BuyerChallengeDAO {
                 break;
         }
 
-        if (userId != null) {
-            return jdbcTemplate.query(sql.toString(), submissionRowMapper, userId, userId, challengeId);
-        } else {
-            return jdbcTemplate.query(sql.toString(), submissionRowMapper, 0, 0, challengeId);
+        long viewer = userId != null ? userId : 0;
+        return jdbcTemplate.query(sql.toString(), submissionRowMapper, viewer, viewer, challengeId);
+    }
+
+    @Override
+    public List<ChallengeSubmissionDTO> getSubmissionsByIds(List<Long> submissionIds, Long userId) {
+        if (submissionIds.isEmpty()) {
+            return new ArrayList<>();
         }
+        String sql = SUBMISSION_SELECT + "WHERE cp.id IN (" + String.join(",", Collections.nCopies(submissionIds.size(), "?")) + ")";
+        long viewer = userId != null ? userId : 0;
+        List<Object> args = new ArrayList<>();
+        args.add(viewer);
+        args.add(viewer);
+        args.addAll(submissionIds);
+        return jdbcTemplate.query(sql, submissionRowMapper, args.toArray());
+    }
+
+    private static final String COUNTER_SELECT =
+            "SELECT id, challenge_id, submission_date, likes_count, dislikes_count, votes_count FROM challenge_participants ";
+
+    private final RowMapper<ChallengeSubmissionDTO> counterRowMapper = (rs, rowNum) -> {
+        ChallengeSubmissionDTO dto = new ChallengeSubmissionDTO();
+        dto.setId(rs.getLong("id"));
+        dto.setChallengeId(rs.getInt("challenge_id"));
+        dto.setSubmissionDate(rs.getTimestamp("submission_date") != null ?
+                rs.getTimestamp("submission_date").toLocalDateTime() : null);
+        dto.setLikesCount(rs.getInt("likes_count"));
+        dto.setDislikesCount(rs.getInt("dislikes_count"));
+        dto.setVotesCount(rs.getInt("votes_count"));
+        return dto;
+    };
+
+    @Override
+    public List<ChallengeSubmissionDTO> getSubmissionCounters(Integer challengeId) {
+        return jdbcTemplate.query(COUNTER_SELECT + "WHERE challenge_id = ?", counterRowMapper, challengeId);
+    }
+
+    @Override
+    public ChallengeSubmissionDTO getSubmissionCounter(Long submissionId) {
+        List<ChallengeSubmissionDTO> rows = jdbcTemplate.query(COUNTER_SELECT + "WHERE id = ?", counterRowMapper, submissionId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    @Transactional
+    public void saveFinalRanks(Integer challengeId, List<Long> submissionIds) {
+        List<Object[]> ranks = new ArrayList<>(submissionIds.size());
+        for (int i = 0; i < submissionIds.size(); i++) {
+            ranks.add(new Object[]{i + 1, submissionIds.get(i), challengeId});
+        }
+        jdbcTemplate.batchUpdate("UPDATE challenge_participants SET final_rank = ? WHERE id = ? AND challenge_id = ?", ranks);
+    }
+
+    @Override
+    public Map<Long, Integer> getFinalRanks(Integer challengeId) {
+        String sql = "SELECT id, final_rank FROM challenge_participants WHERE challenge_id = ? AND final_rank IS NOT NULL";
+        Map<Long, Integer> ranks = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            ranks.put(rs.getLong("id"), rs.getInt("final_rank"));
+        }, challengeId);
+        return ranks;
     }
 
     private final RowMapper<ChallengeSubmissionDTO> submissionRowMapper = (rs, rowNum) -> {
@@ -188,100 +234,83 @@ public class BuyerChallangeDAOImpl implements BuyerChallengeDAO {
     */
 
     @Override
+    @Transactional
     public Map<String, Object> handleLikeDislike(Long submissionId, Long userId, String action) {
         try {
-            return jdbcTemplate.execute((Connection connection) -> {
-                try {
-                    connection.setAutoCommit(false);
-                    
-                    // Check if user has already reacted to this submission
-                    String checkSql = "SELECT reaction_type FROM challenge_submission_reactions WHERE submission_id = ? AND buyer_id = ?";
-                    PreparedStatement checkStmt = connection.prepareStatement(checkSql);
-                    checkStmt.setLong(1, submissionId);
-                    checkStmt.setLong(2, userId);
-                    ResultSet rs = checkStmt.executeQuery();
-                    
-                    String existingReaction = null;
-                    if (rs.next()) {
-                        existingReaction = rs.getString("reaction_type");
-                    }
-                    
-                    String userReaction = null;
-                    String message = "";
-                    
-                    if (existingReaction == null) {
-                        // User hasn't reacted - add new reaction
-                        String insertSql = "INSERT INTO challenge_submission_reactions (submission_id, buyer_id, reaction_type, created_at, updated_at) VALUES (?, ?, ?, NOW(), NOW())";
-                        PreparedStatement insertStmt = connection.prepareStatement(insertSql);
-                        insertStmt.setLong(1, submissionId);
-                        insertStmt.setLong(2, userId);
-                        insertStmt.setString(3, action);
-                        insertStmt.executeUpdate();
-                        
-                        userReaction = action;
-                        message = "Reaction added successfully";
-                    } else if (existingReaction.equals(action)) {
-                        // User clicked same reaction - remove it
-                        String deleteSql = "DELETE FROM challenge_submission_reactions WHERE submission_id = ? AND buyer_id = ?";
-                        PreparedStatement deleteStmt = connection.prepareStatement(deleteSql);
-                        deleteStmt.setLong(1, submissionId);
-                        deleteStmt.setLong(2, userId);
-                        deleteStmt.executeUpdate();
-                        
-                        userReaction = null;
-                        message = "Reaction removed successfully";
-                    } else {
-                        // User clicked different reaction - update it
-                        String updateSql = "UPDATE challenge_submission_reactions SET reaction_type = ?, updated_at = NOW() WHERE submission_id = ? AND buyer_id = ?";
-                        PreparedStatement updateStmt = connection.prepareStatement(updateSql);
-                        updateStmt.setString(1, action);
-                        updateStmt.setLong(2, submissionId);
-                        updateStmt.setLong(3, userId);
-                        updateStmt.executeUpdate();
-                        
-                        userReaction = action;
-                        message = "Reaction updated successfully";
-                    }
-                    
-                    // Get updated counts
-                    String countSql = "SELECT " +
-                            "SUM(CASE WHEN reaction_type = 'like' THEN 1 ELSE 0 END) as likes, " +
-                            "SUM(CASE WHEN reaction_type = 'dislike' THEN 1 ELSE 0 END) as dislikes " +
-                            "FROM challenge_submission_reactions WHERE submission_id = ?";
-                    PreparedStatement countStmt = connection.prepareStatement(countSql);
-                    countStmt.setLong(1, submissionId);
-                    ResultSet countRs = countStmt.executeQuery();
-                    
-                    int likes = 0;
-                    int dislikes = 0;
-                    if (countRs.next()) {
-                        likes = countRs.getInt("likes");
-                        dislikes = countRs.getInt("dislikes");
-                    }
-                    
-                    connection.commit();
-                    
-                    Map<String, Object> result = new java.util.HashMap<>();
-                    result.put("success", true);
-                    result.put("message", message);
-                    result.put("likes", likes);
-                    result.put("dislikes", dislikes);
-                    result.put("userReaction", userReaction);
-                    
-                    System.out.println("Like/Dislike operation completed - " + message + " for submission " + submissionId + " by user " + userId);
-                    return result;
-                    
-                } catch (SQLException e) {
-                    try {
-                        connection.rollback();
-                    } catch (SQLException rollbackEx) {
-                        System.err.println("Rollback failed: " + rollbackEx.getMessage());
-                    }
-                    throw new RuntimeException("Database transaction failed", e);
-                }
-            });
-            
+            if (!"like".equals(action) && !"dislike".equals(action)) {
+                throw new IllegalArgumentException("Invalid action: " + action);
+            }
+
+            // Locking the submission's counter row serializes every reaction to it, so the
+            // counts and the buyer's reaction read here stay exact until commit. The reaction is
+            // read after the lock is held; joined into the locking read it could come from
+            // before a competing reaction committed.
+            List<int[]> locked = jdbcTemplate.query(
+                    "SELECT likes_count, dislikes_count FROM challenge_participants WHERE id = ? FOR UPDATE",
+                    (rs, rowNum) -> new int[]{rs.getInt("likes_count"), rs.getInt("dislikes_count")},
+                    submissionId);
+            if (locked.isEmpty()) {
+                throw new IllegalArgumentException("Submission not found: " + submissionId);
+            }
+            int likes = locked.get(0)[0];
+            int dislikes = locked.get(0)[1];
+            List<String> reactions = jdbcTemplate.queryForList(
+                    "SELECT reaction_type FROM challenge_submission_reactions " +
+                    "WHERE submission_id = ? AND buyer_id = ? FOR UPDATE",
+                    String.class, submissionId, userId);
+            String existingReaction = reactions.isEmpty() ? null : reactions.get(0);
+
+            String userReaction;
+            String message;
+            if (existingReaction == null) {
+                // User hasn't reacted - add new reaction
+                jdbcTemplate.update(
+                        "INSERT INTO challenge_submission_reactions (submission_id, buyer_id, reaction_type, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, NOW(), NOW())",
+                        submissionId, userId, action);
+                userReaction = action;
+                message = "Reaction added successfully";
+            } else if (existingReaction.equals(action)) {
+                // User clicked same reaction - remove it
+                jdbcTemplate.update(
+                        "DELETE FROM challenge_submission_reactions WHERE submission_id = ? AND buyer_id = ?",
+                        submissionId, userId);
+                userReaction = null;
+                message = "Reaction removed successfully";
+            } else {
+                // User clicked different reaction - update it
+                jdbcTemplate.update(
+                        "UPDATE challenge_submission_reactions SET reaction_type = ?, updated_at = NOW() " +
+                        "WHERE submission_id = ? AND buyer_id = ?",
+                        action, submissionId, userId);
+                userReaction = action;
+                message = "Reaction updated successfully";
+            }
+
+            // New counts follow from the locked counts; nothing is re-aggregated
+            if ("like".equals(existingReaction)) likes--;
+            if ("dislike".equals(existingReaction)) dislikes--;
+            if ("like".equals(userReaction)) likes++;
+            if ("dislike".equals(userReaction)) dislikes++;
+            likes = Math.max(0, likes);
+            dislikes = Math.max(0, dislikes);
+
+            jdbcTemplate.update(
+                    "UPDATE challenge_participants SET likes_count = ?, dislikes_count = ? WHERE id = ?",
+                    likes, dislikes, submissionId);
+
+            Map<String, Object> result = new java.util.HashMap<>();
+            result.put("success", true);
+            result.put("message", message);
+            result.put("likes", likes);
+            result.put("dislikes", dislikes);
+            result.put("userReaction", userReaction);
+
+            System.out.println("Like/Dislike operation completed - " + message + " for submission " + submissionId + " by user " + userId);
+            return result;
+
         } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             System.err.println("Error in handleLikeDislike: " + e.getMessage());
             e.printStackTrace();
             
@@ -299,10 +328,8 @@ public class BuyerChallangeDAOImpl implements BuyerChallengeDAO {
     public Map<String, Object> getSubmissionLikes(Long submissionId, Long userId) {
         try {
             // Get like/dislike counts
-            String countSql = "SELECT " +
-                    "SUM(CASE WHEN reaction_type = 'like' THEN 1 ELSE 0 END) as likes, " +
-                    "SUM(CASE WHEN reaction_type = 'dislike' THEN 1 ELSE 0 END) as dislikes " +
-                    "FROM challenge_submission_reactions WHERE submission_id = ?";
+            String countSql = "SELECT likes_count as likes, dislikes_count as dislikes " +
+                    "FROM challenge_participants WHERE id = ?";
             
             Map<String, Object> counts = jdbcTemplate.queryForMap(countSql, submissionId);
             int likes = counts.get("likes") != null ? ((Number) counts.get("likes")).intValue() : 0;
@@ -354,4 +381,24 @@ public class BuyerChallangeDAOImpl implements BuyerChallengeDAO {
             return 0;
         }
     }
+
+    @Override
+    public Map<Long, Map<String, Integer>> getChallengeCounts(List<Long> challengeIds) {
+        String sql = "SELECT challenge_id, COUNT(DISTINCT artist_id) AS participant_count, COUNT(*) AS submission_count " +
+                     "FROM challenge_participants " +
+                     "WHERE challenge_id IN (" + BatchChildLoader.IDS_PLACEHOLDER + ") " +
+                     "GROUP BY challenge_id";
+        Map<Long, List<Map<String, Integer>>> rows = batchChildLoader.loadChildren(sql, challengeIds,
+                (rs, rowNum) -> rs.getLong("challenge_id"),
+                (rs, rowNum) -> {
+                    Map<String, Integer> counts = new java.util.HashMap<>();
+                    counts.put("participantCount", rs.getInt("participant_count"));
+                    counts.put("submissionCount", rs.getInt("submission_count"));
+                    return counts;
+                });
+
+        Map<Long, Map<String, Integer>> result = new java.util.HashMap<>();
+        rows.forEach((challengeId, counts) -> result.put(challengeId, counts.get(0)));
+        return result;
+    }
 }
@@ -56,12 +56,14 @@ public class CartDAOImpl implements CartDao {
 
     @Override
     public List<Map<String, Object>> getCartItems(Long buyerId) {
-        String sql = "SELECT ci.artwork_id, ci.quantity, a.title, a.price, a.image_url, ar.first_name AS artist_name, ar.avatar_url AS artist_image " +
+        // available: not sold and not held by another buyer's checkout
+        String sql = "SELECT ci.artwork_id, ci.quantity, a.title, a.price, a.image_url, ar.first_name AS artist_name, ar.avatar_url AS artist_image, " +
+                "a.status, (a.status = 'Available' AND (a.held_until IS NULL OR a.held_until <= NOW() OR a.held_by = ?)) AS available " +
                 "FROM cart_items ci " +
                 "JOIN artworks a ON ci.artwork_id = a.artwork_id " +
                 "JOIN artists ar ON a.artist_id = ar.artist_id " +
                 "WHERE ci.cart_id = (SELECT cart_id FROM carts WHERE buyer_id = ?)";
-        return jdbcTemplate.queryForList(sql, buyerId);
+        return jdbcTemplate.queryForList(sql, buyerId, buyerId);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.artaura.artaura.dao.Impl.buyer;
 
+import com.artaura.artaura.dao.BatchChildLoader;
 import com.artaura.artaura.dao.buyer.ComissionRequestDAO;
 import com.artaura.artaura.dto.buyer.CommissionRequestDTO;
 import com.artaura.artaura.dto.buyer.CommissionResponseDTO;
@@ -20,6 +21,9 @@ public class CommissionRequestDAOImpl implements ComissionRequestDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private BatchChildLoader batchChildLoader;
+
     @Override
     public Long saveCommissionRequest(CommissionRequestDTO dto) {
         String sql = "INSERT INTO commission_requests (artist_id, buyer_id, name, email, phone, title, artwork_type, style, dimensions, budget, deadline, additional_notes, urgency, status, submitted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
@@ -122,13 +126,16 @@ public class CommissionRequestDAOImpl implements ComissionRequestDAO {
             String paymentStatus = rs.getString("payment_status");
             dto.setPaymentStatus(paymentStatus);
 
-            // Fetch reference images for this commission request
-            String imgSql = "SELECT image_url FROM commission_reference_images WHERE commission_request_id = ?";
-            List<String> images = jdbcTemplate.query(imgSql, (imgRs, imgRow) -> imgRs.getString("image_url"), dto.getId());
-            dto.setImageUrls(images);
-
             return dto;
         }, clientId);
+
+        // Fetch reference images for all commission requests in one batched query
+        String imgSql = "SELECT commission_request_id, image_url FROM commission_reference_images " +
+                        "WHERE commission_request_id IN (" + BatchChildLoader.IDS_PLACEHOLDER + ") ORDER BY id";
+        batchChildLoader.attachChildren(requests, CommissionResponseDTO::getId, imgSql,
+                (imgRs, imgRow) -> imgRs.getLong("commission_request_id"),
+                (imgRs, imgRow) -> imgRs.getString("image_url"),
+                CommissionResponseDTO::setImageUrls);
         return requests;
     }
 }
@@ -6,6 +6,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -126,54 +128,49 @@ public class ExhibitionPostDAOImpl implements ExhibitionPostDAO {
         return jdbcTemplate.update(sql, postId);
     }
     
-    public int incrementLikes(Long postId) {
-        // Get userId from SecurityContext if available (or pass as parameter if needed)
-        // For now, assume userId is passed as a parameter to this method in the service/controller
-        throw new UnsupportedOperationException("Use incrementLikes(Long postId, Long userId) instead");
+    @Override
+    public int hasUserLiked(Long postId, Long userId) {
+        String sql = "SELECT COUNT(*) FROM exhibition_post_likes WHERE post_id = ? AND user_id = ?";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, postId, userId);
+        return count != null && count > 0 ? 1 : 0;
+    }
+
+    @Override
+    public int getLikesCount(Long postId) {
+        String sql = "SELECT COUNT(*) FROM exhibition_post_likes WHERE post_id = ?";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, postId);
+        return count != null ? count : 0;
     }
 
-    // New method to enforce single-like-per-user
-    public int incrementLikes(Long postId, Long userId) {
-        // Check if user already liked
-        String checkSql = "SELECT COUNT(*) FROM exhibition_post_likes WHERE post_id = ? AND user_id = ?";
-        Integer count = jdbcTemplate.queryForObject(checkSql, Integer.class, postId, userId);
-        if (count != null && count > 0) {
-            // Already liked, return current like count
-            String selectSql = "SELECT likes FROM exhibitions WHERE id = ?";
-            Integer likes = jdbcTemplate.queryForObject(selectSql, Integer.class, postId);
-            return likes != null ? likes : 0;
+    @Override
+    public void batchLike(List<Object[]> likes) {
+        if (likes.isEmpty()) {
+            return;
         }
-        // Insert like
-        String insertSql = "INSERT INTO exhibition_post_likes (post_id, user_id) VALUES (?, ?)";
-        jdbcTemplate.update(insertSql, postId, userId);
-        // Increment likes count
-        String updateSql = "UPDATE exhibitions SET likes = COALESCE(likes,0) + 1 WHERE id = ?";
-        jdbcTemplate.update(updateSql, postId);
-        // Return new like count
-        String selectSql = "SELECT likes FROM exhibitions WHERE id = ?";
-        Integer likes = jdbcTemplate.queryForObject(selectSql, Integer.class, postId);
-        return likes != null ? likes : 0;
+        // IGNORE makes replays after a partially failed flush harmless
+        String sql = "INSERT IGNORE INTO exhibition_post_likes (post_id, user_id) VALUES (?, ?)";
+        jdbcTemplate.batchUpdate(sql, likes);
     }
 
     @Override
-    public int removeUserLike(Long postId, Long userId) {
-        String sql = "DELETE FROM exhibition_post_likes WHERE post_id = ? AND user_id = ?";
-        int affected = jdbcTemplate.update(sql, postId, userId);
-        if (affected > 0) {
-            // Decrement the likes count in the exhibitions table
-            String updateLikes = "UPDATE exhibitions SET likes = GREATEST(COALESCE(likes,1) - 1, 0) WHERE id = ?";
-            jdbcTemplate.update(updateLikes, postId);
+    public void batchUnlike(List<Object[]> unlikes) {
+        if (unlikes.isEmpty()) {
+            return;
         }
-        // Return the new like count
-        String selectSql = "SELECT likes FROM exhibitions WHERE id = ?";
-        Integer likes = jdbcTemplate.queryForObject(selectSql, Integer.class, postId);
-        return likes != null ? likes : 0;
+        String sql = "DELETE FROM exhibition_post_likes WHERE post_id = ? AND user_id = ?";
+        jdbcTemplate.batchUpdate(sql, unlikes);
     }
 
     @Override
-    public int hasUserLiked(Long postId, Long userId) {
-        String sql = "SELECT COUNT(*) FROM exhibition_post_likes WHERE post_id = ? AND user_id = ?";
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, postId, userId);
-        return count != null && count > 0 ? 1 : 0;
+    public void refreshLikeCounts(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        // One statement per flush keeps exhibitions.likes in step with the like rows
+        String placeholders = String.join(",", Collections.nCopies(postIds.size(), "?"));
+        String sql = "UPDATE exhibitions e SET likes = "
+                + "(SELECT COUNT(*) FROM exhibition_post_likes l WHERE l.post_id = e.id) "
+                + "WHERE e.id IN (" + placeholders + ")";
+        jdbcTemplate.update(sql, postIds.toArray());
     }
 }
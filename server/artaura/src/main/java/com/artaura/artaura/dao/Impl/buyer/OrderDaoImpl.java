@@ -1,25 +1,66 @@
 package com.artaura.artaura.dao.Impl.buyer;
+import com.artaura.artaura.dao.BatchChildLoader;
 import com.artaura.artaura.dao.buyer.OrderDao;
 import com.artaura.artaura.dto.buyer.AWOrderDto;
 import com.artaura.artaura.dto.buyer.AWOrderItemDto;
 import com.artaura.artaura.dto.buyer.OrderRequest;
 import com.artaura.artaura.dto.buyer.OrderItemRequest;
+import com.artaura.artaura.service.ArtistStatsService;
+import com.artaura.artaura.service.ArtworkSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class OrderDaoImpl implements OrderDao {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private BatchChildLoader batchChildLoader;
+
+    @Autowired
+    private ArtworkSearchIndex artworkSearchIndex;
+
+    @Autowired
+    private ArtistStatsService artistStatsService;
+
+    private static final RowMapper<AWOrderItemDto> ORDER_ITEM_ROW_MAPPER = (itemRs, itemRowNum) -> {
+        AWOrderItemDto item = new AWOrderItemDto();
+        item.setId(itemRs.getLong("id"));
+        item.setArtworkId(itemRs.getLong("artwork_id"));
+        item.setQuantity(itemRs.getInt("quantity"));
+        item.setPrice(itemRs.getDouble("price"));
+        item.setTitle(itemRs.getString("title"));
+        item.setArtistId(itemRs.getLong("artist_id"));
+        item.setMedium(itemRs.getString("medium"));
+        item.setSize(itemRs.getString("size"));
+        item.setImageUrl(itemRs.getString("image_url"));
+        item.setArtistEmail(itemRs.getString("email"));
+        item.setArtistContactNo(itemRs.getString("contactNo"));
+        item.setArtistLocation(itemRs.getString("location"));
+        item.setArtistName(itemRs.getString("artist_name"));
+        item.setArtistAvatarUrl(itemRs.getString("avatar_url"));
+        return item;
+    };
+
     @Override
     @Transactional
     public Long saveOrder(OrderRequest orderRequest) {
@@ -40,80 +81,102 @@ public class OrderDaoImpl implements OrderDao {
             mysqlDateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
         }
         
-        // Insert order without total_amount
-        jdbcTemplate.update(orderSql,
-                mysqlDateTime,
-                orderRequest.getBuyerId(),
-                orderRequest.getBillingFirstName(),
-                orderRequest.getBillingLastName(),
-                orderRequest.getBillingEmail(),
-                shippingAddress,
-                orderRequest.getBillingPhone(),
-                orderRequest.getPaymentMethod(),
-                orderRequest.getStripePaymentId()
-        );
-        Long orderId = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
-
-        // Insert order items and update artwork status to "Sold"
-        String itemSql = "INSERT INTO AW_order_items (order_id, artwork_id, quantity, price, title, artist_id) VALUES (?, ?, ?, ?, ?, ?)";
-        String updateArtworkStatusSql = "UPDATE artworks SET status = 'Sold', updated_at = CURRENT_TIMESTAMP WHERE artwork_id = ?";
-        // Insert payment records (one per order item)
-        String paymentSql = "INSERT INTO payment (status, amount, buyer_id, artist_id, AW_order_id, created_at) VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
-
-        for (OrderItemRequest item : orderRequest.getItems()) {
+        List<OrderItemRequest> items = orderRequest.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Order has no items.");
+        }
+        Set<Long> artworkIds = new LinkedHashSet<>();
+        for (OrderItemRequest item : items) {
             if (item.getArtworkId() == null) {
                 throw new IllegalArgumentException("Order item is missing artwork_id.");
             }
-            // Resolve artistId from request or fallback to DB by artworkId
-            Long resolvedArtistId = item.getArtistId();
-            if (resolvedArtistId == null) {
-                try {
-                    resolvedArtistId = jdbcTemplate.queryForObject(
-                            "SELECT artist_id FROM artworks WHERE artwork_id = ?",
-                            Long.class,
-                            item.getArtworkId()
-                    );
-                } catch (Exception ex) {
-                    resolvedArtistId = null;
-                }
-            }
-            if (resolvedArtistId == null) {
-                throw new IllegalStateException("Artist not found for artwork_id=" + item.getArtworkId());
+            artworkIds.add(item.getArtworkId());
+        }
+
+        // One locking read resolves every artist and checks nothing in the cart is already sold
+        // or held by another buyer's checkout; the rows stay locked until commit, so a concurrent
+        // checkout for the same artwork waits here
+        String placeholders = String.join(",", Collections.nCopies(artworkIds.size(), "?"));
+        List<Object> lockArgs = new ArrayList<>();
+        lockArgs.add(orderRequest.getBuyerId());
+        lockArgs.addAll(artworkIds);
+        Map<Long, Long> artistByArtwork = new HashMap<>();
+        List<Long> unavailable = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT artwork_id, artist_id, status, " +
+                "(held_until > NOW() AND NOT held_by <=> ?) AS held_by_other " +
+                "FROM artworks WHERE artwork_id IN (" + placeholders + ") FOR UPDATE",
+                rs -> {
+                    long artworkId = rs.getLong("artwork_id");
+                    artistByArtwork.put(artworkId, rs.getLong("artist_id"));
+                    if ("Sold".equalsIgnoreCase(rs.getString("status")) || rs.getBoolean("held_by_other")) {
+                        unavailable.add(artworkId);
+                    }
+                },
+                lockArgs.toArray());
+        for (Long artworkId : artworkIds) {
+            if (!artistByArtwork.containsKey(artworkId)) {
+                throw new IllegalStateException("Artist not found for artwork_id=" + artworkId);
             }
+        }
+        if (!unavailable.isEmpty()) {
+            throw new IllegalStateException("Artwork already sold or reserved by another buyer: artwork_id=" + unavailable);
+        }
 
-            // Insert order item
-            jdbcTemplate.update(itemSql,
-                    orderId,
-                    item.getArtworkId(),
-                    item.getQuantity(),
-                    item.getPrice(),
-                    item.getTitle(),
-                    resolvedArtistId
-            );
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        String orderDate = mysqlDateTime;
+        String address = shippingAddress;
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(orderSql, Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, orderDate);
+            ps.setObject(2, orderRequest.getBuyerId());
+            ps.setString(3, orderRequest.getBillingFirstName());
+            ps.setString(4, orderRequest.getBillingLastName());
+            ps.setString(5, orderRequest.getBillingEmail());
+            ps.setString(6, address);
+            ps.setString(7, orderRequest.getBillingPhone());
+            ps.setString(8, orderRequest.getPaymentMethod());
+            ps.setString(9, orderRequest.getStripePaymentId());
+            return ps;
+        }, keyHolder);
+        Number key = keyHolder.getKey();
+        if (key == null) {
+            throw new IllegalStateException("Failed to create order - no ID generated");
+        }
+        Long orderId = key.longValue();
 
-            // Insert payment record for this item
+        // Items, escrow and sales stats all use the artist the locking read found, never the cart's copy
+        List<Object[]> itemRows = new ArrayList<>(items.size());
+        List<Object[]> paymentRows = new ArrayList<>(items.size());
+        for (OrderItemRequest item : items) {
+            Long artistId = artistByArtwork.get(item.getArtworkId());
+            itemRows.add(new Object[]{orderId, item.getArtworkId(), item.getQuantity(), item.getPrice(), item.getTitle(), artistId});
+            // One escrow payment per order item
             double amount = (item.getPrice() != null ? item.getPrice() : 0.0) * (item.getQuantity() != null ? item.getQuantity() : 0);
-            jdbcTemplate.update(paymentSql,
-                    "escrow", // force status to excrow
-                    amount,
-                    orderRequest.getBuyerId(),
-                    resolvedArtistId,
-                    orderId
-            );
+            paymentRows.add(new Object[]{"escrow", amount, orderRequest.getBuyerId(), artistId, orderId});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO AW_order_items (order_id, artwork_id, quantity, price, title, artist_id) VALUES (?, ?, ?, ?, ?, ?)",
+                itemRows);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO payment (status, amount, buyer_id, artist_id, AW_order_id, created_at) VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                paymentRows);
 
-            // Update artwork status to "Sold"
-            try {
-                int rowsUpdated = jdbcTemplate.update(updateArtworkStatusSql, item.getArtworkId());
-                if (rowsUpdated > 0) {
-                    System.out.println("Successfully updated artwork " + item.getArtworkId() + " status to Sold");
-                } else {
-                    System.err.println("Failed to update artwork " + item.getArtworkId() + " status - artwork not found");
-                }
-            } catch (Exception e) {
-                System.err.println("Error updating artwork " + item.getArtworkId() + " status to Sold: " + e.getMessage());
-                // Continue with other artworks even if one fails
-            }
+        // All or nothing: a short count rolls the whole order back. Converts the buyer's holds to Sold.
+        int sold = jdbcTemplate.update(
+                "UPDATE artworks SET status = 'Sold', held_by = NULL, held_until = NULL, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE artwork_id IN (" + placeholders + ") AND status <> 'Sold'",
+                artworkIds.toArray());
+        if (sold != artworkIds.size()) {
+            throw new IllegalStateException("Marked " + sold + " of " + artworkIds.size() + " artworks as Sold for order " + orderId);
         }
+        // Sold counts as deltas keyed on the artists the locking read resolved; a failure rolls the order back
+        Map<Long, Integer> soldByArtist = new HashMap<>();
+        for (Long artworkId : artworkIds) {
+            soldByArtist.merge(artistByArtwork.get(artworkId), 1, Integer::sum);
+            artworkSearchIndex.artworkChanged(artworkId);
+        }
+        artistStatsService.salesRecorded(soldByArtist);
 
         return orderId;
     }
@@ -137,46 +200,32 @@ public class OrderDaoImpl implements OrderDao {
             order.setPaymentMethod(rs.getString("payment_method"));
             order.setStripePaymentId(rs.getString("stripe_payment_id"));
             order.setDeliveryStatus(rs.getString("delivery_status")); // Fetch delivery_status from AW_orders table
-
-            // Fetch order items with artwork and artist details (LEFT JOIN to avoid nulls)
-            String itemSql = "SELECT oi.id, oi.artwork_id, oi.quantity, oi.price, oi.title, oi.artist_id, " +
-                    "aw.medium, aw.size, aw.image_url, " +
-                    "ar.email, ar.contactNo, ar.location, CONCAT(ar.first_name, ' ', ar.last_name) AS artist_name, ar.avatar_url " +
-                    "FROM AW_order_items oi " +
-                    "LEFT JOIN artworks aw ON oi.artwork_id = aw.artwork_id " +
-                    "LEFT JOIN artists ar ON oi.artist_id = ar.artist_id " +
-                    "WHERE oi.order_id = ?";
-            List<AWOrderItemDto> items = jdbcTemplate.query(itemSql, new Object[]{order.getId()}, (itemRs, itemRowNum) -> {
-                AWOrderItemDto item = new AWOrderItemDto();
-                item.setId(itemRs.getLong("id"));
-                item.setArtworkId(itemRs.getLong("artwork_id"));
-                item.setQuantity(itemRs.getInt("quantity"));
-                item.setPrice(itemRs.getDouble("price"));
-                item.setTitle(itemRs.getString("title"));
-                item.setArtistId(itemRs.getLong("artist_id"));
-                item.setMedium(itemRs.getString("medium"));
-                item.setSize(itemRs.getString("size"));
-                item.setImageUrl(itemRs.getString("image_url"));
-                item.setArtistEmail(itemRs.getString("email"));
-                item.setArtistContactNo(itemRs.getString("contactNo"));
-                item.setArtistLocation(itemRs.getString("location"));
-                item.setArtistName(itemRs.getString("artist_name"));
-                item.setArtistAvatarUrl(itemRs.getString("avatar_url"));
-                return item;
-            });
-            order.setItems(items);
-
-            // Optionally set order imageUrl to first item's imageUrl if available
-            if (!items.isEmpty() && items.get(0).getImageUrl() != null) {
-                order.setImageUrl(items.get(0).getImageUrl());
-            }
-            // For clients expecting an order-level artistId, set it from the first item
-            if (!items.isEmpty() && items.get(0).getArtistId() != null) {
-                order.setArtistId(items.get(0).getArtistId());
-            }
-
             return order;
         });
+
+        // Fetch order items with artwork and artist details for all orders in one batched query
+        String itemSql = "SELECT oi.id, oi.order_id, oi.artwork_id, oi.quantity, oi.price, oi.title, oi.artist_id, " +
+                "aw.medium, aw.size, aw.image_url, " +
+                "ar.email, ar.contactNo, ar.location, CONCAT(ar.first_name, ' ', ar.last_name) AS artist_name, ar.avatar_url " +
+                "FROM AW_order_items oi " +
+                "LEFT JOIN artworks aw ON oi.artwork_id = aw.artwork_id " +
+                "LEFT JOIN artists ar ON oi.artist_id = ar.artist_id " +
+                "WHERE oi.order_id IN (" + BatchChildLoader.IDS_PLACEHOLDER + ") " +
+                "ORDER BY oi.order_id, oi.id";
+        batchChildLoader.attachChildren(orders, AWOrderDto::getId, itemSql,
+                (itemRs, itemRowNum) -> itemRs.getLong("order_id"),
+                ORDER_ITEM_ROW_MAPPER,
+                (order, items) -> {
+                    order.setItems(items);
+                    // Optionally set order imageUrl to first item's imageUrl if available
+                    if (!items.isEmpty() && items.get(0).getImageUrl() != null) {
+                        order.setImageUrl(items.get(0).getImageUrl());
+                    }
+                    // For clients expecting an order-level artistId, set it from the first item
+                    if (!items.isEmpty() && items.get(0).getArtistId() != null) {
+                        order.setArtistId(items.get(0).getArtistId());
+                    }
+                });
         return orders;
     }
 
@@ -61,7 +61,9 @@ public class UserDAOImpl implements UserDAO {
             image,
             userId
         );
-        String addressSql = "UPDATE addresses SET city = ?, country = ?, state = ?, street_address = ?, zip_code = ? WHERE buyer_id = ?";
+        // A changed address is geocoded again on the next pass
+        String addressSql = "UPDATE addresses SET city = ?, country = ?, state = ?, street_address = ?, zip_code = ?, "
+                + "latitude = NULL, longitude = NULL, geocoded_at = NULL WHERE buyer_id = ?";
         int addressRows = jdbcTemplate.update(addressSql,
             city,
             country,
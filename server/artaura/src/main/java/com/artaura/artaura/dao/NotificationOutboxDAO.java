@@ -0,0 +1,52 @@
+package com.artaura.artaura.dao;
+
+import com.artaura.artaura.dto.notification.NotificationOutboxEventDTO;
+import java.util.List;
+
+public interface NotificationOutboxDAO {
+    /**
+     * Append an event; joins the caller's transaction so it commits or rolls back with the domain change
+     * @param eventType The event type
+     * @param payload The event payload (compact JSON)
+     */
+    void append(String eventType, String payload);
+
+    /**
+     * Lease a batch of pending events that are due, so no other dispatcher picks them up
+     * @param claimToken A token unique to this dispatch pass
+     * @param limit Maximum number of events
+     * @param leaseSeconds How long the lease holds if this pass dies before settling the events
+     * @return The leased events, oldest first
+     */
+    List<NotificationOutboxEventDTO> claimDue(String claimToken, int limit, int leaseSeconds);
+
+    /**
+     * Mark events as delivered
+     * @param eventIds The event IDs
+     */
+    void markSent(List<Long> eventIds);
+
+    /**
+     * Release an event for another attempt later
+     * @param eventId The event ID
+     * @param attempts Attempts made so far
+     * @param delaySeconds Seconds until the next attempt
+     * @param error The failure to record
+     */
+    void markRetry(Long eventId, int attempts, int delaySeconds, String error);
+
+    /**
+     * Give up on an event
+     * @param eventId The event ID
+     * @param attempts Attempts made
+     * @param error The last failure
+     */
+    void markFailed(Long eventId, int attempts, String error);
+
+    /**
+     * Delete delivered events older than the given age
+     * @param days Age in days
+     * @return Number of events deleted
+     */
+    int deleteSentOlderThan(int days);
+}
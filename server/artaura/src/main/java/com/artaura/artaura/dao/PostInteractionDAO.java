@@ -12,6 +12,10 @@ public interface PostInteractionDAO {
     boolean isPostLikedByUser(Long postId, Long userId, String userType);
     int getLikesCount(Long postId);
     List<PostLikeDTO> getPostLikes(Long postId);
+
+    // Batched write-behind flush; each row is {postId, userId, userType}
+    void batchLikePosts(List<Object[]> likes);
+    void batchUnlikePosts(List<Object[]> unlikes);
     
     // Comment operations
     PostCommentDTO addComment(Long postId, Long userId, String userType, String commentText, Long parentCommentId);
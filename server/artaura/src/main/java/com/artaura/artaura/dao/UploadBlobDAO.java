@@ -0,0 +1,22 @@
+package com.artaura.artaura.dao;
+
+public interface UploadBlobDAO {
+    // URL of an existing blob with this digest in the namespace, or null
+    String findUrlBySha256(String namespace, String sha256);
+
+    String findSha256ByUrl(String url);
+
+    // Inserts with ref_count = 1 or increments an existing row; true when the row is new
+    boolean insertOrIncrement(String url, String namespace, String sha256, long sizeBytes);
+
+    void increment(String url);
+
+    // Remaining references after the decrement, or -1 when the URL is not tracked
+    int decrement(String url);
+
+    // Removes the row only if nothing references it any more
+    boolean deleteIfUnreferenced(String url);
+
+    // Registers a pre-existing file with one reference; no-op if already tracked
+    boolean registerExisting(String url, String namespace, String sha256, long sizeBytes);
+}
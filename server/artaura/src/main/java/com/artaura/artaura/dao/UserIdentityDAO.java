@@ -0,0 +1,10 @@
+package com.artaura.artaura.dao;
+
+import com.artaura.artaura.dto.auth.UserIdentityDTO;
+
+import java.util.List;
+
+public interface UserIdentityDAO {
+    // All accounts registered under an email across every role table, in login priority order
+    List<UserIdentityDTO> findByEmail(String email);
+}
@@ -3,6 +3,8 @@ package com.artaura.artaura.dao;
 import com.artaura.artaura.dto.notification.UserNotificationDTO;
 import com.artaura.artaura.entity.UserNotification.UserType;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface UserNotificationDAO {
     /**
@@ -11,6 +13,13 @@ public interface UserNotificationDAO {
      * @return true if creation was successful
      */
     boolean createNotification(UserNotificationDTO dto);
+
+    /**
+     * Create several user notifications in one batch; failures are thrown, not logged,
+     * so a surrounding transaction rolls back
+     * @param dtos The notifications
+     */
+    void createNotifications(List<UserNotificationDTO> dtos);
     
     /**
      * Get all notifications for a specific user
@@ -28,10 +37,35 @@ public interface UserNotificationDAO {
      */
     List<UserNotificationDTO> getUnreadNotificationsByUser(Long userId, UserType userType);
     
+    /**
+     * Get one notification
+     * @param notificationId The notification ID
+     * @return The notification, if it exists
+     */
+    Optional<UserNotificationDTO> findById(Long notificationId);
+
+    /**
+     * Get a page of a user's notifications, newest first
+     * @param userId The user ID
+     * @param userType The type of user
+     * @param beforeId Only notifications with a smaller ID (the previous page's last ID), or null for the first page
+     * @param limit Page size
+     * @return Notification rows keyed by column name
+     */
+    List<Map<String, Object>> getNotificationPage(Long userId, UserType userType, Long beforeId, int limit);
+
+    /**
+     * Count unread notifications for a user
+     * @param userId The user ID
+     * @param userType The type of user
+     * @return Number of unread notifications
+     */
+    long countUnread(Long userId, UserType userType);
+
     /**
      * Mark a notification as read
      * @param notificationId The notification ID
-     * @return true if update was successful
+     * @return true if the notification was unread and is now read
      */
     boolean markAsRead(Long notificationId);
     
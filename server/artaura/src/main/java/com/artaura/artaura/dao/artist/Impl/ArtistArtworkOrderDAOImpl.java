@@ -1,5 +1,6 @@
 package com.artaura.artaura.dao.artist.Impl;
 
+import com.artaura.artaura.dao.BatchChildLoader;
 import com.artaura.artaura.dao.artist.ArtistArtworkOrderDAO;
 import com.artaura.artaura.dto.artist.ArtistArtworkOrderDTO;
 import com.artaura.artaura.dto.artist.ArtistArtworkOrderItemDTO;
@@ -27,6 +28,9 @@ public class ArtistArtworkOrderDAOImpl implements ArtistArtworkOrderDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private BatchChildLoader batchChildLoader;
+
     // Row mapper for main order data
     private final RowMapper<ArtistArtworkOrderDTO> orderRowMapper = new RowMapper<ArtistArtworkOrderDTO>() {
         @Override
@@ -89,21 +93,20 @@ public class ArtistArtworkOrderDAOImpl implements ArtistArtworkOrderDAO {
 
             List<ArtistArtworkOrderDTO> orders = jdbcTemplate.query(orderSql, orderRowMapper, artistId);
 
-            // For each order, get its items that belong to this artist
-            for (ArtistArtworkOrderDTO order : orders) {
-                String itemsSql = """
-                    SELECT oi.id as item_id, oi.order_id, oi.artwork_id, oi.quantity, 
-                           oi.price, oi.title, a.medium, a.size, a.image_url
-                    FROM AW_order_items oi
-                    LEFT JOIN artworks a ON oi.artwork_id = a.artwork_id
-                    WHERE oi.order_id = ? AND oi.artist_id = ?
-                    ORDER BY oi.id
-                    """;
-
-                List<ArtistArtworkOrderItemDTO> items = jdbcTemplate.query(
-                        itemsSql, orderItemRowMapper, order.getOrderId(), artistId);
-                order.setOrderItems(items);
-            }
+            // Get the items that belong to this artist for all orders in one batched query
+            String itemsSql = """
+                SELECT oi.id as item_id, oi.order_id, oi.artwork_id, oi.quantity, 
+                       oi.price, oi.title, a.medium, a.size, a.image_url
+                FROM AW_order_items oi
+                LEFT JOIN artworks a ON oi.artwork_id = a.artwork_id
+                WHERE oi.order_id IN (%s) AND oi.artist_id = ?
+                ORDER BY oi.order_id, oi.id
+                """.formatted(BatchChildLoader.IDS_PLACEHOLDER);
+            batchChildLoader.attachChildren(orders, ArtistArtworkOrderDTO::getOrderId, itemsSql,
+                    (rs, rowNum) -> rs.getLong("order_id"),
+                    orderItemRowMapper,
+                    ArtistArtworkOrderDTO::setOrderItems,
+                    artistId);
 
             return orders;
         } catch (Exception e) {
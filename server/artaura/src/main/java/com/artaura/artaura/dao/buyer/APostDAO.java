@@ -3,10 +3,19 @@ package com.artaura.artaura.dao.buyer;
 import com.artaura.artaura.dto.buyer.APostResponseDTO;
 import com.artaura.artaura.dto.post.PostResponseDTO;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface APostDAO {
     List<APostResponseDTO> getAllPostsSortedByTime();
+
+    // Keyset page ordered by (created_at, post_id) DESC; null cursor means first page
+    List<APostResponseDTO> getPostsPageSortedByTime(Timestamp cursorCreatedAt, Long cursorPostId, int limit);
+
+    // Streams the whole feed row by row without materialising it in memory
+    void streamAllPostsSortedByTime(Consumer<APostResponseDTO> consumer);
+
     void incrementLikes(Long postId);
     APostResponseDTO getPostById(Long postId);
     void toggleLike(Long postId, Long userId);
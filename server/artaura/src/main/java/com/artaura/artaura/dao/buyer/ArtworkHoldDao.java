@@ -0,0 +1,34 @@
+package com.artaura.artaura.dao.buyer;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ArtworkHoldDao {
+
+    /**
+     * Holds every artwork for the buyer for the given number of seconds, or none of them.
+     * An artwork can be held if it is Available and not held by another buyer; the
+     * buyer's own hold is extended. Returns false (and changes nothing) otherwise.
+     */
+    boolean holdAll(Collection<Long> artworkIds, Long buyerId, int seconds);
+
+    /**
+     * The artworks among artworkIds that the buyer could not hold right now
+     */
+    List<Long> findUnavailable(Collection<Long> artworkIds, Long buyerId);
+
+    /**
+     * Drops the buyer's holds on the given artworks
+     */
+    int release(Collection<Long> artworkIds, Long buyerId);
+
+    /**
+     * Clears lapsed holds among the given artworks
+     */
+    int clearExpired(Collection<Long> artworkIds);
+
+    /**
+     * Clears every lapsed hold
+     */
+    int clearAllExpired();
+}
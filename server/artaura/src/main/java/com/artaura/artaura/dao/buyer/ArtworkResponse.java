@@ -4,4 +4,9 @@ import com.artaura.artaura.dto.buyer.ArtworksResponse;
 import java.util.List;
 public interface ArtworkResponse {
     List<ArtworksResponse> findAvailableArtworksWithArtist();
+
+    /**
+     * Available artworks with the given ids, in the order of the ids
+     */
+    List<ArtworksResponse> findAvailableArtworksByIds(List<Long> artworkIds);
 }
@@ -54,6 +54,13 @@ public interface BuyerChallengeDAO {
      */
     int getSubmissionCount(Long challengeId);
 
+    /**
+     * Get participant and submission counts for many challenges in batched queries
+     * @param challengeIds Challenge IDs
+     * @return Map of challenge ID to {participantCount, submissionCount}; challenges without submissions are absent
+     */
+    Map<Long, Map<String, Integer>> getChallengeCounts(List<Long> challengeIds);
+
     /**
      * Get all submissions for a specific challenge
      * @param challengeId Challenge ID
@@ -73,6 +80,42 @@ public interface BuyerChallengeDAO {
      */
     List<ChallengeSubmissionDTO> getSubmissionsByChallengeWithSort(Integer challengeId, Long userId, String userType, String sortBy);
 
+    /**
+     * Get submissions by ID, in no particular order
+     * @param submissionIds Submission IDs
+     * @param userId User ID for vote and reaction status
+     * @return Submissions that exist
+     */
+    List<ChallengeSubmissionDTO> getSubmissionsByIds(List<Long> submissionIds, Long userId);
+
+    /**
+     * Get the ranking fields of every submission in a challenge
+     * @param challengeId Challenge ID
+     * @return Submissions with only id, challengeId, submissionDate and the like/dislike/vote counts set
+     */
+    List<ChallengeSubmissionDTO> getSubmissionCounters(Integer challengeId);
+
+    /**
+     * Get the ranking fields of one submission as currently committed
+     * @param submissionId Submission ID
+     * @return The submission with the same fields as getSubmissionCounters, or null if it does not exist
+     */
+    ChallengeSubmissionDTO getSubmissionCounter(Long submissionId);
+
+    /**
+     * Store the final standings of a completed challenge
+     * @param challengeId Challenge ID
+     * @param submissionIds Submission IDs in final order; the first gets rank 1
+     */
+    void saveFinalRanks(Integer challengeId, List<Long> submissionIds);
+
+    /**
+     * Get the frozen standings of a completed challenge
+     * @param challengeId Challenge ID
+     * @return Submission ID to final rank; empty if the standings were never frozen
+     */
+    Map<Long, Integer> getFinalRanks(Integer challengeId);
+
     /**
      * Handle like/dislike for a submission
      * @param submissionId Submission ID
@@ -2,6 +2,7 @@ package com.artaura.artaura.dao.buyer;
 
 import com.artaura.artaura.dto.exhibition.ExhibitionPostDTO;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ExhibitionPostDAO {
@@ -10,8 +11,11 @@ public interface ExhibitionPostDAO {
     List<ExhibitionPostDTO> findByCreatedBy(Long userId);
     int update(ExhibitionPostDTO post); // update by postId
     int delete(Long postId); // delete by postId
-    int incrementLikes(Long postId, Long userId);
     int hasUserLiked(Long postId, Long userId);
-//    int addUserLike(Long postId, Long userId);
-    int removeUserLike(Long postId, Long userId);
+    int getLikesCount(Long postId);
+
+    // Batched write-behind flush; each row is {postId, userId}
+    void batchLike(List<Object[]> likes);
+    void batchUnlike(List<Object[]> unlikes);
+    void refreshLikeCounts(Collection<Long> postIds);
 }
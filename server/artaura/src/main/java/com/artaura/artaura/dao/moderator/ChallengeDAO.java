@@ -1,17 +1,20 @@
 package com.artaura.artaura.dao.moderator;
 
 import java.util.List;
+import java.util.Map;
 
 import com.artaura.artaura.dto.moderator.ChallengeDTO;
 import com.artaura.artaura.dto.moderator.ChallengeListDTO;
 
 public interface ChallengeDAO {
-    void insertChallenge(ChallengeDTO challenge, String moderatorId);
+    int insertChallenge(ChallengeDTO challenge, String moderatorId); // Returns the new challenge id
     List<ChallengeListDTO> getAllChallenges();
     List<ChallengeListDTO> getCompletedChallenges(); // Get only completed challenges
     void deleteChallenge(int challengeId);
     void updateChallenge(ChallengeDTO challenge, String moderatorId);
-    int updateExpiredChallenges();
+    List<Map<String, Object>> getOpenChallengeSchedules(); // id, status, publish/deadline of every challenge not yet completed
+    Map<String, Object> getChallengeSchedule(int challengeId); // Same columns for one challenge, or null if it does not exist
+    boolean completeChallenge(int challengeId); // Marks one challenge completed if its deadline has passed; false if nothing changed
     void publishChallenge(int challengeId);  // New method to publish draft challenges
     void updateSponsorshipStatus(int challengeId, String sponsorshipStatus); // Update sponsorship and auto-activate draft challenges
 }
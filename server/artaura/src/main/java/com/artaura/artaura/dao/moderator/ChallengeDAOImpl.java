@@ -1,10 +1,15 @@
 
 package com.artaura.artaura.dao.moderator;
 
+import java.sql.PreparedStatement;
+import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import com.artaura.artaura.dto.moderator.ChallengeDTO;
@@ -22,7 +27,7 @@ public class ChallengeDAOImpl implements ChallengeDAO {
     }
 
     @Override
-    public void insertChallenge(ChallengeDTO challenge, String moderatorId) {
+    public int insertChallenge(ChallengeDTO challenge, String moderatorId) {
         try {
             // Determine status based on sponsorship request:
             // - Request Sponsorship = true → status = "draft" (waiting for shop to sponsor)
@@ -57,7 +62,7 @@ public class ChallengeDAOImpl implements ChallengeDAO {
             // Each Like = +10 marks, Each Dislike = -5 marks, Minimum score = 0
             // Note: Database schema has 'sponsorship' column, not 'request_sponsorship'
             String sql = "INSERT INTO challenges (title, category, publish_date_time, deadline_date_time, description, max_participants, rewards, sponsorship, status, moderator_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-            jdbcTemplate.update(sql,
+            Object[] params = {
                 challenge.getTitle(),
                 challenge.getCategory(),
                 publishDateTime,
@@ -68,9 +73,19 @@ public class ChallengeDAOImpl implements ChallengeDAO {
                 sponsorship,
                 status,
                 moderatorId
-            );
+            };
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                for (int i = 0; i < params.length; i++) {
+                    ps.setObject(i + 1, params[i]);
+                }
+                return ps;
+            }, keyHolder);
+            int challengeId = keyHolder.getKey().intValue();
             
-            System.out.println("Challenge created successfully with status: " + status);
+            System.out.println("Challenge " + challengeId + " created successfully with status: " + status);
+            return challengeId;
         } catch (Exception e) {
             System.err.println("Error inserting challenge: " + e.getMessage());
             e.printStackTrace();
@@ -163,11 +178,26 @@ public class ChallengeDAOImpl implements ChallengeDAO {
     }
 
     @Override
-    public int updateExpiredChallenges() {
+    public List<Map<String, Object>> getOpenChallengeSchedules() {
+        String sql = "SELECT id, status, publish_date_time, deadline_date_time " +
+                     "FROM challenges WHERE status != 'completed'";
+        return jdbcTemplate.queryForList(sql);
+    }
+
+    @Override
+    public Map<String, Object> getChallengeSchedule(int challengeId) {
+        String sql = "SELECT id, status, publish_date_time, deadline_date_time FROM challenges WHERE id = ?";
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, challengeId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public boolean completeChallenge(int challengeId) {
+        // Re-checks the deadline so an edit that moved it later wins over a stale timer
         String sql = "UPDATE challenges SET status = 'completed' " +
-                     "WHERE status != 'completed' " +
-                     "AND deadline_date_time < NOW()";
-        return jdbcTemplate.update(sql);
+                     "WHERE id = ? AND status != 'completed' " +
+                     "AND deadline_date_time <= NOW()";
+        return jdbcTemplate.update(sql, challengeId) == 1;
     }
 
     @Override
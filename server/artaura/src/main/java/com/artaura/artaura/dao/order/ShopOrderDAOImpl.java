@@ -1,5 +1,6 @@
 package com.artaura.artaura.dao.order;
 
+import com.artaura.artaura.dao.Impl.ArtistOrderDAOImpl;
 import com.artaura.artaura.dto.order.ShopOrderDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,11 +11,19 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Objects;
 
+/**
+ * Shop-side order CRUD. An order holds its quantity of the product's stock from
+ * the moment it is created until it is cancelled (see ArtistOrderDAOImpl), so
+ * creating, updating and deleting an order adjust products.stock in the same
+ * transaction as the shop_orders write.
+ */
 @Repository
 public class ShopOrderDAOImpl implements ShopOrderDAO {
 
@@ -77,8 +86,12 @@ public class ShopOrderDAOImpl implements ShopOrderDAO {
     }
 
     @Override
+    @Transactional
     public ShopOrderDTO save(ShopOrderDTO order) {
         logger.info("Creating new order: {}", order);
+        if (holdsStock(order.getStatus())) {
+            reserveStock(order.getProductId(), quantityOf(order));
+        }
         String sql = "INSERT INTO shop_orders (shop_id, artist_id, items, total, status, date, product_id, quantity) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
@@ -112,8 +125,11 @@ public class ShopOrderDAOImpl implements ShopOrderDAO {
     }
 
     @Override
+    @Transactional
     public ShopOrderDTO update(ShopOrderDTO order) {
         logger.info("Updating order: {}", order);
+        // Lock the order so a concurrent update or cancel cannot move its stock twice
+        List<Object[]> before = lockStockHold(order.getOrderId());
         String sql = "UPDATE shop_orders SET shop_id = ?, artist_id = ?, " +
                 "items = ?, total = ?, status = ?, date = ?, product_id = ?, quantity = ? WHERE order_id = ?";
 
@@ -128,15 +144,78 @@ public class ShopOrderDAOImpl implements ShopOrderDAO {
                 order.getQuantity() != null ? order.getQuantity() : 1,
                 order.getOrderId());
 
+        if (!before.isEmpty()) {
+            String oldStatus = (String) before.get(0)[0];
+            Long oldProductId = (Long) before.get(0)[1];
+            Integer oldQuantity = (Integer) before.get(0)[2];
+            boolean unchanged = holdsStock(oldStatus) == holdsStock(order.getStatus())
+                    && Objects.equals(oldProductId, order.getProductId())
+                    && Objects.equals(oldQuantity, quantityOf(order));
+            if (!unchanged) {
+                // Give back what the old row held, then take what the new row holds
+                if (holdsStock(oldStatus)) {
+                    releaseStock(oldProductId, oldQuantity);
+                }
+                if (holdsStock(order.getStatus())) {
+                    reserveStock(order.getProductId(), quantityOf(order));
+                }
+            }
+        }
+
         logger.info("Updated {} row(s) for order ID: {}", rowsAffected, order.getOrderId());
         return order;
     }
 
     @Override
+    @Transactional
     public void deleteById(Long orderId) {
         logger.info("Deleting order with ID: {}", orderId);
+        List<Object[]> before = lockStockHold(orderId);
         String sql = "DELETE FROM shop_orders WHERE order_id = ?";
         int rowsAffected = jdbcTemplate.update(sql, orderId);
+        if (!before.isEmpty() && holdsStock((String) before.get(0)[0])) {
+            releaseStock((Long) before.get(0)[1], (Integer) before.get(0)[2]);
+        }
         logger.info("Deleted {} row(s) for order ID: {}", rowsAffected, orderId);
     }
+
+    // ---- Stock ----
+
+    private List<Object[]> lockStockHold(Long orderId) {
+        return jdbcTemplate.query(
+                "SELECT status, product_id, quantity FROM shop_orders WHERE order_id = ? FOR UPDATE",
+                (rs, rowNum) -> new Object[]{rs.getString("status"),
+                        rs.getObject("product_id", Long.class), rs.getObject("quantity", Integer.class)},
+                orderId);
+    }
+
+    private static boolean holdsStock(String status) {
+        return !"cancelled".equalsIgnoreCase(status);
+    }
+
+    private static Integer quantityOf(ShopOrderDTO order) {
+        return order.getQuantity() != null ? order.getQuantity() : 1;
+    }
+
+    private void reserveStock(Long productId, Integer quantity) {
+        if (productId == null) {
+            return;
+        }
+        int reserved = jdbcTemplate.update(
+                "UPDATE products SET stock = stock - ?, " + ArtistOrderDAOImpl.STOCK_STATUS + " WHERE id = ? AND stock >= ?",
+                quantity, productId, quantity);
+        if (reserved == 0) {
+            throw new IllegalStateException("Not enough stock for product " + productId);
+        }
+    }
+
+    private void releaseStock(Long productId, Integer quantity) {
+        // Rows without a quantity never had stock reserved for them
+        if (productId == null || quantity == null) {
+            return;
+        }
+        jdbcTemplate.update(
+                "UPDATE products SET stock = stock + ?, " + ArtistOrderDAOImpl.STOCK_STATUS + " WHERE id = ?",
+                quantity, productId);
+    }
 }
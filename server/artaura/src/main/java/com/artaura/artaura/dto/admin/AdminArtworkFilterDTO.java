@@ -4,6 +4,7 @@ public class AdminArtworkFilterDTO {
     private String category;
     private String status;
     private String artistName;
+    private String query; // free text over title, tags, description, medium, category and artist name
     private Double minPrice;
     private Double maxPrice;
     private Integer minYear;
@@ -14,6 +15,9 @@ public class AdminArtworkFilterDTO {
     private String sortOrder; // "ASC" or "DESC"
     private Integer page;
     private Integer size;
+    private String paging; // "offset" (default) or "keyset"
+    private String cursor; // nextCursor of the previous keyset page; implies keyset paging
+    private String countMode; // "exact" (default), "approximate" or "none"
 
     public AdminArtworkFilterDTO() {}
 
@@ -47,6 +51,9 @@ public class AdminArtworkFilterDTO {
     public String getArtistName() { return artistName; }
     public void setArtistName(String artistName) { this.artistName = artistName; }
 
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
     public Double getMinPrice() { return minPrice; }
     public void setMinPrice(Double minPrice) { this.minPrice = minPrice; }
 
@@ -76,4 +83,13 @@ public class AdminArtworkFilterDTO {
 
     public Integer getSize() { return size; }
     public void setSize(Integer size) { this.size = size; }
+
+    public String getPaging() { return paging; }
+    public void setPaging(String paging) { this.paging = paging; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public String getCountMode() { return countMode; }
+    public void setCountMode(String countMode) { this.countMode = countMode; }
 }
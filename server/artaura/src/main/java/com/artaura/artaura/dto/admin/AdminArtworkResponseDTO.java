@@ -1,6 +1,7 @@
 package com.artaura.artaura.dto.admin;
 
 import java.util.List;
+import java.util.Map;
 
 public class AdminArtworkResponseDTO {
     private List<AdminArtworkDTO> artworks;
@@ -8,6 +9,10 @@ public class AdminArtworkResponseDTO {
     private Integer totalPages;
     private Long totalElements;
     private Integer pageSize;
+    private Map<String, Map<String, Integer>> facets; // only set when served from the search index
+    private String nextCursor; // pass back as cursor for the next keyset page
+    private Boolean hasMore;
+    private Boolean totalIsApproximate;
 
     public AdminArtworkResponseDTO() {}
 
@@ -35,4 +40,16 @@ public class AdminArtworkResponseDTO {
 
     public Integer getPageSize() { return pageSize; }
     public void setPageSize(Integer pageSize) { this.pageSize = pageSize; }
+
+    public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Integer>> facets) { this.facets = facets; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
+
+    public Boolean getTotalIsApproximate() { return totalIsApproximate; }
+    public void setTotalIsApproximate(Boolean totalIsApproximate) { this.totalIsApproximate = totalIsApproximate; }
 }
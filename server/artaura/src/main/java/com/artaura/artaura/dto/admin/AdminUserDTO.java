@@ -1,5 +1,7 @@
 package com.artaura.artaura.dto.admin;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.time.LocalDateTime;
 
 public class AdminUserDTO {
@@ -8,6 +10,7 @@ public class AdminUserDTO {
     private String email;
     private String firstName;
     private String lastName;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private String status;
     private LocalDateTime createdAt;
@@ -0,0 +1,27 @@
+package com.artaura.artaura.dto.artwork;
+
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+/**
+ * The columns of an artwork (plus its artist's name) that ArtworkSearchIndex indexes
+ */
+@Data
+public class ArtworkIndexRowDTO {
+
+    private Long artworkId;
+    private Long artistId;
+    private String artistName;
+    private String title;
+    private String description;
+    private String tags;
+    private String medium;
+    private String category;
+    private String status;
+    private Double price;
+    private Integer year;
+    private boolean featured;
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.artaura.artaura.dto.artwork;
+
+import lombok.Data;
+
+/**
+ * A query against ArtworkSearchIndex. Null fields do not filter.
+ */
+@Data
+public class ArtworkSearchQueryDTO {
+
+    private String text;        // matched against title, tags, description, medium, category and artist name
+    private String artistName;  // matched against artist name only
+    private String category;
+    private String medium;
+    private String status;
+    private Long artistId;
+    private Double minPrice;
+    private Double maxPrice;
+    private Integer minYear;
+    private Integer maxYear;
+    private Boolean featured;
+    private String sortBy;      // "relevance", "created_at", "price" or "year"
+    private String sortOrder;   // "ASC" or "DESC"
+    private int offset;
+    private int limit = 20;
+}
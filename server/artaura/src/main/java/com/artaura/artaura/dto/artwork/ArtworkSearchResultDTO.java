@@ -0,0 +1,18 @@
+package com.artaura.artaura.dto.artwork;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Artwork ids of the requested window in ranked order, the total number of
+ * matches and facet counts (facet name -> value -> count) over all matches
+ */
+@Data
+public class ArtworkSearchResultDTO {
+
+    private List<Long> artworkIds;
+    private long totalHits;
+    private Map<String, Map<String, Integer>> facets;
+}
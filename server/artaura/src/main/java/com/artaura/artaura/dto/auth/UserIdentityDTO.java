@@ -0,0 +1,30 @@
+package com.artaura.artaura.dto.auth;
+
+public class UserIdentityDTO {
+    private String role;
+    private Long userId;
+    private String password;
+    private String status;
+
+    public UserIdentityDTO() {}
+
+    public UserIdentityDTO(String role, Long userId, String password, String status) {
+        this.role = role;
+        this.userId = userId;
+        this.password = password;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
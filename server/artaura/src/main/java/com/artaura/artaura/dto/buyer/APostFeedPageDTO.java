@@ -0,0 +1,39 @@
+package com.artaura.artaura.dto.buyer;
+
+import com.artaura.artaura.dto.image.ImageVariantDTO;
+
+import java.util.List;
+import java.util.Map;
+
+public class APostFeedPageDTO {
+    private List<APostResponseDTO> posts;
+    private String nextCursor;
+    private boolean hasMore;
+    private Integer pageSize;
+    private Map<String, List<ImageVariantDTO>> imageVariants; // original image URL -> responsive sizes
+
+    public APostFeedPageDTO() {}
+
+    public APostFeedPageDTO(List<APostResponseDTO> posts, String nextCursor, boolean hasMore, Integer pageSize) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.pageSize = pageSize;
+    }
+
+    // Getters and Setters
+    public List<APostResponseDTO> getPosts() { return posts; }
+    public void setPosts(List<APostResponseDTO> posts) { this.posts = posts; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public Integer getPageSize() { return pageSize; }
+    public void setPageSize(Integer pageSize) { this.pageSize = pageSize; }
+
+    public Map<String, List<ImageVariantDTO>> getImageVariants() { return imageVariants; }
+    public void setImageVariants(Map<String, List<ImageVariantDTO>> imageVariants) { this.imageVariants = imageVariants; }
+}
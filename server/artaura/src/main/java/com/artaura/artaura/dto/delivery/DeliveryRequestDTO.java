@@ -34,6 +34,9 @@ public class DeliveryRequestDTO {
     // Artist pickup address fields
     private String pickupAddress;
     private String pickupCity;
+
+    // Partner who claimed the delivery; null while it is pending
+    private Long deliveryPartnerId;
     
     // Constructors
     public DeliveryRequestDTO() {}
@@ -129,4 +132,7 @@ public class DeliveryRequestDTO {
 
     public String getPickupCity() { return pickupCity; }
     public void setPickupCity(String pickupCity) { this.pickupCity = pickupCity; }
+
+    public Long getDeliveryPartnerId() { return deliveryPartnerId; }
+    public void setDeliveryPartnerId(Long deliveryPartnerId) { this.deliveryPartnerId = deliveryPartnerId; }
 }
\ No newline at end of file
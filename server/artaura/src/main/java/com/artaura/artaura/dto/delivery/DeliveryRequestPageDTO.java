@@ -0,0 +1,31 @@
+package com.artaura.artaura.dto.delivery;
+
+import java.util.List;
+
+public class DeliveryRequestPageDTO {
+    private List<DeliveryRequestDTO> content;
+    private String nextCursor; // null on the last page
+    private boolean hasMore;
+    private int pageSize;
+
+    public DeliveryRequestPageDTO() {}
+
+    public DeliveryRequestPageDTO(List<DeliveryRequestDTO> content, String nextCursor, boolean hasMore, int pageSize) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.pageSize = pageSize;
+    }
+
+    public List<DeliveryRequestDTO> getContent() { return content; }
+    public void setContent(List<DeliveryRequestDTO> content) { this.content = content; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public int getPageSize() { return pageSize; }
+    public void setPageSize(int pageSize) { this.pageSize = pageSize; }
+}
@@ -0,0 +1,52 @@
+package com.artaura.artaura.dto.delivery;
+
+import java.time.LocalDateTime;
+
+public class NearbyDeliveryJobDTO {
+    private String requestType; // "artwork_order" or "commission_request"
+    private Long requestId;
+    private String artworkTitle;
+    private String artistName;
+    private double pickupLatitude;
+    private double pickupLongitude;
+    private String dropoffAddress;
+    private Double dropoffLatitude; // null when the shipping address names no known place
+    private Double dropoffLongitude;
+    private double distanceKm; // from the partner to the pickup
+    private LocalDateTime orderDate;
+
+    public NearbyDeliveryJobDTO() {}
+
+    public String getRequestType() { return requestType; }
+    public void setRequestType(String requestType) { this.requestType = requestType; }
+
+    public Long getRequestId() { return requestId; }
+    public void setRequestId(Long requestId) { this.requestId = requestId; }
+
+    public String getArtworkTitle() { return artworkTitle; }
+    public void setArtworkTitle(String artworkTitle) { this.artworkTitle = artworkTitle; }
+
+    public String getArtistName() { return artistName; }
+    public void setArtistName(String artistName) { this.artistName = artistName; }
+
+    public double getPickupLatitude() { return pickupLatitude; }
+    public void setPickupLatitude(double pickupLatitude) { this.pickupLatitude = pickupLatitude; }
+
+    public double getPickupLongitude() { return pickupLongitude; }
+    public void setPickupLongitude(double pickupLongitude) { this.pickupLongitude = pickupLongitude; }
+
+    public String getDropoffAddress() { return dropoffAddress; }
+    public void setDropoffAddress(String dropoffAddress) { this.dropoffAddress = dropoffAddress; }
+
+    public Double getDropoffLatitude() { return dropoffLatitude; }
+    public void setDropoffLatitude(Double dropoffLatitude) { this.dropoffLatitude = dropoffLatitude; }
+
+    public Double getDropoffLongitude() { return dropoffLongitude; }
+    public void setDropoffLongitude(Double dropoffLongitude) { this.dropoffLongitude = dropoffLongitude; }
+
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+
+    public LocalDateTime getOrderDate() { return orderDate; }
+    public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
+}
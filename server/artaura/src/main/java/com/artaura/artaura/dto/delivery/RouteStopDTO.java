@@ -0,0 +1,50 @@
+package com.artaura.artaura.dto.delivery;
+
+public class RouteStopDTO {
+    private String stopType; // "pickup" or "dropoff"
+    private String requestType;
+    private Long requestId;
+    private String address; // shipping address for drop-offs
+    private double latitude;
+    private double longitude;
+    private double legKm; // from the previous stop (or the partner's position)
+    private double cumulativeKm;
+
+    public RouteStopDTO() {}
+
+    public RouteStopDTO(String stopType, String requestType, Long requestId, String address,
+                        double latitude, double longitude, double legKm, double cumulativeKm) {
+        this.stopType = stopType;
+        this.requestType = requestType;
+        this.requestId = requestId;
+        this.address = address;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.legKm = legKm;
+        this.cumulativeKm = cumulativeKm;
+    }
+
+    public String getStopType() { return stopType; }
+    public void setStopType(String stopType) { this.stopType = stopType; }
+
+    public String getRequestType() { return requestType; }
+    public void setRequestType(String requestType) { this.requestType = requestType; }
+
+    public Long getRequestId() { return requestId; }
+    public void setRequestId(Long requestId) { this.requestId = requestId; }
+
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public double getLegKm() { return legKm; }
+    public void setLegKm(double legKm) { this.legKm = legKm; }
+
+    public double getCumulativeKm() { return cumulativeKm; }
+    public void setCumulativeKm(double cumulativeKm) { this.cumulativeKm = cumulativeKm; }
+}
@@ -0,0 +1,25 @@
+package com.artaura.artaura.dto.image;
+
+public class ImageVariantDTO {
+    private Integer width;
+    private String url;
+    private String contentType;
+
+    public ImageVariantDTO() {}
+
+    public ImageVariantDTO(Integer width, String url, String contentType) {
+        this.width = width;
+        this.url = url;
+        this.contentType = contentType;
+    }
+
+    // Getters and Setters
+    public Integer getWidth() { return width; }
+    public void setWidth(Integer width) { this.width = width; }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+}
@@ -0,0 +1,45 @@
+package com.artaura.artaura.dto.notification;
+
+public class NotificationOutboxEventDTO {
+    private Long id;
+    private String eventType;
+    private String payload;
+    private Integer attempts;
+
+    // Default constructor
+    public NotificationOutboxEventDTO() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+}
@@ -1,8 +1,6 @@
 package com.artaura.artaura.security;
 
 import com.artaura.artaura.util.JwtUtil;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -39,7 +37,6 @@ public class JwtAuthFilter extends OncePerRequestFilter { //runs once per reques
         final String authHeader = request.getHeader("Authorization");
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            System.out.println("No JWT token found in request headers for protected endpoint: " + requestPath);
             filterChain.doFilter(request, response); // no token, proceed as anonymous
             return;
         }
@@ -47,26 +44,16 @@ public class JwtAuthFilter extends OncePerRequestFilter { //runs once per reques
         String token = authHeader.substring(7); // remove "Bearer "
 
         try {
-            Jws<Claims> claimsJws = jwtUtil.validateToken(token);
-            Claims claims = claimsJws.getBody();
-
-            // Use subject as userId (you can parse if needed)
-            String userId = claims.getSubject();
-            if (userId == null) {
-                Object userIdClaim = claims.get("userId");
-                if (userIdClaim != null) {
-                    userId = userIdClaim.toString();
-                }
-            }
-            String role = claims.get("role", String.class);
-
-            System.out.println("JWT validated successfully. UserId: " + userId + ", Role: " + role);
+            // Parsed and HMAC-verified once per token lifetime; later requests hit the cache
+            JwtPrincipal principal = jwtUtil.verify(token);
 
-            if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
+            if (principal.getUserId() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + principal.getRole());
 
                 UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userId, null, Collections.singleton(authority));
+                        new UsernamePasswordAuthenticationToken(String.valueOf(principal.getUserId()), null,
+                                Collections.singleton(authority));
+                authToken.setDetails(principal);
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
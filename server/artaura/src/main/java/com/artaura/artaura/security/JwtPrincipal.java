@@ -0,0 +1,27 @@
+package com.artaura.artaura.security;
+
+/**
+ * The parts of a verified JWT the application actually uses. Cached per token
+ * by {@link com.artaura.artaura.util.JwtUtil} until the token expires.
+ */
+public class JwtPrincipal {
+    private final Long userId;
+    private final String role;
+    private final long expiresAtMillis;
+
+    public JwtPrincipal(Long userId, String role, long expiresAtMillis) {
+        this.userId = userId;
+        this.role = role;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public String getRole() { return role; }
+
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
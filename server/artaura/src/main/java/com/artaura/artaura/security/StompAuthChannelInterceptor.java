@@ -0,0 +1,120 @@
+package com.artaura.artaura.security;
+
+import com.artaura.artaura.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Collections;
+
+/**
+ * Authenticates STOMP sessions and authorizes their subscriptions.
+ *
+ * The /ws handshake stays public (SockJS cannot send an Authorization header),
+ * so the JWT is checked on the STOMP CONNECT frame instead: a client sends
+ * "Authorization: Bearer <token>" as a connect header and the session's user
+ * becomes "{role}:{userId}" (see {@link #userName}), which is what
+ * SimpMessagingTemplate.convertAndSendToUser addresses. A CONNECT without a
+ * token stays anonymous and can only subscribe to the public topics; an
+ * invalid token is refused. Clients may only SEND to the application's
+ * @MessageMapping handlers under /app; a SEND straight to a broker
+ * destination would be relayed to its subscribers as if the server had
+ * published it.
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    public static final String ROLE_ARTIST = "artist";
+    public static final String ROLE_DELIVERY_PARTNER = "delivery_partner";
+    public static final String ROLE_ADMIN = "admin";
+
+    // Carries request PII; only partners and admins may follow the board
+    private static final String DISPATCH_TOPIC_PREFIX = "/topic/dispatch/";
+    private static final String APPLICATION_PREFIX = "/app/";
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    /**
+     * The STOMP user name of an account; ids are only unique within a role
+     */
+    public static String userName(String role, Long userId) {
+        return role + ":" + userId;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            authenticate(accessor);
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            authorize(accessor.getUser(), accessor.getDestination());
+        } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (destination == null || !destination.startsWith(APPLICATION_PREFIX)) {
+                throw new MessagingException("Not allowed to send to " + destination);
+            }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return; // no token, connect as anonymous
+        }
+        try {
+            JwtPrincipal principal = jwtUtil.verify(authHeader.substring(7));
+            if (principal.getUserId() == null) {
+                throw new MessagingException("Token has no user id");
+            }
+            UsernamePasswordAuthenticationToken user = new UsernamePasswordAuthenticationToken(
+                    userName(principal.getRole(), principal.getUserId()), null,
+                    Collections.singleton(new SimpleGrantedAuthority("ROLE_" + principal.getRole())));
+            user.setDetails(principal);
+            accessor.setUser(user);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new MessagingException("Invalid or expired token");
+        }
+    }
+
+    private void authorize(Principal user, String destination) {
+        if (destination == null) {
+            throw new MessagingException("Subscription without a destination");
+        }
+        // The broker's per-session queues are only reachable through /user/..., which resolves to the caller's own
+        if (destination.startsWith("/queue/")) {
+            throw new MessagingException("Subscribe through /user" + destination);
+        }
+        if (destination.startsWith("/user/") && user == null) {
+            throw new MessagingException("Sign in to subscribe to " + destination);
+        }
+        if (destination.startsWith(DISPATCH_TOPIC_PREFIX)) {
+            String role = roleOf(user);
+            if (!ROLE_DELIVERY_PARTNER.equals(role) && !ROLE_ADMIN.equals(role)) {
+                throw new MessagingException("Not allowed to subscribe to " + destination);
+            }
+        }
+    }
+
+    private static String roleOf(Principal user) {
+        if (user instanceof UsernamePasswordAuthenticationToken token
+                && token.getDetails() instanceof JwtPrincipal principal) {
+            return principal.getRole();
+        }
+        return null;
+    }
+}
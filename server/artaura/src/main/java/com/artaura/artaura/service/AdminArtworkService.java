@@ -24,7 +24,7 @@ public class AdminArtworkService {
     public AdminArtworkResponseDTO getAllArtworks(AdminArtworkFilterDTO filter) {
         // Set default values if null
         if (filter.getPage() == null) filter.setPage(0);
-        if (filter.getSize() == null) filter.setSize(10);
+        if (filter.getSize() == null || filter.getSize() < 1) filter.setSize(10);
         if (filter.getSortBy() == null) filter.setSortBy("created_at");
         if (filter.getSortOrder() == null) filter.setSortOrder("DESC");
         
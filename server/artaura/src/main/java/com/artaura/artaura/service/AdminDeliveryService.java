@@ -3,6 +3,8 @@ package com.artaura.artaura.service;
 import com.artaura.artaura.dao.AdminDeliveryDAO;
 import com.artaura.artaura.dto.delivery.DeliveryRequestDTO;
 import com.artaura.artaura.dto.delivery.ArtistPickupAddressDTO;
+import com.artaura.artaura.dto.delivery.DeliveryRequestPageDTO;
+import com.artaura.artaura.exception.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -98,6 +100,24 @@ public class AdminDeliveryService {
         }
     }
 
+    /**
+     * Get one page of delivery requests across artwork orders and commissions, newest first
+     * @param filters Map containing filter criteria
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param pageSize number of requests per page
+     * @return the page with the cursor for the next one
+     */
+    public DeliveryRequestPageDTO getDeliveryRequestPage(Map<String, String> filters, String cursor, int pageSize) {
+        try {
+            return adminDeliveryDAO.getDeliveryRequestPage(filters, cursor, pageSize);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            System.out.println("❌ AdminDeliveryService: Error fetching delivery request page: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch delivery request page", e);
+        }
+    }
+
     /**
      * Get delivery statistics for admin dashboard
      * @return Map containing delivery statistics
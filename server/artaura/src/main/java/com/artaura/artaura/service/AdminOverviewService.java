@@ -1,6 +1,5 @@
 package com.artaura.artaura.service;
 
-import com.artaura.artaura.dao.AdminOverviewDAO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -9,15 +8,16 @@ import java.util.Map;
 @Service
 public class AdminOverviewService {
 
+    // Dashboard reads are served from the in-memory snapshot rather than live aggregates
     @Autowired
-    private AdminOverviewDAO adminOverviewDAO;
+    private AdminOverviewSnapshotService adminOverviewSnapshotService;
 
     /**
      * Get comprehensive overview statistics for admin dashboard
      * @return Map containing all overview statistics
      */
     public Map<String, Object> getOverviewStatistics() {
-        return adminOverviewDAO.getOverviewStatistics();
+        return adminOverviewSnapshotService.getOverviewStatistics();
     }
 
     /**
@@ -25,7 +25,7 @@ public class AdminOverviewService {
      * @return Map with user counts by type
      */
     public Map<String, Integer> getUserStatistics() {
-        return adminOverviewDAO.getUserStatistics();
+        return adminOverviewSnapshotService.getUserStatistics();
     }
 
     /**
@@ -33,7 +33,7 @@ public class AdminOverviewService {
      * @return Map with financial data
      */
     public Map<String, Object> getFinancialStatistics() {
-        return adminOverviewDAO.getFinancialStatistics();
+        return adminOverviewSnapshotService.getFinancialStatistics();
     }
 
     /**
@@ -41,6 +41,6 @@ public class AdminOverviewService {
      * @return Map with pending items count
      */
     public Map<String, Integer> getModerationStatistics() {
-        return adminOverviewDAO.getModerationStatistics();
+        return adminOverviewSnapshotService.getModerationStatistics();
     }
 }
\ No newline at end of file
@@ -0,0 +1,343 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.AdminOverviewDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory snapshot of the admin dashboard counters.
+ *
+ * The snapshot is loaded with the two combined aggregate queries in
+ * AdminOverviewDAO and then kept current by deltas from signup, payment and
+ * verification events, so reads never touch the database. Events whose effect
+ * cannot be computed locally (e.g. an unknown previous status) mark the
+ * snapshot dirty instead, and a scheduled reconciliation reloads it from the
+ * database: promptly when dirty, and at least every reconcile interval to
+ * correct any drift.
+ */
+@Service
+public class AdminOverviewSnapshotService {
+
+    @Autowired
+    private AdminOverviewDAO adminOverviewDAO;
+
+    @Value("${artaura.admin.overview.reconcile-interval-ms:600000}")
+    private long reconcileIntervalMs;
+
+    private final Object lock = new Object();
+    private final Object loadLock = new Object();
+
+    // Guarded by lock
+    private int totalArtists;
+    private int activeArtists;
+    private int pendingArtists;
+    private int totalBuyers;
+    private int totalModerators;
+    private int totalShops;
+    private int pendingShops;
+    private int totalTransactions;
+    private int pendingPayments;
+    private BigDecimal totalRevenue = BigDecimal.ZERO;
+    private BigDecimal platformFees = BigDecimal.ZERO;
+
+    private boolean loaded;
+    private boolean dirty;
+    private boolean reconciling;
+    private long reconciledAt;
+    private long lastDeltaAt;
+    private long deltasSinceReconcile;
+    private long deltasDuringReconcile;
+
+    public Map<String, Object> getOverviewStatistics() {
+        ensureLoaded();
+        synchronized (lock) {
+            Map<String, Object> stats = new HashMap<>();
+            stats.putAll(userStatistics());
+            stats.putAll(moderationStatistics());
+            stats.putAll(financialStatistics());
+            stats.put("snapshot", metadata());
+            return stats;
+        }
+    }
+
+    public Map<String, Integer> getUserStatistics() {
+        ensureLoaded();
+        synchronized (lock) {
+            return userStatistics();
+        }
+    }
+
+    public Map<String, Object> getFinancialStatistics() {
+        ensureLoaded();
+        synchronized (lock) {
+            return financialStatistics();
+        }
+    }
+
+    public Map<String, Integer> getModerationStatistics() {
+        ensureLoaded();
+        synchronized (lock) {
+            return moderationStatistics();
+        }
+    }
+
+    // ---- Events ----
+
+    /**
+     * A new artist, buyer, shop or moderator row was inserted with the given status
+     */
+    public void recordSignup(String userType, String status) {
+        synchronized (lock) {
+            if ("artist".equalsIgnoreCase(userType)) {
+                totalArtists++;
+                adjustArtistStatus(status, 1);
+            } else if ("buyer".equalsIgnoreCase(userType)) {
+                totalBuyers++;
+            } else if ("shop".equalsIgnoreCase(userType)) {
+                totalShops++;
+                adjustShopStatus(status, 1);
+            } else if ("moderator".equalsIgnoreCase(userType)) {
+                totalModerators++;
+            }
+            deltaApplied();
+        }
+    }
+
+    /**
+     * A user's status changed; pass null as fromStatus when it is not known
+     */
+    public void recordStatusChange(String userType, String fromStatus, String toStatus) {
+        if (fromStatus == null) {
+            markDirty();
+            return;
+        }
+        synchronized (lock) {
+            if ("artist".equalsIgnoreCase(userType)) {
+                adjustArtistStatus(fromStatus, -1);
+                adjustArtistStatus(toStatus, 1);
+            } else if ("shop".equalsIgnoreCase(userType)) {
+                adjustShopStatus(fromStatus, -1);
+                adjustShopStatus(toStatus, 1);
+            }
+            deltaApplied();
+        }
+    }
+
+    /**
+     * A payment row was inserted
+     */
+    public void recordPayment(String status, BigDecimal amount) {
+        synchronized (lock) {
+            totalTransactions++;
+            adjustPaymentStatus(status, amount, 1);
+            deltaApplied();
+        }
+    }
+
+    /**
+     * A payment moved between statuses; pass null as fromStatus when it is not known
+     */
+    public void recordPaymentStatusChange(BigDecimal amount, String fromStatus, String toStatus) {
+        if (fromStatus == null || amount == null) {
+            markDirty();
+            return;
+        }
+        synchronized (lock) {
+            adjustPaymentStatus(fromStatus, amount, -1);
+            adjustPaymentStatus(toStatus, amount, 1);
+            deltaApplied();
+        }
+    }
+
+    /**
+     * Status of a user row before a change, for recordStatusChange; null if unknown
+     */
+    public String currentUserStatus(String userType, Long userId) {
+        try {
+            return adminOverviewDAO.findUserStatus(userType, userId);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Status and amount of a payment before a change, for recordPaymentStatusChange; null if unknown
+     */
+    public Map<String, Object> currentPayment(Integer paymentId) {
+        try {
+            return adminOverviewDAO.findPaymentStatus(paymentId);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * The underlying tables changed in a way the snapshot cannot follow
+     * incrementally; reload on the next reconciliation tick
+     */
+    public void markDirty() {
+        synchronized (lock) {
+            dirty = true;
+            lastDeltaAt = System.currentTimeMillis();
+        }
+    }
+
+    // ---- Reconciliation ----
+
+    @Scheduled(fixedDelayString = "${artaura.admin.overview.refresh-check-ms:15000}")
+    public void reconcileIfNeeded() {
+        boolean due;
+        synchronized (lock) {
+            due = loaded && (dirty || System.currentTimeMillis() - reconciledAt >= reconcileIntervalMs);
+        }
+        if (due) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Reloads every counter from the database with the combined aggregate queries
+     */
+    public void reconcile() {
+        synchronized (lock) {
+            if (reconciling) {
+                return;
+            }
+            reconciling = true;
+            dirty = false;
+            deltasDuringReconcile = 0;
+        }
+
+        Map<String, Object> totals;
+        try {
+            totals = adminOverviewDAO.loadOverviewTotals();
+        } catch (Exception e) {
+            System.err.println("Admin overview reconciliation failed, keeping last snapshot: " + e.getMessage());
+            synchronized (lock) {
+                reconciling = false;
+                dirty = true;
+            }
+            return;
+        }
+
+        synchronized (lock) {
+            totalArtists = intValue(totals.get("totalArtists"));
+            activeArtists = intValue(totals.get("activeArtists"));
+            pendingArtists = intValue(totals.get("pendingArtists"));
+            totalBuyers = intValue(totals.get("totalBuyers"));
+            totalModerators = intValue(totals.get("totalModerators"));
+            totalShops = intValue(totals.get("totalShops"));
+            pendingShops = intValue(totals.get("pendingShops"));
+            totalTransactions = intValue(totals.get("totalTransactions"));
+            pendingPayments = intValue(totals.get("pendingPayments"));
+            totalRevenue = decimalValue(totals.get("totalRevenue"));
+            platformFees = decimalValue(totals.get("platformFees"));
+
+            // Events that raced with the queries may or may not be included; reload again soon
+            if (deltasDuringReconcile > 0) {
+                dirty = true;
+            }
+            loaded = true;
+            reconciling = false;
+            reconciledAt = System.currentTimeMillis();
+            deltasSinceReconcile = 0;
+        }
+    }
+
+    private void ensureLoaded() {
+        // First read loads synchronously; concurrent first readers wait for it
+        synchronized (loadLock) {
+            boolean needsLoad;
+            synchronized (lock) {
+                needsLoad = !loaded;
+            }
+            if (needsLoad) {
+                reconcile();
+            }
+        }
+    }
+
+    private static int intValue(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    private static BigDecimal decimalValue(Object value) {
+        return value instanceof BigDecimal ? (BigDecimal) value : BigDecimal.ZERO;
+    }
+
+    // ---- Helpers (call with lock held) ----
+
+    private void adjustArtistStatus(String status, int delta) {
+        if ("Active".equalsIgnoreCase(status)) {
+            activeArtists += delta;
+        } else if ("Pending".equalsIgnoreCase(status)) {
+            pendingArtists += delta;
+        }
+    }
+
+    private void adjustShopStatus(String status, int delta) {
+        if ("Pending".equalsIgnoreCase(status)) {
+            pendingShops += delta;
+        }
+    }
+
+    private void adjustPaymentStatus(String status, BigDecimal amount, int delta) {
+        if ("paid".equalsIgnoreCase(status) && amount != null) {
+            totalRevenue = delta > 0 ? totalRevenue.add(amount) : totalRevenue.subtract(amount);
+        } else if ("escrow".equalsIgnoreCase(status)) {
+            pendingPayments += delta;
+        }
+    }
+
+    private void deltaApplied() {
+        deltasSinceReconcile++;
+        if (reconciling) {
+            deltasDuringReconcile++;
+        }
+        lastDeltaAt = System.currentTimeMillis();
+    }
+
+    private Map<String, Integer> userStatistics() {
+        Map<String, Integer> userStats = new HashMap<>();
+        userStats.put("totalArtists", totalArtists);
+        userStats.put("activeArtists", activeArtists);
+        userStats.put("totalBuyers", totalBuyers);
+        userStats.put("totalModerators", totalModerators);
+        userStats.put("totalShops", totalShops);
+        userStats.put("totalUsers", totalArtists + totalBuyers + totalModerators + totalShops);
+        return userStats;
+    }
+
+    private Map<String, Integer> moderationStatistics() {
+        Map<String, Integer> moderationStats = new HashMap<>();
+        moderationStats.put("pendingVerifications", pendingArtists);
+        moderationStats.put("pendingShops", pendingShops);
+        return moderationStats;
+    }
+
+    private Map<String, Object> financialStatistics() {
+        Map<String, Object> financialStats = new HashMap<>();
+        financialStats.put("totalRevenue", totalRevenue);
+        financialStats.put("platformFees", platformFees);
+        financialStats.put("totalTransactions", totalTransactions);
+        financialStats.put("pendingPayments", pendingPayments);
+        return financialStats;
+    }
+
+    private Map<String, Object> metadata() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("reconciledAt", reconciledAt);
+        meta.put("ageMillis", now - reconciledAt);
+        meta.put("deltasSinceReconcile", deltasSinceReconcile);
+        meta.put("lastDeltaAt", lastDeltaAt > 0 ? lastDeltaAt : null);
+        meta.put("pendingReconcile", dirty);
+        return meta;
+    }
+}
@@ -8,7 +8,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -18,6 +20,9 @@ public class AdminPaymentServiceImpl implements AdminPaymentService {
     @Qualifier("adminPaymentDAOImpl")
     private AdminPaymentDAO adminPaymentDAO;
 
+    @Autowired
+    private AdminOverviewSnapshotService adminOverviewSnapshotService;
+
     @Override
     public AdminPaymentResponseDTO getAllPayments(AdminPaymentFilterDTO filter) {
         // Set default values if not provided
@@ -60,7 +65,15 @@ public class AdminPaymentServiceImpl implements AdminPaymentService {
         if (!isValidStatus(status)) {
             throw new IllegalArgumentException("Invalid payment status: " + status);
         }
-        return adminPaymentDAO.updatePaymentStatus(paymentId, status);
+        Map<String, Object> previous = adminOverviewSnapshotService.currentPayment(paymentId);
+        boolean updated = adminPaymentDAO.updatePaymentStatus(paymentId, status);
+        if (updated) {
+            adminOverviewSnapshotService.recordPaymentStatusChange(
+                    previous != null ? (BigDecimal) previous.get("amount") : null,
+                    previous != null ? (String) previous.get("status") : null,
+                    status);
+        }
+        return updated;
     }
 
     @Override
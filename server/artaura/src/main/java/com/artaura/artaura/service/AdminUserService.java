@@ -5,6 +5,12 @@ import com.artaura.artaura.dto.admin.AdminUserDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -14,6 +20,9 @@ public class AdminUserService {
     @Autowired
     private AdminUserDAO adminUserDAO;
 
+    @Autowired
+    private AdminOverviewSnapshotService adminOverviewSnapshotService;
+
     public List<AdminUserDTO> getAllUsers() {
         return adminUserDAO.getAllUsers();
     }
@@ -27,7 +36,12 @@ public class AdminUserService {
     }
 
     public boolean updateUserStatus(Long userId, String userType, String status) {
-        return adminUserDAO.updateUserStatus(userId, userType, status);
+        String previousStatus = adminOverviewSnapshotService.currentUserStatus(userType, userId);
+        boolean updated = adminUserDAO.updateUserStatus(userId, userType, status);
+        if (updated) {
+            adminOverviewSnapshotService.recordStatusChange(userType, previousStatus, status);
+        }
+        return updated;
     }
 
     public int getTotalUsersCount() {
@@ -57,4 +71,56 @@ public class AdminUserService {
     public int getFilteredUsersCount(Map<String, Object> filters) {
         return adminUserDAO.getFilteredUsersCount(filters);
     }
+
+    public Map<String, Integer> getFilteredUserCountsByRole(Map<String, Object> filters) {
+        return adminUserDAO.getFilteredUserCountsByRole(filters);
+    }
+
+    /**
+     * Writes every user matching the filters as CSV, row by row from a streamed result set
+     */
+    public void exportUsersCsv(Map<String, Object> filters, OutputStream out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("user_type,user_id,email,first_name,last_name,status,created_at,contact_no,specialization,total_artworks,total_sales");
+        writer.newLine();
+        try {
+            adminUserDAO.streamFilteredUsers(filters, user -> {
+                try {
+                    writer.write(String.join(",",
+                            csv(user.getUserType()),
+                            csv(user.getUserId()),
+                            csv(user.getEmail()),
+                            csv(user.getFirstName()),
+                            csv(user.getLastName()),
+                            csv(user.getStatus()),
+                            csv(user.getCreatedAt()),
+                            csv(user.getContactNo()),
+                            csv(user.getSpecialization()),
+                            csv(user.gettotal_artworks()),
+                            csv(user.getTotalSales())));
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Neutralise spreadsheet formulas in user-supplied text
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            text = "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
 }
@@ -14,6 +14,9 @@ public class AdminVerificationService {
     @Autowired
     private AdminVerificationDAO adminVerificationDAO;
 
+    @Autowired
+    private AdminOverviewSnapshotService adminOverviewSnapshotService;
+
     public List<VerificationRequestDTO> getAllVerificationRequests() {
         return adminVerificationDAO.getAllVerificationRequests();
     }
@@ -23,11 +26,33 @@ public class AdminVerificationService {
     }
 
     public boolean updateVerificationStatus(String requestId, String userType, String status) {
-        return adminVerificationDAO.updateVerificationStatus(requestId, userType, status);
+        String previousStatus = previousStatus(requestId, userType);
+        boolean updated = adminVerificationDAO.updateVerificationStatus(requestId, userType, status);
+        recordVerification(updated, userType, previousStatus, status);
+        return updated;
     }
 
     public boolean updateVerificationStatus(String requestId, String userType, String status, String rejectionReason) {
-        return adminVerificationDAO.updateVerificationStatus(requestId, userType, status, rejectionReason);
+        String previousStatus = previousStatus(requestId, userType);
+        boolean updated = adminVerificationDAO.updateVerificationStatus(requestId, userType, status, rejectionReason);
+        recordVerification(updated, userType, previousStatus, status);
+        return updated;
+    }
+
+    // Request IDs look like "artist-12" / "shop-7"; any non-artist type is a shop, as in the DAO
+    private String previousStatus(String requestId, String userType) {
+        try {
+            Long id = Long.parseLong(requestId.split("-")[1]);
+            return adminOverviewSnapshotService.currentUserStatus("artist".equals(userType) ? "artist" : "shop", id);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void recordVerification(boolean updated, String userType, String previousStatus, String status) {
+        if (updated) {
+            adminOverviewSnapshotService.recordStatusChange("artist".equals(userType) ? "artist" : "shop", previousStatus, status);
+        }
     }
 
     public int getTotalVerificationRequestsCount() {
@@ -16,6 +16,9 @@ public class ArtistNotificationService {
     @Autowired
     private ArtistNotificationRepository artistNotificationRepository;
 
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
     /**
      * Get all notifications for an artist
      */
@@ -34,7 +37,7 @@ public class ArtistNotificationService {
      * Get count of unread notifications for an artist
      */
     public Long getUnreadNotificationCount(Long artistId) {
-        return artistNotificationRepository.countUnreadByArtistId(artistId);
+        return notificationCounterService.getArtistUnreadCount(artistId);
     }
 
     /**
@@ -42,7 +45,9 @@ public class ArtistNotificationService {
      */
     public ArtistNotification createNotification(Long artistId, String notificationBody) {
         ArtistNotification notification = new ArtistNotification(artistId, notificationBody);
-        return artistNotificationRepository.save(notification);
+        ArtistNotification saved = artistNotificationRepository.save(notification);
+        notificationCounterService.artistNotificationsAdded(artistId, 1);
+        return saved;
     }
 
     /**
@@ -56,9 +61,13 @@ public class ArtistNotificationService {
 
             // Verify the notification belongs to the artist
             if (notification.getArtistId().equals(artistId)) {
+                boolean wasUnread = !Boolean.TRUE.equals(notification.getIsRead());
                 notification.setIsRead(true);
                 notification.setUpdatedAt(LocalDateTime.now());
                 artistNotificationRepository.save(notification);
+                if (wasUnread) {
+                    notificationCounterService.artistNotificationRead(artistId);
+                }
                 return true;
             }
         }
@@ -79,6 +88,7 @@ public class ArtistNotificationService {
         }
 
         artistNotificationRepository.saveAll(unreadNotifications);
+        notificationCounterService.artistNotificationsAllRead(artistId);
     }
 
     /**
@@ -93,6 +103,9 @@ public class ArtistNotificationService {
             // Verify the notification belongs to the artist
             if (notification.getArtistId().equals(artistId)) {
                 artistNotificationRepository.delete(notification);
+                if (!Boolean.TRUE.equals(notification.getIsRead())) {
+                    notificationCounterService.artistNotificationRead(artistId);
+                }
                 return true;
             }
         }
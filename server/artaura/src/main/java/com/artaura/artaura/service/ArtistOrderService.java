@@ -17,34 +17,30 @@ public class ArtistOrderService {
     private ArtistOrderDAO artistOrderDAO;
 
     @Autowired
-    private ProductService productService;
+    private ShopAnalyticsRollupService shopAnalyticsRollupService;
 
     /**
-     * Create a new order when artist buys a product
+     * Create a new order when artist buys a product.
+     * Stock is taken when the order is placed and returned if it is cancelled.
      */
     @Transactional
     public Long createOrder(CreateOrderRequestDTO request) {
-        // Validate product exists and has stock
-        var product = productService.getProductById(request.getProductId());
-
-        if (product == null) {
-            throw new RuntimeException("Product not found");
-        }
-
-        // Check stock availability
-        if (!artistOrderDAO.checkProductStock(request.getProductId(), request.getQuantity())) {
-            throw new RuntimeException("Insufficient stock. Available: " + product.getStock());
+        if (request.getQuantity() == null || request.getQuantity() <= 0) {
+            throw new RuntimeException("Quantity must be at least 1");
         }
 
-        // Calculate total
-        Double total = product.getPrice() * request.getQuantity();
-
-        // Create order
-        return artistOrderDAO.createOrder(
+        Long orderId = artistOrderDAO.reserveAndCreateOrder(
                 request.getArtistId(),
                 request.getProductId(),
-                request.getQuantity(),
-                total);
+                request.getQuantity());
+        if (orderId == null) {
+            Integer stock = artistOrderDAO.getProductStock(request.getProductId());
+            if (stock == null) {
+                throw new RuntimeException("Product not found");
+            }
+            throw new RuntimeException("Insufficient stock. Available: " + stock);
+        }
+        return orderId;
     }
 
     /**
@@ -63,7 +59,7 @@ public class ArtistOrderService {
 
     /**
      * Approve order (shop accepts the order)
-     * This will trigger the database trigger to decrease stock
+     * The stock was already reserved when the order was placed
      */
     @Transactional
     public void approveOrder(Long orderId) {
@@ -73,23 +69,16 @@ public class ArtistOrderService {
             throw new RuntimeException("Order not found");
         }
 
-        if (!"pending".equals(order.getStatus())) {
+        if (!artistOrderDAO.transitionOrderStatus(orderId, "pending", "approved")) {
             throw new RuntimeException("Only pending orders can be approved");
         }
-
-        // Check stock one more time before approving
-        if (!artistOrderDAO.checkProductStock(order.getProductId(), order.getQuantity())) {
-            throw new RuntimeException("Insufficient stock to approve order");
-        }
-
-        // Update status to approved
-        // The database trigger will automatically decrease stock
-        artistOrderDAO.updateOrderStatus(orderId, "approved");
+        System.out.println("✅ Order " + orderId + " status updated to: approved");
+        shopAnalyticsRollupService.markOrderChanged(orderId);
     }
 
     /**
      * Cancel order
-     * If order was previously approved, the trigger will restore stock
+     * Returns the reserved quantity to the product's stock
      */
     @Transactional
     public void cancelOrder(Long orderId) {
@@ -99,9 +88,19 @@ public class ArtistOrderService {
             throw new RuntimeException("Order not found");
         }
 
-        // Update status to cancelled
-        // If it was approved, the database trigger will restore stock
-        artistOrderDAO.updateOrderStatus(orderId, "cancelled");
+        if (!artistOrderDAO.cancelOrderAndRestoreStock(orderId)) {
+            // Re-read: the status may have changed since the check above
+            ArtistOrderDTO current = artistOrderDAO.getOrderById(orderId);
+            if (current == null) {
+                throw new RuntimeException("Order not found");
+            }
+            if ("cancelled".equalsIgnoreCase(current.getStatus())) {
+                throw new RuntimeException("Order is already cancelled");
+            }
+            throw new RuntimeException("Only pending or approved orders can be cancelled (status: " + current.getStatus() + ")");
+        }
+        System.out.println("✅ Order " + orderId + " status updated to: cancelled");
+        shopAnalyticsRollupService.markOrderChanged(orderId);
     }
 
     /**
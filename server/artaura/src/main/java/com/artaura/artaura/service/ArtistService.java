@@ -23,9 +23,15 @@ public class ArtistService {
     @Autowired
     private PasswordEncoderUtil encoder;
 
+    @Autowired
+    private UserIdentityService userIdentityService;
+
     @Autowired
     private ImageUploadService imageUploadService;
 
+    @Autowired
+    private AdminOverviewSnapshotService adminOverviewSnapshotService;
+
     public void register(ArtistSignupRequest req, MultipartFile nicImageFile) {
         if (artistDAO.emailExists(req.getEmail())) {
             throw new CustomException("Email is already in use", HttpStatus.CONFLICT);
@@ -41,11 +47,13 @@ public class ArtistService {
             }
 
             // Save NIC image to client/public/nic
-            String nicImageUrl = imageUploadService.saveImage(nicImageFile, "nic", null);
+            String nicImageUrl = imageUploadService.saveImage(nicImageFile);
 
             // Save artist with NIC image URL
             String hashedPassword = encoder.encode(req.getPassword());
             artistDAO.save(req, hashedPassword, nicImageUrl);
+            userIdentityService.evict(req.getEmail());
+            adminOverviewSnapshotService.recordSignup("artist", "Pending");
         } catch (IOException e) {
             throw new CustomException("Failed to save NIC image: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -88,7 +96,7 @@ public class ArtistService {
         }
 
         // Save new image
-        String newImageUrl = imageUploadService.saveImage(imageFile, "avatar", artistId);
+        String newImageUrl = imageUploadService.saveImage(imageFile);
 
         // Update database
         artistDAO.updateAvatarUrl(artistId, newImageUrl);
@@ -119,7 +127,7 @@ public class ArtistService {
         }
 
         // Save new image
-        String newImageUrl = imageUploadService.saveImage(imageFile, "cover", artistId);
+        String newImageUrl = imageUploadService.saveImage(imageFile);
 
         // Update database
         artistDAO.updateCoverImageUrl(artistId, newImageUrl);
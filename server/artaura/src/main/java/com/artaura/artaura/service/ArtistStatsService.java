@@ -0,0 +1,96 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.config.SchedulingConfig;
+import com.artaura.artaura.dao.ArtistStatsDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the artist_stats counters read by the admin user directory.
+ *
+ * Artwork writes recompute the owning artist's row once their transaction has
+ * committed. The recompute scans all of the artist's artworks, and doing that
+ * inside the writer's transaction would share-lock those rows and deadlock
+ * against concurrent checkouts. A failed recompute is only logged, because the
+ * counters are derived data and the artwork write has already committed. The
+ * daily reconciliation rebuilds every row to repair any such miss.
+ *
+ * Checkout is the exception: salesRecorded adds the sold counts as deltas in
+ * the order's own transaction, touching only the artists' stats rows, and lets
+ * any error roll the order back.
+ */
+@Service
+public class ArtistStatsService {
+
+    @Autowired
+    private ArtistStatsDAO artistStatsDAO;
+
+    public void artistArtworksChanged(Long artistId) {
+        if (artistId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            try {
+                artistStatsDAO.refreshArtist(artistId);
+            } catch (Exception e) {
+                System.err.println("Failed to refresh artist stats for artist " + artistId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    public void artworkChanged(Long artworkId) {
+        if (artworkId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            try {
+                artistStatsDAO.refreshArtistOfArtwork(artworkId);
+            } catch (Exception e) {
+                System.err.println("Failed to refresh artist stats for artwork " + artworkId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Artworks were sold: adds each artist's count to total_sales. Must run in the
+     * sale's transaction; errors propagate so the sale rolls back with them.
+     */
+    public void salesRecorded(Map<Long, Integer> soldByArtist) {
+        if (soldByArtist == null || soldByArtist.isEmpty()) {
+            return;
+        }
+        // Ascending artist order, so two checkouts touching the same artists lock their rows in the same order
+        artistStatsDAO.addSales(new TreeMap<>(soldByArtist));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${artaura.admin.artist-stats.reconcile-ms:86400000}",
+            fixedDelayString = "${artaura.admin.artist-stats.reconcile-ms:86400000}",
+            scheduler = SchedulingConfig.BACKGROUND_SCHEDULER)
+    public void reconcile() {
+        try {
+            int written = artistStatsDAO.rebuildAll();
+            System.out.println("Artist stats reconciliation: " + written + " row(s) written");
+        } catch (Exception e) {
+            System.err.println("Artist stats reconciliation failed: " + e.getMessage());
+        }
+    }
+}
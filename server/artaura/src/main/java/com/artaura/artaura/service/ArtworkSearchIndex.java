@@ -0,0 +1,810 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.ArtworkIndexDAO;
+import com.artaura.artaura.dto.artwork.ArtworkIndexRowDTO;
+import com.artaura.artaura.dto.artwork.ArtworkSearchQueryDTO;
+import com.artaura.artaura.dto.artwork.ArtworkSearchResultDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over artworks, used by the admin artwork browser
+ * and the buyer catalogue search instead of LIKE '%term%' scans.
+ *
+ * Title, tags, description, medium, category and artist name are tokenised
+ * into one term dictionary. Each posting carries a per-document weight summed
+ * from field boosts and term frequencies. Query terms are ANDed, and each one
+ * also matches as a word prefix so partial words work while typing. Ranking
+ * is BM25-style (idf times saturated weight). Only the requested window is
+ * kept in a bounded heap, and category / medium / status facets are counted
+ * over every match. Filter and sort fields live in parallel per-document
+ * arrays, so a query never touches the database; callers load the rows of the
+ * returned ids by primary key.
+ *
+ * Documents are append-only: a change tombstones the old document and appends
+ * a new one, and a background rebuild drops the tombstones once they make up a
+ * quarter of the index. Writes through ArtWorkDAOImpl, AdminArtworkDAOImpl and
+ * OrderDaoImpl refresh the affected artwork after commit. A periodic
+ * updated_at sync picks up any other writer, and a periodic full rebuild also
+ * catches deletes made outside the DAOs.
+ */
+@Service
+public class ArtworkSearchIndex {
+
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_MEDIUM = "medium";
+    public static final String FACET_STATUS = "status";
+
+    private static final float TITLE_BOOST = 3.0f;
+    private static final float ARTIST_BOOST = 2.5f;
+    private static final float TAGS_BOOST = 2.0f;
+    private static final float CATEGORY_BOOST = 1.5f;
+    private static final float MEDIUM_BOOST = 1.5f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+    // BM25 term-frequency saturation
+    private static final float K1 = 1.2f;
+    // Prefix-only matches rank below whole-word matches
+    private static final float PREFIX_WEIGHT = 0.5f;
+
+    // Artist-name terms are also indexed under this marker for the artistName filter;
+    // tokens are letters and digits only, so it can never collide with a plain term
+    private static final String ARTIST_FIELD = "@artist:";
+
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int MAX_DESCRIPTION_TOKENS = 200;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_SCAN = 5000;
+    private static final int MAX_PREFIX_EXPANSION = 32;
+
+    private static final int MAX_WINDOW = 10000;
+    private static final int MAX_LIMIT = 200;
+    private static final int FACET_LIMIT = 20;
+
+    private static final int COMPACT_MIN_DOCS = 10000;
+    private static final double COMPACT_DELETED_RATIO = 0.25;
+
+    private static final Set<String> SORT_FIELDS = Set.of("relevance", "created_at", "price", "year");
+
+    private static final int SYNC_BATCH_SIZE = 500;
+    private static final int MAX_SYNC_BATCHES = 20;
+    // Rows stamped just before the last sync may commit after it
+    private static final long SYNC_OVERLAP_MS = 2000;
+
+    @Autowired
+    private ArtworkIndexDAO artworkIndexDAO;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Segment segment = new Segment(1024);
+    private boolean rebuilding;
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private Timestamp syncedThrough;
+
+    private volatile boolean ready;
+
+    /**
+     * False until the first full build has finished; callers fall back to SQL until then
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Sort fields the index can order by; anything else has to be served from SQL
+     */
+    public static boolean supportsSort(String sortBy) {
+        return sortBy == null || sortBy.isEmpty() || SORT_FIELDS.contains(sortBy.toLowerCase(Locale.ROOT));
+    }
+
+    public ArtworkSearchResultDTO search(ArtworkSearchQueryDTO query) {
+        List<String> textTerms = tokenize(query.getText(), Integer.MAX_VALUE);
+        List<String> artistTerms = tokenize(query.getArtistName(), Integer.MAX_VALUE);
+
+        lock.readLock().lock();
+        try {
+            Segment s = segment;
+            Collector collector = new Collector(s, query, !textTerms.isEmpty());
+
+            if (textTerms.isEmpty() && artistTerms.isEmpty()) {
+                for (int doc = s.live.nextSetBit(0); doc >= 0; doc = s.live.nextSetBit(doc + 1)) {
+                    collector.collect(doc, 0f);
+                }
+                return collector.result();
+            }
+
+            Match match = null;
+            for (String term : textTerms) {
+                match = intersect(match, termMatch(s, "", term));
+                if (match.size == 0) {
+                    return collector.result();
+                }
+            }
+            for (String term : artistTerms) {
+                match = intersect(match, termMatch(s, ARTIST_FIELD, term));
+                if (match.size == 0) {
+                    return collector.result();
+                }
+            }
+            for (int i = 0; i < match.size; i++) {
+                collector.collect(match.docs[i], match.scores[i]);
+            }
+            return collector.result();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- Incremental updates ----
+
+    /**
+     * An artwork row was inserted or updated; re-reads it after the surrounding transaction commits
+     */
+    public void artworkChanged(Long artworkId) {
+        afterCommit(() -> refresh(artworkId));
+    }
+
+    /**
+     * An artwork row was deleted
+     */
+    public void artworkRemoved(Long artworkId) {
+        afterCommit(() -> apply(artworkId, null, false));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void refresh(Long artworkId) {
+        if (artworkId == null) {
+            return;
+        }
+        try {
+            Optional<ArtworkIndexRowDTO> row = artworkIndexDAO.findById(artworkId);
+            apply(artworkId, row.orElse(null), false);
+        } catch (Exception e) {
+            // The periodic sync or rebuild will correct the index
+            System.err.println("Artwork index: failed to refresh artwork " + artworkId + ": " + e.getMessage());
+        }
+    }
+
+    private void apply(Long artworkId, ArtworkIndexRowDTO row, boolean skipIfUnchanged) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(artworkId);
+            }
+            if (row == null) {
+                segment.remove(artworkId);
+            } else if (!skipIfUnchanged || !segment.isCurrent(row)) {
+                segment.add(row);
+            }
+            compact = !rebuilding
+                    && segment.maxDoc >= COMPACT_MIN_DOCS
+                    && segment.maxDoc - segment.liveCount > segment.maxDoc * COMPACT_DELETED_RATIO;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            rebuildInBackground();
+        }
+    }
+
+    // ---- Full builds and sync ----
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildInBackground();
+    }
+
+    @Scheduled(initialDelayString = "${artaura.search.rebuild-interval-ms:21600000}",
+            fixedDelayString = "${artaura.search.rebuild-interval-ms:21600000}")
+    public void scheduledRebuild() {
+        rebuildInBackground();
+    }
+
+    private void rebuildInBackground() {
+        Thread thread = new Thread(this::rebuild, "artwork-index-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Builds a fresh index from the artworks table and swaps it in. Searches keep
+     * using the old index meanwhile; changes made during the build are replayed.
+     */
+    public void rebuild() {
+        int expected;
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                return;
+            }
+            rebuilding = true;
+            changedDuringRebuild.clear();
+            expected = segment.liveCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.currentTimeMillis();
+        Segment fresh = new Segment(Math.max(1024, expected + expected / 8));
+        Timestamp syncFrom;
+        try {
+            // Anything modified once the scan starts is stamped at or after this
+            syncFrom = artworkIndexDAO.findMaxUpdatedAt();
+            artworkIndexDAO.streamAll(fresh::add);
+        } catch (Exception e) {
+            System.err.println("Artwork index: rebuild failed, keeping current index: " + e.getMessage());
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        List<Long> replay;
+        lock.writeLock().lock();
+        try {
+            segment = fresh;
+            replay = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+            rebuilding = false;
+            if (syncedThrough == null || (syncFrom != null && syncFrom.before(syncedThrough))) {
+                syncedThrough = syncFrom;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (Long artworkId : replay) {
+            refresh(artworkId);
+        }
+        ready = true;
+
+        System.out.println("Artwork index: indexed " + fresh.liveCount + " artworks, " + fresh.terms.size()
+                + " terms in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    /**
+     * Applies rows whose updated_at moved since the last sync, covering writers that do not notify the index
+     */
+    @Scheduled(fixedDelayString = "${artaura.search.sync-interval-ms:30000}")
+    public void syncRecentChanges() {
+        if (!ready) {
+            return;
+        }
+        Timestamp since;
+        lock.readLock().lock();
+        try {
+            since = syncedThrough;
+        } finally {
+            lock.readLock().unlock();
+        }
+        since = since == null ? new Timestamp(0) : new Timestamp(since.getTime() - SYNC_OVERLAP_MS);
+
+        try {
+            Timestamp newest = null;
+            for (int batch = 0; batch < MAX_SYNC_BATCHES; batch++) {
+                List<ArtworkIndexRowDTO> rows = artworkIndexDAO.findUpdatedSince(since, SYNC_BATCH_SIZE);
+                for (ArtworkIndexRowDTO row : rows) {
+                    apply(row.getArtworkId(), row, true);
+                    newest = row.getUpdatedAt();
+                }
+                // A full batch sharing one timestamp cannot advance; the next run retries from it
+                if (rows.size() < SYNC_BATCH_SIZE || newest == null || !newest.after(since)) {
+                    break;
+                }
+                since = newest;
+            }
+            if (newest != null) {
+                lock.writeLock().lock();
+                try {
+                    if (syncedThrough == null || newest.after(syncedThrough)) {
+                        syncedThrough = newest;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Artwork index: sync failed: " + e.getMessage());
+        }
+    }
+
+    // ---- Query evaluation (call with read lock held) ----
+
+    private Match termMatch(Segment s, String field, String term) {
+        String key = field + term;
+        List<Postings> lists = new ArrayList<>();
+        List<Float> factors = new ArrayList<>();
+
+        Postings exact = s.terms.get(key);
+        if (exact != null) {
+            lists.add(exact);
+            factors.add(idf(s, exact.size));
+        }
+
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            // Expand to the most frequent terms starting with the query term
+            PriorityQueue<Postings> widest = new PriorityQueue<>(Comparator.comparingInt((Postings p) -> p.size));
+            int scanned = 0;
+            for (Postings postings : s.terms.subMap(key, false, key + Character.MAX_VALUE, false).values()) {
+                widest.offer(postings);
+                if (widest.size() > MAX_PREFIX_EXPANSION) {
+                    widest.poll();
+                }
+                if (++scanned >= MAX_PREFIX_SCAN) {
+                    break;
+                }
+            }
+            for (Postings postings : widest) {
+                lists.add(postings);
+                factors.add(idf(s, postings.size) * PREFIX_WEIGHT);
+            }
+        }
+
+        Match match = new Match(0);
+        for (int i = 0; i < lists.size(); i++) {
+            match = union(match, lists.get(i), factors.get(i));
+        }
+        return match;
+    }
+
+    private static float idf(Segment s, int docFreq) {
+        int docs = Math.max(1, s.liveCount);
+        return (float) Math.log(1 + (docs - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    private static float saturate(float weight) {
+        return weight * (K1 + 1) / (weight + K1);
+    }
+
+    /**
+     * Merge a posting list into a match set; a document matched by several expansions keeps its best score
+     */
+    private static Match union(Match match, Postings postings, float factor) {
+        Match merged = new Match(match.size + postings.size);
+        int i = 0;
+        int j = 0;
+        while (i < match.size || j < postings.size) {
+            if (j >= postings.size || (i < match.size && match.docs[i] < postings.docs[j])) {
+                merged.append(match.docs[i], match.scores[i]);
+                i++;
+            } else {
+                float score = factor * saturate(postings.weights[j]);
+                if (i < match.size && match.docs[i] == postings.docs[j]) {
+                    score = Math.max(score, match.scores[i]);
+                    i++;
+                }
+                merged.append(postings.docs[j], score);
+                j++;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Documents in both sets with summed scores; walks the smaller set and binary-searches the larger
+     */
+    private static Match intersect(Match a, Match b) {
+        if (a == null) {
+            return b;
+        }
+        Match small = a.size <= b.size ? a : b;
+        Match large = small == a ? b : a;
+        Match result = new Match(small.size);
+        int from = 0;
+        for (int i = 0; i < small.size && from < large.size; i++) {
+            int found = Arrays.binarySearch(large.docs, from, large.size, small.docs[i]);
+            if (found >= 0) {
+                result.append(small.docs[i], small.scores[i] + large.scores[found]);
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return result;
+    }
+
+    static List<String> tokenize(String text, int maxTokens) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length() && tokens.size() < maxTokens; i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // ---- Index structures ----
+
+    private static final class Postings {
+        int[] docs = new int[2];
+        float[] weights = new float[2];
+        int size;
+
+        // Documents are numbered in insertion order, so appends keep docs ascending
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    private static final class Match {
+        int[] docs;
+        float[] scores;
+        int size;
+
+        Match(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void append(int doc, float score) {
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+    }
+
+    /**
+     * Case-insensitive value dictionary for a facet field; labels keep the first spelling seen
+     */
+    private static final class Ordinals {
+        static final int NONE = -1;
+        static final int UNKNOWN = -2;
+
+        final Map<String, Integer> byKey = new HashMap<>();
+        final List<String> labels = new ArrayList<>();
+
+        int ordinalOf(String value) {
+            if (value == null || value.isBlank()) {
+                return NONE;
+            }
+            String label = value.trim();
+            return byKey.computeIfAbsent(label.toLowerCase(Locale.ROOT), key -> {
+                labels.add(label);
+                return labels.size() - 1;
+            });
+        }
+
+        int lookup(String value) {
+            Integer ordinal = byKey.get(value.trim().toLowerCase(Locale.ROOT));
+            return ordinal != null ? ordinal : UNKNOWN;
+        }
+    }
+
+    private static final class Segment {
+        final TreeMap<String, Postings> terms = new TreeMap<>();
+        final Map<Long, Integer> docByArtwork = new HashMap<>();
+        final Ordinals categories = new Ordinals();
+        final Ordinals mediums = new Ordinals();
+        final Ordinals statuses = new Ordinals();
+        final BitSet live = new BitSet();
+        final BitSet featured = new BitSet();
+
+        long[] artworkIds;
+        long[] artistIds;
+        int[] categoryOrds;
+        int[] mediumOrds;
+        int[] statusOrds;
+        double[] prices;
+        int[] years;
+        long[] createdAt;
+        long[] updatedAt;
+        int maxDoc;
+        int liveCount;
+
+        Segment(int capacity) {
+            artworkIds = new long[capacity];
+            artistIds = new long[capacity];
+            categoryOrds = new int[capacity];
+            mediumOrds = new int[capacity];
+            statusOrds = new int[capacity];
+            prices = new double[capacity];
+            years = new int[capacity];
+            createdAt = new long[capacity];
+            updatedAt = new long[capacity];
+        }
+
+        boolean isCurrent(ArtworkIndexRowDTO row) {
+            Integer doc = docByArtwork.get(row.getArtworkId());
+            return doc != null && row.getUpdatedAt() != null && updatedAt[doc] == row.getUpdatedAt().getTime();
+        }
+
+        void add(ArtworkIndexRowDTO row) {
+            remove(row.getArtworkId());
+            if (maxDoc == artworkIds.length) {
+                grow(maxDoc + (maxDoc >> 1) + 1);
+            }
+            int doc = maxDoc++;
+            artworkIds[doc] = row.getArtworkId();
+            artistIds[doc] = row.getArtistId() != null ? row.getArtistId() : 0L;
+            categoryOrds[doc] = categories.ordinalOf(row.getCategory());
+            mediumOrds[doc] = mediums.ordinalOf(row.getMedium());
+            statusOrds[doc] = statuses.ordinalOf(row.getStatus());
+            prices[doc] = row.getPrice() != null ? row.getPrice() : Double.NaN;
+            years[doc] = row.getYear() != null ? row.getYear() : Integer.MIN_VALUE;
+            createdAt[doc] = row.getCreatedAt() != null ? row.getCreatedAt().getTime() : 0L;
+            updatedAt[doc] = row.getUpdatedAt() != null ? row.getUpdatedAt().getTime() : 0L;
+            featured.set(doc, row.isFeatured());
+            live.set(doc);
+            liveCount++;
+            docByArtwork.put(row.getArtworkId(), doc);
+
+            Map<String, Float> weights = new HashMap<>();
+            addField(weights, "", row.getTitle(), TITLE_BOOST, Integer.MAX_VALUE);
+            addField(weights, "", row.getTags(), TAGS_BOOST, Integer.MAX_VALUE);
+            addField(weights, "", row.getDescription(), DESCRIPTION_BOOST, MAX_DESCRIPTION_TOKENS);
+            addField(weights, "", row.getMedium(), MEDIUM_BOOST, Integer.MAX_VALUE);
+            addField(weights, "", row.getCategory(), CATEGORY_BOOST, Integer.MAX_VALUE);
+            addField(weights, "", row.getArtistName(), ARTIST_BOOST, Integer.MAX_VALUE);
+            addField(weights, ARTIST_FIELD, row.getArtistName(), 1.0f, Integer.MAX_VALUE);
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), key -> new Postings()).add(doc, entry.getValue());
+            }
+        }
+
+        void remove(Long artworkId) {
+            Integer doc = docByArtwork.remove(artworkId);
+            if (doc != null) {
+                live.clear(doc);
+                liveCount--;
+            }
+        }
+
+        private static void addField(Map<String, Float> weights, String field, String text, float boost, int maxTokens) {
+            for (String token : tokenize(text, maxTokens)) {
+                weights.merge(field + token, boost, Float::sum);
+            }
+        }
+
+        private void grow(int capacity) {
+            artworkIds = Arrays.copyOf(artworkIds, capacity);
+            artistIds = Arrays.copyOf(artistIds, capacity);
+            categoryOrds = Arrays.copyOf(categoryOrds, capacity);
+            mediumOrds = Arrays.copyOf(mediumOrds, capacity);
+            statusOrds = Arrays.copyOf(statusOrds, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            years = Arrays.copyOf(years, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+        }
+    }
+
+    /**
+     * Applies filters to candidate documents, counts facets and keeps the top window
+     */
+    private static final class Collector {
+        private final Segment s;
+        private final ArtworkSearchQueryDTO query;
+        private final int category;
+        private final int medium;
+        private final int status;
+        private final boolean impossible;
+        private final int offset;
+        private final int window;
+        private final Comparator<Hit> ranking;
+        private final PriorityQueue<Hit> worstFirst;
+        private final int[] categoryCounts;
+        private final int[] mediumCounts;
+        private final int[] statusCounts;
+        private long totalHits;
+
+        Collector(Segment s, ArtworkSearchQueryDTO query, boolean scored) {
+            this.s = s;
+            this.query = query;
+            this.category = filterOrdinal(s.categories, query.getCategory());
+            this.medium = filterOrdinal(s.mediums, query.getMedium());
+            this.status = filterOrdinal(s.statuses, query.getStatus());
+            this.impossible = category == Ordinals.UNKNOWN || medium == Ordinals.UNKNOWN || status == Ordinals.UNKNOWN;
+
+            int limit = Math.max(0, Math.min(query.getLimit(), MAX_LIMIT));
+            this.offset = Math.max(0, query.getOffset());
+            // Deep pages beyond MAX_WINDOW are not served; narrow the query instead
+            this.window = limit == 0 || offset >= MAX_WINDOW ? 0 : Math.min(offset + limit, MAX_WINDOW);
+            this.ranking = ranking(s, query, scored);
+            this.worstFirst = new PriorityQueue<>(Math.max(1, window), ranking.reversed());
+            this.categoryCounts = new int[s.categories.labels.size()];
+            this.mediumCounts = new int[s.mediums.labels.size()];
+            this.statusCounts = new int[s.statuses.labels.size()];
+        }
+
+        private static int filterOrdinal(Ordinals ordinals, String value) {
+            return value == null || value.isBlank() ? Ordinals.NONE : ordinals.lookup(value);
+        }
+
+        void collect(int doc, float score) {
+            if (impossible || !s.live.get(doc) || !accepts(doc)) {
+                return;
+            }
+            totalHits++;
+            if (s.categoryOrds[doc] >= 0) {
+                categoryCounts[s.categoryOrds[doc]]++;
+            }
+            if (s.mediumOrds[doc] >= 0) {
+                mediumCounts[s.mediumOrds[doc]]++;
+            }
+            if (s.statusOrds[doc] >= 0) {
+                statusCounts[s.statusOrds[doc]]++;
+            }
+            if (window == 0) {
+                return;
+            }
+            Hit hit = new Hit(doc, score);
+            if (worstFirst.size() < window) {
+                worstFirst.offer(hit);
+            } else if (ranking.compare(hit, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.offer(hit);
+            }
+        }
+
+        private boolean accepts(int doc) {
+            if (category >= 0 && s.categoryOrds[doc] != category) {
+                return false;
+            }
+            if (medium >= 0 && s.mediumOrds[doc] != medium) {
+                return false;
+            }
+            if (status >= 0 && s.statusOrds[doc] != status) {
+                return false;
+            }
+            if (query.getArtistId() != null && s.artistIds[doc] != query.getArtistId()) {
+                return false;
+            }
+            if (query.getFeatured() != null && s.featured.get(doc) != query.getFeatured()) {
+                return false;
+            }
+            double price = s.prices[doc];
+            if (query.getMinPrice() != null && !(price >= query.getMinPrice())) {
+                return false;
+            }
+            if (query.getMaxPrice() != null && !(price <= query.getMaxPrice())) {
+                return false;
+            }
+            int year = s.years[doc];
+            if (query.getMinYear() != null && (year == Integer.MIN_VALUE || year < query.getMinYear())) {
+                return false;
+            }
+            return query.getMaxYear() == null || (year != Integer.MIN_VALUE && year <= query.getMaxYear());
+        }
+
+        ArtworkSearchResultDTO result() {
+            List<Hit> hits = new ArrayList<>(worstFirst);
+            hits.sort(ranking);
+            List<Long> artworkIds = new ArrayList<>();
+            for (int i = offset; i < hits.size(); i++) {
+                artworkIds.add(s.artworkIds[hits.get(i).doc]);
+            }
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            facets.put(FACET_CATEGORY, topValues(s.categories, categoryCounts));
+            facets.put(FACET_MEDIUM, topValues(s.mediums, mediumCounts));
+            facets.put(FACET_STATUS, topValues(s.statuses, statusCounts));
+
+            ArtworkSearchResultDTO result = new ArtworkSearchResultDTO();
+            result.setArtworkIds(artworkIds);
+            result.setTotalHits(totalHits);
+            result.setFacets(facets);
+            return result;
+        }
+
+        private static Map<String, Integer> topValues(Ordinals ordinals, int[] counts) {
+            List<Integer> ordinalsWithHits = new ArrayList<>();
+            for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+                if (counts[ordinal] > 0) {
+                    ordinalsWithHits.add(ordinal);
+                }
+            }
+            ordinalsWithHits.sort((a, b) -> Integer.compare(counts[b], counts[a]));
+            Map<String, Integer> values = new LinkedHashMap<>();
+            for (int i = 0; i < ordinalsWithHits.size() && i < FACET_LIMIT; i++) {
+                int ordinal = ordinalsWithHits.get(i);
+                values.put(ordinals.labels.get(ordinal), counts[ordinal]);
+            }
+            return values;
+        }
+
+        /**
+         * Orders hits best first; ties always fall back to newest artwork id so pages are stable
+         */
+        private static Comparator<Hit> ranking(Segment s, ArtworkSearchQueryDTO query, boolean scored) {
+            boolean ascending = "ASC".equalsIgnoreCase(query.getSortOrder());
+            String sortBy = query.getSortBy() != null ? query.getSortBy().toLowerCase(Locale.ROOT) : (scored ? "relevance" : "created_at");
+            Comparator<Hit> primary;
+            switch (sortBy) {
+                case "price":
+                    // Artworks without a price sort last either way
+                    primary = (a, b) -> {
+                        double pa = s.prices[a.doc];
+                        double pb = s.prices[b.doc];
+                        if (Double.isNaN(pa) || Double.isNaN(pb)) {
+                            return Boolean.compare(Double.isNaN(pa), Double.isNaN(pb));
+                        }
+                        return ascending ? Double.compare(pa, pb) : Double.compare(pb, pa);
+                    };
+                    break;
+                case "year":
+                    primary = (a, b) -> {
+                        int ya = s.years[a.doc];
+                        int yb = s.years[b.doc];
+                        if (ya == Integer.MIN_VALUE || yb == Integer.MIN_VALUE) {
+                            return Boolean.compare(ya == Integer.MIN_VALUE, yb == Integer.MIN_VALUE);
+                        }
+                        return ascending ? Integer.compare(ya, yb) : Integer.compare(yb, ya);
+                    };
+                    break;
+                case "relevance":
+                    primary = scored
+                            ? (a, b) -> Float.compare(b.score, a.score)
+                            : (a, b) -> Long.compare(s.createdAt[b.doc], s.createdAt[a.doc]);
+                    break;
+                default:
+                    primary = (a, b) -> ascending
+                            ? Long.compare(s.createdAt[a.doc], s.createdAt[b.doc])
+                            : Long.compare(s.createdAt[b.doc], s.createdAt[a.doc]);
+            }
+            return primary.thenComparing((a, b) -> Long.compare(s.artworkIds[b.doc], s.artworkIds[a.doc]));
+        }
+    }
+
+    private static final class Hit {
+        final int doc;
+        final float score;
+
+        Hit(int doc, float score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+}
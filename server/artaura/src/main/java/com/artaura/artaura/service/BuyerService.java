@@ -17,6 +17,12 @@ public class BuyerService {
     @Autowired
     private PasswordEncoderUtil encoder;
 
+    @Autowired
+    private UserIdentityService userIdentityService;
+
+    @Autowired
+    private AdminOverviewSnapshotService adminOverviewSnapshotService;
+
     public void register(BuyerSignupRequest req) {
         if (buyerDAO.emailExists(req.getEmail())) {
             throw new CustomException("Email is already in use", HttpStatus.CONFLICT);
@@ -24,5 +30,7 @@ public class BuyerService {
 
         String hashedPassword = encoder.encode(req.getPassword());
         buyerDAO.save(req, hashedPassword);
+        userIdentityService.evict(req.getEmail());
+        adminOverviewSnapshotService.recordSignup("buyer", "Active");
     }
 }
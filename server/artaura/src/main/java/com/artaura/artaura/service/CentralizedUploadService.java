@@ -1,18 +1,31 @@
 package com.artaura.artaura.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 
 @Service
 public class CentralizedUploadService {
 
+    public static final String UPLOADS_NAMESPACE = "/uploads";
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private ContentAddressedStore contentAddressedStore;
+
+    // Absolute upload root; when blank it is derived from the working directory
+    @Value("${artaura.uploads.root:}")
+    private String configuredUploadsRoot;
+
     /**
      * Save uploaded file to client/public/uploads directory This ensures all
      * images are accessible via the web server
@@ -31,84 +44,77 @@ public class CentralizedUploadService {
             throw new IllegalArgumentException("File size too large. Maximum size is 5MB.");
         }
 
-        // Get the project root directory (parent of server folder or artaura folder)
-        String currentDir = System.getProperty("user.dir");
-        String projectRoot;
+        Path uploadsRoot = getUploadsRoot();
+        System.out.println("Upload root: " + uploadsRoot);
 
-        if (currentDir.endsWith("artaura")) {
-            // If running from artaura folder, go up two levels to get project root
-            projectRoot = currentDir.substring(0, currentDir.lastIndexOf("artaura"));
-        } else if (currentDir.contains("server")) {
-            // If running from server folder or any subfolder, go up to project root
-            int serverIndex = currentDir.indexOf("server");
-            projectRoot = currentDir.substring(0, serverIndex);
-        } else {
-            // Fallback: assume we're already in project root
-            projectRoot = currentDir + File.separator;
+        // Content-addressed: the name is the SHA-256 of the bytes, computed while streaming,
+        // so identical uploads share one file and concurrent uploads cannot overwrite each other.
+        // subDirectory/prefix no longer influence the stored name.
+        ContentAddressedStore.StoredBlob blob;
+        try (InputStream in = file.getInputStream()) {
+            blob = contentAddressedStore.store(in, uploadsRoot, UPLOADS_NAMESPACE, file.getOriginalFilename());
         }
 
-        System.out.println("Current working directory: " + currentDir);
-        System.out.println("Calculated project root: " + projectRoot);
+        System.out.println("File stored at: " + blob.getPath() + (blob.isCreated() ? "" : " (deduplicated)"));
+        System.out.println("Returning relative path: " + blob.getUrl());
 
-        // Build the upload path: projectRoot/client/public/uploads/subDirectory/
-        String uploadDirPath = projectRoot + "client" + File.separator + "public" + File.separator + "uploads" + File.separator;
-        if (subDirectory != null && !subDirectory.trim().isEmpty()) {
-            uploadDirPath += subDirectory + File.separator;
+        // Resized, metadata-stripped derivatives are built in the background; a deduplicated
+        // blob already has them
+        if (blob.isCreated()) {
+            imageVariantService.scheduleVariants(blob.getPath(), blob.getUrl());
         }
 
-        System.out.println("Upload directory path: " + uploadDirPath);
-
-        // Create upload directory if it doesn't exist
-        File uploadDir = new File(uploadDirPath);
-        if (!uploadDir.exists()) {
-            boolean created = uploadDir.mkdirs();
-            System.out.println("Created upload directory: " + created + " at " + uploadDirPath);
-        }
-
-        // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename != null
-                ? originalFilename.substring(originalFilename.lastIndexOf('.')) : ".jpg";
-
-        String filename = (prefix != null ? prefix + "_" : "") + System.currentTimeMillis() + extension;
-        System.out.println("Generated filename: " + filename);
-
-        // Save file
-        Path filePath = Paths.get(uploadDirPath + filename);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        System.out.println("File saved to: " + filePath.toAbsolutePath());
-
-        // Return relative path for database storage and frontend access
-        String relativePath = "/uploads/" + (subDirectory != null && !subDirectory.trim().isEmpty() ? subDirectory + "/" : "") + filename;
-        System.out.println("Returning relative path: " + relativePath);
-
-        return relativePath;
+        return blob.getUrl();
     }
 
     /**
-     * Delete image from client/public/uploads directory
+     * Release an image stored under client/public/uploads. The file (and its
+     * variants) is only removed once no other upload references the same blob.
      */
     public void deleteImageFromPublicUploads(String imagePath) {
         try {
-            if (imagePath != null && !imagePath.isEmpty()) {
-                String currentDir = System.getProperty("user.dir");
-                String projectRoot = currentDir.endsWith("artaura")
-                        ? currentDir.substring(0, currentDir.lastIndexOf("artaura"))
-                        : currentDir + File.separator;
-
-                // Convert URL path back to file path
-                String filePath = imagePath.replace("/uploads/", projectRoot + "client" + File.separator + "public" + File.separator + "uploads" + File.separator);
-                Path path = Paths.get(filePath);
-                boolean deleted = Files.deleteIfExists(path);
-                System.out.println("Deleted file: " + deleted + " at " + path.toAbsolutePath());
+            if (imagePath != null && imagePath.startsWith(UPLOADS_NAMESPACE + "/")) {
+                Path uploadsRoot = getUploadsRoot();
+                boolean deleted = contentAddressedStore.release(imagePath, uploadsRoot, UPLOADS_NAMESPACE);
+                System.out.println("Released upload " + imagePath + ", file deleted: " + deleted);
+                if (deleted) {
+                    imageVariantService.deleteVariants(
+                            contentAddressedStore.resolve(uploadsRoot, UPLOADS_NAMESPACE, imagePath), imagePath);
+                }
             }
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             System.err.println("Failed to delete image: " + imagePath);
             e.printStackTrace();
         }
     }
 
+    /**
+     * artaura.uploads.root if set, otherwise client/public/uploads resolved from
+     * the working directory (project root, server folder or the artaura module folder)
+     */
+    public Path getUploadsRoot() {
+        if (configuredUploadsRoot != null && !configuredUploadsRoot.isBlank()) {
+            return Paths.get(configuredUploadsRoot);
+        }
+
+        String currentDir = System.getProperty("user.dir");
+        String projectRoot;
+
+        if (currentDir.endsWith("artaura")) {
+            // If running from artaura folder, go up two levels to get project root
+            projectRoot = currentDir.substring(0, currentDir.lastIndexOf("artaura"));
+        } else if (currentDir.contains("server")) {
+            // If running from server folder or any subfolder, go up to project root
+            int serverIndex = currentDir.indexOf("server");
+            projectRoot = currentDir.substring(0, serverIndex);
+        } else {
+            // Fallback: assume we're already in project root
+            projectRoot = currentDir + File.separator;
+        }
+
+        return Paths.get(projectRoot, "client", "public", "uploads");
+    }
+
     /**
      * Validate image file type
      */
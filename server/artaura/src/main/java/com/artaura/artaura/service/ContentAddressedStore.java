@@ -0,0 +1,210 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.UploadBlobDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Stores uploaded files under their SHA-256 digest.
+ *
+ * The digest is computed while the upload streams to a temp file, which is
+ * then moved to blobs/ab/cd/&lt;sha256&gt;.&lt;ext&gt; under the namespace root. Identical
+ * content resolves to the same file, so concurrent uploads can never overwrite
+ * each other and re-uploads are deduplicated. Every store adds a reference in
+ * upload_blobs; release removes one and deletes the file at zero.
+ *
+ * Limits: the count is of store() calls, not of rows that hold the URL, so a
+ * URL copied to another record without a store(), or a record deleted without
+ * a release(), leaves the count off. The locks that keep a release from
+ * deleting a blob that is being re-added are per JVM; with several instances
+ * writing the same root, a release and a store of the same content can still
+ * interleave.
+ */
+@Service
+public class ContentAddressedStore {
+
+    public static final String BLOB_DIRECTORY = "blobs";
+    // In-progress uploads, under BLOB_DIRECTORY; never served
+    public static final String TEMP_DIRECTORY = "tmp";
+
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("\\.[a-z0-9]{1,5}");
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private UploadBlobDAO uploadBlobDAO;
+
+    // Serialises store/release of the same digest so a blob is never deleted while being re-added
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public ContentAddressedStore() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Streams the content into the store.
+     *
+     * @param content   upload stream; read exactly once
+     * @param root      directory the namespace's URLs map onto (e.g. client/public/uploads)
+     * @param namespace URL prefix for that root (e.g. "/uploads")
+     * @param filename  original filename, only used for its extension
+     */
+    public StoredBlob store(InputStream content, Path root, String namespace, String filename) throws IOException {
+        Path tempDir = root.resolve(BLOB_DIRECTORY).resolve(TEMP_DIRECTORY);
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String relative = BLOB_DIRECTORY + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4)
+                    + "/" + sha256 + extensionOf(filename);
+
+            synchronized (lockFor(sha256)) {
+                String existingUrl = uploadBlobDAO.findUrlBySha256(namespace, sha256);
+                if (existingUrl != null) {
+                    Path existing = resolve(root, namespace, existingUrl);
+                    if (Files.exists(existing)) {
+                        uploadBlobDAO.increment(existingUrl);
+                        return new StoredBlob(existingUrl, existing, sha256, false);
+                    }
+                }
+
+                Path target = root.resolve(relative);
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target);
+                } catch (FileAlreadyExistsException e) {
+                    // Same bytes are already on disk (e.g. row lost); keep the existing file
+                }
+                String url = namespace + "/" + relative;
+                boolean created = uploadBlobDAO.insertOrIncrement(url, namespace, sha256, size);
+                return new StoredBlob(url, target, sha256, created);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Drops one reference to the URL. Returns true when the underlying file was
+     * deleted (last reference, or a legacy path the store does not track).
+     */
+    public boolean release(String url, Path root, String namespace) throws IOException {
+        Path file = resolve(root, namespace, url);
+        String sha256 = uploadBlobDAO.findSha256ByUrl(url);
+        if (sha256 == null) {
+            // Not tracked (migration not run yet): previous behaviour, delete directly
+            return Files.deleteIfExists(file);
+        }
+
+        synchronized (lockFor(sha256)) {
+            int remaining = uploadBlobDAO.decrement(url);
+            if (remaining > 0) {
+                System.out.println("Blob still referenced " + remaining + " time(s), keeping " + url);
+                return false;
+            }
+            if (uploadBlobDAO.deleteIfUnreferenced(url)) {
+                return Files.deleteIfExists(file);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Maps a public URL inside the namespace back onto the filesystem,
+     * refusing anything that would escape the root.
+     */
+    public Path resolve(Path root, String namespace, String url) {
+        String relative = url.startsWith(namespace + "/") ? url.substring(namespace.length() + 1) : url;
+        Path normalizedRoot = root.toAbsolutePath().normalize();
+        Path path = normalizedRoot.resolve(relative).normalize();
+        if (!path.startsWith(normalizedRoot)) {
+            throw new IllegalArgumentException("Invalid upload path: " + url);
+        }
+        return path;
+    }
+
+    public static String sha256Hex(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String extensionOf(String filename) {
+        if (filename != null && filename.contains(".")) {
+            String extension = filename.substring(filename.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+            if (extension.equals(".jpeg")) {
+                return ".jpg";
+            }
+            if (SAFE_EXTENSION.matcher(extension).matches()) {
+                return extension;
+            }
+        }
+        return ".jpg";
+    }
+
+    private Object lockFor(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static final class StoredBlob {
+        private final String url;
+        private final Path path;
+        private final String sha256;
+        private final boolean created;
+
+        public StoredBlob(String url, Path path, String sha256, boolean created) {
+            this.url = url;
+            this.path = path;
+            this.sha256 = sha256;
+            this.created = created;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+
+        // False when the upload was deduplicated onto an existing blob
+        public boolean isCreated() {
+            return created;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.AddressGeoDAO;
+import com.artaura.artaura.dto.delivery.DeliveryRequestDTO;
+import com.artaura.artaura.dto.delivery.NearbyDeliveryJobDTO;
+import com.artaura.artaura.dto.delivery.RouteStopDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uniform grid over the pickup points of pending delivery jobs.
+ *
+ * Built from the dispatch board's pending view and rebuilt lazily whenever
+ * the board version moves (or geocoding fills in new pickup coordinates), so
+ * lookups never query the database once artist coordinates are cached.
+ * Pickups come from the artist's geocoded address; drop-offs are matched
+ * against the gazetteer from the free-text shipping address and may be
+ * missing. Jobs whose pickup cannot be located are left out of the index.
+ */
+@Service
+public class DeliveryJobSpatialIndex {
+
+    // ~5.5 km of latitude per cell; small enough that a city spans a handful of cells
+    private static final double CELL_DEGREES = 0.05;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    @Autowired
+    private DispatchBoardService dispatchBoardService;
+
+    @Autowired
+    private AddressGeoDAO addressGeoDAO;
+
+    @Autowired
+    private GazetteerService gazetteerService;
+
+    // artist id -> {lat, lon}; artists known to have no coordinates are kept in unlocatedArtists
+    private final Map<Long, double[]> artistCoordinates = new ConcurrentHashMap<>();
+    private final Set<Long> unlocatedArtists = ConcurrentHashMap.newKeySet();
+
+    private volatile long pickupsEpoch;
+    private volatile Snapshot snapshot = new Snapshot(-1, -1, List.of(), 0);
+
+    /**
+     * Called after a geocoding pass so the next lookup re-reads artist coordinates
+     */
+    public void invalidatePickups() {
+        artistCoordinates.clear();
+        unlocatedArtists.clear();
+        pickupsEpoch++;
+    }
+
+    public long getIndexedBoardVersion() {
+        return current().boardVersion;
+    }
+
+    /**
+     * Pending jobs left out of the index because their pickup could not be located
+     */
+    public int getUnlocatedJobCount() {
+        return current().unlocatedJobs;
+    }
+
+    /**
+     * Up to k pending jobs whose pickup is nearest to the given point, closest
+     * first, optionally limited to radiusKm
+     */
+    public List<NearbyDeliveryJobDTO> findNearest(double latitude, double longitude, int k, Double radiusKm) {
+        Snapshot index = current();
+        List<NearbyDeliveryJobDTO> result = new ArrayList<>();
+        for (Candidate candidate : nearest(index, latitude, longitude, k, radiusKm)) {
+            result.add(candidate.job.toDTO(candidate.distanceKm));
+        }
+        return result;
+    }
+
+    /**
+     * A greedy nearest-neighbour tour over the pickups and drop-offs of the
+     * maxJobs nearest jobs, starting from the partner's position. A drop-off
+     * only becomes available once its pickup is visited; jobs whose drop-off
+     * could not be located contribute their pickup only.
+     */
+    public List<RouteStopDTO> suggestRoute(double latitude, double longitude, int maxJobs, Double radiusKm) {
+        Snapshot index = current();
+        List<Stop> open = new ArrayList<>();
+        for (Candidate candidate : nearest(index, latitude, longitude, maxJobs, radiusKm)) {
+            Job job = candidate.job;
+            open.add(new Stop("pickup", job, null, job.pickupLatitude, job.pickupLongitude));
+        }
+
+        List<RouteStopDTO> route = new ArrayList<>();
+        double currentLat = latitude;
+        double currentLon = longitude;
+        double totalKm = 0;
+        while (!open.isEmpty()) {
+            Stop next = null;
+            double nextKm = Double.MAX_VALUE;
+            for (Stop stop : open) {
+                double km = haversineKm(currentLat, currentLon, stop.latitude, stop.longitude);
+                if (km < nextKm) {
+                    next = stop;
+                    nextKm = km;
+                }
+            }
+            open.remove(next);
+            totalKm += nextKm;
+            route.add(new RouteStopDTO(next.type, next.job.requestType, next.job.requestId, next.address,
+                    next.latitude, next.longitude, round(nextKm), round(totalKm)));
+            currentLat = next.latitude;
+            currentLon = next.longitude;
+
+            Job job = next.job;
+            if ("pickup".equals(next.type) && job.dropoffLatitude != null) {
+                open.add(new Stop("dropoff", job, job.dropoffAddress, job.dropoffLatitude, job.dropoffLongitude));
+            }
+        }
+        return route;
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // ---- Search ----
+
+    /**
+     * Expands square rings of cells around the query cell, starting at the
+     * first ring that reaches the occupied bounding box and visiting only the
+     * cells of each ring that lie inside it. Stops once the nearest possible
+     * point of the next ring is farther than the current k-th best (or the
+     * radius), or every indexed job has been seen.
+     */
+    private List<Candidate> nearest(Snapshot index, double latitude, double longitude, int k, Double radiusKm) {
+        // Max-heap on distance holding the best k so far
+        PriorityQueue<Candidate> best = new PriorityQueue<>(
+                Comparator.comparingDouble((Candidate c) -> c.distanceKm).reversed());
+        if (index.grid.isEmpty() || k <= 0) {
+            return List.of();
+        }
+        int row = cell(latitude);
+        int col = cell(longitude);
+        int maxRing = Math.max(
+                Math.max(Math.abs(row - index.minRow), Math.abs(row - index.maxRow)),
+                Math.max(Math.abs(col - index.minCol), Math.abs(col - index.maxCol)));
+        // Rings closer than this lie entirely outside the bounding box, so a far-away query skips them
+        int firstRing = Math.max(0, Math.max(
+                Math.max(index.minRow - row, row - index.maxRow),
+                Math.max(index.minCol - col, col - index.maxCol)));
+        // One degree of longitude is shortest at the highest latitude involved
+        double maxAbsLat = Math.min(89.0, Math.max(Math.abs(latitude), index.maxAbsLatitude));
+        double kmPerCell = CELL_DEGREES * KM_PER_DEGREE * Math.cos(Math.toRadians(maxAbsLat));
+
+        int seen = 0;
+        for (int ring = firstRing; ring <= maxRing && seen < index.jobCount; ring++) {
+            // Every point in this ring is at least (ring - 1) whole cells away from the query point
+            double ringLowerBoundKm = Math.max(0, ring - 1) * kmPerCell;
+            if (radiusKm != null && ringLowerBoundKm > radiusKm) {
+                break;
+            }
+            if (best.size() == k && ringLowerBoundKm > best.peek().distanceKm) {
+                break;
+            }
+            for (int r = Math.max(row - ring, index.minRow); r <= Math.min(row + ring, index.maxRow); r++) {
+                if (r == row - ring || r == row + ring) {
+                    // Top and bottom edges: the whole row, clipped to the box
+                    for (int c = Math.max(col - ring, index.minCol); c <= Math.min(col + ring, index.maxCol); c++) {
+                        seen += scanCell(index, r, c, latitude, longitude, k, radiusKm, best);
+                    }
+                } else {
+                    // Side edges: one cell on each side (ring > 0 here)
+                    if (col - ring >= index.minCol) {
+                        seen += scanCell(index, r, col - ring, latitude, longitude, k, radiusKm, best);
+                    }
+                    if (col + ring <= index.maxCol) {
+                        seen += scanCell(index, r, col + ring, latitude, longitude, k, radiusKm, best);
+                    }
+                }
+            }
+        }
+        List<Candidate> sorted = new ArrayList<>(best);
+        sorted.sort(Comparator.comparingDouble((Candidate c) -> c.distanceKm)
+                .thenComparing(c -> c.job.requestId));
+        return sorted;
+    }
+
+    /**
+     * Offers the jobs of one cell to the best-k heap; returns how many jobs the cell holds
+     */
+    private static int scanCell(Snapshot index, int row, int col, double latitude, double longitude, int k,
+                                Double radiusKm, PriorityQueue<Candidate> best) {
+        List<Job> jobs = index.grid.get(cellKey(row, col));
+        if (jobs == null) {
+            return 0;
+        }
+        for (Job job : jobs) {
+            double km = haversineKm(latitude, longitude, job.pickupLatitude, job.pickupLongitude);
+            if (radiusKm != null && km > radiusKm) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(new Candidate(job, km));
+            } else if (km < best.peek().distanceKm) {
+                best.poll();
+                best.add(new Candidate(job, km));
+            }
+        }
+        return jobs.size();
+    }
+
+    // ---- Build ----
+
+    private Snapshot current() {
+        if (!dispatchBoardService.isLoaded()) {
+            // The board's first load does not bump its version, so nothing is cached before it
+            return new Snapshot(-1, -1, List.of(), 0);
+        }
+        long boardVersion = dispatchBoardService.getVersion();
+        long epoch = pickupsEpoch;
+        Snapshot index = snapshot;
+        if (index.boardVersion == boardVersion && index.pickupsEpoch == epoch) {
+            return index;
+        }
+        synchronized (this) {
+            index = snapshot;
+            if (index.boardVersion == boardVersion && index.pickupsEpoch == epoch) {
+                return index;
+            }
+            // Read the view after the version: a newer view under an older version only causes an extra rebuild
+            index = build(boardVersion, epoch, dispatchBoardService.getPendingRequests());
+            snapshot = index;
+            return index;
+        }
+    }
+
+    private Snapshot build(long boardVersion, long epoch, List<DeliveryRequestDTO> pending) {
+        // One job per request; multi-item orders list one row per item
+        Map<String, List<DeliveryRequestDTO>> byRequest = new LinkedHashMap<>();
+        Set<Long> missingArtists = new HashSet<>();
+        for (DeliveryRequestDTO row : pending) {
+            byRequest.computeIfAbsent(row.getRequestType() + ":" + row.getId(), key -> new ArrayList<>()).add(row);
+            Long artistId = row.getArtistId();
+            if (artistId != null && !artistCoordinates.containsKey(artistId) && !unlocatedArtists.contains(artistId)) {
+                missingArtists.add(artistId);
+            }
+        }
+        if (!missingArtists.isEmpty()) {
+            try {
+                Map<Long, double[]> found = addressGeoDAO.findArtistCoordinates(missingArtists);
+                artistCoordinates.putAll(found);
+                missingArtists.removeAll(found.keySet());
+                unlocatedArtists.addAll(missingArtists);
+            } catch (Exception e) {
+                System.err.println("Failed to load artist pickup coordinates: " + e.getMessage());
+            }
+        }
+
+        List<Job> jobs = new ArrayList<>();
+        int unlocated = 0;
+        for (List<DeliveryRequestDTO> rows : byRequest.values()) {
+            Job job = toJob(rows);
+            if (job == null) {
+                unlocated++;
+            } else {
+                jobs.add(job);
+            }
+        }
+        Snapshot index = new Snapshot(boardVersion, epoch, jobs, unlocated);
+        System.out.println("Delivery job index rebuilt: " + jobs.size() + " job(s), "
+                + unlocated + " without pickup coordinates");
+        return index;
+    }
+
+    private Job toJob(List<DeliveryRequestDTO> rows) {
+        DeliveryRequestDTO first = rows.get(0);
+        double[] pickup = null;
+        String artistName = first.getArtistName();
+        List<String> titles = new ArrayList<>();
+        for (DeliveryRequestDTO row : rows) {
+            if (pickup == null && row.getArtistId() != null) {
+                pickup = artistCoordinates.get(row.getArtistId());
+                if (pickup != null) {
+                    artistName = row.getArtistName();
+                }
+            }
+            if (row.getArtworkTitle() != null && !titles.contains(row.getArtworkTitle())) {
+                titles.add(row.getArtworkTitle());
+            }
+        }
+        if (pickup == null) {
+            pickup = gazetteerService.lookup(first.getPickupCity());
+        }
+        if (pickup == null) {
+            return null;
+        }
+        double[] dropoff = gazetteerService.findInText(first.getShippingAddress());
+        return new Job(first.getRequestType(), first.getId(), String.join(", ", titles), artistName,
+                pickup[0], pickup[1], first.getShippingAddress(),
+                dropoff != null ? dropoff[0] : null, dropoff != null ? dropoff[1] : null,
+                first.getOrderDate());
+    }
+
+    private static int cell(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static double round(double km) {
+        return Math.round(km * 100.0) / 100.0;
+    }
+
+    private static final class Snapshot {
+        final long boardVersion;
+        final long pickupsEpoch;
+        final Map<Long, List<Job>> grid = new HashMap<>();
+        final int unlocatedJobs;
+        final int jobCount;
+        int minRow = Integer.MAX_VALUE, maxRow = Integer.MIN_VALUE;
+        int minCol = Integer.MAX_VALUE, maxCol = Integer.MIN_VALUE;
+        double maxAbsLatitude;
+
+        Snapshot(long boardVersion, long pickupsEpoch, List<Job> jobs, int unlocatedJobs) {
+            this.boardVersion = boardVersion;
+            this.pickupsEpoch = pickupsEpoch;
+            this.unlocatedJobs = unlocatedJobs;
+            this.jobCount = jobs.size();
+            for (Job job : jobs) {
+                int row = cell(job.pickupLatitude);
+                int col = cell(job.pickupLongitude);
+                grid.computeIfAbsent(cellKey(row, col), key -> new ArrayList<>()).add(job);
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                minCol = Math.min(minCol, col);
+                maxCol = Math.max(maxCol, col);
+                maxAbsLatitude = Math.max(maxAbsLatitude, Math.abs(job.pickupLatitude));
+            }
+        }
+    }
+
+    private static final class Job {
+        final String requestType;
+        final Long requestId;
+        final String artworkTitle;
+        final String artistName;
+        final double pickupLatitude;
+        final double pickupLongitude;
+        final String dropoffAddress;
+        final Double dropoffLatitude;
+        final Double dropoffLongitude;
+        final LocalDateTime orderDate;
+
+        Job(String requestType, Long requestId, String artworkTitle, String artistName,
+            double pickupLatitude, double pickupLongitude, String dropoffAddress,
+            Double dropoffLatitude, Double dropoffLongitude, LocalDateTime orderDate) {
+            this.requestType = requestType;
+            this.requestId = requestId;
+            this.artworkTitle = artworkTitle;
+            this.artistName = artistName;
+            this.pickupLatitude = pickupLatitude;
+            this.pickupLongitude = pickupLongitude;
+            this.dropoffAddress = dropoffAddress;
+            this.dropoffLatitude = dropoffLatitude;
+            this.dropoffLongitude = dropoffLongitude;
+            this.orderDate = orderDate;
+        }
+
+        NearbyDeliveryJobDTO toDTO(double distanceKm) {
+            NearbyDeliveryJobDTO dto = new NearbyDeliveryJobDTO();
+            dto.setRequestType(requestType);
+            dto.setRequestId(requestId);
+            dto.setArtworkTitle(artworkTitle);
+            dto.setArtistName(artistName);
+            dto.setPickupLatitude(pickupLatitude);
+            dto.setPickupLongitude(pickupLongitude);
+            dto.setDropoffAddress(dropoffAddress);
+            dto.setDropoffLatitude(dropoffLatitude);
+            dto.setDropoffLongitude(dropoffLongitude);
+            dto.setDistanceKm(round(distanceKm));
+            dto.setOrderDate(orderDate);
+            return dto;
+        }
+    }
+
+    private static final class Candidate {
+        final Job job;
+        final double distanceKm;
+
+        Candidate(Job job, double distanceKm) {
+            this.job = job;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    private static final class Stop {
+        final String type;
+        final Job job;
+        final String address;
+        final double latitude;
+        final double longitude;
+
+        Stop(String type, Job job, String address, double latitude, double longitude) {
+            this.type = type;
+            this.job = job;
+            this.address = address;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+}
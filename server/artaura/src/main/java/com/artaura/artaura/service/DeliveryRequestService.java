@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,11 +16,23 @@ public class DeliveryRequestService {
     @Autowired
     private DeliveryRequestDAO deliveryRequestDAO;
 
+    @Autowired
+    private AdminOverviewSnapshotService adminOverviewSnapshotService;
+
+    @Autowired
+    private DispatchBoardService dispatchBoardService;
+
+    @Autowired
+    private DeliveryStatusService deliveryStatusService;
+
     /**
      * Get all pending delivery requests from both tables
      * @return List of pending delivery requests
      */
     public List<DeliveryRequestDTO> getAllPendingDeliveryRequests() {
+        if (dispatchBoardService.isLoaded()) {
+            return dispatchBoardService.getPendingRequests();
+        }
         try {
             return deliveryRequestDAO.getAllPendingDeliveryRequests();
         } catch (Exception e) {
@@ -33,6 +46,9 @@ public class DeliveryRequestService {
      * @return List of pending artwork order delivery requests
      */
     public List<DeliveryRequestDTO> getPendingArtworkOrderDeliveryRequests() {
+        if (dispatchBoardService.isLoaded()) {
+            return ofType(dispatchBoardService.getPendingRequests(), "artwork_order");
+        }
         try {
             return deliveryRequestDAO.getPendingArtworkOrderDeliveryRequests();
         } catch (Exception e) {
@@ -46,6 +62,9 @@ public class DeliveryRequestService {
      * @return List of pending commission delivery requests
      */
     public List<DeliveryRequestDTO> getPendingCommissionDeliveryRequests() {
+        if (dispatchBoardService.isLoaded()) {
+            return ofType(dispatchBoardService.getPendingRequests(), "commission_request");
+        }
         try {
             return deliveryRequestDAO.getPendingCommissionDeliveryRequests();
         } catch (Exception e) {
@@ -62,12 +81,14 @@ public class DeliveryRequestService {
      */
     public boolean acceptDeliveryRequest(Long id, String requestType) {
         try {
-            if ("artwork_order".equals(requestType)) {
-                return deliveryRequestDAO.updateArtworkOrderDeliveryStatus(id, "accepted");
-            } else if ("commission_request".equals(requestType)) {
-                return deliveryRequestDAO.updateCommissionDeliveryStatus(id, "accepted");
+            // Conditional on the request still being pending, so only one partner can win it
+            String orderType = "artwork_order".equals(requestType) ? "artwork"
+                    : "commission_request".equals(requestType) ? "commission" : null;
+            if (orderType == null) {
+                return false;
             }
-            return false;
+            Map<String, Object> claim = deliveryStatusService.claimDelivery(orderType, id, null, null);
+            return DeliveryStatusService.CLAIMED.equals(claim.get("outcome"));
         } catch (Exception e) {
             System.out.println("❌ DeliveryRequestService: Error accepting delivery request: " + e.getMessage());
             throw new RuntimeException("Failed to accept delivery request", e);
@@ -82,12 +103,16 @@ public class DeliveryRequestService {
      */
     public boolean markAsOutForDelivery(Long id, String requestType) {
         try {
+            boolean updated = false;
             if ("artwork_order".equals(requestType)) {
-                return deliveryRequestDAO.updateArtworkOrderDeliveryStatus(id, "outForDelivery");
+                updated = deliveryRequestDAO.updateArtworkOrderDeliveryStatus(id, "outForDelivery");
             } else if ("commission_request".equals(requestType)) {
-                return deliveryRequestDAO.updateCommissionDeliveryStatus(id, "outForDelivery");
+                updated = deliveryRequestDAO.updateCommissionDeliveryStatus(id, "outForDelivery");
             }
-            return false;
+            if (updated) {
+                dispatchBoardService.requestChanged(requestType, id);
+            }
+            return updated;
         } catch (Exception e) {
             System.out.println("❌ DeliveryRequestService: Error marking as out for delivery: " + e.getMessage());
             throw new RuntimeException("Failed to mark as out for delivery", e);
@@ -102,12 +127,16 @@ public class DeliveryRequestService {
      */
     public boolean markAsDelivered(Long id, String requestType) {
         try {
+            boolean updated = false;
             if ("artwork_order".equals(requestType)) {
-                return deliveryRequestDAO.updateArtworkOrderDeliveryStatus(id, "delivered");
+                updated = deliveryRequestDAO.updateArtworkOrderDeliveryStatus(id, "delivered");
             } else if ("commission_request".equals(requestType)) {
-                return deliveryRequestDAO.updateCommissionDeliveryStatus(id, "delivered");
+                updated = deliveryRequestDAO.updateCommissionDeliveryStatus(id, "delivered");
             }
-            return false;
+            if (updated) {
+                dispatchBoardService.requestChanged(requestType, id);
+            }
+            return updated;
         } catch (Exception e) {
             System.out.println("❌ DeliveryRequestService: Error marking as delivered: " + e.getMessage());
             throw new RuntimeException("Failed to mark as delivered", e);
@@ -138,12 +167,16 @@ public class DeliveryRequestService {
      */
     public boolean updateDeliveryStatus(Long id, String requestType, String newStatus) {
         try {
+            boolean updated = false;
             if ("artwork_order".equals(requestType)) {
-                return deliveryRequestDAO.updateArtworkOrderDeliveryStatus(id, newStatus);
+                updated = deliveryRequestDAO.updateArtworkOrderDeliveryStatus(id, newStatus);
             } else if ("commission_request".equals(requestType)) {
-                return deliveryRequestDAO.updateCommissionDeliveryStatus(id, newStatus);
+                updated = deliveryRequestDAO.updateCommissionDeliveryStatus(id, newStatus);
             }
-            return false;
+            if (updated) {
+                dispatchBoardService.requestChanged(requestType, id);
+            }
+            return updated;
         } catch (Exception e) {
             System.out.println("❌ DeliveryRequestService: Error updating delivery status: " + e.getMessage());
             throw new RuntimeException("Failed to update delivery status", e);
@@ -195,6 +228,9 @@ public class DeliveryRequestService {
      * @return List of active delivery requests
      */
     public List<DeliveryRequestDTO> getAllActiveDeliveryRequests() {
+        if (dispatchBoardService.isLoaded()) {
+            return dispatchBoardService.getActiveRequests();
+        }
         try {
             return deliveryRequestDAO.getAllActiveDeliveryRequests();
         } catch (Exception e) {
@@ -209,6 +245,9 @@ public class DeliveryRequestService {
      * @return List of active artwork order delivery requests
      */
     public List<DeliveryRequestDTO> getActiveArtworkOrderDeliveryRequests() {
+        if (dispatchBoardService.isLoaded()) {
+            return ofType(dispatchBoardService.getActiveRequests(), "artwork_order");
+        }
         try {
             return deliveryRequestDAO.getActiveArtworkOrderDeliveryRequests();
         } catch (Exception e) {
@@ -223,6 +262,9 @@ public class DeliveryRequestService {
      * @return List of active commission delivery requests
      */
     public List<DeliveryRequestDTO> getActiveCommissionDeliveryRequests() {
+        if (dispatchBoardService.isLoaded()) {
+            return ofType(dispatchBoardService.getActiveRequests(), "commission_request");
+        }
         try {
             return deliveryRequestDAO.getActiveCommissionDeliveryRequests();
         } catch (Exception e) {
@@ -310,10 +352,17 @@ public class DeliveryRequestService {
      */
     public boolean insertPlatformFee(String orderType, Long orderId, java.math.BigDecimal platformCommissionFee) {
         try {
-            return deliveryRequestDAO.insertPlatformFee(orderType, orderId, platformCommissionFee);
+            boolean inserted = deliveryRequestDAO.insertPlatformFee(orderType, orderId, platformCommissionFee);
+            // Fee row plus payment -> paid (or an idempotent no-op): let the overview snapshot reload
+            adminOverviewSnapshotService.markDirty();
+            return inserted;
         } catch (Exception e) {
             System.out.println("❌ DeliveryRequestService: Error inserting platform fee: " + e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private static List<DeliveryRequestDTO> ofType(List<DeliveryRequestDTO> requests, String requestType) {
+        return requests.stream().filter(r -> requestType.equals(r.getRequestType())).toList();
+    }
+}
@@ -6,6 +6,7 @@ import com.artaura.artaura.dto.delivery.DeliveryStatusUpdateDTO;
 import com.artaura.artaura.dto.delivery.DeliveryRequestDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -15,6 +16,12 @@ import java.util.Optional;
 @Service
 public class DeliveryStatusService {
 
+    // claimDelivery outcomes
+    public static final String CLAIMED = "claimed";
+    public static final String CONFLICT = "conflict";
+    public static final String NOT_FOUND = "not_found";
+    public static final String FAILED = "failed";
+
     @Autowired
     private DeliveryStatusDAO deliveryStatusDAO;
 
@@ -24,45 +31,79 @@ public class DeliveryStatusService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private DispatchBoardService dispatchBoardService;
+
     /**
      * Update delivery status for both artwork orders and commission requests
      */
     public boolean updateDeliveryStatus(DeliveryStatusUpdateDTO updateDTO) {
+        boolean updated = false;
         if ("artwork".equalsIgnoreCase(updateDTO.getOrderType())) {
-            return deliveryStatusDAO.updateArtworkOrderDeliveryStatus(
+            updated = deliveryStatusDAO.updateArtworkOrderDeliveryStatus(
                 updateDTO.getOrderId(), 
                 updateDTO.getDeliveryStatus(), 
                 updateDTO.getShippingFee()
             );
         } else if ("commission".equalsIgnoreCase(updateDTO.getOrderType())) {
-            return deliveryStatusDAO.updateCommissionRequestDeliveryStatus(
+            updated = deliveryStatusDAO.updateCommissionRequestDeliveryStatus(
                 updateDTO.getOrderId(), 
                 updateDTO.getDeliveryStatus(), 
                 updateDTO.getShippingFee()
             );
         }
-        return false;
+        if (updated) {
+            dispatchBoardService.requestChanged(updateDTO.getOrderType(), updateDTO.getOrderId());
+        }
+        return updated;
     }
 
     /**
      * Accept a delivery request by changing status from pending to accepted
      */
     public boolean acceptDeliveryRequest(String orderType, Long orderId, BigDecimal shippingFee, Long deliveryPartnerId) {
-        System.out.println("DeliveryStatusService.acceptDeliveryRequest called with: orderType=" + orderType + 
-                          ", orderId=" + orderId + ", shippingFee=" + shippingFee + ", deliveryPartnerId=" + deliveryPartnerId);
-        
-        boolean result = false;
+        return CLAIMED.equals(claimDelivery(orderType, orderId, shippingFee, deliveryPartnerId).get("outcome"));
+    }
+
+    /**
+     * Claim a pending delivery for a partner with a single conditional update.
+     * Exactly one of any number of concurrent claims for the same job gets
+     * outcome "claimed"; the rest get "conflict" with the job's current status
+     * and owner, so losing partners can drop it from their board rather than retry.
+     */
+    public Map<String, Object> claimDelivery(String orderType, Long orderId, BigDecimal shippingFee, Long deliveryPartnerId) {
+        boolean claimed = false;
         if ("artwork".equalsIgnoreCase(orderType)) {
-            System.out.println("Processing artwork order...");
-            result = deliveryStatusDAO.acceptArtworkOrderDelivery(orderId, shippingFee, deliveryPartnerId);
+            claimed = deliveryStatusDAO.acceptArtworkOrderDelivery(orderId, shippingFee, deliveryPartnerId);
         } else if ("commission".equalsIgnoreCase(orderType)) {
-            System.out.println("Processing commission request...");
-            result = deliveryStatusDAO.acceptCommissionRequestDelivery(orderId, shippingFee, deliveryPartnerId);
+            claimed = deliveryStatusDAO.acceptCommissionRequestDelivery(orderId, shippingFee, deliveryPartnerId);
         } else {
             System.err.println("Invalid order type: " + orderType);
+            return Map.of("outcome", NOT_FOUND, "orderType", String.valueOf(orderType), "orderId", orderId);
+        }
+
+        Map<String, Object> result = new java.util.HashMap<>();
+        result.put("orderType", orderType);
+        result.put("orderId", orderId);
+        if (claimed) {
+            dispatchBoardService.requestChanged(orderType, orderId);
+            result.put("outcome", CLAIMED);
+            result.put("deliveryPartnerId", deliveryPartnerId);
+            return result;
+        }
+
+        // Lost the race, or the job was never claimable; one read tells which
+        Map<String, Object> current = getDeliveryInfo(orderType, orderId);
+        if (current.isEmpty()) {
+            result.put("outcome", NOT_FOUND);
+        } else if ("pending".equals(current.get("delivery_status"))) {
+            // Still pending, so the update itself failed rather than losing to another partner
+            result.put("outcome", FAILED);
+        } else {
+            result.put("outcome", CONFLICT);
+            result.put("currentStatus", current.get("delivery_status"));
+            result.put("claimedBy", current.get("delivery_partner_id"));
         }
-        
-        System.out.println("DeliveryStatusService.acceptDeliveryRequest result: " + result);
         return result;
     }
 
@@ -95,6 +136,7 @@ public class DeliveryStatusService {
     /**
      * Update delivery status to "outForDelivery"
      */
+    @Transactional
     public boolean markAsOutForDelivery(String orderType, Long orderId) {
         boolean success = false;
         if ("artwork".equalsIgnoreCase(orderType)) {
@@ -103,25 +145,10 @@ public class DeliveryStatusService {
             success = deliveryStatusDAO.updateCommissionRequestDeliveryStatus(orderId, "outForDelivery", null);
         }
         
-        // Send notification if successful
+        // Record the notification with the status change; it is sent in the background
         if (success) {
-            try {
-                String requestType = orderType.equals("artwork") ? "artwork_order" : "commission_request";
-                Optional<DeliveryRequestDTO> requestOptional = deliveryRequestDAO.getDeliveryRequestById(orderId, requestType);
-                
-                if (requestOptional.isPresent()) {
-                    DeliveryRequestDTO request = requestOptional.get();
-                    notificationService.notifyBuyerOutForDelivery(
-                        request.getBuyerId(),
-                        request.getArtworkTitle(),
-                        requestType,
-                        orderId
-                    );
-                    System.out.println("✅ Sent out for delivery notification to buyer");
-                }
-            } catch (Exception e) {
-                System.err.println("❌ Error sending out for delivery notification: " + e.getMessage());
-            }
+            dispatchBoardService.requestChanged(orderType, orderId);
+            notificationService.enqueueOutForDelivery(requestTypeOf(orderType), orderId);
         }
         
         return success;
@@ -130,6 +157,7 @@ public class DeliveryStatusService {
     /**
      * Update delivery status to "delivered"
      */
+    @Transactional
     public boolean markAsDelivered(String orderType, Long orderId) {
         // Get platform fee from admin_settings
         String platformFee = deliveryRequestDAO.getPlatformFee();
@@ -150,35 +178,10 @@ public class DeliveryStatusService {
             success = deliveryStatusDAO.updateCommissionRequestDeliveryStatus(orderId, "delivered", null);
         }
         
-        // Send notifications if successful
+        // Record the notifications with the status change; they are sent in the background
         if (success) {
-            try {
-                String requestType = orderType.equals("artwork") ? "artwork_order" : "commission_request";
-                Optional<DeliveryRequestDTO> requestOptional = deliveryRequestDAO.getDeliveryRequestById(orderId, requestType);
-                
-                if (requestOptional.isPresent()) {
-                    DeliveryRequestDTO request = requestOptional.get();
-                    
-                    // Notify buyer
-                    notificationService.notifyBuyerDelivered(
-                        request.getBuyerId(),
-                        request.getArtworkTitle(),
-                        requestType,
-                        orderId
-                    );
-                    System.out.println("✅ Sent delivered notification to buyer");
-                    
-                    // Notify artist
-                    notificationService.notifyArtistDelivered(
-                        request.getArtistId(),
-                        request.getArtworkTitle(),
-                        request.getBuyerName()
-                    );
-                    System.out.println("✅ Sent delivered notification to artist");
-                }
-            } catch (Exception e) {
-                System.err.println("❌ Error sending delivered notifications: " + e.getMessage());
-            }
+            dispatchBoardService.requestChanged(orderType, orderId);
+            notificationService.enqueueDelivered(requestTypeOf(orderType), orderId);
         }
         
         return success;
@@ -243,23 +246,39 @@ public class DeliveryStatusService {
                 );
             }
 
-            // Perform the update using DeliveryStatusDAO
-            boolean updateSuccess = false;
+            // Apply the transition only if the status is still the one validated above
+            Long partnerId = "accepted".equals(status) ? updateDTO.getDeliveryPartnerId() : null;
+            boolean updateSuccess;
             if ("artwork".equals(normalizedOrderType)) {
-                updateSuccess = deliveryStatusDAO.updateArtworkOrderDeliveryStatus(
+                updateSuccess = deliveryStatusDAO.transitionArtworkOrderDeliveryStatus(
                     updateDTO.getOrderId(), 
+                    currentStatus,
                     updateDTO.getDeliveryStatus(), 
-                    updateDTO.getShippingFee()
+                    updateDTO.getShippingFee(),
+                    partnerId
                 );
-            } else if ("commission".equals(normalizedOrderType)) {
-                updateSuccess = deliveryStatusDAO.updateCommissionRequestDeliveryStatus(
+            } else {
+                updateSuccess = deliveryStatusDAO.transitionCommissionRequestDeliveryStatus(
                     updateDTO.getOrderId(), 
+                    currentStatus,
                     updateDTO.getDeliveryStatus(), 
-                    updateDTO.getShippingFee()
+                    updateDTO.getShippingFee(),
+                    partnerId
                 );
             }
 
             if (!updateSuccess) {
+                Map<String, Object> latest = getDeliveryInfo(normalizedOrderType, updateDTO.getOrderId());
+                Object latestStatus = latest.get("delivery_status");
+                if (latestStatus != null && !latestStatus.equals(currentStatus)) {
+                    return Map.of(
+                        "success", false,
+                        "conflict", true,
+                        "error", "Delivery status was changed concurrently from " + currentStatus + " to " + latestStatus,
+                        "currentStatus", latestStatus,
+                        "details", "Status transition lost to a concurrent update"
+                    );
+                }
                 return Map.of(
                     "success", false,
                     "error", "Database update failed",
@@ -267,12 +286,7 @@ public class DeliveryStatusService {
                 );
             }
 
-            // Also update using DeliveryRequestDAO for consistency
-            if ("artwork".equals(normalizedOrderType)) {
-                deliveryRequestDAO.updateArtworkOrderDeliveryStatus(updateDTO.getOrderId(), updateDTO.getDeliveryStatus());
-            } else {
-                deliveryRequestDAO.updateCommissionDeliveryStatus(updateDTO.getOrderId(), updateDTO.getDeliveryStatus());
-            }
+            dispatchBoardService.requestChanged(normalizedOrderType, updateDTO.getOrderId());
 
             // Get updated delivery information
             Map<String, Object> updatedInfo = getDeliveryInfo(normalizedOrderType, updateDTO.getOrderId());
@@ -342,6 +356,7 @@ public class DeliveryStatusService {
     /**
      * Accept delivery request with enhanced validation and logging
      */
+    @Transactional
     public Map<String, Object> acceptDeliveryRequestEnhanced(String orderType, Long orderId, 
                                                             BigDecimal shippingFee, Long deliveryPartnerId) {
         System.out.println("🎯 DeliveryStatusService.acceptDeliveryRequestEnhanced called");
@@ -356,39 +371,12 @@ public class DeliveryStatusService {
         
         // Add specific acceptance details
         if ((Boolean) result.get("success")) {
-            // Send notifications to buyer and artist
-            try {
-                // Get request details for notification
-                String requestType = orderType.equals("artwork") ? "artwork_order" : "commission_request";
-                Optional<DeliveryRequestDTO> requestOptional = deliveryRequestDAO.getDeliveryRequestById(orderId, requestType);
-                
-                if (requestOptional.isPresent()) {
-                    DeliveryRequestDTO request = requestOptional.get();
-                    
-                    // Notify buyer
-                    notificationService.notifyBuyerDeliveryAccepted(
-                        request.getBuyerId(),
-                        request.getArtworkTitle(),
-                        shippingFee != null ? shippingFee.toString() : "TBD",
-                        requestType,
-                        orderId
-                    );
-                    System.out.println("✅ Sent delivery accepted notification to buyer");
-                    
-                    // Notify artist
-                    notificationService.notifyArtistDeliveryAccepted(
-                        request.getArtistId(),
-                        request.getArtworkTitle(),
-                        request.getBuyerName()
-                    );
-                    System.out.println("✅ Sent delivery accepted notification to artist");
-                } else {
-                    System.out.println("⚠️ Could not send notifications - request details not found");
-                }
-            } catch (Exception e) {
-                System.err.println("❌ Error sending notifications: " + e.getMessage());
-                // Continue despite notification failure
-            }
+            // Recorded in this transaction, so the event exists exactly when the acceptance does
+            notificationService.enqueueDeliveryAccepted(
+                requestTypeOf(orderType),
+                orderId,
+                shippingFee != null ? shippingFee.toString() : "TBD"
+            );
             
             Map<String, Object> enhancedResult = new java.util.HashMap<>(result);
             enhancedResult.put("acceptanceDetails", Map.of(
@@ -402,6 +390,10 @@ public class DeliveryStatusService {
         return result;
     }
 
+    private static String requestTypeOf(String orderType) {
+        return "artwork".equalsIgnoreCase(orderType) ? "artwork_order" : "commission_request";
+    }
+
     /**
      * Validate if the delivery status is valid
      */
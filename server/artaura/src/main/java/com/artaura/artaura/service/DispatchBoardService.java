@@ -0,0 +1,314 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.DeliveryRequestDAO;
+import com.artaura.artaura.dto.delivery.DeliveryRequestDTO;
+import com.artaura.artaura.security.StompAuthChannelInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory dispatch board: every delivery request that is pending or active
+ * (accepted / outForDelivery), served to delivery partners without touching
+ * the database.
+ *
+ * DeliveryStatusService and DeliveryRequestService report each status change,
+ * and the board re-reads just that request and publishes a delta over STOMP:
+ * pending changes on /topic/dispatch/pending for every partner, active changes
+ * on /user/queue/dispatch of the partner recorded in delivery_partner_id (or
+ * /topic/dispatch/active when none is recorded). Only delivery partners and
+ * admins may subscribe to the topics (see StompAuthChannelInterceptor).
+ * Deltas name the request but carry none of its contents, so buyer details
+ * are only ever read through the authenticated REST API. Each delta carries
+ * a board version; a client that sees a gap re-fetches the REST snapshot.
+ * A periodic reload diffs the board against the database to pick up new
+ * orders and writes made outside these services.
+ */
+@Service
+public class DispatchBoardService {
+
+    public static final String PENDING_TOPIC = "/topic/dispatch/pending";
+    public static final String ACTIVE_TOPIC = "/topic/dispatch/active";
+    // Per-partner user destination, delivered as /user/queue/dispatch
+    public static final String PARTNER_QUEUE = "/queue/dispatch";
+
+    // Where a section's deltas go: a shared topic, or one partner's user queue
+    private record Target(String user, String destination) {}
+
+    // Artwork orders first, then commissions, newest first within each, as the list queries return them
+    private static final Comparator<DeliveryRequestDTO> BOARD_ORDER = Comparator
+            .comparing((DeliveryRequestDTO r) -> "commission_request".equals(r.getRequestType()))
+            .thenComparing(DeliveryRequestDTO::getOrderDate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    @Autowired
+    private DeliveryRequestDAO deliveryRequestDAO;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock; "requestType:id" -> the request's rows (one per order item)
+    private final Map<String, List<DeliveryRequestDTO>> requests = new LinkedHashMap<>();
+    // Guarded by lock; when each request was last refreshed individually (System.nanoTime)
+    private final Map<String, Long> refreshedAt = new HashMap<>();
+    private long version;
+
+    // Rebuilt on every change so reads never take the lock
+    private volatile List<DeliveryRequestDTO> pendingView = List.of();
+    private volatile List<DeliveryRequestDTO> activeView = List.of();
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public long getVersion() {
+        synchronized (lock) {
+            return version;
+        }
+    }
+
+    public List<DeliveryRequestDTO> getPendingRequests() {
+        return pendingView;
+    }
+
+    public List<DeliveryRequestDTO> getActiveRequests() {
+        return activeView;
+    }
+
+    // ---- Events ----
+
+    /**
+     * A request's delivery status or fee changed; re-reads it and publishes the delta once
+     * the surrounding transaction commits, so a rolled-back change is never announced.
+     * Accepts "artwork"/"commission" as well as "artwork_order"/"commission_request".
+     */
+    public void requestChanged(String requestType, Long id) {
+        String type = normalize(requestType);
+        if (type == null || id == null) {
+            return;
+        }
+        afterCommit(() -> refresh(type, id));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void refresh(String type, Long id) {
+        if (!loaded) {
+            return;
+        }
+        List<DeliveryRequestDTO> rows;
+        try {
+            rows = deliveryRequestDAO.getDispatchBoardRequest(id, type);
+        } catch (Exception e) {
+            // The next reload picks the change up
+            System.err.println("Dispatch board refresh failed for " + type + " " + id + ": " + e.getMessage());
+            return;
+        }
+        synchronized (lock) {
+            refreshedAt.put(key(type, id), System.nanoTime());
+            if (apply(key(type, id), type, id, rows)) {
+                rebuildViews();
+            }
+        }
+    }
+
+    // ---- Reload ----
+
+    @Scheduled(fixedDelayString = "${artaura.delivery.dispatch-reload-ms:30000}")
+    public void reload() {
+        long startedAt = System.nanoTime();
+        List<DeliveryRequestDTO> rows;
+        try {
+            rows = deliveryRequestDAO.getDispatchBoardRequests();
+        } catch (Exception e) {
+            System.err.println("Dispatch board reload failed, keeping current board: " + e.getMessage());
+            return;
+        }
+        Map<String, List<DeliveryRequestDTO>> fresh = new LinkedHashMap<>();
+        for (DeliveryRequestDTO row : rows) {
+            fresh.computeIfAbsent(key(row.getRequestType(), row.getId()), k -> new ArrayList<>()).add(row);
+        }
+
+        synchronized (lock) {
+            if (!loaded) {
+                requests.putAll(fresh);
+                rebuildViews();
+                loaded = true;
+                System.out.println("Dispatch board loaded: " + requests.size() + " request(s)");
+                return;
+            }
+            // Requests refreshed individually while the reload query ran are newer than its result
+            Set<String> skip = new HashSet<>();
+            refreshedAt.forEach((key, at) -> {
+                if (at - startedAt > 0) {
+                    skip.add(key);
+                }
+            });
+            refreshedAt.keySet().retainAll(skip);
+
+            boolean changed = false;
+            Set<String> gone = new HashSet<>(requests.keySet());
+            gone.removeAll(fresh.keySet());
+            gone.removeAll(skip);
+            for (String key : gone) {
+                DeliveryRequestDTO first = requests.get(key).get(0);
+                changed |= apply(key, first.getRequestType(), first.getId(), List.of());
+            }
+            for (Map.Entry<String, List<DeliveryRequestDTO>> entry : fresh.entrySet()) {
+                if (skip.contains(entry.getKey())) {
+                    continue;
+                }
+                DeliveryRequestDTO first = entry.getValue().get(0);
+                changed |= apply(entry.getKey(), first.getRequestType(), first.getId(), entry.getValue());
+            }
+            if (changed) {
+                rebuildViews();
+            }
+        }
+    }
+
+    // ---- Helpers (call with lock held) ----
+
+    /**
+     * Replaces one request's rows and publishes the resulting delta; false if nothing changed
+     */
+    private boolean apply(String key, String type, Long id, List<DeliveryRequestDTO> rows) {
+        List<DeliveryRequestDTO> previous = requests.get(key);
+        String before = section(previous);
+        String after = section(rows);
+        if (before == null && after == null) {
+            return false;
+        }
+        if (before != null && after != null && signature(previous).equals(signature(rows))) {
+            return false;
+        }
+
+        Target beforeTarget = before != null ? target(before, previous) : null;
+        if (rows.isEmpty()) {
+            requests.remove(key);
+        } else {
+            requests.put(key, rows);
+        }
+
+        version++;
+        Target afterTarget = after != null ? target(after, rows) : null;
+        if (beforeTarget != null && !beforeTarget.equals(afterTarget)) {
+            publish(beforeTarget, "removed", type, id, before);
+        }
+        if (afterTarget != null) {
+            publish(afterTarget, "upserted", type, id, after);
+        }
+        return true;
+    }
+
+    private void publish(Target target, String change, String type, Long id, String section) {
+        // Id only: subscribers fetch the request itself from /api/delivery-partner/requests/{id}
+        Map<String, Object> delta = new HashMap<>();
+        delta.put("change", change);
+        delta.put("section", section);
+        delta.put("requestType", type);
+        delta.put("id", id);
+        delta.put("version", version);
+        try {
+            if (target.user() != null) {
+                messagingTemplate.convertAndSendToUser(target.user(), target.destination(), delta);
+            } else {
+                messagingTemplate.convertAndSend(target.destination(), delta);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to publish dispatch delta to " + target + ": " + e.getMessage());
+        }
+    }
+
+    private static Target target(String section, List<DeliveryRequestDTO> rows) {
+        if ("pending".equals(section)) {
+            return new Target(null, PENDING_TOPIC);
+        }
+        Long partnerId = rows.get(0).getDeliveryPartnerId();
+        if (partnerId == null) {
+            // Claimed before delivery_partner_id was recorded
+            return new Target(null, ACTIVE_TOPIC);
+        }
+        return new Target(StompAuthChannelInterceptor.userName(StompAuthChannelInterceptor.ROLE_DELIVERY_PARTNER,
+                partnerId), PARTNER_QUEUE);
+    }
+
+    private void rebuildViews() {
+        List<DeliveryRequestDTO> pending = new ArrayList<>();
+        List<DeliveryRequestDTO> active = new ArrayList<>();
+        for (List<DeliveryRequestDTO> rows : requests.values()) {
+            ("pending".equals(section(rows)) ? pending : active).addAll(rows);
+        }
+        pending.sort(BOARD_ORDER);
+        active.sort(BOARD_ORDER);
+        pendingView = List.copyOf(pending);
+        activeView = List.copyOf(active);
+    }
+
+    private static String section(List<DeliveryRequestDTO> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return null;
+        }
+        String status = rows.get(0).getDeliveryStatus();
+        if ("pending".equalsIgnoreCase(status)) {
+            return "pending";
+        }
+        if ("accepted".equalsIgnoreCase(status) || "outForDelivery".equalsIgnoreCase(status)) {
+            return "active";
+        }
+        return null;
+    }
+
+    // Fields a status change or fee update can touch
+    private static String signature(List<DeliveryRequestDTO> rows) {
+        StringBuilder signature = new StringBuilder().append(rows.size());
+        for (DeliveryRequestDTO row : rows) {
+            signature.append('|').append(row.getDeliveryStatus())
+                    .append('|').append(Objects.toString(row.getDeliveryPartnerId()))
+                    .append('|').append(Objects.toString(row.getShippingFee()))
+                    .append('|').append(Objects.toString(row.getPaymentAmount()))
+                    .append('|').append(row.getArtworkTitle());
+        }
+        return signature.toString();
+    }
+
+    private static String key(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    private static String normalize(String requestType) {
+        if ("artwork".equalsIgnoreCase(requestType) || "artwork_order".equalsIgnoreCase(requestType)) {
+            return "artwork_order";
+        }
+        if ("commission".equalsIgnoreCase(requestType) || "commission_request".equalsIgnoreCase(requestType)) {
+            return "commission_request";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,125 @@
+package com.artaura.artaura.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Offline place-name lookup used in place of an external geocoder.
+ *
+ * Reads a CSV of "name,latitude,longitude" rows from artaura.geo.gazetteer-path,
+ * or from the bundled classpath:geo/gazetteer.csv when no path is configured.
+ * Names are matched case- and punctuation-insensitively, either as a whole
+ * city field or as a run of words inside a free-text address (the longest
+ * match nearest the end wins, since addresses usually end with the town).
+ */
+@Service
+public class GazetteerService {
+
+    private static final String BUNDLED_GAZETTEER = "geo/gazetteer.csv";
+
+    @Value("${artaura.geo.gazetteer-path:}")
+    private String gazetteerPath;
+
+    private volatile Map<String, double[]> places = Map.of();
+    private volatile int maxNameWords = 1;
+
+    @PostConstruct
+    public void load() {
+        Map<String, double[]> loaded = new HashMap<>();
+        int longest = 1;
+        try (BufferedReader reader = open()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.toLowerCase(Locale.ROOT).startsWith("name,")) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                if (parts.length < 3) {
+                    continue;
+                }
+                try {
+                    double latitude = Double.parseDouble(parts[parts.length - 2].trim());
+                    double longitude = Double.parseDouble(parts[parts.length - 1].trim());
+                    // Names may themselves contain commas; everything before the coordinates is the name
+                    String name = normalize(String.join(",", Arrays.copyOf(parts, parts.length - 2)));
+                    if (!name.isEmpty()) {
+                        loaded.put(name, new double[]{latitude, longitude});
+                        longest = Math.max(longest, name.split(" ").length);
+                    }
+                } catch (NumberFormatException e) {
+                    System.err.println("Skipping gazetteer line: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to load gazetteer: " + e.getMessage());
+        }
+        places = loaded;
+        maxNameWords = longest;
+        System.out.println("Gazetteer loaded: " + loaded.size() + " place name(s)");
+    }
+
+    public boolean isEmpty() {
+        return places.isEmpty();
+    }
+
+    /**
+     * Coordinates {latitude, longitude} for a city or town name, or null if unknown
+     */
+    public double[] lookup(String placeName) {
+        if (placeName == null) {
+            return null;
+        }
+        return places.get(normalize(placeName));
+    }
+
+    /**
+     * Coordinates of the place named in a free-text address, or null if none is recognised
+     */
+    public double[] findInText(String address) {
+        if (address == null || address.isBlank()) {
+            return null;
+        }
+        String[] words = normalize(address).split(" ");
+        Map<String, double[]> snapshot = places;
+        int maxWords = maxNameWords;
+        for (int end = words.length; end > 0; end--) {
+            for (int length = Math.min(maxWords, end); length > 0; length--) {
+                String candidate = String.join(" ", Arrays.copyOfRange(words, end - length, end));
+                double[] coordinates = snapshot.get(candidate);
+                if (coordinates != null) {
+                    return coordinates;
+                }
+            }
+        }
+        return null;
+    }
+
+    private BufferedReader open() throws IOException {
+        if (gazetteerPath != null && !gazetteerPath.isBlank()) {
+            return Files.newBufferedReader(Path.of(gazetteerPath), StandardCharsets.UTF_8);
+        }
+        InputStream in = getClass().getClassLoader().getResourceAsStream(BUNDLED_GAZETTEER);
+        if (in == null) {
+            throw new IOException("No gazetteer configured and " + BUNDLED_GAZETTEER + " is not on the classpath");
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{Nd}]+", " ").trim();
+    }
+}
@@ -0,0 +1,64 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.config.SchedulingConfig;
+import com.artaura.artaura.dao.AddressGeoDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Fills in address coordinates at city level from the offline gazetteer.
+ *
+ * Each pass takes the distinct cities of addresses not yet tried and writes
+ * the coordinates (or NULL for unknown cities) to all of them at once, so the
+ * number of updates grows with the number of cities rather than addresses.
+ */
+@Service
+public class GeocodingService {
+
+    @Autowired
+    private AddressGeoDAO addressGeoDAO;
+
+    @Autowired
+    private GazetteerService gazetteerService;
+
+    @Autowired
+    private DeliveryJobSpatialIndex deliveryJobSpatialIndex;
+
+    @Value("${artaura.geo.geocode-batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${artaura.geo.geocode-interval-ms:300000}", initialDelay = 30000,
+            scheduler = SchedulingConfig.BACKGROUND_SCHEDULER)
+    public void geocodePendingAddresses() {
+        if (gazetteerService.isEmpty()) {
+            return;
+        }
+        try {
+            int located = 0;
+            int unknown = 0;
+            List<String> cities = addressGeoDAO.findCitiesToGeocode(batchSize);
+            for (String city : cities) {
+                double[] coordinates = gazetteerService.lookup(city);
+                if (coordinates != null) {
+                    addressGeoDAO.saveCityCoordinates(city, coordinates[0], coordinates[1]);
+                    located++;
+                } else {
+                    addressGeoDAO.saveCityCoordinates(city, null, null);
+                    unknown++;
+                }
+            }
+            if (located > 0) {
+                deliveryJobSpatialIndex.invalidatePickups();
+            }
+            if (!cities.isEmpty()) {
+                System.out.println("Geocoded " + located + " city(ies), " + unknown + " not in gazetteer");
+            }
+        } catch (Exception e) {
+            System.err.println("Address geocoding pass failed: " + e.getMessage());
+        }
+    }
+}
@@ -1,20 +1,53 @@
 package com.artaura.artaura.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
 
+/**
+ * NIC and profile images, stored content-addressed under client/public/nic
+ * through ContentAddressedStore (see there for how references are counted).
+ */
 @Service
 public class ImageUploadService {
 
-    public String saveImage(MultipartFile file, String imageType, Long artistId) throws IOException {
+    public static final String NIC_NAMESPACE = "/nic";
+
+    @Autowired
+    private ContentAddressedStore contentAddressedStore;
+
+    public String saveImage(MultipartFile file) throws IOException {
+        // Stored under the SHA-256 of its content (client/public/nic/blobs/ab/cd/<sha>.<ext>),
+        // so two uploads in the same millisecond can no longer overwrite each other
+        try (InputStream in = file.getInputStream()) {
+            return contentAddressedStore.store(in, getNicRoot(), NIC_NAMESPACE, file.getOriginalFilename()).getUrl();
+        }
+    }
+
+    public void deleteImage(String imagePath) {
+        try {
+            if (imagePath != null && !imagePath.isEmpty()) {
+                // Legacy "/nic/filename.jpg" and content-addressed "/nic/blobs/..." both resolve under the nic root;
+                // the file is kept while other records still reference the same blob
+                String relativePath = imagePath.startsWith(NIC_NAMESPACE + "/")
+                        ? imagePath
+                        : NIC_NAMESPACE + "/" + imagePath.substring(imagePath.lastIndexOf('/') + 1);
+                contentAddressedStore.release(relativePath, getNicRoot(), NIC_NAMESPACE);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Failed to delete image: " + imagePath);
+        }
+    }
+
+    /**
+     * client/public/nic under the project root
+     */
+    public Path getNicRoot() {
         // Get the current working directory
         String currentDir = System.getProperty("user.dir");
 
@@ -29,57 +62,7 @@ public class ImageUploadService {
             projectRoot = currentDir;
         }
 
-        // Build the upload directory path to client/public/nic
-        String uploadDirPath = projectRoot + File.separator + "client" + File.separator + "public" + File.separator + "nic" + File.separator;
-
-        // Create upload directory if it doesn't exist
-        File uploadDir = new File(uploadDirPath);
-        if (!uploadDir.exists()) {
-            uploadDir.mkdirs();
-        }
-
-        // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename != null
-                ? originalFilename.substring(originalFilename.lastIndexOf('.')) : ".jpg";
-
-        String filename = artistId + "_" + imageType + "_" + System.currentTimeMillis() + extension;
-
-        // Save file
-        Path filePath = Paths.get(uploadDirPath + filename);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        // Return relative path for database storage
-        String relativePath = "/nic/" + filename;
-
-        return relativePath;
-    }
-
-    public void deleteImage(String imagePath) {
-        try {
-            if (imagePath != null && !imagePath.isEmpty()) {
-                String currentDir = System.getProperty("user.dir");
-
-                // Calculate the correct path to project root
-                String projectRoot;
-                if (currentDir.contains("ArtAura")) {
-                    int artAuraIndex = currentDir.indexOf("ArtAura");
-                    projectRoot = currentDir.substring(0, artAuraIndex + 7);
-                } else {
-                    projectRoot = currentDir;
-                }
-
-                // Convert URL path back to file path
-                // If imagePath is "/nic/filename.jpg", extract just the filename
-                String filename = imagePath.substring(imagePath.lastIndexOf('/') + 1);
-                String filePath = projectRoot + File.separator + "client" + File.separator + "public" + File.separator + "nic" + File.separator + filename;
-                
-                Path path = Paths.get(filePath);
-                Files.deleteIfExists(path);
-            }
-        } catch (IOException e) {
-            System.err.println("Failed to delete image: " + imagePath);
-        }
+        return Paths.get(projectRoot, "client", "public", "nic");
     }
 
     public boolean isValidImageFile(MultipartFile file) {
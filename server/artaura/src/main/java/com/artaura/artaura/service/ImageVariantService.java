@@ -0,0 +1,342 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.ImageVariantDAO;
+import com.artaura.artaura.dto.image.ImageVariantDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates responsive derivatives for uploaded images off the request thread.
+ *
+ * Each original is decoded once, turned upright according to its EXIF Orientation
+ * tag (ImageIO ignores it), scaled to every configured width smaller than itself
+ * and re-encoded (JPEG, or PNG when the image has transparency). Writing fresh
+ * pixels through ImageIO drops EXIF/GPS metadata, which is why the rotation has
+ * to be baked in. The JDK has no WebP encoder, so JPEG at quality 0.8 is used as
+ * the compact format.
+ *
+ * The pixel dimensions are read from the header before anything is decoded;
+ * originals above artaura.uploads.max-variant-pixels are left without
+ * derivatives, since a small file can declare a raster far larger than the heap.
+ */
+@Service
+public class ImageVariantService {
+
+    public static final int[] VARIANT_WIDTHS = {320, 640, 1280};
+
+    private static final float JPEG_QUALITY = 0.8f;
+    private static final int WORKER_THREADS = 2;
+    private static final int QUEUE_CAPACITY = 200;
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    @Autowired
+    private ImageVariantDAO imageVariantDAO;
+
+    // 40 MP is about 160 MB as a decoded ARGB raster
+    @Value("${artaura.uploads.max-variant-pixels:40000000}")
+    private long maxPixels;
+
+    private final ThreadPoolExecutor workers = new ThreadPoolExecutor(
+            WORKER_THREADS, WORKER_THREADS, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            new VariantThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    /**
+     * Queues derivative generation for a stored original. If the queue is full
+     * the upload still succeeds; clients simply fall back to the original.
+     */
+    public void scheduleVariants(Path originalFile, String originalUrl) {
+        if (originalUrl == null || originalUrl.toLowerCase().endsWith(".gif")) {
+            return; // keep animated GIFs intact
+        }
+        try {
+            workers.execute(() -> generateVariants(originalFile, originalUrl));
+        } catch (RejectedExecutionException e) {
+            System.err.println("Image variant queue full, skipping derivatives for " + originalUrl);
+        }
+    }
+
+    public Map<String, List<ImageVariantDTO>> getVariants(Collection<String> originalUrls) {
+        if (originalUrls == null || originalUrls.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return imageVariantDAO.findVariantsByOriginalUrls(originalUrls);
+    }
+
+    /**
+     * Removes derivative files and rows for an original that is being deleted.
+     */
+    public void deleteVariants(Path originalFile, String originalUrl) {
+        for (int width : VARIANT_WIDTHS) {
+            for (String extension : new String[]{".jpg", ".png"}) {
+                try {
+                    Files.deleteIfExists(variantPath(originalFile, width, extension));
+                } catch (IOException e) {
+                    System.err.println("Failed to delete image variant for " + originalUrl + ": " + e.getMessage());
+                }
+            }
+        }
+        imageVariantDAO.deleteVariants(originalUrl);
+    }
+
+    private void generateVariants(Path originalFile, String originalUrl) {
+        try {
+            BufferedImage original = decode(originalFile, originalUrl);
+            if (original == null) {
+                return;
+            }
+            original = orient(original, readExifOrientation(originalFile));
+
+            boolean hasAlpha = original.getColorModel().hasAlpha();
+            String extension = hasAlpha ? ".png" : ".jpg";
+            String contentType = hasAlpha ? "image/png" : "image/jpeg";
+
+            List<ImageVariantDTO> variants = new ArrayList<>();
+            for (int width : VARIANT_WIDTHS) {
+                if (width >= original.getWidth()) {
+                    break;
+                }
+                BufferedImage scaled = scale(original, width, hasAlpha);
+                Path target = variantPath(originalFile, width, extension);
+                if (hasAlpha) {
+                    ImageIO.write(scaled, "png", target.toFile());
+                } else {
+                    writeJpeg(scaled, target);
+                }
+                variants.add(new ImageVariantDTO(width, variantUrl(originalUrl, width, extension), contentType));
+            }
+
+            imageVariantDAO.saveVariants(originalUrl, variants);
+        } catch (Exception e) {
+            System.err.println("Failed to generate image variants for " + originalUrl + ": " + e.getMessage());
+        } catch (OutOfMemoryError e) {
+            // The raster is unreachable once we return, so the worker can carry on
+            System.err.println("Out of memory generating image variants for " + originalUrl);
+        }
+    }
+
+    /**
+     * Decodes the original, or returns null if ImageIO cannot read the format
+     * (e.g. WebP) or the image has more pixels than maxPixels
+     */
+    private BufferedImage decode(Path originalFile, String originalUrl) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(originalFile.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    System.err.println("Skipping image variants for " + originalUrl + ": " + reader.getWidth(0)
+                            + "x" + reader.getHeight(0) + " exceeds " + maxPixels + " pixels");
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int width, boolean hasAlpha) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height,
+                hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Applies an EXIF orientation (1-8) so the pixels are stored upright
+     */
+    private static BufferedImage orient(BufferedImage source, int orientation) {
+        if (orientation < 2 || orientation > 8) {
+            return source;
+        }
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform;
+        switch (orientation) {
+            case 2: transform = new AffineTransform(-1, 0, 0, 1, w, 0); break;   // mirror horizontal
+            case 3: transform = new AffineTransform(-1, 0, 0, -1, w, h); break;  // rotate 180
+            case 4: transform = new AffineTransform(1, 0, 0, -1, 0, h); break;   // mirror vertical
+            case 5: transform = new AffineTransform(0, 1, 1, 0, 0, 0); break;    // transpose
+            case 6: transform = new AffineTransform(0, 1, -1, 0, h, 0); break;   // rotate 90 clockwise
+            case 7: transform = new AffineTransform(0, -1, -1, 0, h, w); break;  // transverse
+            default: transform = new AffineTransform(0, -1, 1, 0, 0, w); break;  // rotate 90 counter-clockwise
+        }
+        boolean swap = orientation >= 5;
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h,
+                source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Reads the Orientation tag from a JPEG's EXIF (APP1) segment; 1 (upright) when
+     * the file is not a JPEG or carries no orientation
+     */
+    private static int readExifOrientation(Path file) {
+        try (InputStream in = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            if (data.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = data.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return 1; // start of scan: no EXIF before the image data
+                }
+                int length = data.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker != 0xFFE1) {
+                    data.skipBytes(length);
+                    continue;
+                }
+                byte[] segment = new byte[length];
+                data.readFully(segment);
+                int orientation = orientationFromExif(segment);
+                if (orientation > 0) {
+                    return orientation;
+                }
+            }
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    // APP1 payload: "Exif\0\0", then a TIFF header and IFD0, whose entries are 12 bytes each
+    private static int orientationFromExif(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i'
+                || segment[3] != 'f' || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+        int tiff = 6;
+        boolean littleEndian = segment[tiff] == 'I' && segment[tiff + 1] == 'I';
+        long ifd = readInt(segment, tiff + 4, littleEndian);
+        if (ifd < 8 || tiff + ifd + 2 > segment.length) {
+            return 0;
+        }
+        int entries = readShort(segment, tiff + (int) ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = tiff + (int) ifd + 2 + i * 12;
+            if (entry + 12 > segment.length) {
+                return 0;
+            }
+            if (readShort(segment, entry, littleEndian) == EXIF_ORIENTATION_TAG) {
+                return readShort(segment, entry + 8, littleEndian);
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] b, int at, boolean littleEndian) {
+        int b0 = b[at] & 0xFF;
+        int b1 = b[at + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static long readInt(byte[] b, int at, boolean littleEndian) {
+        long high = readShort(b, littleEndian ? at + 2 : at, littleEndian);
+        long low = readShort(b, littleEndian ? at : at + 2, littleEndian);
+        return (high << 16) | low;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // artwork_1_1700000000000.png -> artwork_1_1700000000000_w640.jpg
+    private static Path variantPath(Path originalFile, int width, String extension) {
+        String name = originalFile.getFileName().toString();
+        return originalFile.resolveSibling(stripExtension(name) + "_w" + width + extension);
+    }
+
+    private static String variantUrl(String originalUrl, int width, String extension) {
+        return stripExtension(originalUrl) + "_w" + width + extension;
+    }
+
+    private static String stripExtension(String name) {
+        int dot = name.lastIndexOf('.');
+        int slash = name.lastIndexOf('/');
+        return dot > slash ? name.substring(0, dot) : name;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private static final class VariantThreadFactory implements java.util.concurrent.ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "image-variants-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
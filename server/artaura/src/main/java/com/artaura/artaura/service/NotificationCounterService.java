@@ -0,0 +1,123 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.ArtistNotificationDAO;
+import com.artaura.artaura.dao.UserNotificationDAO;
+import com.artaura.artaura.entity.UserNotification.UserType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Unread notification counts served from memory for the notification badge.
+ *
+ * A user's count is read from the database the first time it is asked for and
+ * then adjusted by the code paths that create, read and delete notifications,
+ * so badge polls normally cost a map lookup. Notifications can also be written
+ * by other instances or directly in SQL, so each count is re-read from the
+ * database once it is older than artaura.notifications.unread-count-ttl-ms;
+ * that bounds how long a count missed by an adjustment can stay wrong.
+ */
+@Service
+public class NotificationCounterService {
+
+    private static final class Counter {
+        final AtomicLong unread;
+        final long loadedAt;
+
+        Counter(long unread, long loadedAt) {
+            this.unread = new AtomicLong(unread);
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    @Autowired
+    private UserNotificationDAO userNotificationDAO;
+
+    @Autowired
+    private ArtistNotificationDAO artistNotificationDAO;
+
+    @Value("${artaura.notifications.unread-count-ttl-ms:300000}")
+    private long ttlMillis;
+
+    // "user:BUYER:12" for user_notifications, "artist:5" for artist_notifications
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    // ---- Reads ----
+
+    public long getUserUnreadCount(Long userId, UserType userType) {
+        return get(userKey(userId, userType), () -> userNotificationDAO.countUnread(userId, userType));
+    }
+
+    public long getArtistUnreadCount(Long artistId) {
+        return get(artistKey(artistId), () -> artistNotificationDAO.countUnread(artistId));
+    }
+
+    // ---- Adjustments (call after the change is committed) ----
+
+    public void userNotificationsAdded(Long userId, UserType userType, int count) {
+        adjust(userKey(userId, userType), count);
+    }
+
+    public void userNotificationRead(Long userId, UserType userType) {
+        adjust(userKey(userId, userType), -1);
+    }
+
+    public void userNotificationsAllRead(Long userId, UserType userType) {
+        counters.put(userKey(userId, userType), new Counter(0, System.currentTimeMillis()));
+    }
+
+    public void artistNotificationsAdded(Long artistId, int count) {
+        adjust(artistKey(artistId), count);
+    }
+
+    public void artistNotificationRead(Long artistId) {
+        adjust(artistKey(artistId), -1);
+    }
+
+    public void artistNotificationsAllRead(Long artistId) {
+        counters.put(artistKey(artistId), new Counter(0, System.currentTimeMillis()));
+    }
+
+    /**
+     * Drops expired counts so users who stopped polling do not stay in memory
+     */
+    @Scheduled(fixedDelayString = "${artaura.notifications.unread-count-ttl-ms:300000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        counters.values().removeIf(counter -> now - counter.loadedAt >= ttlMillis);
+    }
+
+    // ---- Helpers ----
+
+    private long get(String key, Supplier<Long> load) {
+        long now = System.currentTimeMillis();
+        Counter counter = counters.get(key);
+        if (counter == null || now - counter.loadedAt >= ttlMillis) {
+            counter = new Counter(load.get(), now);
+            counters.put(key, counter);
+        }
+        return counter.unread.get();
+    }
+
+    private void adjust(String key, int delta) {
+        // A count that is not cached is simply loaded fresh on its next read
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.unread.updateAndGet(value -> Math.max(0, value + delta));
+        }
+    }
+
+    private static String userKey(Long userId, UserType userType) {
+        return "user:" + userType.name() + ":" + userId;
+    }
+
+    private static String artistKey(Long artistId) {
+        return "artist:" + artistId;
+    }
+}
@@ -0,0 +1,218 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.DeliveryRequestDAO;
+import com.artaura.artaura.dao.NotificationOutboxDAO;
+import com.artaura.artaura.dto.delivery.DeliveryRequestDTO;
+import com.artaura.artaura.dto.notification.ArtistNotificationDTO;
+import com.artaura.artaura.dto.notification.NotificationOutboxEventDTO;
+import com.artaura.artaura.dto.notification.UserNotificationDTO;
+import com.artaura.artaura.security.StompAuthChannelInterceptor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Turns notification_outbox events into notification rows off the request thread.
+ *
+ * Each pass leases a batch of due events with one UPDATE (so several instances
+ * can run the dispatcher), resolves the delivery request each event refers to,
+ * formats the messages with NotificationService, and writes all of the batch's
+ * notifications plus the "sent" marks in one transaction. Only then are the
+ * notifications pushed over STOMP to the recipient's /user/queue/notifications,
+ * which only a session authenticated as that account receives (see
+ * StompAuthChannelInterceptor). An event
+ * that cannot be resolved, or a batch whose write fails, is retried with
+ * exponential backoff and given up on after artaura.notifications.outbox-max-attempts.
+ */
+@Service
+public class NotificationOutboxDispatcher {
+
+    // Per-user destination, delivered as /user/queue/notifications
+    public static final String NOTIFICATION_QUEUE = "/queue/notifications";
+
+    // If a pass dies mid-batch, its events become claimable again after this long
+    private static final int LEASE_SECONDS = 60;
+    private static final int MAX_BACKOFF_SECONDS = 3600;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private NotificationOutboxDAO notificationOutboxDAO;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
+    @Autowired
+    private DeliveryRequestDAO deliveryRequestDAO;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${artaura.notifications.outbox-batch-size:100}")
+    private int batchSize;
+
+    @Value("${artaura.notifications.outbox-max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${artaura.notifications.outbox-retry-base-seconds:5}")
+    private int retryBaseSeconds;
+
+    @Value("${artaura.notifications.outbox-retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${artaura.notifications.outbox-poll-ms:1000}")
+    public void dispatch() {
+        try {
+            // Keep draining while batches come back full
+            int leased;
+            do {
+                leased = dispatchBatch();
+            } while (leased >= batchSize);
+        } catch (Exception e) {
+            System.err.println("❌ NotificationOutbox: Dispatch pass failed: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelay = 300000, fixedDelayString = "${artaura.notifications.outbox-purge-ms:3600000}")
+    public void purgeSentEvents() {
+        try {
+            int deleted = notificationOutboxDAO.deleteSentOlderThan(retentionDays);
+            if (deleted > 0) {
+                System.out.println("NotificationOutbox: Purged " + deleted + " delivered event(s)");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ NotificationOutbox: Purge failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Leases and delivers one batch; returns how many events were leased
+     */
+    private int dispatchBatch() {
+        List<NotificationOutboxEventDTO> events =
+                notificationOutboxDAO.claimDue(UUID.randomUUID().toString(), batchSize, LEASE_SECONDS);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<UserNotificationDTO> userNotifications = new ArrayList<>();
+        List<ArtistNotificationDTO> artistNotifications = new ArrayList<>();
+        List<NotificationOutboxEventDTO> ready = new ArrayList<>();
+        for (NotificationOutboxEventDTO event : events) {
+            List<UserNotificationDTO> users = new ArrayList<>();
+            List<ArtistNotificationDTO> artists = new ArrayList<>();
+            try {
+                format(event, users, artists);
+            } catch (Exception e) {
+                retry(event, e);
+                continue;
+            }
+            userNotifications.addAll(users);
+            artistNotifications.addAll(artists);
+            ready.add(event);
+        }
+        if (ready.isEmpty()) {
+            return events.size();
+        }
+
+        List<Long> readyIds = new ArrayList<>(ready.size());
+        ready.forEach(event -> readyIds.add(event.getId()));
+        try {
+            notificationService.writeNotifications(userNotifications, artistNotifications, readyIds);
+        } catch (Exception e) {
+            ready.forEach(event -> retry(event, e));
+            return events.size();
+        }
+        System.out.println("✅ NotificationOutbox: Delivered " + ready.size() + " event(s) as "
+                + userNotifications.size() + " buyer and " + artistNotifications.size() + " artist notification(s)");
+
+        for (UserNotificationDTO notification : userNotifications) {
+            notificationCounterService.userNotificationsAdded(notification.getUserId(), notification.getUserType(), 1);
+            // UserType names match the JWT roles ("buyer", "artist", "shop")
+            push(StompAuthChannelInterceptor.userName(notification.getUserType().name().toLowerCase(),
+                    notification.getUserId()), notification);
+        }
+        for (ArtistNotificationDTO notification : artistNotifications) {
+            notificationCounterService.artistNotificationsAdded(notification.getArtistId(), 1);
+            push(StompAuthChannelInterceptor.userName(StompAuthChannelInterceptor.ROLE_ARTIST,
+                    notification.getArtistId()), notification);
+        }
+        return events.size();
+    }
+
+    /**
+     * Builds the notifications an event stands for; throws if the event cannot be resolved yet
+     */
+    private void format(NotificationOutboxEventDTO event, List<UserNotificationDTO> users,
+                        List<ArtistNotificationDTO> artists) throws Exception {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        String requestType = payload.path("requestType").asText();
+        Long requestId = payload.path("requestId").asLong();
+
+        Optional<DeliveryRequestDTO> requestOptional = deliveryRequestDAO.getDeliveryRequestById(requestId, requestType);
+        if (requestOptional.isEmpty()) {
+            throw new IllegalStateException("Delivery request " + requestType + " " + requestId + " not found");
+        }
+        DeliveryRequestDTO request = requestOptional.get();
+
+        switch (event.getEventType()) {
+            case NotificationService.EVENT_DELIVERY_ACCEPTED -> {
+                users.add(notificationService.buildBuyerDeliveryAccepted(request.getBuyerId(), request.getArtworkTitle(),
+                        payload.path("deliveryFee").asText("TBD"), requestType, requestId));
+                artists.add(notificationService.buildArtistDeliveryAccepted(request.getArtistId(),
+                        request.getArtworkTitle(), request.getBuyerName()));
+            }
+            case NotificationService.EVENT_OUT_FOR_DELIVERY ->
+                users.add(notificationService.buildBuyerOutForDelivery(request.getBuyerId(), request.getArtworkTitle(),
+                        requestType, requestId));
+            case NotificationService.EVENT_DELIVERED -> {
+                users.add(notificationService.buildBuyerDelivered(request.getBuyerId(), request.getArtworkTitle(),
+                        requestType, requestId));
+                artists.add(notificationService.buildArtistDelivered(request.getArtistId(),
+                        request.getArtworkTitle(), request.getBuyerName()));
+            }
+            default -> throw new IllegalArgumentException("Unknown notification event type: " + event.getEventType());
+        }
+    }
+
+    private void retry(NotificationOutboxEventDTO event, Exception cause) {
+        int attempts = event.getAttempts() + 1;
+        String error = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+        try {
+            if (attempts >= maxAttempts) {
+                notificationOutboxDAO.markFailed(event.getId(), attempts, error);
+                System.err.println("❌ NotificationOutbox: Gave up on event " + event.getId() + " after "
+                        + attempts + " attempt(s): " + error);
+            } else {
+                int delay = (int) Math.min(MAX_BACKOFF_SECONDS, (long) retryBaseSeconds << Math.min(attempts - 1, 20));
+                notificationOutboxDAO.markRetry(event.getId(), attempts, delay, error);
+                System.err.println("⚠️ NotificationOutbox: Event " + event.getId() + " failed (" + error
+                        + "), retrying in " + delay + "s");
+            }
+        } catch (Exception e) {
+            // The lease runs out and the event is picked up again
+            System.err.println("❌ NotificationOutbox: Could not reschedule event " + event.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private void push(String user, Object notification) {
+        try {
+            messagingTemplate.convertAndSendToUser(user, NOTIFICATION_QUEUE, notification);
+        } catch (Exception e) {
+            // The row is stored; the client sees it on its next fetch
+            System.err.println("Failed to push notification to " + user + ": " + e.getMessage());
+        }
+    }
+}
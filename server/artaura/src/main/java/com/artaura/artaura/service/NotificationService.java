@@ -1,22 +1,168 @@
 package com.artaura.artaura.service;
 
 import com.artaura.artaura.dao.ArtistNotificationDAO;
+import com.artaura.artaura.dao.NotificationOutboxDAO;
 import com.artaura.artaura.dao.UserNotificationDAO;
 import com.artaura.artaura.dto.notification.ArtistNotificationDTO;
 import com.artaura.artaura.dto.notification.UserNotificationDTO;
 import com.artaura.artaura.entity.UserNotification.UserType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class NotificationService {
 
+    // Outbox event types; NotificationOutboxDispatcher turns each into notification rows
+    public static final String EVENT_DELIVERY_ACCEPTED = "delivery_accepted";
+    public static final String EVENT_OUT_FOR_DELIVERY = "out_for_delivery";
+    public static final String EVENT_DELIVERED = "delivered";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Autowired
     private UserNotificationDAO userNotificationDAO;
 
     @Autowired
     private ArtistNotificationDAO artistNotificationDAO;
 
+    @Autowired
+    private NotificationOutboxDAO notificationOutboxDAO;
+
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
+    // ---- Outbox ----
+
+    /**
+     * Record that a delivery was accepted; the buyer and artist are notified in the background.
+     * Call inside the transaction that accepted the delivery: the event commits with it.
+     * @param requestType Type of request (artwork_order or commission_request)
+     * @param requestId The request ID
+     * @param deliveryFee The delivery fee
+     */
+    public void enqueueDeliveryAccepted(String requestType, Long requestId, String deliveryFee) {
+        Map<String, Object> payload = deliveryPayload(requestType, requestId);
+        payload.put("deliveryFee", deliveryFee);
+        append(EVENT_DELIVERY_ACCEPTED, payload);
+    }
+
+    /**
+     * Record that an artwork is out for delivery; the buyer is notified in the background
+     * @param requestType Type of request (artwork_order or commission_request)
+     * @param requestId The request ID
+     */
+    public void enqueueOutForDelivery(String requestType, Long requestId) {
+        append(EVENT_OUT_FOR_DELIVERY, deliveryPayload(requestType, requestId));
+    }
+
+    /**
+     * Record that an artwork was delivered; the buyer and artist are notified in the background
+     * @param requestType Type of request (artwork_order or commission_request)
+     * @param requestId The request ID
+     */
+    public void enqueueDelivered(String requestType, Long requestId) {
+        append(EVENT_DELIVERED, deliveryPayload(requestType, requestId));
+    }
+
+    /**
+     * Insert the notifications produced from a batch of outbox events and mark the
+     * events sent, all or nothing
+     * @param userNotifications Buyer notifications
+     * @param artistNotifications Artist notifications
+     * @param eventIds The outbox events they came from
+     */
+    @Transactional
+    public void writeNotifications(List<UserNotificationDTO> userNotifications,
+                                   List<ArtistNotificationDTO> artistNotifications,
+                                   List<Long> eventIds) {
+        userNotificationDAO.createNotifications(userNotifications);
+        artistNotificationDAO.createNotifications(artistNotifications);
+        notificationOutboxDAO.markSent(eventIds);
+    }
+
+    private Map<String, Object> deliveryPayload(String requestType, Long requestId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("requestType", requestType);
+        payload.put("requestId", requestId);
+        return payload;
+    }
+
+    private void append(String eventType, Map<String, Object> payload) {
+        try {
+            notificationOutboxDAO.append(eventType, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event", e);
+        }
+    }
+
+    // ---- Messages ----
+
+    public UserNotificationDTO buildBuyerDeliveryAccepted(Long buyerId, String artworkTitle, String deliveryFee, String requestType, Long requestId) {
+        String message = String.format(
+            "Good news! A delivery partner has accepted your delivery request for \"%s\". " +
+            "Delivery fee: Rs. %s. The artwork will be picked up soon and delivered to your address.",
+            artworkTitle, deliveryFee
+        );
+        return buyerNotification(buyerId, "delivery_accepted", "Delivery Accepted!", message, requestType, requestId);
+    }
+
+    public ArtistNotificationDTO buildArtistDeliveryAccepted(Long artistId, String artworkTitle, String buyerName) {
+        String message = String.format(
+            "A delivery partner has accepted the delivery request for your artwork \"%s\" ordered by %s. " +
+            "Please ensure the artwork is ready for pickup. The delivery partner will contact you soon.",
+            artworkTitle, buyerName
+        );
+        return new ArtistNotificationDTO(artistId, message);
+    }
+
+    public UserNotificationDTO buildBuyerOutForDelivery(Long buyerId, String artworkTitle, String requestType, Long requestId) {
+        String message = String.format(
+            "Your artwork \"%s\" is now out for delivery! It should arrive at your address soon.",
+            artworkTitle
+        );
+        return buyerNotification(buyerId, "out_for_delivery", "Artwork Out for Delivery!", message, requestType, requestId);
+    }
+
+    public UserNotificationDTO buildBuyerDelivered(Long buyerId, String artworkTitle, String requestType, Long requestId) {
+        String message = String.format(
+            "Your artwork \"%s\" has been successfully delivered! We hope you enjoy your purchase.",
+            artworkTitle
+        );
+        return buyerNotification(buyerId, "delivered", "Artwork Delivered!", message, requestType, requestId);
+    }
+
+    public ArtistNotificationDTO buildArtistDelivered(Long artistId, String artworkTitle, String buyerName) {
+        String message = String.format(
+            "Great news! Your artwork \"%s\" has been successfully delivered to %s.",
+            artworkTitle, buyerName
+        );
+        return new ArtistNotificationDTO(artistId, message);
+    }
+
+    private UserNotificationDTO buyerNotification(Long buyerId, String type, String title, String message,
+                                                  String requestType, Long requestId) {
+        UserNotificationDTO notification = new UserNotificationDTO();
+        notification.setUserId(buyerId);
+        notification.setUserType(UserType.BUYER);
+        notification.setType(type);
+        notification.setTitle(title);
+        notification.setMessage(message);
+        if ("commission_request".equals(requestType)) {
+            notification.setCommissionRequestId(requestId.intValue());
+        }
+        return notification;
+    }
+
+    // ---- Direct (synchronous) notifications ----
+
     /**
      * Create a notification for buyer when delivery is accepted
      * @param buyerId The buyer ID
@@ -28,25 +174,9 @@ public class NotificationService {
      */
     public boolean notifyBuyerDeliveryAccepted(Long buyerId, String artworkTitle, String deliveryFee, String requestType, Long requestId) {
         try {
-            String title = "Delivery Accepted!";
-            String message = String.format(
-                "Good news! A delivery partner has accepted your delivery request for \"%s\". " +
-                "Delivery fee: Rs. %s. The artwork will be picked up soon and delivered to your address.",
-                artworkTitle, deliveryFee
-            );
-
-            UserNotificationDTO notification = new UserNotificationDTO();
-            notification.setUserId(buyerId);
-            notification.setUserType(UserType.BUYER);
-            notification.setType("delivery_accepted");
-            notification.setTitle(title);
-            notification.setMessage(message);
-            
-            if ("commission_request".equals(requestType)) {
-                notification.setCommissionRequestId(requestId.intValue());
-            }
+            UserNotificationDTO notification = buildBuyerDeliveryAccepted(buyerId, artworkTitle, deliveryFee, requestType, requestId);
 
-            boolean created = userNotificationDAO.createNotification(notification);
+            boolean created = saveUserNotification(notification);
             if (created) {
                 System.out.println("✅ NotificationService: Sent delivery accepted notification to buyer " + buyerId);
             }
@@ -67,17 +197,9 @@ public class NotificationService {
      */
     public boolean notifyArtistDeliveryAccepted(Long artistId, String artworkTitle, String buyerName) {
         try {
-            String message = String.format(
-                "A delivery partner has accepted the delivery request for your artwork \"%s\" ordered by %s. " +
-                "Please ensure the artwork is ready for pickup. The delivery partner will contact you soon.",
-                artworkTitle, buyerName
-            );
+            ArtistNotificationDTO notification = buildArtistDeliveryAccepted(artistId, artworkTitle, buyerName);
 
-            ArtistNotificationDTO notification = new ArtistNotificationDTO();
-            notification.setArtistId(artistId);
-            notification.setNotificationBody(message);
-
-            boolean created = artistNotificationDAO.createNotification(notification);
+            boolean created = saveArtistNotification(notification);
             if (created) {
                 System.out.println("✅ NotificationService: Sent delivery accepted notification to artist " + artistId);
             }
@@ -99,24 +221,8 @@ public class NotificationService {
      */
     public boolean notifyBuyerOutForDelivery(Long buyerId, String artworkTitle, String requestType, Long requestId) {
         try {
-            String title = "Artwork Out for Delivery!";
-            String message = String.format(
-                "Your artwork \"%s\" is now out for delivery! It should arrive at your address soon.",
-                artworkTitle
-            );
-
-            UserNotificationDTO notification = new UserNotificationDTO();
-            notification.setUserId(buyerId);
-            notification.setUserType(UserType.BUYER);
-            notification.setType("out_for_delivery");
-            notification.setTitle(title);
-            notification.setMessage(message);
-            
-            if ("commission_request".equals(requestType)) {
-                notification.setCommissionRequestId(requestId.intValue());
-            }
-
-            return userNotificationDAO.createNotification(notification);
+            UserNotificationDTO notification = buildBuyerOutForDelivery(buyerId, artworkTitle, requestType, requestId);
+            return saveUserNotification(notification);
         } catch (Exception e) {
             System.out.println("❌ NotificationService: Failed to notify buyer out for delivery: " + e.getMessage());
             return false;
@@ -133,24 +239,8 @@ public class NotificationService {
      */
     public boolean notifyBuyerDelivered(Long buyerId, String artworkTitle, String requestType, Long requestId) {
         try {
-            String title = "Artwork Delivered!";
-            String message = String.format(
-                "Your artwork \"%s\" has been successfully delivered! We hope you enjoy your purchase.",
-                artworkTitle
-            );
-
-            UserNotificationDTO notification = new UserNotificationDTO();
-            notification.setUserId(buyerId);
-            notification.setUserType(UserType.BUYER);
-            notification.setType("delivered");
-            notification.setTitle(title);
-            notification.setMessage(message);
-            
-            if ("commission_request".equals(requestType)) {
-                notification.setCommissionRequestId(requestId.intValue());
-            }
-
-            return userNotificationDAO.createNotification(notification);
+            UserNotificationDTO notification = buildBuyerDelivered(buyerId, artworkTitle, requestType, requestId);
+            return saveUserNotification(notification);
         } catch (Exception e) {
             System.out.println("❌ NotificationService: Failed to notify buyer delivered: " + e.getMessage());
             return false;
@@ -166,16 +256,8 @@ public class NotificationService {
      */
     public boolean notifyArtistDelivered(Long artistId, String artworkTitle, String buyerName) {
         try {
-            String message = String.format(
-                "Great news! Your artwork \"%s\" has been successfully delivered to %s.",
-                artworkTitle, buyerName
-            );
-
-            ArtistNotificationDTO notification = new ArtistNotificationDTO();
-            notification.setArtistId(artistId);
-            notification.setNotificationBody(message);
-
-            return artistNotificationDAO.createNotification(notification);
+            ArtistNotificationDTO notification = buildArtistDelivered(artistId, artworkTitle, buyerName);
+            return saveArtistNotification(notification);
         } catch (Exception e) {
             System.out.println("❌ NotificationService: Failed to notify artist delivered: " + e.getMessage());
             return false;
@@ -188,7 +270,7 @@ public class NotificationService {
      * @return true if notification was created successfully
      */
     public boolean createUserNotification(UserNotificationDTO notification) {
-        return userNotificationDAO.createNotification(notification);
+        return saveUserNotification(notification);
     }
 
     /**
@@ -197,6 +279,101 @@ public class NotificationService {
      * @return true if notification was created successfully
      */
     public boolean createArtistNotification(ArtistNotificationDTO notification) {
-        return artistNotificationDAO.createNotification(notification);
+        return saveArtistNotification(notification);
+    }
+
+    private boolean saveUserNotification(UserNotificationDTO notification) {
+        boolean created = userNotificationDAO.createNotification(notification);
+        if (created) {
+            notificationCounterService.userNotificationsAdded(notification.getUserId(), notification.getUserType(), 1);
+        }
+        return created;
+    }
+
+    private boolean saveArtistNotification(ArtistNotificationDTO notification) {
+        boolean created = artistNotificationDAO.createNotification(notification);
+        if (created) {
+            notificationCounterService.artistNotificationsAdded(notification.getArtistId(), 1);
+        }
+        return created;
+    }
+
+    // ---- Inbox ----
+
+    /**
+     * Get a page of a user's notifications, newest first
+     * @param userId The user ID
+     * @param userType The type of user
+     * @param beforeId The last ID of the previous page, or null for the first page
+     * @param limit Page size
+     * @return Notification rows keyed by column name
+     */
+    public List<Map<String, Object>> getUserInbox(Long userId, UserType userType, Long beforeId, int limit) {
+        return userNotificationDAO.getNotificationPage(userId, userType, beforeId, limit);
+    }
+
+    /**
+     * Get a page of an artist's notifications, newest first
+     * @param artistId The artist ID
+     * @param beforeId The last ID of the previous page, or null for the first page
+     * @param limit Page size
+     * @return Notification rows keyed by column name
+     */
+    public List<Map<String, Object>> getArtistInbox(Long artistId, Long beforeId, int limit) {
+        return artistNotificationDAO.getNotificationPage(artistId, beforeId, limit);
+    }
+
+    public long getUserUnreadCount(Long userId, UserType userType) {
+        return notificationCounterService.getUserUnreadCount(userId, userType);
+    }
+
+    public long getArtistUnreadCount(Long artistId) {
+        return notificationCounterService.getArtistUnreadCount(artistId);
+    }
+
+    /**
+     * Mark one of the user's notifications as read
+     * @param notificationId The notification ID
+     * @param userId The user ID
+     * @return false if the notification does not exist or belongs to someone else
+     */
+    public boolean markUserNotificationRead(Long notificationId, Long userId) {
+        Optional<UserNotificationDTO> notification = userNotificationDAO.findById(notificationId);
+        if (notification.isEmpty() || !notification.get().getUserId().equals(userId)) {
+            return false;
+        }
+        // Only the request that actually flips the row decrements the count
+        if (userNotificationDAO.markAsRead(notificationId)) {
+            notificationCounterService.userNotificationRead(userId, notification.get().getUserType());
+        }
+        return true;
+    }
+
+    /**
+     * Mark all of a user's notifications as read
+     * @param userId The user ID
+     * @param userType The type of user
+     */
+    public void markAllUserNotificationsRead(Long userId, UserType userType) {
+        userNotificationDAO.markAllAsRead(userId, userType);
+        notificationCounterService.userNotificationsAllRead(userId, userType);
+    }
+
+    /**
+     * Delete one of the user's notifications
+     * @param notificationId The notification ID
+     * @param userId The user ID
+     * @return false if the notification does not exist, belongs to someone else or could not be deleted
+     */
+    public boolean deleteUserNotification(Long notificationId, Long userId) {
+        Optional<UserNotificationDTO> notification = userNotificationDAO.findById(notificationId);
+        if (notification.isEmpty() || !notification.get().getUserId().equals(userId)) {
+            return false;
+        }
+        boolean deleted = userNotificationDAO.deleteNotification(notificationId);
+        if (deleted && !Boolean.TRUE.equals(notification.get().getIsRead())) {
+            notificationCounterService.userNotificationRead(userId, notification.get().getUserType());
+        }
+        return deleted;
     }
 }
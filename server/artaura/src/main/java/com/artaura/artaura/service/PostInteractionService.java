@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class PostInteractionService {
@@ -14,22 +15,24 @@ public class PostInteractionService {
     @Autowired
     private PostInteractionDAO postInteractionDAO;
 
-    // Like operations
+    @Autowired
+    private PostLikeCounterService postLikeCounterService;
+
+    // Like operations (buffered through the write-behind counter); returns the new like state
     public boolean toggleLike(Long postId, Long userId, String userType) {
-        boolean isCurrentlyLiked = postInteractionDAO.isPostLikedByUser(postId, userId, userType);
-        if (isCurrentlyLiked) {
-            return postInteractionDAO.unlikePost(postId, userId, userType);
-        } else {
-            return postInteractionDAO.likePost(postId, userId, userType);
-        }
+        return postLikeCounterService.toggleLike(postId, userId, userType);
     }
 
     public boolean isPostLikedByUser(Long postId, Long userId, String userType) {
-        return postInteractionDAO.isPostLikedByUser(postId, userId, userType);
+        return postLikeCounterService.isPostLikedByUser(postId, userId, userType);
     }
 
     public int getLikesCount(Long postId) {
-        return postInteractionDAO.getLikesCount(postId);
+        return postLikeCounterService.getLikesCount(postId);
+    }
+
+    public Map<String, Object> getLikeCounterMetrics() {
+        return postLikeCounterService.getMetrics();
     }
 
     public List<PostLikeDTO> getPostLikes(Long postId) {
@@ -0,0 +1,423 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.PostInteractionDAO;
+import com.artaura.artaura.dao.buyer.ExhibitionPostDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind like counter for social posts and exhibition posts.
+ *
+ * Likes are recorded in memory and flushed to post_likes / exhibition_post_likes
+ * in JDBC batches on a schedule. Per-post counts are seeded once from the database
+ * and then maintained with LongAdder cells, so a burst of likes on one post never
+ * re-runs COUNT(*) and never contends on a single lock. Counts of posts that have
+ * nothing left to flush and have not been touched for artaura.likes.counter-idle-ms
+ * are dropped and re-seeded on their next use.
+ */
+@Service
+public class PostLikeCounterService {
+
+    private static final int MAX_FLUSH_ATTEMPTS = 5;
+
+    private enum Target { POST, EXHIBITION }
+
+    @Autowired
+    private PostInteractionDAO postInteractionDAO;
+
+    @Autowired
+    private ExhibitionPostDAO exhibitionPostDAO;
+
+    @Value("${artaura.likes.counter-idle-ms:600000}")
+    private long counterIdleMillis;
+
+    // (target, postId) -> striped count (base loaded from DB + all in-memory deltas since)
+    private final ConcurrentHashMap<PostRef, PostCounter> counters = new ConcurrentHashMap<>();
+
+    // Latest desired like state per (post, user) that has not reached the DB yet
+    private final ConcurrentHashMap<LikeKey, PendingLike> pendingLikes = new ConcurrentHashMap<>();
+
+    // Likes taken by the current flush; still authoritative until the batch commits
+    private final ConcurrentHashMap<LikeKey, PendingLike> inFlightLikes = new ConcurrentHashMap<>();
+
+    // Like updates hold the read lock; evicting counters takes the write lock so no
+    // update can be between finding a counter and adding its delta
+    private final ReentrantReadWriteLock counterLock = new ReentrantReadWriteLock();
+
+    // Bumped after every flush, before its entries leave inFlightLikes
+    private final AtomicLong flushSequence = new AtomicLong();
+
+    private final LongAdder flushedUpdates = new LongAdder();
+    private final LongAdder droppedUpdates = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder evictedCounters = new LongAdder();
+    private final AtomicLong lastFlushLagMillis = new AtomicLong();
+    private final AtomicLong lastFlushAt = new AtomicLong();
+
+    // ---- Social posts ----
+
+    /**
+     * Flips the caller's like on a post and returns the new state
+     */
+    public boolean toggleLike(Long postId, Long userId, String userType) {
+        return setLike(new LikeKey(Target.POST, postId, userId, userType), null);
+    }
+
+    public boolean isPostLikedByUser(Long postId, Long userId, String userType) {
+        return isLiked(new LikeKey(Target.POST, postId, userId, userType));
+    }
+
+    public int getLikesCount(Long postId) {
+        return count(new PostRef(Target.POST, postId));
+    }
+
+    // ---- Exhibition posts ----
+
+    /**
+     * Sets the caller's like on an exhibition post and returns the post's new count
+     */
+    public int setExhibitionLike(Long postId, Long userId, boolean liked) {
+        setLike(new LikeKey(Target.EXHIBITION, postId, userId, null), liked);
+        return getExhibitionLikesCount(postId);
+    }
+
+    public boolean hasUserLikedExhibition(Long postId, Long userId) {
+        return isLiked(new LikeKey(Target.EXHIBITION, postId, userId, null));
+    }
+
+    public int getExhibitionLikesCount(Long postId) {
+        return count(new PostRef(Target.EXHIBITION, postId));
+    }
+
+    /**
+     * Drains pending likes and writes them as JDBC batches. Entries that fail are
+     * re-queued unless a newer update for the same key arrived first; after
+     * MAX_FLUSH_ATTEMPTS they are counted as dropped.
+     */
+    @Scheduled(fixedDelayString = "${artaura.likes.flush-interval-ms:1000}")
+    public void flushPendingLikes() {
+        if (pendingLikes.isEmpty()) {
+            return;
+        }
+
+        Map<LikeKey, PendingLike> drained = new HashMap<>();
+        for (Map.Entry<LikeKey, PendingLike> entry : pendingLikes.entrySet()) {
+            inFlightLikes.put(entry.getKey(), entry.getValue());
+            if (pendingLikes.remove(entry.getKey(), entry.getValue())) {
+                drained.put(entry.getKey(), entry.getValue());
+            } else {
+                inFlightLikes.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> postLikes = new ArrayList<>();
+        List<Object[]> postUnlikes = new ArrayList<>();
+        List<Object[]> exhibitionLikes = new ArrayList<>();
+        List<Object[]> exhibitionUnlikes = new ArrayList<>();
+        Set<Long> exhibitionIds = new HashSet<>();
+        long oldestQueuedAt = Long.MAX_VALUE;
+        for (Map.Entry<LikeKey, PendingLike> entry : drained.entrySet()) {
+            LikeKey key = entry.getKey();
+            boolean liked = entry.getValue().liked;
+            if (key.target == Target.POST) {
+                (liked ? postLikes : postUnlikes).add(new Object[]{key.postId, key.userId, key.userType});
+            } else {
+                (liked ? exhibitionLikes : exhibitionUnlikes).add(new Object[]{key.postId, key.userId});
+                exhibitionIds.add(key.postId);
+            }
+            oldestQueuedAt = Math.min(oldestQueuedAt, entry.getValue().queuedAt);
+        }
+
+        try {
+            postInteractionDAO.batchLikePosts(postLikes);
+            postInteractionDAO.batchUnlikePosts(postUnlikes);
+            exhibitionPostDAO.batchLike(exhibitionLikes);
+            exhibitionPostDAO.batchUnlike(exhibitionUnlikes);
+            exhibitionPostDAO.refreshLikeCounts(exhibitionIds);
+            flushedUpdates.add(drained.size());
+            long now = System.currentTimeMillis();
+            lastFlushLagMillis.set(now - oldestQueuedAt);
+            lastFlushAt.set(now);
+        } catch (Exception e) {
+            failedFlushes.increment();
+            System.err.println("Error flushing post likes: " + e.getMessage());
+            requeue(drained);
+        } finally {
+            flushSequence.incrementAndGet();
+            drained.forEach(inFlightLikes::remove);
+        }
+    }
+
+    /**
+     * Drops counts that are idle and fully flushed; the next use re-seeds them from the DB
+     */
+    @Scheduled(fixedDelayString = "${artaura.likes.counter-evict-interval-ms:60000}")
+    public void evictIdleCounters() {
+        long idleSince = System.currentTimeMillis() - counterIdleMillis;
+        counterLock.writeLock().lock();
+        try {
+            Set<PostRef> busy = new HashSet<>();
+            pendingLikes.keySet().forEach(key -> busy.add(key.post()));
+            inFlightLikes.keySet().forEach(key -> busy.add(key.post()));
+            int before = counters.size();
+            counters.entrySet().removeIf(entry ->
+                    entry.getValue().lastUsedAt < idleSince && !busy.contains(entry.getKey()));
+            evictedCounters.add(before - counters.size());
+        } finally {
+            counterLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushPendingLikes();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        long oldestPending = pendingLikes.values().stream()
+                .mapToLong(p -> p.queuedAt)
+                .min()
+                .orElse(0L);
+        metrics.put("pendingUpdates", pendingLikes.size());
+        metrics.put("trackedPosts", counters.size());
+        metrics.put("evictedCounters", evictedCounters.sum());
+        metrics.put("flushedUpdates", flushedUpdates.sum());
+        metrics.put("droppedUpdates", droppedUpdates.sum());
+        metrics.put("failedFlushes", failedFlushes.sum());
+        metrics.put("lastFlushLagMillis", lastFlushLagMillis.get());
+        metrics.put("lastFlushAt", lastFlushAt.get());
+        metrics.put("currentFlushLagMillis", oldestPending == 0L ? 0L : System.currentTimeMillis() - oldestPending);
+        return metrics;
+    }
+
+    // ---- Helpers ----
+
+    /**
+     * Sets (or, with desired null, flips) a like and returns the new state. The
+     * persisted state is read before the per-key compute; if a flush committed in
+     * between, the read may be stale and the update is retried.
+     */
+    private boolean setLike(LikeKey key, Boolean desired) {
+        counterLock.readLock().lock();
+        try {
+            PostCounter counter = counterFor(key.post());
+            while (true) {
+                long sequence = flushSequence.get();
+                PendingLike existing = pendingLikes.get(key);
+                boolean persistedRead = existing != null ? existing.persistedLiked : isPersistedLike(key);
+                boolean[] stale = new boolean[1];
+                PendingLike updated = pendingLikes.compute(key, (k, pending) -> {
+                    boolean persistedLiked;
+                    if (pending != null) {
+                        persistedLiked = pending.persistedLiked;
+                    } else {
+                        PendingLike inFlight = inFlightLikes.get(k);
+                        if (inFlight != null) {
+                            persistedLiked = inFlight.liked;
+                        } else if (flushSequence.get() == sequence) {
+                            persistedLiked = persistedRead;
+                        } else {
+                            stale[0] = true;
+                            return null;
+                        }
+                    }
+                    boolean currentlyLiked = pending != null ? pending.liked : persistedLiked;
+                    boolean liked = desired != null ? desired : !currentlyLiked;
+                    if (liked != currentlyLiked) {
+                        if (liked) {
+                            counter.delta.increment();
+                        } else {
+                            counter.delta.decrement();
+                        }
+                    }
+                    if (pending == null && liked == persistedLiked) {
+                        // Nothing to write
+                        return null;
+                    }
+                    long queuedAt = pending != null ? pending.queuedAt : System.currentTimeMillis();
+                    return new PendingLike(liked, persistedLiked, queuedAt, 0);
+                });
+                if (stale[0]) {
+                    continue;
+                }
+                counter.lastUsedAt = System.currentTimeMillis();
+                return updated != null ? updated.liked : desired != null ? desired : persistedRead;
+            }
+        } finally {
+            counterLock.readLock().unlock();
+        }
+    }
+
+    private boolean isLiked(LikeKey key) {
+        PendingLike pending = pendingLikes.get(key);
+        if (pending != null) {
+            return pending.liked;
+        }
+        return isPersistedLike(key);
+    }
+
+    private int count(PostRef post) {
+        counterLock.readLock().lock();
+        try {
+            PostCounter counter = counterFor(post);
+            counter.lastUsedAt = System.currentTimeMillis();
+            return (int) Math.max(0, counter.base + counter.delta.sum());
+        } finally {
+            counterLock.readLock().unlock();
+        }
+    }
+
+    private void requeue(Map<LikeKey, PendingLike> drained) {
+        for (Map.Entry<LikeKey, PendingLike> entry : drained.entrySet()) {
+            PendingLike failed = entry.getValue();
+            if (failed.attempts + 1 >= MAX_FLUSH_ATTEMPTS) {
+                droppedUpdates.increment();
+                revertCount(entry.getKey(), failed);
+                continue;
+            }
+            pendingLikes.putIfAbsent(entry.getKey(),
+                    new PendingLike(failed.liked, failed.persistedLiked, failed.queuedAt, failed.attempts + 1));
+        }
+    }
+
+    private boolean isPersistedLike(LikeKey key) {
+        PendingLike inFlight = inFlightLikes.get(key);
+        if (inFlight != null) {
+            return inFlight.liked;
+        }
+        if (key.target == Target.POST) {
+            return postInteractionDAO.isPostLikedByUser(key.postId, key.userId, key.userType);
+        }
+        return exhibitionPostDAO.hasUserLiked(key.postId, key.userId) != 0;
+    }
+
+    private void revertCount(LikeKey key, PendingLike dropped) {
+        // Still in flight, so the counter cannot have been evicted
+        PostCounter counter = counters.get(key.post());
+        if (counter == null || dropped.liked == dropped.persistedLiked) {
+            return;
+        }
+        if (dropped.liked) {
+            counter.delta.decrement();
+        } else {
+            counter.delta.increment();
+        }
+    }
+
+    /**
+     * The post's counter, seeded from the DB on first use (call with the read lock
+     * held). Pending toggles always have a counter, so a fresh seed cannot miss any.
+     */
+    private PostCounter counterFor(PostRef post) {
+        PostCounter counter = counters.get(post);
+        if (counter != null) {
+            return counter;
+        }
+        long base = post.target == Target.POST
+                ? postInteractionDAO.getLikesCount(post.postId)
+                : exhibitionPostDAO.getLikesCount(post.postId);
+        PostCounter seeded = new PostCounter(base);
+        counter = counters.putIfAbsent(post, seeded);
+        return counter != null ? counter : seeded;
+    }
+
+    private static final class PostCounter {
+        private final long base;
+        private final LongAdder delta = new LongAdder();
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        private PostCounter(long base) {
+            this.base = base;
+        }
+    }
+
+    private static final class PendingLike {
+        private final boolean liked;
+        private final boolean persistedLiked;
+        private final long queuedAt;
+        private final int attempts;
+
+        private PendingLike(boolean liked, boolean persistedLiked, long queuedAt, int attempts) {
+            this.liked = liked;
+            this.persistedLiked = persistedLiked;
+            this.queuedAt = queuedAt;
+            this.attempts = attempts;
+        }
+    }
+
+    private static final class PostRef {
+        private final Target target;
+        private final Long postId;
+
+        private PostRef(Target target, Long postId) {
+            this.target = target;
+            this.postId = postId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PostRef)) return false;
+            PostRef other = (PostRef) o;
+            return target == other.target && Objects.equals(postId, other.postId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(target, postId);
+        }
+    }
+
+    private static final class LikeKey {
+        private final Target target;
+        private final Long postId;
+        private final Long userId;
+        private final String userType;
+
+        private LikeKey(Target target, Long postId, Long userId, String userType) {
+            this.target = target;
+            this.postId = postId;
+            this.userId = userId;
+            this.userType = userType;
+        }
+
+        private PostRef post() {
+            return new PostRef(target, postId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LikeKey)) return false;
+            LikeKey other = (LikeKey) o;
+            return target == other.target
+                    && Objects.equals(postId, other.postId)
+                    && Objects.equals(userId, other.userId)
+                    && Objects.equals(userType, other.userType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(target, postId, userId, userType);
+        }
+    }
+}
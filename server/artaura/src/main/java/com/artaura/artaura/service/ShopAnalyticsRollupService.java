@@ -0,0 +1,79 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.config.SchedulingConfig;
+import com.artaura.artaura.dao.AnalyticsRollupDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the daily shop analytics rollups read by AnalyticsDAOImpl.
+ *
+ * Each run queues the days of orders inserted since the last order_id
+ * watermark, then rebuilds queued shop-days from shop_orders. Order edits
+ * queue their day directly (see ShopOrderDAOImpl / ArtistOrderDAOImpl), so
+ * status changes on old orders are picked up without rescanning history.
+ * On first run the watermark is 0 and the whole history is backfilled in
+ * batches.
+ */
+@Service
+public class ShopAnalyticsRollupService {
+
+    private static final String WATERMARK = "shop_orders";
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    // Re-scan a few ids below the watermark in case a lower id committed after a higher one
+    private static final long WATERMARK_OVERLAP = 50;
+
+    @Autowired
+    private AnalyticsRollupDAO analyticsRollupDAO;
+
+    @Scheduled(fixedDelayString = "${artaura.analytics.rollup-interval-ms:60000}",
+            scheduler = SchedulingConfig.BACKGROUND_SCHEDULER)
+    public void refreshRollups() {
+        try {
+            long watermark = analyticsRollupDAO.getWatermark(WATERMARK);
+            long maxOrderId = analyticsRollupDAO.getMaxOrderId();
+            if (maxOrderId > watermark) {
+                analyticsRollupDAO.markNewOrdersDirty(Math.max(0, watermark - WATERMARK_OVERLAP), maxOrderId);
+                analyticsRollupDAO.saveWatermark(WATERMARK, maxOrderId);
+            }
+
+            int rebuilt = 0;
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                List<Map<String, Object>> dirtyDays = analyticsRollupDAO.findDirtyDays(BATCH_SIZE);
+                for (Map<String, Object> day : dirtyDays) {
+                    analyticsRollupDAO.rebuildDay(
+                            ((Number) day.get("shop_id")).longValue(),
+                            ((Date) day.get("sales_date")).toLocalDate(),
+                            (Timestamp) day.get("marked_at"));
+                    rebuilt++;
+                }
+                if (dirtyDays.size() < BATCH_SIZE) {
+                    break;
+                }
+            }
+            if (rebuilt > 0) {
+                System.out.println("Shop analytics rollup: rebuilt " + rebuilt + " shop-day(s), watermark " + maxOrderId);
+            }
+        } catch (Exception e) {
+            System.err.println("Shop analytics rollup failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queue an order's day for rebuilding; failures only delay the rollup until the next edit
+     */
+    public void markOrderChanged(Long orderId) {
+        try {
+            analyticsRollupDAO.markOrderDirty(orderId);
+        } catch (Exception e) {
+            System.err.println("Failed to queue analytics rollup for order " + orderId + ": " + e.getMessage());
+        }
+    }
+}
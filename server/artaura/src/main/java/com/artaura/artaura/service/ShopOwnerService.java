@@ -17,6 +17,12 @@ public class ShopOwnerService {
     @Autowired
     private PasswordEncoderUtil encoder;
 
+    @Autowired
+    private UserIdentityService userIdentityService;
+
+    @Autowired
+    private AdminOverviewSnapshotService adminOverviewSnapshotService;
+
     public void register(ShopOwnerSignupRequest req) {
         if (shopOwnerDAO.emailExists(req.getEmail())) {
             throw new CustomException("Email is already in use", HttpStatus.CONFLICT);
@@ -24,5 +30,7 @@ public class ShopOwnerService {
 
         String hashedPassword = encoder.encode(req.getPassword());
         shopOwnerDAO.save(req, hashedPassword);
+        userIdentityService.evict(req.getEmail());
+        adminOverviewSnapshotService.recordSignup("shop", "Pending");
     }
 }
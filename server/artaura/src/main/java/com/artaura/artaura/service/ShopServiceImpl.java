@@ -13,6 +13,12 @@ public class ShopServiceImpl implements ShopService {
     @Autowired
     private ShopDAO shopDAO;
 
+    @Autowired
+    private AdminOverviewSnapshotService adminOverviewSnapshotService;
+
+    @Autowired
+    private UserIdentityService userIdentityService;
+
     @Override
     public ShopDTO getShopById(Long shopId) {
         return shopDAO.findById(shopId);
@@ -26,11 +32,14 @@ public class ShopServiceImpl implements ShopService {
     @Override
     public void updateShop(Long shopId, ShopDTO shop) {
         shopDAO.updateShop(shopId, shop);
+        // The shop may have been given a new login email
+        userIdentityService.evict(shop.getEmail());
     }
 
     @Override
     public void deleteShop(Long shopId) {
         shopDAO.deleteShop(shopId);
+        adminOverviewSnapshotService.markDirty();
     }
 
     @Override
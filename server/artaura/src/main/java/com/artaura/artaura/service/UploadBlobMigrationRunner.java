@@ -0,0 +1,80 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.UploadBlobDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * One-off migration that registers files uploaded before the content-addressed
+ * store in upload_blobs, with one reference each.
+ *
+ * Files stay at their legacy paths so every URL already stored in the database
+ * keeps working. Once registered, deletes go through reference counting and new
+ * uploads with identical bytes are deduplicated onto the legacy file.
+ *
+ * Run once with artaura.uploads.migrate-legacy=true; re-running is harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "artaura.uploads.migrate-legacy", havingValue = "true")
+public class UploadBlobMigrationRunner implements ApplicationRunner {
+
+    // Derivatives written by ImageVariantService (name_w640.jpg) belong to their original
+    private static final Pattern VARIANT_FILE = Pattern.compile(".*_w\\d+\\.(jpg|png)$");
+
+    @Autowired
+    private UploadBlobDAO uploadBlobDAO;
+
+    @Autowired
+    private CentralizedUploadService centralizedUploadService;
+
+    @Autowired
+    private ImageUploadService imageUploadService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate(centralizedUploadService.getUploadsRoot(), CentralizedUploadService.UPLOADS_NAMESPACE);
+        migrate(imageUploadService.getNicRoot(), ImageUploadService.NIC_NAMESPACE);
+    }
+
+    private void migrate(Path root, String namespace) {
+        if (!Files.isDirectory(root)) {
+            System.out.println("Upload migration: " + root + " does not exist, skipping");
+            return;
+        }
+
+        Path blobRoot = root.resolve(ContentAddressedStore.BLOB_DIRECTORY);
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(path -> !path.startsWith(blobRoot))
+                    .filter(path -> !VARIANT_FILE.matcher(path.getFileName().toString()).matches())
+                    .toList();
+        } catch (IOException e) {
+            System.err.println("Upload migration: failed to scan " + root + ": " + e.getMessage());
+            return;
+        }
+
+        int registered = 0;
+        for (Path file : files) {
+            String url = namespace + "/" + root.relativize(file).toString().replace('\\', '/');
+            try {
+                if (uploadBlobDAO.registerExisting(url, namespace, ContentAddressedStore.sha256Hex(file), Files.size(file))) {
+                    registered++;
+                }
+            } catch (Exception e) {
+                System.err.println("Upload migration: failed to register " + url + ": " + e.getMessage());
+            }
+        }
+        System.out.println("Upload migration: registered " + registered + " of " + files.size() + " files under " + namespace);
+    }
+}
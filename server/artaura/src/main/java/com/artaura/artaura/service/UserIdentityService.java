@@ -0,0 +1,77 @@
+package com.artaura.artaura.service;
+
+import com.artaura.artaura.dao.UserIdentityDAO;
+import com.artaura.artaura.dto.auth.UserIdentityDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves an email to its accounts with a single query, and remembers emails
+ * that matched nothing so repeated bad logins (typos, credential stuffing)
+ * do not reach the database. Only misses are cached; password hashes are never held.
+ *
+ * Every code path that creates an account or changes an account's email must call
+ * evict() with the new address. Accounts inserted outside the application (moderators,
+ * admins and delivery partners have no creation path here) or through another instance
+ * become visible once the cached miss expires, at most UNKNOWN_EMAIL_TTL_MILLIS later.
+ */
+@Service
+public class UserIdentityService {
+
+    private static final int MAX_UNKNOWN_EMAILS = 10_000;
+    private static final long UNKNOWN_EMAIL_TTL_MILLIS = 60_000;
+
+    @Autowired
+    private UserIdentityDAO userIdentityDAO;
+
+    // email -> time the miss was recorded; access-ordered so the least recently seen entry is evicted
+    private final Map<String, Long> unknownEmails = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_UNKNOWN_EMAILS;
+        }
+    };
+
+    public List<UserIdentityDTO> findByEmail(String email) {
+        if (email == null) {
+            return Collections.emptyList();
+        }
+        String key = email.trim().toLowerCase();
+
+        synchronized (unknownEmails) {
+            Long missedAt = unknownEmails.get(key);
+            if (missedAt != null) {
+                if (System.currentTimeMillis() - missedAt < UNKNOWN_EMAIL_TTL_MILLIS) {
+                    return Collections.emptyList();
+                }
+                unknownEmails.remove(key);
+            }
+        }
+
+        List<UserIdentityDTO> identities = userIdentityDAO.findByEmail(email);
+        if (identities.isEmpty()) {
+            synchronized (unknownEmails) {
+                unknownEmails.put(key, System.currentTimeMillis());
+            }
+        }
+        return identities;
+    }
+
+    /**
+     * Must be called after an account is created or its email changes so a
+     * cached miss cannot block the first login with that address.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        synchronized (unknownEmails) {
+            unknownEmails.remove(email.trim().toLowerCase());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.artaura.artaura.dto.artist.ChallengeParticipationDTO;
 import com.artaura.artaura.dto.moderator.ChallengeDTO;
 import com.artaura.artaura.entity.ChallengeParticipant;
 import com.artaura.artaura.service.CentralizedUploadService;
+import com.artaura.artaura.service.buyer.ChallengeLeaderboardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,6 +22,9 @@ public class ChallengeParticipationService {
     @Autowired
     private CentralizedUploadService uploadService;
 
+    @Autowired
+    private ChallengeLeaderboardService leaderboardService;
+
     public List<ChallengeDTO> getActiveChallenges() {
         return challengeParticipationDAO.getActiveChallenges();
     }
@@ -56,7 +60,9 @@ public class ChallengeParticipationService {
         participation.setSubmissionDate(LocalDateTime.now());
         participation.setStatus("submitted");
 
-        return challengeParticipationDAO.submitParticipation(participation);
+        Long participationId = challengeParticipationDAO.submitParticipation(participation);
+        leaderboardService.submissionAdded(challengeId);
+        return participationId;
     }
 
     public boolean checkParticipation(Long challengeId, Long artistId) {
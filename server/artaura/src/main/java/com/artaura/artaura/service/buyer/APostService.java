@@ -1,21 +1,113 @@
 package com.artaura.artaura.service.buyer;
 
 import com.artaura.artaura.dao.buyer.APostDAO;
+import com.artaura.artaura.dto.buyer.APostFeedPageDTO;
 import com.artaura.artaura.dto.buyer.APostResponseDTO;
+import com.artaura.artaura.exception.CustomException;
+import com.artaura.artaura.service.ImageVariantService;
+import com.artaura.artaura.util.CursorUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class APostService {
+    public static final int DEFAULT_FEED_PAGE_SIZE = 20;
+    public static final int MAX_FEED_PAGE_SIZE = 100;
+
     @Autowired
     private APostDAO postDAO;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
     public List<APostResponseDTO> getAllPostsSortedByTime() {
         return postDAO.getAllPostsSortedByTime();
     }
 
+    public APostFeedPageDTO getFeedPage(String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_FEED_PAGE_SIZE : Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+
+        Timestamp cursorCreatedAt = null;
+        Long cursorPostId = null;
+        String[] parts = CursorUtil.decode(cursor, 2);
+        if (parts != null) {
+            try {
+                cursorCreatedAt = new Timestamp(Long.parseLong(parts[0]));
+                cursorPostId = Long.parseLong(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new CustomException("Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists without a COUNT(*)
+        List<APostResponseDTO> rows = postDAO.getPostsPageSortedByTime(cursorCreatedAt, cursorPostId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<APostResponseDTO> posts = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            APostResponseDTO last = posts.get(posts.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt().getTime(), last.getPostId());
+        }
+        APostFeedPageDTO page = new APostFeedPageDTO(posts, nextCursor, hasMore, pageSize);
+        page.setImageVariants(imageVariantService.getVariants(collectImageUrls(posts)));
+        return page;
+    }
+
+    // post.image holds either a single path or a JSON array of paths
+    private List<String> collectImageUrls(List<APostResponseDTO> posts) {
+        List<String> urls = new ArrayList<>();
+        for (APostResponseDTO post : posts) {
+            String image = post.getImage();
+            if (image == null || image.isBlank()) {
+                continue;
+            }
+            if (image.trim().startsWith("[")) {
+                try {
+                    urls.addAll(objectMapper.readValue(image, new TypeReference<List<String>>() {}));
+                } catch (IOException e) {
+                    // malformed image list; the post is still served without variants
+                }
+            } else {
+                urls.add(image);
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Writes the full feed as a JSON array directly to the given stream, one row
+     * at a time, so memory use stays flat regardless of how many posts exist.
+     */
+    public void streamAllPostsSortedByTime(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            postDAO.streamAllPostsSortedByTime(post -> {
+                try {
+                    objectMapper.writeValue(generator, post);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     public APostResponseDTO likePost(Long postId) {
         postDAO.incrementLikes(postId);
         return postDAO.getPostById(postId);
@@ -0,0 +1,165 @@
+package com.artaura.artaura.service.buyer;
+
+import com.artaura.artaura.dao.buyer.ArtworkHoldDao;
+import com.artaura.artaura.exception.CustomException;
+import com.artaura.artaura.util.TimerWheel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived checkout holds so two buyers cannot pay for the same artwork.
+ *
+ * The artworks row is the source of truth: a hold is placed with one
+ * conditional update over the whole cart (all or nothing), so it is safe
+ * across instances. This instance also keeps the holds it placed in a map of
+ * artwork id to {buyer, expiry}, which rejects a checkout that collides with
+ * a live hold without a database round trip, and a timer wheel that clears
+ * lapsed holds from the table shortly after they expire. Holds placed by
+ * other instances, or before a restart, are cleared by the periodic sweep;
+ * until then an expired hold is simply ignored by every query.
+ */
+@Service
+public class ArtworkHoldService {
+
+    private static final class Hold {
+        final long buyerId;
+        final long expiresAtMillis;
+
+        Hold(long buyerId, long expiresAtMillis) {
+            this.buyerId = buyerId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    @Autowired
+    private ArtworkHoldDao artworkHoldDao;
+
+    @Value("${artaura.checkout.hold-seconds:600}")
+    private int holdSeconds;
+
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+    // 1-second ticks over a 10-minute revolution
+    private final TimerWheel<Long> expiries = new TimerWheel<>(1000, 600, System.currentTimeMillis());
+
+    /**
+     * Holds every artwork for the buyer (extending holds the buyer already has).
+     * Throws a 409 CustomException naming the artworks that are sold or held by
+     * someone else; in that case nothing is held.
+     */
+    public Instant holdArtworks(Collection<Long> artworkIds, Long buyerId) {
+        Set<Long> ids = distinct(artworkIds);
+        if (ids.isEmpty()) {
+            throw new CustomException("No artworks to reserve");
+        }
+        if (buyerId == null) {
+            throw new CustomException("Buyer is required to reserve artworks", HttpStatus.UNAUTHORIZED);
+        }
+        long now = System.currentTimeMillis();
+        List<Long> heldByOthers = new ArrayList<>();
+        for (Long artworkId : ids) {
+            Hold hold = holds.get(artworkId);
+            if (hold != null && hold.buyerId != buyerId && hold.expiresAtMillis > now) {
+                heldByOthers.add(artworkId);
+            }
+        }
+        if (!heldByOthers.isEmpty()) {
+            throw unavailable(heldByOthers);
+        }
+
+        if (!artworkHoldDao.holdAll(ids, buyerId, holdSeconds)) {
+            throw unavailable(artworkHoldDao.findUnavailable(ids, buyerId));
+        }
+        long expiresAt = now + holdSeconds * 1000L;
+        for (Long artworkId : ids) {
+            holds.put(artworkId, new Hold(buyerId, expiresAt));
+            expiries.schedule(artworkId, expiresAt);
+        }
+        return Instant.ofEpochMilli(expiresAt);
+    }
+
+    /**
+     * Gives up the buyer's holds, e.g. when creating the payment failed
+     */
+    public void releaseHolds(Collection<Long> artworkIds, Long buyerId) {
+        Set<Long> ids = distinct(artworkIds);
+        if (ids.isEmpty() || buyerId == null) {
+            return;
+        }
+        ids.forEach(artworkId -> holds.computeIfPresent(artworkId,
+                (id, hold) -> hold.buyerId == buyerId ? null : hold));
+        try {
+            artworkHoldDao.release(ids, buyerId);
+        } catch (Exception e) {
+            System.err.println("Failed to release artwork holds " + ids + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The order was saved and the artworks marked Sold (which clears the hold columns)
+     */
+    public void holdsConverted(Collection<Long> artworkIds) {
+        distinct(artworkIds).forEach(holds::remove);
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void expireHolds() {
+        long now = System.currentTimeMillis();
+        List<Long> lapsed = new ArrayList<>();
+        for (Long artworkId : expiries.advance(now)) {
+            // A renewed hold is still in the wheel under its later deadline
+            Hold hold = holds.get(artworkId);
+            if (hold != null && hold.expiresAtMillis <= now && holds.remove(artworkId, hold)) {
+                lapsed.add(artworkId);
+            }
+        }
+        if (lapsed.isEmpty()) {
+            return;
+        }
+        try {
+            artworkHoldDao.clearExpired(lapsed);
+        } catch (Exception e) {
+            // Expired holds are already ignored by every query; the sweep clears them later
+            System.err.println("Failed to clear expired artwork holds " + lapsed + ": " + e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelay = 60000, fixedDelayString = "${artaura.checkout.hold-sweep-ms:900000}")
+    public void sweepExpiredHolds() {
+        try {
+            int cleared = artworkHoldDao.clearAllExpired();
+            if (cleared > 0) {
+                System.out.println("Cleared " + cleared + " lapsed artwork hold(s)");
+            }
+        } catch (Exception e) {
+            System.err.println("Artwork hold sweep failed: " + e.getMessage());
+        }
+    }
+
+    private static CustomException unavailable(List<Long> artworkIds) {
+        return new CustomException("Artwork no longer available: " + artworkIds, HttpStatus.CONFLICT);
+    }
+
+    private static Set<Long> distinct(Collection<Long> artworkIds) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (artworkIds != null) {
+            for (Long artworkId : artworkIds) {
+                if (artworkId != null) {
+                    ids.add(artworkId);
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -1,18 +1,50 @@
 package com.artaura.artaura.service.buyer;
 
 import com.artaura.artaura.dao.buyer.ArtworkResponse;
+import com.artaura.artaura.dto.artwork.ArtworkSearchQueryDTO;
+import com.artaura.artaura.dto.artwork.ArtworkSearchResultDTO;
 import com.artaura.artaura.dto.buyer.ArtworksResponse;
+import com.artaura.artaura.exception.CustomException;
+import com.artaura.artaura.service.ArtworkSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class Artworkservice {
     @Autowired
     private ArtworkResponse artworkDao;
 
+    @Autowired
+    private ArtworkSearchIndex artworkSearchIndex;
+
     public List<ArtworksResponse> getAvailableArtworks() {
         return artworkDao.findAvailableArtworksWithArtist();
     }
+
+    /**
+     * Catalogue search over available artworks: one page of ranked results plus facet counts
+     */
+    public Map<String, Object> searchAvailableArtworks(ArtworkSearchQueryDTO query) {
+        if (!artworkSearchIndex.isReady()) {
+            throw new CustomException("Artwork search is starting up, please try again shortly", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (!ArtworkSearchIndex.supportsSort(query.getSortBy())) {
+            throw new CustomException("Unsupported sort: " + query.getSortBy());
+        }
+        query.setStatus("Available");
+
+        ArtworkSearchResultDTO result = artworkSearchIndex.search(query);
+        Map<String, Object> response = new HashMap<>();
+        response.put("artworks", artworkDao.findAvailableArtworksByIds(result.getArtworkIds()));
+        response.put("totalHits", result.getTotalHits());
+        response.put("facets", result.getFacets());
+        response.put("offset", query.getOffset());
+        response.put("limit", query.getLimit());
+        return response;
+    }
 }
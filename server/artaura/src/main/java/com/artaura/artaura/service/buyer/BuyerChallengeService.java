@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +17,9 @@ public class BuyerChallengeService {
     @Autowired
     private BuyerChallengeDAO challengeDAO;
 
+    @Autowired
+    private ChallengeLeaderboardService leaderboardService;
+
     private String toIsoString(Object value) {
         if (value == null) return null;
         if (value instanceof java.sql.Timestamp) return ((java.sql.Timestamp) value).toInstant().toString();
@@ -27,13 +31,23 @@ public class BuyerChallengeService {
 
     public List<ChallengeDTO> getActiveChallenges() {
         List<Map<String, Object>> rawList = challengeDAO.findActiveChallenges();
+
+        // Get participant and submission counts for every challenge in one batched query
+        List<Long> challengeIds = new ArrayList<>();
+        for (Map<String, Object> row : rawList) {
+            if (row.get("id") != null) {
+                challengeIds.add(((Number) row.get("id")).longValue());
+            }
+        }
+        Map<Long, Map<String, Integer>> countsByChallenge = challengeDAO.getChallengeCounts(challengeIds);
+
         List<ChallengeDTO> dtoList = new ArrayList<>();
         for (Map<String, Object> row : rawList) {
             Long challengeId = row.get("id") != null ? ((Number)row.get("id")).longValue() : null;
-            
-            // Get participant and submission counts from challenge_participants table
-            int participantCount = challengeId != null ? challengeDAO.getParticipantCount(challengeId) : 0;
-            int submissionCount = challengeId != null ? challengeDAO.getSubmissionCount(challengeId) : 0;
+
+            Map<String, Integer> counts = challengeId != null ? countsByChallenge.get(challengeId) : null;
+            int participantCount = counts != null ? counts.get("participantCount") : 0;
+            int submissionCount = counts != null ? counts.get("submissionCount") : 0;
             
             ChallengeDTO dto = new ChallengeDTO(
                 challengeId,
@@ -111,7 +125,69 @@ public class BuyerChallengeService {
      * @return Map containing success status, counts, and user reaction
      */
     public Map<String, Object> handleLikeDislike(Long submissionId, Long userId, String action) {
-        return challengeDAO.handleLikeDislike(submissionId, userId, action);
+        Map<String, Object> result = challengeDAO.handleLikeDislike(submissionId, userId, action);
+        if (Boolean.TRUE.equals(result.get("success"))) {
+            leaderboardService.reactionChanged(submissionId);
+        }
+        return result;
+    }
+
+    /**
+     * A page of a challenge's leaderboard with ranks in the position field.
+     * Active challenges are served from the in-memory board; others fall back to the sorted list.
+     * @return Map with submissions, total, offset, limit and sortBy
+     */
+    public Map<String, Object> getLeaderboardPage(Integer challengeId, Long userId, String sortBy, int offset, int limit) {
+        List<ChallengeSubmissionDTO> submissions;
+        int total;
+        ChallengeLeaderboardService.Page page = leaderboardService.getPage(challengeId, sortBy, offset, limit);
+        if (page != null) {
+            List<Long> ids = new ArrayList<>();
+            for (ChallengeLeaderboardService.Entry entry : page.getEntries()) {
+                ids.add(entry.getSubmissionId());
+            }
+            Map<Long, ChallengeSubmissionDTO> byId = new HashMap<>();
+            for (ChallengeSubmissionDTO dto : challengeDAO.getSubmissionsByIds(ids, userId)) {
+                byId.put(dto.getId(), dto);
+            }
+            submissions = new ArrayList<>();
+            int rank = page.getFirstRank();
+            for (ChallengeLeaderboardService.Entry entry : page.getEntries()) {
+                ChallengeSubmissionDTO dto = byId.get(entry.getSubmissionId());
+                if (dto != null) {
+                    // The board gives the order; the counters stay as just read, which is never older
+                    // than the board's and may include a reaction it has not applied yet
+                    dto.setPosition(rank);
+                    submissions.add(dto);
+                }
+                rank++;
+            }
+            total = page.getTotal();
+        } else {
+            List<ChallengeSubmissionDTO> all = challengeDAO.getSubmissionsByChallengeWithSort(
+                    challengeId, userId, "buyer", sortBy != null ? sortBy : ChallengeLeaderboardService.TOP_SCORES);
+            total = all.size();
+            int from = Math.min(offset, total);
+            submissions = new ArrayList<>(all.subList(from, Math.min(total, from + limit)));
+            for (int i = 0; i < submissions.size(); i++) {
+                submissions.get(i).setPosition(from + i + 1);
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("submissions", submissions);
+        result.put("total", total);
+        result.put("offset", offset);
+        result.put("limit", limit);
+        result.put("sortBy", sortBy);
+        return result;
+    }
+
+    /**
+     * Rank of one submission on an active challenge's leaderboard, or null if unavailable
+     */
+    public Map<String, Object> getSubmissionRank(Integer challengeId, Long submissionId, String sortBy) {
+        return leaderboardService.getRank(challengeId, submissionId, sortBy);
     }
 
     /**
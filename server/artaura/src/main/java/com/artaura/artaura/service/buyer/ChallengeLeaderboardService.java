@@ -0,0 +1,345 @@
+package com.artaura.artaura.service.buyer;
+
+import com.artaura.artaura.dao.buyer.BuyerChallengeDAO;
+import com.artaura.artaura.dto.buyer.ChallengeSubmissionDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory leaderboards for active challenges.
+ *
+ * Each board is loaded once from the counters on challenge_participants and
+ * then kept current after every committed reaction, so top-N, "my rank" and sorted pages
+ * never aggregate the reaction tables. Every sort order is a sorted array:
+ * finding a rank or a page start is a binary search, and a counter change
+ * moves one entry with an array shift, which at challenge sizes (hundreds to
+ * low thousands of submissions) is cheaper than a tree. Boards for challenges
+ * that are not active are never built; callers fall back to the DAO.
+ */
+@Service
+public class ChallengeLeaderboardService {
+
+    public static final String TOP_SCORES = "topscores";
+    public static final String MOST_VOTED = "mostvoted";
+    public static final String NEWEST = "newest";
+    public static final String OLDEST = "oldest";
+
+    private static final Comparator<LocalDateTime> EARLIEST_FIRST = Comparator.nullsLast(Comparator.naturalOrder());
+    private static final Comparator<LocalDateTime> LATEST_FIRST = Comparator.nullsLast(Comparator.reverseOrder());
+
+    // Same orders as BuyerChallangeDAOImpl.getSubmissionsByChallengeWithSort, with the id as a final tiebreaker
+    private static final Comparator<Entry> BY_MARKS = Comparator
+            .comparingInt((Entry e) -> -e.marks)
+            .thenComparingInt(e -> -e.likes)
+            .thenComparing(e -> e.submissionDate, EARLIEST_FIRST)
+            .thenComparingLong(e -> e.submissionId);
+    private static final Comparator<Entry> BY_VOTES = Comparator
+            .comparingInt((Entry e) -> -e.votes)
+            .thenComparing(e -> e.submissionDate, LATEST_FIRST)
+            .thenComparingLong(e -> -e.submissionId);
+    private static final Comparator<Entry> BY_NEWEST = Comparator
+            .comparing((Entry e) -> e.submissionDate, LATEST_FIRST)
+            .thenComparingLong(e -> -e.submissionId);
+
+    /**
+     * One submission's ranking fields; immutable, replaced on every change
+     */
+    public static final class Entry {
+        private final long submissionId;
+        private final LocalDateTime submissionDate;
+        private final int likes;
+        private final int dislikes;
+        private final int votes;
+        private final int marks;
+
+        Entry(long submissionId, LocalDateTime submissionDate, int likes, int dislikes, int votes) {
+            this.submissionId = submissionId;
+            this.submissionDate = submissionDate;
+            this.likes = likes;
+            this.dislikes = dislikes;
+            this.votes = votes;
+            // Formula: MAX(0, (Likes × 10) - (Dislikes × 5))
+            this.marks = Math.max(0, likes * 10 - dislikes * 5);
+        }
+
+        public long getSubmissionId() { return submissionId; }
+        public int getLikes() { return likes; }
+        public int getDislikes() { return dislikes; }
+        public int getVotes() { return votes; }
+        public int getMarks() { return marks; }
+    }
+
+    /**
+     * A page of a board: entries in order, the 1-based rank of the first, and the board size
+     */
+    public static final class Page {
+        private final List<Entry> entries;
+        private final int firstRank;
+        private final int total;
+
+        Page(List<Entry> entries, int firstRank, int total) {
+            this.entries = entries;
+            this.firstRank = firstRank;
+            this.total = total;
+        }
+
+        public List<Entry> getEntries() { return entries; }
+        public int getFirstRank() { return firstRank; }
+        public int getTotal() { return total; }
+    }
+
+    private static final class Board {
+        final Map<Long, Entry> entries = new HashMap<>();
+        final List<Entry> byMarks = new ArrayList<>();
+        final List<Entry> byVotes = new ArrayList<>();
+        final List<Entry> byNewest = new ArrayList<>();
+        // Held across a counter re-read and its replace, so re-reads apply in the order they were made
+        final Object refreshLock = new Object();
+
+        Board(List<Entry> loaded) {
+            for (Entry entry : loaded) {
+                entries.put(entry.submissionId, entry);
+            }
+            byMarks.addAll(loaded);
+            byVotes.addAll(loaded);
+            byNewest.addAll(loaded);
+            byMarks.sort(BY_MARKS);
+            byVotes.sort(BY_VOTES);
+            byNewest.sort(BY_NEWEST);
+        }
+
+        synchronized void replace(Entry updated) {
+            Entry previous = entries.put(updated.submissionId, updated);
+            move(byMarks, BY_MARKS, previous, updated);
+            move(byVotes, BY_VOTES, previous, updated);
+            move(byNewest, BY_NEWEST, previous, updated);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized Entry get(long submissionId) {
+            return entries.get(submissionId);
+        }
+
+        synchronized int rank(String sortBy, Entry entry) {
+            List<Entry> order = order(sortBy);
+            int index = Collections.binarySearch(order, entry, comparator(sortBy));
+            if (index < 0) {
+                return -1;
+            }
+            return OLDEST.equals(sortBy) ? order.size() - index : index + 1;
+        }
+
+        synchronized Page page(String sortBy, int offset, int limit) {
+            List<Entry> order = order(sortBy);
+            int total = order.size();
+            int from = Math.min(offset, total);
+            int to = Math.min(total, from + limit);
+            List<Entry> page = new ArrayList<>(to - from);
+            if (OLDEST.equals(sortBy)) {
+                // Oldest first is the newest-first array read backwards
+                for (int i = total - 1 - from; i > total - 1 - to; i--) {
+                    page.add(order.get(i));
+                }
+            } else {
+                page.addAll(order.subList(from, to));
+            }
+            return new Page(page, from + 1, total);
+        }
+
+        private List<Entry> order(String sortBy) {
+            switch (sortBy) {
+                case MOST_VOTED: return byVotes;
+                case NEWEST:
+                case OLDEST: return byNewest;
+                default: return byMarks;
+            }
+        }
+
+        private static Comparator<Entry> comparator(String sortBy) {
+            switch (sortBy) {
+                case MOST_VOTED: return BY_VOTES;
+                case NEWEST:
+                case OLDEST: return BY_NEWEST;
+                default: return BY_MARKS;
+            }
+        }
+
+        private static void move(List<Entry> order, Comparator<Entry> comparator, Entry previous, Entry updated) {
+            if (previous != null) {
+                int at = Collections.binarySearch(order, previous, comparator);
+                if (at >= 0) {
+                    order.remove(at);
+                }
+            }
+            int insertAt = Collections.binarySearch(order, updated, comparator);
+            order.add(insertAt < 0 ? -insertAt - 1 : insertAt, updated);
+        }
+    }
+
+    @Autowired
+    private BuyerChallengeDAO challengeDAO;
+
+    private final Map<Integer, Board> boards = new ConcurrentHashMap<>();
+    // Which loaded board a submission belongs to, for reaction updates that only know the submission
+    private final Map<Long, Integer> challengeOfSubmission = new ConcurrentHashMap<>();
+
+    /**
+     * A page of the challenge's submissions in the given order, or null when the
+     * challenge is not active (and has no live board)
+     */
+    public Page getPage(Integer challengeId, String sortBy, int offset, int limit) {
+        Board board = board(challengeId);
+        return board != null ? board.page(normalize(sortBy), offset, limit) : null;
+    }
+
+    /**
+     * The submission's 1-based rank in the given order with its counters, or null when
+     * the challenge is not active or the submission is not part of it
+     */
+    public Map<String, Object> getRank(Integer challengeId, Long submissionId, String sortBy) {
+        Board board = board(challengeId);
+        if (board == null || submissionId == null) {
+            return null;
+        }
+        Entry entry = board.get(submissionId);
+        if (entry == null) {
+            return null;
+        }
+        String order = normalize(sortBy);
+        Map<String, Object> rank = new HashMap<>();
+        rank.put("submissionId", submissionId);
+        rank.put("sortBy", order);
+        rank.put("rank", board.rank(order, entry));
+        rank.put("total", board.size());
+        rank.put("marks", entry.marks);
+        rank.put("likes", entry.likes);
+        rank.put("dislikes", entry.dislikes);
+        rank.put("votes", entry.votes);
+        return rank;
+    }
+
+    /**
+     * A reaction to the submission has committed. Its counters are re-read from
+     * the database rather than taken from the reaction's own transaction: two
+     * reactions can finish in either order, and applying their totals as they
+     * arrive could leave the older one on the board.
+     */
+    public void reactionChanged(Long submissionId) {
+        Integer challengeId = challengeOfSubmission.get(submissionId);
+        Board board = challengeId != null ? boards.get(challengeId) : null;
+        if (board == null) {
+            return;
+        }
+        synchronized (board.refreshLock) {
+            Entry current = board.get(submissionId);
+            if (current == null) {
+                return;
+            }
+            ChallengeSubmissionDTO row = challengeDAO.getSubmissionCounter(submissionId);
+            if (row != null) {
+                board.replace(new Entry(submissionId, current.submissionDate,
+                        row.getLikesCount(), row.getDislikesCount(), current.votes));
+            }
+        }
+    }
+
+    /**
+     * A submission was added to the challenge; the board is rebuilt on next use
+     */
+    public void submissionAdded(Long challengeId) {
+        if (challengeId != null) {
+            evict(challengeId.intValue());
+        }
+    }
+
+    /**
+     * Drops a challenge's board, e.g. when the challenge ends
+     */
+    public void evict(Integer challengeId) {
+        Board board = boards.remove(challengeId);
+        if (board != null) {
+            challengeOfSubmission.values().removeIf(challengeId::equals);
+        }
+    }
+
+    /**
+     * The challenge has ended: drops its board and returns the final top-scores
+     * order, read from the database counters so reactions still in flight on
+     * the board cannot reorder it
+     */
+    public List<Entry> finalStandings(Integer challengeId) {
+        evict(challengeId);
+        List<Entry> standings = new ArrayList<>();
+        for (ChallengeSubmissionDTO row : challengeDAO.getSubmissionCounters(challengeId)) {
+            standings.add(new Entry(row.getId(), row.getSubmissionDate(),
+                    row.getLikesCount(), row.getDislikesCount(), row.getVotesCount()));
+        }
+        standings.sort(BY_MARKS);
+        return standings;
+    }
+
+    /**
+     * Rebuilds every loaded board from the database counters, dropping boards of
+     * challenges that are no longer active
+     */
+    @Scheduled(fixedDelayString = "${artaura.challenges.leaderboard-reconcile-ms:300000}")
+    public void reconcile() {
+        for (Integer challengeId : new ArrayList<>(boards.keySet())) {
+            try {
+                evict(challengeId);
+                board(challengeId);
+            } catch (Exception e) {
+                System.err.println("Leaderboard reload failed for challenge " + challengeId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Board board(Integer challengeId) {
+        if (challengeId == null) {
+            return null;
+        }
+        Board board = boards.get(challengeId);
+        if (board != null) {
+            return board;
+        }
+        Optional<Map<String, Object>> challenge = challengeDAO.findById(challengeId.longValue());
+        if (challenge.isEmpty() || !"active".equals(challenge.get().get("status"))) {
+            return null;
+        }
+        return boards.computeIfAbsent(challengeId, id -> {
+            List<Entry> loaded = new ArrayList<>();
+            for (ChallengeSubmissionDTO row : challengeDAO.getSubmissionCounters(id)) {
+                loaded.add(new Entry(row.getId(), row.getSubmissionDate(),
+                        row.getLikesCount(), row.getDislikesCount(), row.getVotesCount()));
+                challengeOfSubmission.put(row.getId(), id);
+            }
+            return new Board(loaded);
+        });
+    }
+
+    private static String normalize(String sortBy) {
+        String order = sortBy != null ? sortBy.toLowerCase() : TOP_SCORES;
+        switch (order) {
+            case MOST_VOTED:
+            case NEWEST:
+            case OLDEST:
+                return order;
+            default:
+                return TOP_SCORES;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.artaura.artaura.service.buyer;
 
 import com.artaura.artaura.dao.buyer.ExhibitionPostDAO;
 import com.artaura.artaura.dto.exhibition.ExhibitionPostDTO;
+import com.artaura.artaura.service.PostLikeCounterService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,9 @@ public class ExhibitionPostService {
     @Autowired
     private ExhibitionPostDAO exhibitionPostDAO;
 
+    @Autowired
+    private PostLikeCounterService postLikeCounterService;
+
     public void saveExhibition(ExhibitionPostDTO post, Long userId) {
         post.setCreatedBy(userId);
         post.setCreatedAt(java.time.LocalDateTime.now().toString());
@@ -59,16 +63,16 @@ public class ExhibitionPostService {
         return deleted > 0;
     }
 
-    // Use the new incrementLikes method with userId
+    // Likes go through the write-behind counter; the returned count includes unflushed likes
     public int incrementLikes(Long postId, Long userId) {
-        return exhibitionPostDAO.incrementLikes(postId, userId);
+        return postLikeCounterService.setExhibitionLike(postId, userId, true);
     }
 
     public int removeUserLike(Long postId, Long userId) {
-        return exhibitionPostDAO.removeUserLike(postId, userId);
+        return postLikeCounterService.setExhibitionLike(postId, userId, false);
     }
 
     public boolean hasUserLiked(Long postId, Long userId) {
-        return exhibitionPostDAO.hasUserLiked(postId, userId) != 0;
+        return postLikeCounterService.hasUserLikedExhibition(postId, userId);
     }
 }
\ No newline at end of file
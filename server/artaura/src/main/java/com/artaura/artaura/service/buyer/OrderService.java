@@ -1,5 +1,7 @@
 package com.artaura.artaura.service.buyer;
 import com.artaura.artaura.dto.buyer.OrderRequest;
+import com.artaura.artaura.dto.buyer.OrderItemRequest;
+import com.artaura.artaura.service.AdminOverviewSnapshotService;
 import com.artaura.artaura.dto.buyer.CommissionPaymentRequestDTO;
 import com.artaura.artaura.dao.buyer.OrderDao;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,8 +19,21 @@ public class OrderService {
     @Autowired
     private OrderDao orderDao;
 
+    @Autowired
+    private AdminOverviewSnapshotService adminOverviewSnapshotService;
+
+    @Autowired
+    private ArtworkHoldService artworkHoldService;
+
     public Long saveOrder(OrderRequest orderRequest) {
-        return orderDao.saveOrder(orderRequest);
+        Long orderId = orderDao.saveOrder(orderRequest);
+        artworkHoldService.holdsConverted(orderRequest.getItems().stream().map(OrderItemRequest::getArtworkId).toList());
+        // saveOrder writes one escrow payment per item
+        for (OrderItemRequest item : orderRequest.getItems()) {
+            double amount = (item.getPrice() != null ? item.getPrice() : 0.0) * (item.getQuantity() != null ? item.getQuantity() : 0);
+            adminOverviewSnapshotService.recordPayment("escrow", BigDecimal.valueOf(amount));
+        }
+        return orderId;
     }
 
     public List<AWOrderDto> getOrdersByBuyerId(Long buyerId) {
@@ -51,6 +66,7 @@ public class OrderService {
 
             // Update commission payment status
             if (paymentSaved) {
+                adminOverviewSnapshotService.recordPayment("escrow", paymentRequest.getAmount());
                 orderDao.updateCommissionPaymentStatus(paymentRequest.getCommissionId(), "escrow");
             }
 
@@ -2,6 +2,7 @@ package com.artaura.artaura.service.buyer;
 
 import com.artaura.artaura.dao.buyer.UserDAO;
 import com.artaura.artaura.dto.exhibition.UserProfileDTO;
+import com.artaura.artaura.service.UserIdentityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserIdentityService userIdentityService;
+
     public UserProfileDTO getUserProfileById(Long userId) {
         return userDAO.getUserProfileById(userId);
     }
@@ -21,6 +25,8 @@ public class UserService {
     public UserProfileDTO updateUserProfile(Long userId, UserProfileDTO updatedProfile) {
         int rows = userDAO.updateUserProfile(userId, updatedProfile);
         if (rows > 0) {
+            // The buyer may have changed their login email
+            userIdentityService.evict(updatedProfile.getEmail());
             return userDAO.getUserProfileById(userId);
         }
         return null;
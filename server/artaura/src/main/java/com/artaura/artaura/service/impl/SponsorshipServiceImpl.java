@@ -6,11 +6,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.artaura.artaura.dao.SponsorshipDAO;
 import com.artaura.artaura.dto.sponsorship.ChallengeForSponsorshipDTO;
 import com.artaura.artaura.dto.sponsorship.SponsorshipOfferDTO;
 import com.artaura.artaura.service.SponsorshipService;
+import com.artaura.artaura.service.moderator.ChallengeStatusScheduler;
 
 @Service
 @Transactional
@@ -22,6 +25,9 @@ public class SponsorshipServiceImpl implements SponsorshipService {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private ChallengeStatusScheduler challengeStatusScheduler;
+
     @Override
     public List<ChallengeForSponsorshipDTO> getActiveChallengesRequestingSponsorship() {
         return sponsorshipDAO.getActiveChallengesRequestingSponsorship();
@@ -59,7 +65,16 @@ public class SponsorshipServiceImpl implements SponsorshipService {
         offer.setDiscountCode(discountCode);
         offer.setDiscountPercentage(discountPercentage);
 
-        return sponsorshipDAO.createSponsorshipOffer(offer);
+        Long offerId = sponsorshipDAO.createSponsorshipOffer(offer);
+
+        // The offer activates a draft challenge; schedule and announce it once that is committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                challengeStatusScheduler.challengeChanged(challengeId.intValue());
+            }
+        });
+        return offerId;
     }
 
     @Override
@@ -1,7 +1,9 @@
 
 package com.artaura.artaura.service.moderator;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -20,12 +22,17 @@ public class ChallengeService {
     @Autowired
     private BuyerChallengeDAO buyerChallengeDAO;
 
+    @Autowired
+    private ChallengeStatusScheduler challengeStatusScheduler;
+
     public void deleteChallenge(int challengeId) {
         challengeDAO.deleteChallenge(challengeId);
+        challengeStatusScheduler.challengeDeleted(challengeId);
     }
 
     public void createChallenge(ChallengeDTO challenge, String moderatorId) {
-        challengeDAO.insertChallenge(challenge, moderatorId);
+        int challengeId = challengeDAO.insertChallenge(challenge, moderatorId);
+        challengeStatusScheduler.challengeChanged(challengeId);
     }
 
     public List<ChallengeListDTO> getAllChallenges() {
@@ -38,6 +45,7 @@ public class ChallengeService {
 
     public void updateChallenge(ChallengeDTO challenge, String moderatorId) {
         challengeDAO.updateChallenge(challenge, moderatorId);
+        challengeStatusScheduler.challengeChanged(challenge.getId());
     }
 
     /**
@@ -48,12 +56,19 @@ public class ChallengeService {
      *   2. Likes count (highest first) - tiebreaker when marks are equal
      *   3. Submission date (earliest first) - final tiebreaker
      * Top 3 submissions get positions 1, 2, 3
+     * Once the challenge has completed, the standings frozen at its deadline are used
      */
     public List<ChallengeSubmissionDTO> getWinners(Integer challengeId) {
         // Get submissions sorted by marks (topscores)
         List<ChallengeSubmissionDTO> submissions = buyerChallengeDAO.getSubmissionsByChallengeWithSort(
             challengeId, null, "moderator", "topscores"
         );
+
+        Map<Long, Integer> finalRanks = buyerChallengeDAO.getFinalRanks(challengeId);
+        if (!finalRanks.isEmpty()) {
+            submissions.sort(Comparator.comparing((ChallengeSubmissionDTO s) -> finalRanks.get(s.getId()),
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+        }
         
         // Assign positions to top 3
         for (int i = 0; i < submissions.size() && i < 3; i++) {
@@ -70,5 +85,6 @@ public class ChallengeService {
      */
     public void updateSponsorshipStatus(int challengeId, String sponsorshipStatus) {
         challengeDAO.updateSponsorshipStatus(challengeId, sponsorshipStatus);
+        challengeStatusScheduler.challengeChanged(challengeId);
     }
 }
\ No newline at end of file
@@ -1,33 +1,328 @@
 package com.artaura.artaura.service.moderator;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.artaura.artaura.dao.buyer.BuyerChallengeDAO;
 import com.artaura.artaura.dao.moderator.ChallengeDAO;
+import com.artaura.artaura.service.buyer.ChallengeLeaderboardService;
 
+/**
+ * Fires challenge lifecycle transitions at their publish and deadline instants.
+ *
+ * Every challenge that is not completed is held in memory with its timers in
+ * a priority queue ordered by instant; a one-second tick pops only the timers
+ * that are due, so the database is written only for a challenge whose deadline
+ * has actually passed (one conditional update for that row). The queue is
+ * loaded at startup, kept current by ChallengeService on create, update,
+ * publish and sponsorship changes, and re-read at a low rate to pick up edits
+ * made by other instances.
+ *
+ * On completion the final standings are frozen into challenge_participants,
+ * the live leaderboard is dropped, and a "completed" event is published on
+ * /topic/challenges/lifecycle and /topic/challenges/{id}. An active challenge
+ * reaching its publish instant gets a "published" event; drafts are still
+ * published only by a moderator or an accepted sponsorship.
+ */
 @Service
 public class ChallengeStatusScheduler {
-    
+
+    public static final String LIFECYCLE_TOPIC = "/topic/challenges/lifecycle";
+    public static final String CHALLENGE_TOPIC_PREFIX = "/topic/challenges/";
+
+    // Retry delay when the database does not yet agree that a deadline has passed
+    private static final long RETRY_MILLIS = 5000;
+
+    private static final class Schedule {
+        final int challengeId;
+        final String status;
+        final long publishAt;
+        final long deadlineAt;
+
+        Schedule(int challengeId, String status, long publishAt, long deadlineAt) {
+            this.challengeId = challengeId;
+            this.status = status;
+            this.publishAt = publishAt;
+            this.deadlineAt = deadlineAt;
+        }
+    }
+
+    private static final class Timer {
+        final long at;
+        final boolean deadline;
+        final Schedule schedule;
+
+        Timer(long at, boolean deadline, Schedule schedule) {
+            this.at = at;
+            this.deadline = deadline;
+            this.schedule = schedule;
+        }
+    }
+
     @Autowired
     private ChallengeDAO challengeDAO;
 
+    @Autowired
+    private BuyerChallengeDAO buyerChallengeDAO;
+
+    @Autowired
+    private ChallengeLeaderboardService leaderboardService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock; open challenges by id. A timer whose schedule is no longer the
+    // current one for its challenge is stale and dropped when it comes due.
+    private final Map<Integer, Schedule> schedules = new HashMap<>();
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>(Comparator.comparingLong((Timer t) -> t.at));
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
     /**
-     * Automatically update challenge status to 'completed' when deadline passes.
-     * Runs every hour (3600000 milliseconds = 1 hour).
-     * You can adjust the schedule using cron expression or fixed rate.
+     * Re-reads every open challenge; challenges completed elsewhere are dropped
      */
-    @Scheduled(fixedRate = 3600000) // Runs every 1 hour
-    public void updateExpiredChallenges() {
+    @Scheduled(initialDelayString = "${artaura.challenges.schedule-reload-ms:3600000}",
+               fixedDelayString = "${artaura.challenges.schedule-reload-ms:3600000}")
+    public void reload() {
+        List<Map<String, Object>> rows;
         try {
-            int updatedCount = challengeDAO.updateExpiredChallenges();
-            if (updatedCount > 0) {
-                System.out.println("Challenge Status Update: " + updatedCount + 
-                                 " challenge(s) automatically marked as completed");
+            rows = challengeDAO.getOpenChallengeSchedules();
+        } catch (Exception e) {
+            System.err.println("Challenge schedule reload failed, keeping current timers: " + e.getMessage());
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            // Unchanged challenges keep their queued timers; the rest are replaced,
+            // which leaves their old timers stale
+            Map<Integer, Schedule> fresh = new HashMap<>();
+            for (Map<String, Object> row : rows) {
+                Schedule schedule = toSchedule(row);
+                Schedule current = schedules.get(schedule.challengeId);
+                if (sameAs(current, schedule)) {
+                    fresh.put(schedule.challengeId, current);
+                } else {
+                    fresh.put(schedule.challengeId, schedule);
+                    addTimers(schedule, now);
+                }
             }
+            schedules.clear();
+            schedules.putAll(fresh);
+            loaded = true;
+        }
+        System.out.println("Challenge lifecycle timers loaded: " + rows.size() + " open challenge(s)");
+    }
+
+    /**
+     * A challenge was created, edited, published or sponsored; re-reads just that
+     * challenge and reschedules it
+     */
+    public void challengeChanged(int challengeId) {
+        Map<String, Object> row;
+        try {
+            row = challengeDAO.getChallengeSchedule(challengeId);
         } catch (Exception e) {
-            System.err.println("Error updating expired challenges: " + e.getMessage());
-            e.printStackTrace();
+            // The next reload picks the change up
+            System.err.println("Challenge schedule refresh failed for " + challengeId + ": " + e.getMessage());
+            return;
+        }
+        Schedule previous;
+        Schedule schedule = row != null ? toSchedule(row) : null;
+        synchronized (lock) {
+            previous = schedules.remove(challengeId);
+            if (schedule != null && !"completed".equals(schedule.status)) {
+                schedules.put(challengeId, schedule);
+                addTimers(schedule, System.currentTimeMillis());
+            }
+        }
+        // A draft that just went live after its publish time is announced now
+        if (schedule != null && "active".equals(schedule.status)
+                && (previous == null || !"active".equals(previous.status))
+                && schedule.publishAt <= System.currentTimeMillis()) {
+            publish(schedule.challengeId, "published", schedule.status, null);
+        }
+    }
+
+    public void challengeDeleted(int challengeId) {
+        synchronized (lock) {
+            schedules.remove(challengeId);
+        }
+        leaderboardService.evict(challengeId);
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void fireDueTimers() {
+        if (!loaded) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Timer> due = new ArrayList<>();
+        synchronized (lock) {
+            while (!timers.isEmpty() && timers.peek().at <= now) {
+                Timer timer = timers.poll();
+                if (schedules.get(timer.schedule.challengeId) == timer.schedule) {
+                    due.add(timer);
+                }
+            }
+        }
+        for (Timer timer : due) {
+            try {
+                if (timer.deadline) {
+                    complete(timer.schedule);
+                } else if ("active".equals(timer.schedule.status)) {
+                    publish(timer.schedule.challengeId, "published", "active", null);
+                }
+            } catch (Exception e) {
+                System.err.println("Challenge lifecycle transition failed for " + timer.schedule.challengeId
+                        + ": " + e.getMessage());
+                retryLater(timer.schedule, timer.schedule);
+            }
+        }
+    }
+
+    private void complete(Schedule schedule) {
+        int challengeId = schedule.challengeId;
+        if (!challengeDAO.completeChallenge(challengeId)) {
+            // Already completed elsewhere, deleted, or the database clock is behind ours
+            Map<String, Object> row = challengeDAO.getChallengeSchedule(challengeId);
+            if (row != null && !"completed".equals(String.valueOf(row.get("status")))) {
+                Schedule current = toSchedule(row);
+                if (current.deadlineAt <= System.currentTimeMillis()) {
+                    retryLater(schedule, current);
+                } else {
+                    reschedule(schedule, current);
+                }
+                return;
+            }
+            synchronized (lock) {
+                schedules.remove(challengeId, schedule);
+            }
+            leaderboardService.evict(challengeId);
+            return;
+        }
+        synchronized (lock) {
+            schedules.remove(challengeId, schedule);
+        }
+
+        List<ChallengeLeaderboardService.Entry> standings = leaderboardService.finalStandings(challengeId);
+        List<Long> order = new ArrayList<>(standings.size());
+        for (ChallengeLeaderboardService.Entry entry : standings) {
+            order.add(entry.getSubmissionId());
+        }
+        try {
+            buyerChallengeDAO.saveFinalRanks(challengeId, order);
+        } catch (Exception e) {
+            // The challenge is completed either way; winners then fall back to the live counters
+            System.err.println("Failed to freeze final standings for challenge " + challengeId + ": " + e.getMessage());
+        }
+
+        List<Map<String, Object>> winners = new ArrayList<>();
+        for (int i = 0; i < standings.size() && i < 3; i++) {
+            ChallengeLeaderboardService.Entry entry = standings.get(i);
+            Map<String, Object> winner = new HashMap<>();
+            winner.put("position", i + 1);
+            winner.put("submissionId", entry.getSubmissionId());
+            winner.put("marks", entry.getMarks());
+            winner.put("likes", entry.getLikes());
+            winner.put("dislikes", entry.getDislikes());
+            winners.add(winner);
+        }
+        System.out.println("Challenge " + challengeId + " completed at its deadline; "
+                + standings.size() + " submission(s) ranked");
+        publish(challengeId, "completed", "completed", winners);
+    }
+
+    // ---- Helpers ----
+
+    private void reschedule(Schedule stale, Schedule current) {
+        synchronized (lock) {
+            if (schedules.get(current.challengeId) == stale) {
+                schedules.put(current.challengeId, current);
+                addTimers(current, System.currentTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * Tries the deadline again shortly, unless the challenge was rescheduled meanwhile
+     */
+    private void retryLater(Schedule stale, Schedule current) {
+        synchronized (lock) {
+            if (schedules.get(current.challengeId) == stale) {
+                schedules.put(current.challengeId, current);
+                timers.add(new Timer(System.currentTimeMillis() + RETRY_MILLIS, true, current));
+            }
+        }
+    }
+
+    /**
+     * Queues the schedule's timers (call with lock held); a publish instant that has
+     * already passed is not announced
+     */
+    private void addTimers(Schedule schedule, long now) {
+        if ("active".equals(schedule.status) && schedule.publishAt != Long.MAX_VALUE && schedule.publishAt > now) {
+            timers.add(new Timer(schedule.publishAt, false, schedule));
+        }
+        if (schedule.deadlineAt != Long.MAX_VALUE) {
+            timers.add(new Timer(schedule.deadlineAt, true, schedule));
+        }
+    }
+
+    private void publish(int challengeId, String event, String status, List<Map<String, Object>> winners) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("challengeId", challengeId);
+        message.put("event", event);
+        message.put("status", status);
+        message.put("at", System.currentTimeMillis());
+        if (winners != null) {
+            message.put("winners", winners);
+        }
+        try {
+            messagingTemplate.convertAndSend(LIFECYCLE_TOPIC, message);
+            messagingTemplate.convertAndSend(CHALLENGE_TOPIC_PREFIX + challengeId, message);
+        } catch (Exception e) {
+            System.err.println("Failed to publish challenge " + event + " event for " + challengeId + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean sameAs(Schedule current, Schedule fresh) {
+        return current != null && current.status.equals(fresh.status)
+                && current.publishAt == fresh.publishAt && current.deadlineAt == fresh.deadlineAt;
+    }
+
+    private static Schedule toSchedule(Map<String, Object> row) {
+        return new Schedule(((Number) row.get("id")).intValue(), String.valueOf(row.get("status")),
+                toMillis(row.get("publish_date_time")), toMillis(row.get("deadline_date_time")));
+    }
+
+    // DATETIME columns are read in the server's zone, the same one NOW() compares against
+    private static long toMillis(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.getTime();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
         }
+        return Long.MAX_VALUE;
     }
 }
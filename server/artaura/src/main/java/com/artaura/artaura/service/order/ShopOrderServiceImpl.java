@@ -2,6 +2,7 @@ package com.artaura.artaura.service.order;
 
 import com.artaura.artaura.dao.order.ShopOrderDAO;
 import com.artaura.artaura.dto.order.ShopOrderDTO;
+import com.artaura.artaura.service.ShopAnalyticsRollupService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +18,9 @@ public class ShopOrderServiceImpl implements ShopOrderService {
     @Autowired
     private ShopOrderDAO shopOrderDAO;
 
+    @Autowired
+    private ShopAnalyticsRollupService shopAnalyticsRollupService;
+
     @Override
     public List<ShopOrderDTO> getOrdersByShopId(Long shopId) {
         logger.info("Fetching orders for shop ID: {}", shopId);
@@ -43,12 +47,17 @@ public class ShopOrderServiceImpl implements ShopOrderService {
     @Override
     public ShopOrderDTO updateOrder(ShopOrderDTO order) {
         logger.info("Updating order ID: {}", order.getOrderId());
-        return shopOrderDAO.update(order);
+        // Queue both the old and the new day; shop, date or status may all change
+        shopAnalyticsRollupService.markOrderChanged(order.getOrderId());
+        ShopOrderDTO updated = shopOrderDAO.update(order);
+        shopAnalyticsRollupService.markOrderChanged(order.getOrderId());
+        return updated;
     }
 
     @Override
     public void deleteOrder(Long orderId) {
         logger.info("Deleting order ID: {}", orderId);
+        shopAnalyticsRollupService.markOrderChanged(orderId);
         shopOrderDAO.deleteById(orderId);
     }
 }
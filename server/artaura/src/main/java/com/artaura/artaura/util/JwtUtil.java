@@ -1,22 +1,34 @@
 package com.artaura.artaura.util;
 
+import com.artaura.artaura.security.JwtPrincipal;
 import io.jsonwebtoken.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
 
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private long expiration;
 
+    // SHA-256 of the token -> verified principal, so each token is HMAC-checked once per lifetime
+    private final ConcurrentHashMap<String, JwtPrincipal> verifiedTokens = new ConcurrentHashMap<>();
+
     public String generateToken(Long userId, String role) {
-        String token = Jwts.builder()
+        return Jwts.builder()
                 .claim("userId", userId)
                 .claim("role", role)
                 .setSubject(String.valueOf(userId))
@@ -24,11 +36,6 @@ public class JwtUtil {
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(SignatureAlgorithm.HS256, secret)
                 .compact();
-        
-        System.out.println("🔐 JWT Token generated successfully for userId: " + userId + ", role: " + role);
-        System.out.println("🔑 Token preview: " + token.substring(0, Math.min(30, token.length())) + "...");
-        
-        return token;
     }
 
     public Claims extractClaims(String token) throws ExpiredJwtException {
@@ -44,20 +51,68 @@ public class JwtUtil {
                 .parseClaimsJws(token);
     }
 
-    public Long extractUserId(String token) {
+    /**
+     * Verifies a token and returns its principal. Tokens already verified are
+     * served from the cache until their expiry; anything else (unknown, expired,
+     * tampered) goes through full parsing and throws the usual JwtException.
+     */
+    public JwtPrincipal verify(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        JwtPrincipal cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verifiedTokens.remove(key, cached);
+        }
+
         Claims claims = extractClaims(token);
-        return claims.get("userId", Long.class);
+        Long userId = claims.get("userId", Long.class);
+        if (userId == null && claims.getSubject() != null) {
+            userId = Long.valueOf(claims.getSubject());
+        }
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : now + expiration;
+        JwtPrincipal principal = new JwtPrincipal(userId, claims.get("role", String.class), expiresAt);
+
+        if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+            evictEntries(now);
+        }
+        verifiedTokens.put(key, principal);
+        return principal;
+    }
+
+    public Long extractUserId(String token) {
+        return verify(token).getUserId();
     }
 
     public String extractRole(String token) {
-        Claims claims = extractClaims(token);
-        return claims.get("role", String.class);
+        return verify(token).getRole();
     }
 
     public String extractUserType(String token) {
-        Claims claims = extractClaims(token);
-        return claims.get("role", String.class); // Using role as userType
+        return verify(token).getRole(); // Using role as userType
     }
 
-}
+    // Drops expired entries first; if the cache is still full, drops arbitrary entries down to 90%
+    private void evictEntries(long now) {
+        verifiedTokens.values().removeIf(principal -> principal.isExpired(now));
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() > MAX_CACHED_TOKENS * 9 / 10 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 
+}
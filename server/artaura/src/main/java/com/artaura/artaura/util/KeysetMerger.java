@@ -0,0 +1,131 @@
+package com.artaura.artaura.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Lazily merges several keyset-paginated sources that share one sort order.
+ *
+ * Each source is read in batches strictly after the last key taken from it,
+ * and only as far as the merged page needs, so a page of n keys reads about
+ * n keys from each source rather than every matching row. Several rows may
+ * share a key (e.g. one row per order item); a page never splits them.
+ */
+public final class KeysetMerger<K, T> {
+
+    public interface Source<K, T> {
+        /**
+         * Rows strictly after {@code after} (null = from the start) in merge
+         * order, covering at most {@code limit} distinct keys
+         */
+        List<T> fetch(K after, int limit);
+    }
+
+    public static final class Page<K, T> {
+        private final List<T> rows;
+        private final K lastKey;
+        private final boolean hasMore;
+
+        Page(List<T> rows, K lastKey, boolean hasMore) {
+            this.rows = rows;
+            this.lastKey = lastKey;
+            this.hasMore = hasMore;
+        }
+
+        public List<T> getRows() { return rows; }
+        public K getLastKey() { return lastKey; }
+        public boolean hasMore() { return hasMore; }
+    }
+
+    private final Comparator<K> order;
+    private final Function<T, K> keyOf;
+    private final int maxBatchSize;
+
+    public KeysetMerger(Comparator<K> order, Function<T, K> keyOf, int maxBatchSize) {
+        this.order = order;
+        this.keyOf = keyOf;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Up to {@code size} keys after {@code after} across all sources. Pass
+     * Integer.MAX_VALUE to drain every source in batches.
+     */
+    public Page<K, T> page(List<Source<K, T>> sources, K after, int size) {
+        int batchSize = size < maxBatchSize ? size + 1 : maxBatchSize;
+        PriorityQueue<SourceCursor> heads = new PriorityQueue<>(
+                (a, b) -> order.compare(keyOf.apply(a.buffer.peekFirst()), keyOf.apply(b.buffer.peekFirst())));
+        for (Source<K, T> source : sources) {
+            SourceCursor cursor = new SourceCursor(source, after, batchSize);
+            if (cursor.fill()) {
+                heads.add(cursor);
+            }
+        }
+
+        List<T> rows = new ArrayList<>();
+        K lastKey = null;
+        int keysTaken = 0;
+        boolean hasMore = false;
+        while (!heads.isEmpty()) {
+            SourceCursor cursor = heads.poll();
+            T row = cursor.buffer.peekFirst();
+            K key = keyOf.apply(row);
+            boolean newKey = lastKey == null || order.compare(key, lastKey) != 0;
+            if (newKey && keysTaken == size) {
+                hasMore = true;
+                break;
+            }
+            cursor.buffer.pollFirst();
+            rows.add(row);
+            if (newKey) {
+                keysTaken++;
+                lastKey = key;
+            }
+            if (cursor.fill()) {
+                heads.add(cursor);
+            }
+        }
+        return new Page<>(rows, lastKey, hasMore);
+    }
+
+    private final class SourceCursor {
+        final Source<K, T> source;
+        final Deque<T> buffer = new ArrayDeque<>();
+        final int batchSize;
+        K fetchedUpTo;
+        boolean exhausted;
+
+        SourceCursor(Source<K, T> source, K after, int batchSize) {
+            this.source = source;
+            this.fetchedUpTo = after;
+            this.batchSize = batchSize;
+        }
+
+        // Refills an empty buffer from the source; false once nothing is left
+        boolean fill() {
+            if (buffer.isEmpty() && !exhausted) {
+                List<T> batch = source.fetch(fetchedUpTo, batchSize);
+                int keys = 0;
+                K previous = null;
+                for (T row : batch) {
+                    K key = keyOf.apply(row);
+                    if (previous == null || order.compare(key, previous) != 0) {
+                        keys++;
+                        previous = key;
+                    }
+                }
+                exhausted = keys < batchSize;
+                if (previous != null) {
+                    fetchedUpTo = previous;
+                }
+                buffer.addAll(batch);
+            }
+            return !buffer.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.artaura.artaura.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timer wheel: O(1) scheduling of many short deadlines, advanced by a
+ * periodic tick instead of one timer per entry.
+ *
+ * A deadline lands in slot (tick % slotCount); entries further out than one
+ * revolution stay in their slot until their tick comes round. Deadlines are
+ * rounded up to the next tick, so an entry fires at most one tick late and
+ * never early. Cancellation is left to the caller: check, when an item fires,
+ * whether it is still current.
+ */
+public final class TimerWheel<T> {
+
+    private static final class Entry<T> {
+        final T item;
+        final long deadlineTick;
+
+        Entry(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<List<Entry<T>>> slots;
+    private long currentTick; // next tick to process
+    private int size;
+
+    public TimerWheel(long tickMillis, int slotCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    public synchronized void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(currentTick, ceilDiv(deadlineMillis - startMillis, tickMillis));
+        slots.get((int) (tick % slots.size())).add(new Entry<>(item, tick));
+        size++;
+    }
+
+    /**
+     * Removes and returns every item whose deadline is at or before nowMillis
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long nowTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (nowTick < currentTick) {
+            return expired;
+        }
+        // After a long pause every slot is due at least once; visiting each one is enough
+        long ticks = Math.min(nowTick - currentTick + 1, slots.size());
+        for (long i = 0; i < ticks; i++) {
+            List<Entry<T>> slot = slots.get((int) ((currentTick + i) % slots.size()));
+            for (Iterator<Entry<T>> it = slot.iterator(); it.hasNext(); ) {
+                Entry<T> entry = it.next();
+                if (entry.deadlineTick <= nowTick) {
+                    expired.add(entry.item);
+                    it.remove();
+                    size--;
+                }
+            }
+        }
+        currentTick = nowTick + 1;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
@@ -0,0 +1,126 @@
+package com.artaura.artaura.dao;
+
+import com.artaura.artaura.dao.Impl.buyer.OrderDaoImpl;
+import com.artaura.artaura.dao.artist.Impl.ArtistArtworkOrderDAOImpl;
+import com.artaura.artaura.dto.artist.ArtistArtworkOrderDTO;
+import com.artaura.artaura.dto.buyer.AWOrderDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query-count guard for reads that use BatchChildLoader: loading children must
+ * cost one query per chunk of parents, never one per parent. Runs against an
+ * in-memory H2 database in MySQL mode with a minimal copy of the tables.
+ */
+class BatchChildLoaderQueryCountTest {
+
+    private static final long BUYER_ID = 1L;
+    private static final long ARTIST_ID = 7L;
+    private static final int ORDERS = 200;
+
+    private QueryCountingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private BatchChildLoader batchChildLoader;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource = new QueryCountingDataSource(h2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        batchChildLoader = new BatchChildLoader();
+        ReflectionTestUtils.setField(batchChildLoader, "jdbcTemplate", jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE AW_orders (id BIGINT PRIMARY KEY, buyer_id BIGINT, first_name VARCHAR(50), "
+                + "last_name VARCHAR(50), email VARCHAR(100), order_date TIMESTAMP, total_amount DECIMAL(10,2), "
+                + "shipping_fee DECIMAL(10,2), shipping_address VARCHAR(255), contact_number VARCHAR(20), "
+                + "status VARCHAR(20), payment_method VARCHAR(20), stripe_payment_id VARCHAR(100), "
+                + "delivery_status VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE AW_order_items (id BIGINT PRIMARY KEY, order_id BIGINT, artwork_id BIGINT, "
+                + "quantity INT, price DECIMAL(10,2), title VARCHAR(100), artist_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE artworks (artwork_id BIGINT PRIMARY KEY, medium VARCHAR(50), "
+                + "size VARCHAR(50), image_url VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE artists (artist_id BIGINT PRIMARY KEY, email VARCHAR(100), "
+                + "contactNo VARCHAR(20), location VARCHAR(100), first_name VARCHAR(50), last_name VARCHAR(50), "
+                + "avatar_url VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE payment (id BIGINT AUTO_INCREMENT PRIMARY KEY, AW_order_id BIGINT, "
+                + "amount DECIMAL(10,2))");
+
+        jdbcTemplate.update("INSERT INTO artists VALUES (?, 'artist@example.com', '0770000000', 'Colombo', 'Ada', 'Artist', NULL)",
+                ARTIST_ID);
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> artworks = new ArrayList<>();
+        List<Object[]> payments = new ArrayList<>();
+        for (long id = 1; id <= ORDERS; id++) {
+            orders.add(new Object[]{id, BUYER_ID});
+            // Two items per order, so stitching has to group rows by order
+            for (long n = 0; n < 2; n++) {
+                long itemId = id * 10 + n;
+                items.add(new Object[]{itemId, id, itemId, ARTIST_ID});
+                artworks.add(new Object[]{itemId});
+            }
+            payments.add(new Object[]{id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO AW_orders VALUES (?, ?, 'Bea', 'Buyer', 'buyer@example.com', "
+                + "CURRENT_TIMESTAMP, 100, 10, 'Street 1', '0711111111', 'paid', 'card', NULL, 'pending')", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO AW_order_items VALUES (?, ?, ?, 1, 50, 'Work', ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO artworks VALUES (?, 'Oil', '30x40', '/uploads/a.jpg')", artworks);
+        jdbcTemplate.batchUpdate("INSERT INTO payment (AW_order_id, amount) VALUES (?, 100)", payments);
+    }
+
+    @Test
+    void buyerOrdersLoadItemsWithOneQuery() {
+        OrderDaoImpl orderDao = new OrderDaoImpl();
+        ReflectionTestUtils.setField(orderDao, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(orderDao, "batchChildLoader", batchChildLoader);
+
+        dataSource.reset();
+        List<AWOrderDto> result = orderDao.getOrdersByBuyerId(BUYER_ID);
+
+        assertEquals(ORDERS, result.size());
+        assertTrue(result.stream().allMatch(order -> order.getItems().size() == 2));
+        assertEquals(2, dataSource.getStatementCount(), "orders + one batched item query");
+    }
+
+    @Test
+    void artistOrdersLoadItemsWithOneQuery() {
+        ArtistArtworkOrderDAOImpl artistOrderDao = new ArtistArtworkOrderDAOImpl();
+        ReflectionTestUtils.setField(artistOrderDao, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(artistOrderDao, "batchChildLoader", batchChildLoader);
+
+        dataSource.reset();
+        List<ArtistArtworkOrderDTO> result = artistOrderDao.getArtworkOrdersByArtistId(ARTIST_ID);
+
+        assertEquals(ORDERS, result.size());
+        assertTrue(result.stream().allMatch(order -> order.getOrderItems().size() == 2));
+        assertEquals(2, dataSource.getStatementCount(), "orders + one batched item query");
+    }
+
+    @Test
+    void parentsAreFetchedOneQueryPerChunk() {
+        List<Long> parentIds = new ArrayList<>();
+        for (long id = 1; id <= BatchChildLoader.DEFAULT_CHUNK_SIZE * 2L + 1; id++) {
+            parentIds.add(id);
+        }
+
+        dataSource.reset();
+        Map<Long, List<Long>> children = batchChildLoader.loadChildren(
+                "SELECT order_id, id FROM AW_order_items WHERE order_id IN (" + BatchChildLoader.IDS_PLACEHOLDER + ")",
+                parentIds, (rs, rowNum) -> rs.getLong("order_id"), (rs, rowNum) -> rs.getLong("id"));
+
+        assertEquals(ORDERS, children.size());
+        assertEquals(3, dataSource.getStatementCount(), "1001 ids in chunks of 500");
+    }
+}
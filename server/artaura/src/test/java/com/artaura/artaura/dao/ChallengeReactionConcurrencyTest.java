@@ -0,0 +1,121 @@
+package com.artaura.artaura.dao;
+
+import com.artaura.artaura.dao.Impl.buyer.BuyerChallangeDAOImpl;
+import com.artaura.artaura.dao.buyer.BuyerChallengeDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many buyers liking, disliking and toggling one submission at once: the
+ * counters on challenge_participants must end equal to the reaction rows, and
+ * no buyer may end up with two rows. The reaction table has no unique key
+ * here, so a lost lock would show up as a duplicate instead of a key error.
+ * Runs handleLikeDislike through a transactional proxy against H2 in MySQL mode.
+ */
+class ChallengeReactionConcurrencyTest {
+
+    private static final long SUBMISSION_ID = 1L;
+    private static final int BUYERS = 40;
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 150;
+
+    private JdbcTemplate jdbcTemplate;
+    private BuyerChallengeDAO challengeDAO;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000", "sa", "");
+        jdbcTemplate = new JdbcTemplate(h2);
+
+        BuyerChallangeDAOImpl target = new BuyerChallangeDAOImpl();
+        ReflectionTestUtils.setField(target, "jdbcTemplate", jdbcTemplate);
+        ProxyFactory proxy = new ProxyFactory(target);
+        proxy.addAdvice(new TransactionInterceptor(new DataSourceTransactionManager(h2),
+                new AnnotationTransactionAttributeSource()));
+        challengeDAO = (BuyerChallengeDAO) proxy.getProxy();
+
+        jdbcTemplate.execute("CREATE TABLE challenge_participants (id BIGINT PRIMARY KEY, "
+                + "likes_count INT NOT NULL DEFAULT 0, dislikes_count INT NOT NULL DEFAULT 0)");
+        jdbcTemplate.execute("CREATE TABLE challenge_submission_reactions (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "submission_id BIGINT, buyer_id BIGINT, reaction_type VARCHAR(10), "
+                + "created_at TIMESTAMP, updated_at TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO challenge_participants (id) VALUES (?)", SUBMISSION_ID);
+    }
+
+    @Test
+    void countersMatchReactionRowsAfterConcurrentReactions() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> failures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            failures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int failed = 0;
+                for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                    // Few enough buyers that the same buyer's like, dislike and toggle calls overlap
+                    long buyerId = 1 + random.nextInt(BUYERS);
+                    String action = random.nextBoolean() ? "like" : "dislike";
+                    Map<String, Object> result = challengeDAO.handleLikeDislike(SUBMISSION_ID, buyerId, action);
+                    if (!Boolean.TRUE.equals(result.get("success"))) {
+                        failed++;
+                    }
+                }
+                return failed;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        int failed = 0;
+        for (Future<Integer> future : failures) {
+            failed += future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+
+        int calls = THREADS * CALLS_PER_THREAD;
+        System.out.printf("%d reactions from %d threads in %d ms (%.0f/s)%n",
+                calls, THREADS, elapsed / 1_000_000, calls * 1e9 / elapsed);
+
+        assertEquals(0, failed, "every reaction should succeed");
+        Map<String, Object> counters = jdbcTemplate.queryForMap(
+                "SELECT likes_count, dislikes_count FROM challenge_participants WHERE id = ?", SUBMISSION_ID);
+        int likeRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM challenge_submission_reactions WHERE submission_id = ? AND reaction_type = 'like'",
+                Integer.class, SUBMISSION_ID);
+        int dislikeRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM challenge_submission_reactions WHERE submission_id = ? AND reaction_type = 'dislike'",
+                Integer.class, SUBMISSION_ID);
+        assertEquals(likeRows, ((Number) counters.get("likes_count")).intValue());
+        assertEquals(dislikeRows, ((Number) counters.get("dislikes_count")).intValue());
+
+        int duplicates = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT buyer_id FROM challenge_submission_reactions "
+                        + "WHERE submission_id = ? GROUP BY buyer_id HAVING COUNT(*) > 1) d",
+                Integer.class, SUBMISSION_ID);
+        assertEquals(0, duplicates, "no buyer may have two reaction rows");
+        assertTrue(likeRows + dislikeRows <= BUYERS);
+    }
+}
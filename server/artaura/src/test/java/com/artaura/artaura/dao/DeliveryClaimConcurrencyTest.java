@@ -0,0 +1,136 @@
+package com.artaura.artaura.dao;
+
+import com.artaura.artaura.dao.Impl.DeliveryStatusDAOImpl;
+import com.artaura.artaura.service.DeliveryStatusService;
+import com.artaura.artaura.service.DispatchBoardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Many partners claiming the same delivery jobs at once: each job must have
+ * exactly one "claimed" outcome, and every losing partner must get "conflict"
+ * naming the winner. Runs DeliveryStatusService.claimDelivery over the real
+ * DAO against H2 in MySQL mode, artwork and commission jobs side by side.
+ */
+class DeliveryClaimConcurrencyTest {
+
+    private static final int JOBS_PER_TYPE = 20;
+    private static final int PARTNERS = 16;
+
+    private JdbcTemplate jdbcTemplate;
+    private DeliveryStatusService deliveryStatusService;
+
+    private record Job(String type, long id) {}
+
+    private record Claim(Job job, long partnerId, Map<String, Object> result) {}
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000", "sa", "");
+        jdbcTemplate = new JdbcTemplate(h2);
+
+        DeliveryStatusDAOImpl deliveryStatusDAO = new DeliveryStatusDAOImpl();
+        ReflectionTestUtils.setField(deliveryStatusDAO, "jdbcTemplate", jdbcTemplate);
+        deliveryStatusService = new DeliveryStatusService();
+        ReflectionTestUtils.setField(deliveryStatusService, "deliveryStatusDAO", deliveryStatusDAO);
+        // Never loaded, so claim notifications are no-ops
+        ReflectionTestUtils.setField(deliveryStatusService, "dispatchBoardService", new DispatchBoardService());
+
+        jdbcTemplate.execute("CREATE TABLE AW_orders (id BIGINT PRIMARY KEY, delivery_status VARCHAR(20), "
+                + "shipping_fee DECIMAL(10,2), delivery_partner_id BIGINT, delivery_claimed_at TIMESTAMP, "
+                + "shipping_address VARCHAR(255), first_name VARCHAR(50), last_name VARCHAR(50), "
+                + "contact_number VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE commission_requests (id BIGINT PRIMARY KEY, delivery_status VARCHAR(20), "
+                + "shipping_fee DECIMAL(10,2), delivery_partner_id BIGINT, delivery_claimed_at TIMESTAMP, "
+                + "shipping_address VARCHAR(255), name VARCHAR(100), phone VARCHAR(20), title VARCHAR(100))");
+        for (long id = 1; id <= JOBS_PER_TYPE; id++) {
+            jdbcTemplate.update("INSERT INTO AW_orders (id, delivery_status) VALUES (?, 'pending')", id);
+            jdbcTemplate.update("INSERT INTO commission_requests (id, delivery_status) VALUES (?, 'pending')", id);
+        }
+    }
+
+    @Test
+    void exactlyOnePartnerClaimsEachJob() throws Exception {
+        List<Job> jobs = new ArrayList<>();
+        for (long id = 1; id <= JOBS_PER_TYPE; id++) {
+            jobs.add(new Job("artwork", id));
+            jobs.add(new Job("commission", id));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(PARTNERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Claim>>> futures = new ArrayList<>();
+        for (int p = 0; p < PARTNERS; p++) {
+            long partnerId = 100 + p;
+            int offset = p;
+            futures.add(pool.submit(() -> {
+                start.await();
+                List<Claim> claims = new ArrayList<>();
+                // Every partner tries every job, each starting at a different one
+                for (int i = 0; i < jobs.size(); i++) {
+                    Job job = jobs.get((i + offset) % jobs.size());
+                    claims.add(new Claim(job, partnerId, deliveryStatusService.claimDelivery(
+                            job.type(), job.id(), new BigDecimal("500.00"), partnerId)));
+                }
+                return claims;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        List<Claim> claims = new ArrayList<>();
+        for (Future<List<Claim>> future : futures) {
+            claims.addAll(future.get(2, TimeUnit.MINUTES));
+        }
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+
+        System.out.printf("%d claims on %d jobs from %d threads in %d ms (%.0f/s)%n",
+                claims.size(), jobs.size(), PARTNERS, elapsed / 1_000_000, claims.size() * 1e9 / elapsed);
+
+        Map<Job, Long> winners = new HashMap<>();
+        for (Claim claim : claims) {
+            if (DeliveryStatusService.CLAIMED.equals(claim.result().get("outcome"))) {
+                Long previous = winners.put(claim.job(), claim.partnerId());
+                assertEquals(null, previous, "second claim on " + claim.job());
+            }
+        }
+        assertEquals(jobs.size(), winners.size(), "every job should be claimed once");
+
+        for (Claim claim : claims) {
+            long winner = winners.get(claim.job());
+            if (claim.partnerId() == winner) {
+                continue;
+            }
+            assertEquals(DeliveryStatusService.CONFLICT, claim.result().get("outcome"), "loser on " + claim.job());
+            assertNotNull(claim.result().get("claimedBy"));
+            assertEquals(winner, ((Number) claim.result().get("claimedBy")).longValue(), "winner on " + claim.job());
+        }
+
+        for (Job job : jobs) {
+            String table = "artwork".equals(job.type()) ? "AW_orders" : "commission_requests";
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT delivery_status, delivery_partner_id FROM " + table + " WHERE id = ?", job.id());
+            assertEquals("accepted", row.get("delivery_status"));
+            assertEquals(winners.get(job).longValue(), ((Number) row.get("delivery_partner_id")).longValue());
+        }
+    }
+}